@@ -38,7 +38,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.BuildConfig;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
-import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.BasicMessageChannel;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugins.camera.features.CameraFeature;
@@ -59,18 +59,22 @@ import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.BurstImageRing;
 import io.flutter.plugins.camera.media.ImageStreamReader;
+import io.flutter.plugins.camera.media.ImageStreamRegion;
 import io.flutter.plugins.camera.media.MediaRecorderBuilder;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
 import io.flutter.view.TextureRegistry.SurfaceTextureEntry;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Executors;
 
 @FunctionalInterface
@@ -128,9 +132,36 @@ class Camera
   /** An additional thread for running tasks that shouldn't block the UI. */
   private HandlerThread backgroundHandlerThread;
 
+  /** A {@link Handler} for writing pictures to disk, created when the first picture is saved. */
+  @VisibleForTesting Handler imageSaverHandler;
+
+  /** The thread pictures are written on, so that disk latency does not hold up the camera. */
+  private HandlerThread imageSaverHandlerThread;
+
   CameraDeviceWrapper cameraDevice;
   CameraCaptureSession captureSession;
   @VisibleForTesting ImageReader pictureImageReader;
+  /** Keeps the most recent frames of the repeating request while burst capture is active. */
+  @VisibleForTesting volatile BurstImageRing burstImageRing;
+  /**
+   * The JPEG orientation of the frames kept by {@link #burstImageRing}. Only accessed on the
+   * background thread.
+   */
+  @VisibleForTesting int burstJpegOrientation;
+  /**
+   * Whether the repeating request delivers frames to {@link #burstImageRing}. Only accessed on the
+   * background thread.
+   */
+  @VisibleForTesting boolean burstFramesAttached;
+
+  /**
+   * The time after the last picture taken in a burst when the repeating request stops delivering
+   * frames to {@link #burstImageRing}.
+   */
+  @VisibleForTesting static final long BURST_IDLE_TIMEOUT_MS = 1000;
+
+  private final Runnable detachBurstFramesRunnable = this::detachBurstFrames;
+
   ImageStreamReader imageStreamReader;
   /** {@link CaptureRequest.Builder} for the camera preview */
   CaptureRequest.Builder previewRequestBuilder;
@@ -355,13 +386,7 @@ class Camera
       return;
     }
 
-    // Always capture using JPEG format.
-    pictureImageReader =
-        ImageReader.newInstance(
-            resolutionFeature.getCaptureSize().getWidth(),
-            resolutionFeature.getCaptureSize().getHeight(),
-            ImageFormat.JPEG,
-            1);
+    createPictureImageReader();
 
     // For image streaming, use the provided image format or fall back to YUV420.
     Integer imageFormat = supportedImageFormats.get(imageFormatGroup);
@@ -491,6 +516,17 @@ class Camera
       }
     }
 
+    // The repeating request of a new session only delivers frames to burst capture once the next
+    // burst picture is taken.
+    final BurstImageRing ring = burstImageRing;
+    if (ring != null) {
+      backgroundHandler.post(
+          () -> {
+            burstFramesAttached = false;
+            ring.clear();
+          });
+    }
+
     // Update camera regions.
     Size cameraBoundaries =
         CameraRegionUtils.getCameraBoundaries(cameraProperties, previewRequestBuilder);
@@ -619,6 +655,11 @@ class Camera
   }
 
   public void takePicture(@NonNull final Result result) {
+    if (burstImageRing != null && !recordingVideo) {
+      takeBurstPicture(result);
+      return;
+    }
+
     // Only take one picture at a time.
     if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
       result.error("captureAlreadyActive", "Picture is currently already being captured", null);
@@ -649,6 +690,183 @@ class Camera
     }
   }
 
+  /**
+   * Saves the most recent frame kept by {@link #burstImageRing}, or the next frame to arrive if
+   * none is kept, without running the focus and precapture sequence.
+   */
+  private void takeBurstPicture(@NonNull final Result result) {
+    final File file;
+    try {
+      file = File.createTempFile("CAP", ".jpg", applicationContext.getCacheDir());
+    } catch (IOException | SecurityException e) {
+      dartMessenger.error(result, "cannotCreateFile", e.getMessage(), null);
+      return;
+    }
+
+    final BurstImageRing ring = burstImageRing;
+    final BurstImageRing.Callback callback =
+        new BurstImageRing.Callback() {
+          @Override
+          public void onImage(@NonNull Image image) {
+            saveImage(image, file, result);
+          }
+
+          @Override
+          public void onCancelled() {
+            dartMessenger.error(
+                result, "captureCancelled", "Burst capture stopped before taking a picture.", null);
+          }
+        };
+    // The repeating request is only changed on the background thread, which also runs the idle
+    // timeout that detaches the burst frames again.
+    backgroundHandler.post(
+        () -> {
+          if (ring == burstImageRing) {
+            attachBurstFrames();
+          }
+          // A ring that was replaced or stopped in the meantime is closed, so this cancels.
+          ring.take(callback);
+        });
+  }
+
+  /**
+   * Makes the repeating request deliver frames encoded for the current orientation to {@link
+   * #burstImageRing}, until no picture was taken in a burst for {@link #BURST_IDLE_TIMEOUT_MS}.
+   * Must be called on the background thread.
+   */
+  @VisibleForTesting
+  void attachBurstFrames() {
+    final int photoOrientation = getPhotoOrientation();
+    if (!burstFramesAttached) {
+      // Encoding every preview frame as a full-resolution JPEG is costly, so the repeating request
+      // only delivers frames to the ring while pictures are being taken in a burst.
+      burstFramesAttached = true;
+      burstJpegOrientation = photoOrientation;
+      previewRequestBuilder.addTarget(pictureImageReader.getSurface());
+      previewRequestBuilder.set(CaptureRequest.JPEG_ORIENTATION, photoOrientation);
+      refreshPreviewCaptureSession(
+          null, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
+    } else if (photoOrientation != burstJpegOrientation) {
+      // The kept frames, and the frames still in flight, were encoded for the previous
+      // orientation, so wait for a frame of the updated request.
+      burstJpegOrientation = photoOrientation;
+      previewRequestBuilder.set(CaptureRequest.JPEG_ORIENTATION, photoOrientation);
+      refreshPreviewCaptureSession(
+          null, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
+      burstImageRing.discard(cameraProperties.getRequestPipelineMaxDepth());
+    }
+    backgroundHandler.removeCallbacks(detachBurstFramesRunnable);
+    backgroundHandler.postDelayed(detachBurstFramesRunnable, BURST_IDLE_TIMEOUT_MS);
+  }
+
+  /**
+   * Stops the repeating request from delivering frames to {@link #burstImageRing} once no picture
+   * was taken in a burst for {@link #BURST_IDLE_TIMEOUT_MS}, cancelling pictures still waiting for
+   * a frame. Runs on the background thread.
+   */
+  @VisibleForTesting
+  void detachBurstFrames() {
+    final BurstImageRing ring = burstImageRing;
+    if (!burstFramesAttached || ring == null || pictureImageReader == null) {
+      return;
+    }
+    burstFramesAttached = false;
+    previewRequestBuilder.removeTarget(pictureImageReader.getSurface());
+    refreshPreviewCaptureSession(
+        null, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
+    ring.clear();
+  }
+
+  /**
+   * Starts burst capture, which keeps the {@code capacity} most recent full-resolution frames of
+   * the repeating preview request while pictures are taken in a burst, so that {@link
+   * #takePicture(Result)} saves the most recent frame right away, instead of running the focus and
+   * precapture sequence and a separate still capture. The first picture of a burst waits for the
+   * next frame, and frames are no longer kept once no picture was taken for {@link
+   * #BURST_IDLE_TIMEOUT_MS}.
+   *
+   * <p>The preview is restarted, which stops an active image stream. Pictures taken while recording
+   * video still use a separate still capture.
+   */
+  public void startBurstCapture(int capacity, @NonNull final Result result) {
+    if (capacity < 1) {
+      result.error("burstCaptureFailed", "The burst capacity must be at least 1.", null);
+      return;
+    }
+    if (recordingVideo) {
+      result.error("burstCaptureFailed", "Burst capture can not start while recording.", null);
+      return;
+    }
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error("captureAlreadyActive", "Picture is currently already being captured", null);
+      return;
+    }
+
+    if (burstImageRing != null) {
+      burstImageRing.close();
+    }
+    burstImageRing = new BurstImageRing(capacity);
+    restartPreviewWithNewPictureImageReader(result);
+  }
+
+  /** Stops burst capture, so that pictures are taken with a separate still capture again. */
+  public void stopBurstCapture(@NonNull final Result result) {
+    if (burstImageRing == null) {
+      result.success(null);
+      return;
+    }
+
+    burstImageRing.close();
+    burstImageRing = null;
+    if (recordingVideo) {
+      // The preview restarts without the burst frames once the recording stops.
+      pictureImageReader.setOnImageAvailableListener(null, null);
+      result.success(null);
+      return;
+    }
+    restartPreviewWithNewPictureImageReader(result);
+  }
+
+  private void restartPreviewWithNewPictureImageReader(@NonNull final Result result) {
+    closeCaptureSession();
+    if (pictureImageReader != null) {
+      pictureImageReader.close();
+    }
+    createPictureImageReader();
+    try {
+      startPreview();
+      result.success(null);
+    } catch (CameraAccessException | InterruptedException e) {
+      result.error("CameraAccess", e.getMessage(), null);
+    }
+  }
+
+  /**
+   * Creates the {@link ImageReader} for still capture, which holds enough images for {@link
+   * #burstImageRing} while burst capture is active.
+   */
+  private void createPictureImageReader() {
+    final Size captureSize = cameraFeatures.getResolution().getCaptureSize();
+    // Always capture using JPEG format.
+    pictureImageReader =
+        ImageReader.newInstance(
+            captureSize.getWidth(),
+            captureSize.getHeight(),
+            ImageFormat.JPEG,
+            burstImageRing == null ? 1 : BurstImageRing.getMaxImages(burstImageRing.getCapacity()));
+    if (burstImageRing != null) {
+      pictureImageReader.setOnImageAvailableListener(burstImageRing, backgroundHandler);
+    }
+  }
+
+  private int getPhotoOrientation() {
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
+    return lockedOrientation == null
+        ? getDeviceOrientationManager().getPhotoOrientation()
+        : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation);
+  }
+
   /**
    * Run the precapture sequence for capturing a still image. This method should be called when a
    * response is received in {@link #cameraCaptureCallback} from lockFocus().
@@ -714,13 +932,7 @@ class Camera
     updateBuilderSettings(stillBuilder);
 
     // Orientation.
-    final PlatformChannel.DeviceOrientation lockedOrientation =
-        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
-    stillBuilder.set(
-        CaptureRequest.JPEG_ORIENTATION,
-        lockedOrientation == null
-            ? getDeviceOrientationManager().getPhotoOrientation()
-            : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
+    stillBuilder.set(CaptureRequest.JPEG_ORIENTATION, getPhotoOrientation());
 
     CameraCaptureSession.CaptureCallback captureCallback =
         new CameraCaptureSession.CaptureCallback() {
@@ -768,6 +980,25 @@ class Camera
     }
     backgroundHandlerThread = null;
     backgroundHandler = null;
+
+    synchronized (this) {
+      // Pictures that are still being written are saved before the thread stops.
+      if (imageSaverHandlerThread != null) {
+        imageSaverHandlerThread.quitSafely();
+      }
+      imageSaverHandlerThread = null;
+      imageSaverHandler = null;
+    }
+  }
+
+  /** Returns the {@link Handler} pictures are written on, starting its thread if needed. */
+  private synchronized Handler getImageSaverHandler() {
+    if (imageSaverHandler == null) {
+      imageSaverHandlerThread = HandlerThreadFactory.create("CameraImageSaver");
+      imageSaverHandlerThread.start();
+      imageSaverHandler = HandlerFactory.create(imageSaverHandlerThread.getLooper());
+    }
+    return imageSaverHandler;
   }
 
   /** Start capturing a picture, doing autofocus first. */
@@ -826,16 +1057,17 @@ class Camera
   }
 
   public void startVideoRecording(
-      @NonNull Result result, @Nullable EventChannel imageStreamChannel) {
+      @NonNull Result result, @Nullable BasicMessageChannel<ByteBuffer> packedImageStreamChannel) {
     prepareRecording(result);
 
-    if (imageStreamChannel != null) {
-      setStreamHandler(imageStreamChannel);
+    if (packedImageStreamChannel != null && imageStreamReader != null) {
+      imageStreamReader.subscribeListener(
+          this.captureProps, packedImageStreamChannel, backgroundHandler);
     }
     initialCameraFacing = cameraProperties.getLensFacing();
     recordingVideo = true;
     try {
-      startCapture(true, imageStreamChannel != null);
+      startCapture(true, packedImageStreamChannel != null);
       result.success(null);
     } catch (CameraAccessException e) {
       recordingVideo = false;
@@ -1203,14 +1435,71 @@ class Camera
     createCaptureSession(CameraDevice.TEMPLATE_RECORD, videoRenderer.getInputSurface());
   }
 
-  public void startPreviewWithImageStream(EventChannel imageStreamChannel)
+  /**
+   * Sets the backpressure policy used for the image stream.
+   *
+   * @param keepOnlyLatest whether to skip queued frames in favor of the most recent one.
+   * @param maxFramesInFlight the maximum number of frames waiting to reach Dart, or 0 for no limit.
+   * @param maxFramesPerSecond the maximum rate at which frames are sent to Dart, or 0 for no limit.
+   */
+  public void setImageStreamFrameLimits(
+      boolean keepOnlyLatest, int maxFramesInFlight, double maxFramesPerSecond) {
+    if (imageStreamReader == null) {
+      return;
+    }
+    imageStreamReader
+        .getFrameLimiter()
+        .configure(keepOnlyLatest, maxFramesInFlight, maxFramesPerSecond);
+  }
+
+  /**
+   * Sets the region of each image stream frame to send to Dart, and the size to reduce it to.
+   *
+   * @param region the region and target size, or null to send whole frames.
+   */
+  public void setImageStreamRegion(@Nullable ImageStreamRegion region) {
+    if (imageStreamReader == null) {
+      return;
+    }
+    imageStreamReader.setRegion(region);
+  }
+
+  /**
+   * Returns the delivered, dropped and in-flight frame counts of the image stream, or null if the
+   * camera has not been opened.
+   */
+  @Nullable
+  public Map<String, Object> getImageStreamStatistics() {
+    if (imageStreamReader == null) {
+      return null;
+    }
+    return imageStreamReader.getFrameLimiter().getStatistics();
+  }
+
+  /**
+   * Starts the preview with an image stream whose frames are sent as packed binary messages over
+   * {@code packedImageStreamChannel}.
+   */
+  public void startPreviewWithImageStream(
+      @NonNull BasicMessageChannel<ByteBuffer> packedImageStreamChannel)
       throws CameraAccessException {
-    setStreamHandler(imageStreamChannel);
+    if (imageStreamReader != null) {
+      imageStreamReader.subscribeListener(
+          this.captureProps, packedImageStreamChannel, backgroundHandler);
+    }
 
     startCapture(false, true);
     Log.i(TAG, "startPreviewWithImageStream");
   }
 
+  /** Stops delivering image stream frames, regardless of how the stream was started. */
+  public void stopImageStream() throws CameraAccessException, InterruptedException {
+    if (imageStreamReader != null) {
+      imageStreamReader.removeListener(backgroundHandler);
+    }
+    startPreview();
+  }
+
   /**
    * This a callback object for the {@link ImageReader}. "onImageAvailable" will be called when a
    * still image is ready to be saved.
@@ -1225,22 +1514,36 @@ class Camera
       return;
     }
 
-    backgroundHandler.post(
-        new ImageSaver(
-            image,
-            captureFile,
-            new ImageSaver.Callback() {
-              @Override
-              public void onComplete(String absolutePath) {
-                dartMessenger.finish(flutterResult, absolutePath);
-              }
-
-              @Override
-              public void onError(String errorCode, String errorMessage) {
-                dartMessenger.error(flutterResult, errorCode, errorMessage, null);
-              }
-            }));
+    saveImage(image, captureFile, flutterResult);
     cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+
+    if (burstImageRing != null) {
+      // A picture was taken while recording, so hand the reader back to burst capture.
+      reader.setOnImageAvailableListener(burstImageRing, backgroundHandler);
+    }
+  }
+
+  /**
+   * Writes {@code image} to {@code file} on the image saver thread and completes {@code result}.
+   */
+  private void saveImage(
+      @NonNull Image image, @NonNull File file, @NonNull final MethodChannel.Result result) {
+    getImageSaverHandler()
+        .post(
+            new ImageSaver(
+                image,
+                file,
+                new ImageSaver.Callback() {
+                  @Override
+                  public void onComplete(@NonNull String absolutePath) {
+                    dartMessenger.finish(result, absolutePath);
+                  }
+
+                  @Override
+                  public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+                    dartMessenger.error(result, errorCode, errorMessage, null);
+                  }
+                }));
   }
 
   @VisibleForTesting
@@ -1265,33 +1568,6 @@ class Camera
         cameraFeatureFactory.createAutoFocusFeature(cameraProperties, true));
   }
 
-  private void setStreamHandler(EventChannel imageStreamChannel) {
-    imageStreamChannel.setStreamHandler(
-        new EventChannel.StreamHandler() {
-          @Override
-          public void onListen(Object o, EventChannel.EventSink imageStreamSink) {
-            setImageStreamImageAvailableListener(imageStreamSink);
-          }
-
-          @Override
-          public void onCancel(Object o) {
-            if (imageStreamReader == null) {
-              return;
-            }
-
-            imageStreamReader.removeListener(backgroundHandler);
-          }
-        });
-  }
-
-  void setImageStreamImageAvailableListener(final EventChannel.EventSink imageStreamSink) {
-    if (imageStreamReader == null) {
-      return;
-    }
-
-    imageStreamReader.subscribeListener(this.captureProps, imageStreamSink, backgroundHandler);
-  }
-
   void closeCaptureSession() {
     if (captureSession != null) {
       Log.i(TAG, "closeCaptureSession");
@@ -1306,6 +1582,10 @@ class Camera
 
     stopAndReleaseCamera();
 
+    if (burstImageRing != null) {
+      burstImageRing.close();
+      burstImageRing = null;
+    }
     if (pictureImageReader != null) {
       pictureImageReader.close();
       pictureImageReader = null;
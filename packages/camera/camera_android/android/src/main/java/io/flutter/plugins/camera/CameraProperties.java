@@ -273,4 +273,15 @@ public interface CameraProperties {
    */
   @NonNull
   int[] getAvailableNoiseReductionModes();
+
+  /**
+   * Returns the maximum number of frames that can be in flight between the time a capture request
+   * is submitted and the time its output is available.
+   *
+   * <p>By default maps to the @see
+   * android.hardware.camera2.CameraCharacteristics#REQUEST_PIPELINE_MAX_DEPTH key.
+   *
+   * @return int Maximum number of frames in flight in the capture pipeline.
+   */
+  int getRequestPipelineMaxDepth();
 }
@@ -12,8 +12,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryCodec;
 import io.flutter.plugin.common.BinaryMessenger;
-import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.Result;
@@ -24,7 +25,9 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamRegion;
 import io.flutter.view.TextureRegistry;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -32,13 +35,16 @@ import java.util.Map;
 import java.util.Objects;
 
 final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler, Messages.CameraApi {
+  /** The number of recent frames kept by burst capture when no capacity is given. */
+  private static final int DEFAULT_BURST_CAPACITY = 3;
+
   private final Activity activity;
   private final BinaryMessenger messenger;
   private final CameraPermissions cameraPermissions;
   private final PermissionsRegistry permissionsRegistry;
   private final TextureRegistry textureRegistry;
   private final MethodChannel methodChannel;
-  private final EventChannel imageStreamChannel;
+  private final BasicMessageChannel<ByteBuffer> packedImageStreamChannel;
   @VisibleForTesting @Nullable Camera camera;
 
   MethodCallHandlerImpl(
@@ -54,8 +60,9 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler, Me
     this.textureRegistry = textureRegistry;
 
     methodChannel = new MethodChannel(messenger, "plugins.flutter.io/camera_android");
-    imageStreamChannel =
-        new EventChannel(messenger, "plugins.flutter.io/camera_android/imageStream");
+    packedImageStreamChannel =
+        new BasicMessageChannel<>(
+            messenger, "plugins.flutter.io/camera_android/packedImageStream", BinaryCodec.INSTANCE);
     methodChannel.setMethodCallHandler(this);
     Messages.CameraApi.setUp(messenger, this);
   }
@@ -108,6 +115,17 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler, Me
           camera.takePicture(result);
           break;
         }
+      case "startBurstCapture":
+        {
+          Integer capacity = call.argument("capacity");
+          camera.startBurstCapture(capacity == null ? DEFAULT_BURST_CAPACITY : capacity, result);
+          break;
+        }
+      case "stopBurstCapture":
+        {
+          camera.stopBurstCapture(result);
+          break;
+        }
       case "prepareForVideoRecording":
         {
           // This optimization is not required for Android.
@@ -118,7 +136,9 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler, Me
         {
           camera.startVideoRecording(
               result,
-              Objects.equals(call.argument("enableStream"), true) ? imageStreamChannel : null);
+              Objects.equals(call.argument("enableStream"), true)
+                  ? packedImageStreamChannel
+                  : null);
           break;
         }
       case "stopVideoRecording":
@@ -251,8 +271,19 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler, Me
         }
       case "startImageStream":
         {
+          Integer maxFramesInFlight = call.argument("maxFramesInFlight");
+          Number maxFramesPerSecond = call.argument("maxFramesPerSecond");
+          camera.setImageStreamFrameLimits(
+              Objects.equals(call.argument("keepOnlyLatest"), true),
+              maxFramesInFlight == null ? 0 : maxFramesInFlight,
+              maxFramesPerSecond == null ? 0 : maxFramesPerSecond.doubleValue());
+          camera.setImageStreamRegion(
+              parseImageStreamRegion(
+                  call.argument("regionOfInterest"),
+                  call.argument("targetWidth"),
+                  call.argument("targetHeight")));
           try {
-            camera.startPreviewWithImageStream(imageStreamChannel);
+            camera.startPreviewWithImageStream(packedImageStreamChannel);
             result.success(null);
           } catch (Exception e) {
             handleException(e, result);
@@ -262,13 +293,18 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler, Me
       case "stopImageStream":
         {
           try {
-            camera.startPreview();
+            camera.stopImageStream();
             result.success(null);
           } catch (Exception e) {
             handleException(e, result);
           }
           break;
         }
+      case "getImageStreamStatistics":
+        {
+          result.success(camera.getImageStreamStatistics());
+          break;
+        }
       case "getMaxZoomLevel":
         {
           assert camera != null;
@@ -416,6 +452,37 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler, Me
     result.success(reply);
   }
 
+  /**
+   * Returns the image stream region described by the optional normalized {@code regionOfInterest}
+   * map (with left, top, width and height) and target size, or null if neither is given.
+   */
+  @Nullable
+  @VisibleForTesting
+  static ImageStreamRegion parseImageStreamRegion(
+      @Nullable Map<String, Object> regionOfInterest,
+      @Nullable Integer targetWidth,
+      @Nullable Integer targetHeight) {
+    if (regionOfInterest == null && targetWidth == null && targetHeight == null) {
+      return null;
+    }
+    int width = targetWidth == null ? 0 : targetWidth;
+    int height = targetHeight == null ? 0 : targetHeight;
+    if (regionOfInterest == null) {
+      return ImageStreamRegion.fullFrame(width, height);
+    }
+    return new ImageStreamRegion(
+        toDouble(regionOfInterest.get("left"), 0),
+        toDouble(regionOfInterest.get("top"), 0),
+        toDouble(regionOfInterest.get("width"), 1),
+        toDouble(regionOfInterest.get("height"), 1),
+        width,
+        height);
+  }
+
+  private static double toDouble(@Nullable Object value, double defaultValue) {
+    return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+  }
+
   // We move catching CameraAccessException out of onMethodCall because it causes a crash
   // on plugin registration for sdks incompatible with Camera2 (< 21). We want this plugin to
   // to be able to compile with <21 sdks for apps that want the camera and support earlier version.
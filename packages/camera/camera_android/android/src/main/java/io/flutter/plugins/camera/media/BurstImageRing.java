@@ -0,0 +1,189 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.Image;
+import android.media.ImageReader;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+
+/**
+ * Keeps the most recent full-resolution images delivered by a repeating still capture request, so
+ * that a picture can be taken without waiting for a separate capture request.
+ *
+ * <p>At most {@code capacity} images are kept, closing the oldest image when a new one arrives. An
+ * image handed out by {@link #take(Callback)} is owned by the callback, which must close it. The
+ * {@link ImageReader} the ring listens to should allow {@link #getMaxImages(int)} images to be
+ * acquired at once.
+ */
+public class BurstImageRing implements ImageReader.OnImageAvailableListener {
+  private static final String TAG = "BurstImageRing";
+
+  /** Receives an image taken from the ring. */
+  public interface Callback {
+    /**
+     * Called with the most recent image of the ring, which the callback is responsible for closing.
+     *
+     * @param image - The taken image.
+     */
+    void onImage(@NonNull Image image);
+
+    /**
+     * Called instead of {@link #onImage(Image)} when the ring is closed before an image arrived.
+     */
+    void onCancelled();
+  }
+
+  private final int capacity;
+  private final ArrayDeque<Image> images;
+  private final ArrayDeque<Callback> pendingCallbacks = new ArrayDeque<>();
+  // The number of arriving images to drop, as they were captured before the ring was cleared.
+  private int staleImageCount;
+  private boolean closed;
+
+  /**
+   * Creates a ring keeping at most {@code capacity} images.
+   *
+   * @param capacity - The number of recent images to keep, at least 1.
+   */
+  public BurstImageRing(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1.");
+    }
+    this.capacity = capacity;
+    this.images = new ArrayDeque<>(capacity);
+  }
+
+  /**
+   * Returns the number of images the {@link ImageReader} feeding a ring of {@code capacity} images
+   * should allow to be acquired at once: the images kept by the ring, plus one for the image being
+   * acquired.
+   */
+  public static int getMaxImages(int capacity) {
+    return capacity + 1;
+  }
+
+  @Override
+  public void onImageAvailable(@NonNull ImageReader reader) {
+    Image image = acquireNextImage(reader);
+    if (image == null) {
+      return;
+    }
+
+    Callback callback;
+    synchronized (this) {
+      if (closed || staleImageCount > 0) {
+        if (!closed) {
+          staleImageCount--;
+        }
+        image.close();
+        return;
+      }
+      callback = pendingCallbacks.poll();
+      if (callback == null) {
+        if (images.size() >= capacity) {
+          images.pollFirst().close();
+        }
+        images.addLast(image);
+        return;
+      }
+    }
+    callback.onImage(image);
+  }
+
+  /**
+   * Hands the most recent image of the ring to {@code callback}, removing it from the ring. If the
+   * ring is empty, the callback receives the next image that arrives instead.
+   */
+  public void take(@NonNull Callback callback) {
+    Image image;
+    synchronized (this) {
+      if (closed) {
+        image = null;
+      } else {
+        image = images.pollLast();
+        if (image == null) {
+          pendingCallbacks.offer(callback);
+          return;
+        }
+      }
+    }
+    if (image == null) {
+      callback.onCancelled();
+    } else {
+      callback.onImage(image);
+    }
+  }
+
+  /**
+   * Closes all images kept by the ring and cancels callbacks still waiting for an image, e.g. when
+   * the repeating request stops delivering images to the ring.
+   */
+  public void clear() {
+    ArrayDeque<Callback> cancelledCallbacks;
+    synchronized (this) {
+      discard(0);
+      cancelledCallbacks = new ArrayDeque<>(pendingCallbacks);
+      pendingCallbacks.clear();
+    }
+    for (Callback callback : cancelledCallbacks) {
+      callback.onCancelled();
+    }
+  }
+
+  /**
+   * Closes all images kept by the ring, and drops the next {@code staleImageCount} images to
+   * arrive, e.g. the images still in flight for capture requests that were replaced. Callbacks
+   * waiting for an image keep waiting for the first image arriving afterwards.
+   *
+   * @param staleImageCount - The number of arriving images to drop.
+   */
+  public synchronized void discard(int staleImageCount) {
+    Image image;
+    while ((image = images.poll()) != null) {
+      image.close();
+    }
+    this.staleImageCount = staleImageCount;
+  }
+
+  /** Returns the maximum number of images kept by the ring. */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** Returns the number of images currently kept by the ring. */
+  public synchronized int size() {
+    return images.size();
+  }
+
+  /** Closes all kept images and cancels callbacks still waiting for an image. */
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    clear();
+  }
+
+  @Nullable
+  private Image acquireNextImage(@NonNull ImageReader reader) {
+    try {
+      return reader.acquireNextImage();
+    } catch (IllegalStateException e) {
+      // All images the reader allows are acquired, as some taken images are still being saved.
+      // Make room by dropping the oldest kept image.
+      synchronized (this) {
+        Image oldest = images.pollFirst();
+        if (oldest == null) {
+          Log.w(TAG, "Dropping burst frame, all images are still being saved.");
+          return null;
+        }
+        oldest.close();
+      }
+      return reader.acquireNextImage();
+    }
+  }
+}
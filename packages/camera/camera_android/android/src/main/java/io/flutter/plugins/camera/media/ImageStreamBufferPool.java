@@ -0,0 +1,88 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+
+/**
+ * A fixed-size ring of direct {@link ByteBuffer}s that packed image stream frames are written into
+ * on the camera background thread, so that building a frame does not allocate. The engine still
+ * copies each message once when it is sent to Dart.
+ *
+ * <p>A buffer is taken with {@link #acquire(int)} on the camera background thread and returned with
+ * {@link #release(ByteBuffer)} once Dart has acknowledged the frame. When every buffer is in
+ * flight, {@link #acquire(int)} returns null and the caller is expected to drop the frame.
+ */
+public class ImageStreamBufferPool {
+  private final int capacity;
+  private final ArrayDeque<ByteBuffer> freeBuffers;
+  private int allocatedCount;
+  private int bufferSize;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamBufferPool}.
+   *
+   * @param capacity is the maximum number of buffers that may be in flight at the same time.
+   */
+  public ImageStreamBufferPool(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1, was " + capacity);
+    }
+    this.capacity = capacity;
+    this.freeBuffers = new ArrayDeque<>(capacity);
+  }
+
+  /**
+   * Returns a cleared buffer with at least {@code minSize} bytes of capacity, or null if all
+   * buffers are currently in flight.
+   *
+   * <p>If the requested size grows (e.g. the stream resolution changed), buffers that are too small
+   * are discarded and replaced lazily.
+   */
+  @Nullable
+  public synchronized ByteBuffer acquire(int minSize) {
+    if (minSize > bufferSize) {
+      // Drop buffers that can no longer hold a frame. Buffers still in flight are discarded on
+      // release.
+      allocatedCount -= freeBuffers.size();
+      freeBuffers.clear();
+      bufferSize = minSize;
+    }
+
+    ByteBuffer buffer = freeBuffers.poll();
+    if (buffer == null) {
+      if (allocatedCount >= capacity) {
+        return null;
+      }
+      buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+      allocatedCount++;
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  /** Returns a buffer previously obtained from {@link #acquire(int)} to the pool. */
+  public synchronized void release(@NonNull ByteBuffer buffer) {
+    if (buffer.capacity() < bufferSize) {
+      allocatedCount--;
+      return;
+    }
+    freeBuffers.offer(buffer);
+  }
+
+  /** Returns the number of buffers currently handed out and not yet released. */
+  public synchronized int getInFlightCount() {
+    return allocatedCount - freeBuffers.size();
+  }
+
+  /** Returns the maximum number of buffers that may be in flight at the same time. */
+  public int getCapacity() {
+    return capacity;
+  }
+}
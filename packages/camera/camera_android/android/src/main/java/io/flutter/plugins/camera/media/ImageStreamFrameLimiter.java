@@ -0,0 +1,104 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides which image stream frames are delivered to Dart, and keeps count of delivered, dropped
+ * and in-flight frames.
+ *
+ * <p>A frame is in flight from the moment {@link #tryAcquire(long)} admits it on the camera
+ * background thread until {@link #onFrameDelivered()} is called once Dart has received it. Frames
+ * are dropped when the configured number of frames is already in flight, or when they arrive sooner
+ * than the configured frame rate allows.
+ */
+public class ImageStreamFrameLimiter {
+  private boolean keepOnlyLatest;
+  private int maxFramesInFlight;
+  private long minFrameIntervalNanos;
+
+  private long lastFrameTimestampNanos = Long.MIN_VALUE;
+  private int framesInFlight;
+  private long deliveredFrames;
+  private long droppedFrames;
+
+  /**
+   * Sets the backpressure policy and resets all counters.
+   *
+   * @param keepOnlyLatest whether older queued images should be discarded in favor of the most
+   *     recent one when acquiring from the image reader.
+   * @param maxFramesInFlight the maximum number of frames that may be waiting to be delivered to
+   *     Dart, or 0 for no limit.
+   * @param maxFramesPerSecond the maximum rate at which frames are delivered, or 0 for no limit.
+   */
+  public synchronized void configure(
+      boolean keepOnlyLatest, int maxFramesInFlight, double maxFramesPerSecond) {
+    this.keepOnlyLatest = keepOnlyLatest;
+    this.maxFramesInFlight = Math.max(0, maxFramesInFlight);
+    this.minFrameIntervalNanos =
+        maxFramesPerSecond > 0 ? (long) (1_000_000_000L / maxFramesPerSecond) : 0;
+    lastFrameTimestampNanos = Long.MIN_VALUE;
+    framesInFlight = 0;
+    deliveredFrames = 0;
+    droppedFrames = 0;
+  }
+
+  /** Whether only the most recent image should be acquired from the image reader. */
+  public synchronized boolean isKeepOnlyLatest() {
+    return keepOnlyLatest;
+  }
+
+  /**
+   * Returns true and marks a frame as in flight if a frame with the given sensor timestamp may be
+   * delivered, or counts it as dropped and returns false otherwise.
+   */
+  public synchronized boolean tryAcquire(long timestampNanos) {
+    if (maxFramesInFlight > 0 && framesInFlight >= maxFramesInFlight) {
+      droppedFrames++;
+      return false;
+    }
+    // Allow a tenth of the interval as slack so sensor timestamp jitter does not halve the rate
+    // when the target is an exact divisor of the sensor frame rate.
+    if (minFrameIntervalNanos > 0
+        && lastFrameTimestampNanos != Long.MIN_VALUE
+        && timestampNanos - lastFrameTimestampNanos
+            < minFrameIntervalNanos - minFrameIntervalNanos / 10) {
+      droppedFrames++;
+      return false;
+    }
+    lastFrameTimestampNanos = timestampNanos;
+    framesInFlight++;
+    return true;
+  }
+
+  /** Marks a frame admitted by {@link #tryAcquire(long)} as received by Dart. */
+  public synchronized void onFrameDelivered() {
+    if (framesInFlight > 0) {
+      framesInFlight--;
+    }
+    deliveredFrames++;
+  }
+
+  /** Marks a frame admitted by {@link #tryAcquire(long)} as dropped before reaching Dart. */
+  public synchronized void onFrameDropped() {
+    if (framesInFlight > 0) {
+      framesInFlight--;
+    }
+    droppedFrames++;
+  }
+
+  /** Returns the counters as a map suitable to send back to Dart. */
+  @NonNull
+  public synchronized Map<String, Object> getStatistics() {
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("deliveredFrames", deliveredFrames);
+    statistics.put("droppedFrames", droppedFrames);
+    statistics.put("framesInFlight", framesInFlight);
+    return statistics;
+  }
+}
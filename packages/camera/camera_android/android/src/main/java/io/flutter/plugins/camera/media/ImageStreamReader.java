@@ -9,19 +9,39 @@ import android.media.Image;
 import android.media.ImageReader;
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
 import android.view.Surface;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
-import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.BasicMessageChannel;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 // Wraps an ImageReader to allow for testing of the image handler.
 public class ImageStreamReader {
+  private static final String TAG = "ImageStreamReader";
+
+  /** Version of the packed frame layout written by {@link #onImageAvailable}. */
+  public static final int PACKED_FRAME_VERSION = 1;
+
+  /**
+   * Size in bytes of the fixed packed frame header.
+   *
+   * <p>All values are little-endian: int32 version, int32 format, int32 width, int32 height,
+   * float64 lensAperture, int64 sensorExposureTime, float64 sensorSensitivity and int32 planeCount.
+   * Missing capture properties are written as NaN or -1.
+   */
+  public static final int PACKED_FRAME_HEADER_SIZE = 44;
+
+  /**
+   * Size in bytes of the header preceding each plane in a packed frame: int32 bytesPerRow, int32
+   * bytesPerPixel and int32 length, followed by {@code length} bytes of plane data.
+   */
+  public static final int PACKED_PLANE_HEADER_SIZE = 12;
+
+  /** Number of packed frames that may be waiting for a Dart acknowledgement at once. */
+  private static final int PACKED_BUFFER_COUNT = 3;
 
   /**
    * The image format we are going to send back to dart. Usually it's the same as streamImageFormat
@@ -32,6 +52,10 @@ public class ImageStreamReader {
 
   private final ImageReader imageReader;
   private final ImageStreamReaderUtils imageStreamReaderUtils;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final ImageStreamFrameLimiter frameLimiter = new ImageStreamFrameLimiter();
+  @Nullable private ImageStreamBufferPool bufferPool;
+  @Nullable private volatile ImageStreamRegion region;
 
   /**
    * Creates a new instance of the {@link ImageStreamReader}.
@@ -82,106 +106,168 @@ public class ImageStreamReader {
   }
 
   /**
-   * Processes a new frame (image) from the image reader and send the frame to Dart.
+   * Returns the {@link ImageStreamFrameLimiter} that decides which frames are delivered to Dart.
+   */
+  @NonNull
+  public ImageStreamFrameLimiter getFrameLimiter() {
+    return frameLimiter;
+  }
+
+  /**
+   * Sets the region of each frame to send to Dart and the size to reduce it to, or null to send
+   * whole frames.
+   *
+   * <p>The region only applies to YUV_420_888 frames (sent as YUV420 or NV21), which are cropped
+   * and downscaled on the thread that processes the frame, before any bytes are copied for Dart.
+   * JPEG frames are always sent whole.
+   */
+  public void setRegion(@Nullable ImageStreamRegion region) {
+    this.region = region;
+  }
+
+  /**
+   * Returns the region for {@code image} resolved to its size, or null if the whole image should be
+   * sent.
+   */
+  @Nullable
+  private ImageStreamRegion resolveRegion(@NonNull Image image) {
+    ImageStreamRegion currentRegion = region;
+    if (currentRegion == null || image.getFormat() != ImageFormat.YUV_420_888) {
+      return null;
+    }
+    currentRegion.resolve(image.getWidth(), image.getHeight());
+    return currentRegion;
+  }
+
+  /**
+   * Processes a new frame (image) from the image reader and sends it to Dart as a single packed
+   * buffer taken from the pool. The frame is written into the pooled buffer without allocating; the
+   * engine then copies the message once when it is sent.
+   *
+   * <p>The buffer is returned to the pool when Dart replies to the message, which is also when the
+   * frame stops counting as in flight for the {@link ImageStreamFrameLimiter}. If the limiter does
+   * not admit the frame, or every pooled buffer is still waiting for a reply, the frame is dropped.
    *
    * @param image is the image which needs processed as an {@link Image}
    * @param captureProps is the capture props from the camera class as {@link
    *     CameraCaptureProperties}
-   * @param imageStreamSink is the image stream sink from dart as a dart {@link
-   *     EventChannel.EventSink}
+   * @param packedImageStreamChannel is the binary channel the packed frames are sent over
    */
   @VisibleForTesting
   public void onImageAvailable(
       @NonNull Image image,
       @NonNull CameraCaptureProperties captureProps,
-      @NonNull EventChannel.EventSink imageStreamSink) {
+      @NonNull BasicMessageChannel<ByteBuffer> packedImageStreamChannel) {
+    if (!frameLimiter.tryAcquire(image.getTimestamp())) {
+      image.close();
+      return;
+    }
+
+    final ImageStreamBufferPool pool = getBufferPool();
+    ByteBuffer frame = null;
     try {
-      Map<String, Object> imageBuffer = new HashMap<>();
+      Image.Plane[] planes = image.getPlanes();
+      ImageStreamRegion resolvedRegion = resolveRegion(image);
+      int width = resolvedRegion == null ? image.getWidth() : resolvedRegion.getOutputWidth();
+      int height = resolvedRegion == null ? image.getHeight() : resolvedRegion.getOutputHeight();
+      boolean convertToNv21 = dartImageFormat == ImageFormat.NV21;
 
-      // Get plane data ready
-      if (dartImageFormat == ImageFormat.NV21) {
-        imageBuffer.put("planes", parsePlanesForNv21(image));
+      int planeCount = convertToNv21 ? 1 : planes.length;
+      int frameSize = PACKED_FRAME_HEADER_SIZE + planeCount * PACKED_PLANE_HEADER_SIZE;
+      if (convertToNv21 || resolvedRegion != null) {
+        // Cropped YUV420 planes are repacked without padding, so they add up to the NV21 size.
+        frameSize += Yuv420Converter.nv21Size(width, height);
       } else {
-        imageBuffer.put("planes", parsePlanesForYuvOrJpeg(image));
+        for (Image.Plane plane : planes) {
+          frameSize += plane.getBuffer().remaining();
+        }
+      }
+
+      frame = pool.acquire(frameSize);
+      if (frame == null) {
+        // Dart has not yet released any of the pooled buffers, so drop this frame.
+        frameLimiter.onFrameDropped();
+        image.close();
+        return;
       }
 
-      imageBuffer.put("width", image.getWidth());
-      imageBuffer.put("height", image.getHeight());
-      imageBuffer.put("format", dartImageFormat);
-      imageBuffer.put("lensAperture", captureProps.getLastLensAperture());
-      imageBuffer.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
-      Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
-      imageBuffer.put(
-          "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
-
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(() -> imageStreamSink.success(imageBuffer));
+      writePackedFrameHeader(frame, width, height, planeCount, captureProps);
+      if (convertToNv21) {
+        frame.putInt(width).putInt(1).putInt(Yuv420Converter.nv21Size(width, height));
+        if (resolvedRegion != null) {
+          imageStreamReaderUtils.yuv420ThreePlanesToNV21(planes, resolvedRegion, frame);
+        } else {
+          imageStreamReaderUtils.yuv420ThreePlanesToNV21(planes, width, height, frame);
+        }
+      } else if (resolvedRegion != null) {
+        for (int i = 0; i < planes.length; i++) {
+          int planeWidth = i == 0 ? width : width / 2;
+          int planeHeight = i == 0 ? height : height / 2;
+          frame.putInt(planeWidth).putInt(1).putInt(planeWidth * planeHeight);
+          imageStreamReaderUtils.copyYuv420PlaneRegion(planes, i, resolvedRegion, frame);
+        }
+      } else {
+        for (Image.Plane plane : planes) {
+          ByteBuffer buffer = plane.getBuffer();
+          frame.putInt(plane.getRowStride()).putInt(plane.getPixelStride());
+          frame.putInt(buffer.remaining());
+          frame.put(buffer.duplicate());
+        }
+      }
       image.close();
 
-    } catch (IllegalStateException e) {
-      // Handle "buffer is inaccessible" errors that can happen on some devices from ImageStreamReaderUtils.yuv420ThreePlanesToNV21()
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(
+      // The message length is taken from the buffer position, so the buffer is sent unflipped.
+      final ByteBuffer packedFrame = frame;
+      mainHandler.post(
           () ->
-              imageStreamSink.error(
-                  "IllegalStateException",
-                  "Caught IllegalStateException: " + e.getMessage(),
-                  null));
+              packedImageStreamChannel.send(
+                  packedFrame,
+                  reply -> {
+                    pool.release(packedFrame);
+                    frameLimiter.onFrameDelivered();
+                  }));
+    } catch (IllegalStateException e) {
+      // Handle "buffer is inaccessible" errors that can happen on some devices.
+      Log.w(TAG, "Dropping packed frame: " + e.getMessage());
+      frameLimiter.onFrameDropped();
+      if (frame != null) {
+        pool.release(frame);
+      }
       image.close();
     }
   }
 
   /**
-   * Given an input image, will return a list of maps suitable to send back to dart where each map
-   * describes the image plane.
-   *
-   * <p>For Yuv / Jpeg, we do no further processing on the frame so we simply send it as-is.
-   *
-   * @param image - the image to process.
-   * @return parsed map describing the image planes to be sent to dart.
+   * Writes the fixed packed frame header described by {@link #PACKED_FRAME_HEADER_SIZE} at the
+   * current position of {@code frame}.
    */
-  @NonNull
-  public List<Map<String, Object>> parsePlanesForYuvOrJpeg(@NonNull Image image) {
-    List<Map<String, Object>> planes = new ArrayList<>();
-
-    // For YUV420 and JPEG, just send the data as-is for each plane.
-    for (Image.Plane plane : image.getPlanes()) {
-      ByteBuffer buffer = plane.getBuffer();
-
-      byte[] bytes = new byte[buffer.remaining()];
-      buffer.get(bytes, 0, bytes.length);
-
-      Map<String, Object> planeBuffer = new HashMap<>();
-      planeBuffer.put("bytesPerRow", plane.getRowStride());
-      planeBuffer.put("bytesPerPixel", plane.getPixelStride());
-      planeBuffer.put("bytes", bytes);
+  @VisibleForTesting
+  void writePackedFrameHeader(
+      @NonNull ByteBuffer frame,
+      int width,
+      int height,
+      int planeCount,
+      @NonNull CameraCaptureProperties captureProps) {
+    Float lensAperture = captureProps.getLastLensAperture();
+    Long sensorExposureTime = captureProps.getLastSensorExposureTime();
+    Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
 
-      planes.add(planeBuffer);
-    }
-    return planes;
+    frame.putInt(PACKED_FRAME_VERSION);
+    frame.putInt(dartImageFormat);
+    frame.putInt(width);
+    frame.putInt(height);
+    frame.putDouble(lensAperture == null ? Double.NaN : lensAperture);
+    frame.putLong(sensorExposureTime == null ? -1L : sensorExposureTime);
+    frame.putDouble(sensorSensitivity == null ? Double.NaN : sensorSensitivity);
+    frame.putInt(planeCount);
   }
 
-  /**
-   * Given an input image, will return a single-plane NV21 image. Assumes YUV420 as an input type.
-   *
-   * @param image - the image to process.
-   * @return parsed map describing the image planes to be sent to dart.
-   */
   @NonNull
-  public List<Map<String, Object>> parsePlanesForNv21(@NonNull Image image) {
-    List<Map<String, Object>> planes = new ArrayList<>();
-
-    // We will convert the YUV data to NV21 which is a single-plane image
-    ByteBuffer bytes =
-        imageStreamReaderUtils.yuv420ThreePlanesToNV21(
-            image.getPlanes(), image.getWidth(), image.getHeight());
-
-    Map<String, Object> planeBuffer = new HashMap<>();
-    planeBuffer.put("bytesPerRow", image.getWidth());
-    planeBuffer.put("bytesPerPixel", 1);
-    planeBuffer.put("bytes", bytes.array());
-    planes.add(planeBuffer);
-    return planes;
+  private synchronized ImageStreamBufferPool getBufferPool() {
+    if (bufferPool == null) {
+      bufferPool = new ImageStreamBufferPool(PACKED_BUFFER_COUNT);
+    }
+    return bufferPool;
   }
 
   /** Returns the image reader surface. */
@@ -195,23 +281,34 @@ public class ImageStreamReader {
    *
    * @param captureProps is the capture props from the camera class as {@link
    *     CameraCaptureProperties}
-   * @param imageStreamSink is the image stream sink from dart as {@link EventChannel.EventSink}
+   * @param packedImageStreamChannel is the binary channel the packed frames are sent over
    * @param handler is generally the background handler of the camera as {@link Handler}
    */
   public void subscribeListener(
       @NonNull CameraCaptureProperties captureProps,
-      @NonNull EventChannel.EventSink imageStreamSink,
+      @NonNull BasicMessageChannel<ByteBuffer> packedImageStreamChannel,
       @NonNull Handler handler) {
     imageReader.setOnImageAvailableListener(
         reader -> {
-          Image image = reader.acquireNextImage();
+          Image image = acquireImage(reader);
           if (image == null) return;
 
-          onImageAvailable(image, captureProps, imageStreamSink);
+          onImageAvailable(image, captureProps, packedImageStreamChannel);
         },
         handler);
   }
 
+  /**
+   * Acquires the next image from {@code reader}, or the most recent one if the frame limiter is set
+   * to keep only the latest image, in which case any older queued images are discarded.
+   */
+  @Nullable
+  private Image acquireImage(@NonNull ImageReader reader) {
+    return frameLimiter.isKeepOnlyLatest()
+        ? reader.acquireLatestImage()
+        : reader.acquireNextImage();
+  }
+
   /**
    * Removes the listener from the image reader.
    *
@@ -12,6 +12,8 @@ import androidx.annotation.NonNull;
 import java.nio.ByteBuffer;
 
 public class ImageStreamReaderUtils {
+  private final Yuv420Converter converter = new Yuv420Converter();
+
   /**
    * Converts YUV_420_888 to NV21 bytebuffer.
    *
@@ -48,18 +50,109 @@ public class ImageStreamReaderUtils {
       // Copy the first U value and the remaining VU values from the U buffer.
       uBuffer.get(out, imageSize + 1, 2 * imageSize / 4 - 1);
     } else {
-      // Fallback to copying the UV values one by one, which is slower but also works.
-      // Unpack Y.
-      unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
-      // Unpack U.
-      unpackPlane(yuv420888planes[1], width, height, out, imageSize + 1, 2);
-      // Unpack V.
-      unpackPlane(yuv420888planes[2], width, height, out, imageSize, 2);
+      // Fall back to copying row by row and interleaving the UV values.
+      convertPlanes(yuv420888planes, width, height, ByteBuffer.wrap(out));
     }
 
     return ByteBuffer.wrap(out);
   }
 
+  /**
+   * Converts YUV_420_888 to NV21, writing into {@code out} at its current position instead of
+   * allocating a new array.
+   *
+   * <p>On return the position of {@code out} is advanced past the written NV21 bytes. The source
+   * plane buffers are left untouched.
+   *
+   * @see #yuv420ThreePlanesToNV21(Image.Plane[], int, int)
+   */
+  public void yuv420ThreePlanesToNV21(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull ByteBuffer out) {
+    int imageSize = width * height;
+    int nv21Size = imageSize + 2 * (imageSize / 4);
+    int offset = out.position();
+
+    if (areUVPlanesNV21(yuv420888planes, width, height)) {
+      ByteBuffer uBuffer = yuv420888planes[1].getBuffer();
+      ByteBuffer vBuffer = yuv420888planes[2].getBuffer();
+      // Copy the Y values.
+      out.put(slice(yuv420888planes[0].getBuffer(), 0, imageSize));
+      // Get the first V value from the V buffer, since the U buffer does not contain it.
+      out.put(vBuffer.get(vBuffer.position()));
+      // Copy the first U value and the remaining VU values from the U buffer.
+      out.put(slice(uBuffer, 0, 2 * imageSize / 4 - 1));
+    } else {
+      convertPlanes(yuv420888planes, width, height, out);
+      out.position(offset + nv21Size);
+    }
+  }
+
+  /**
+   * Converts the region of a YUV_420_888 image described by {@code region} to NV21, cropping and
+   * downscaling while converting so that only the output bytes are written.
+   *
+   * <p>The region must have been resolved for the size of the image. On return the position of
+   * {@code out} is advanced past the written NV21 bytes.
+   */
+  public void yuv420ThreePlanesToNV21(
+      @NonNull Image.Plane[] yuv420888planes,
+      @NonNull ImageStreamRegion region,
+      @NonNull ByteBuffer out) {
+    Image.Plane yPlane = yuv420888planes[0];
+    Image.Plane uPlane = yuv420888planes[1];
+    Image.Plane vPlane = yuv420888planes[2];
+    converter.toNv21(
+        yPlane.getBuffer(),
+        yPlane.getRowStride(),
+        yPlane.getPixelStride(),
+        uPlane.getBuffer(),
+        vPlane.getBuffer(),
+        uPlane.getRowStride(),
+        uPlane.getPixelStride(),
+        region.getCropLeft(),
+        region.getCropTop(),
+        region.getCropWidth(),
+        region.getCropHeight(),
+        region.getDownscaleFactor(),
+        out);
+  }
+
+  /**
+   * Copies the region described by {@code region} of one plane of a YUV_420_888 image into {@code
+   * out}, without row padding and with a pixel stride of 1.
+   *
+   * <p>The region must have been resolved for the size of the image. On return the position of
+   * {@code out} is advanced past the written bytes.
+   *
+   * @param planeIndex 0 for the Y plane, 1 for the U plane and 2 for the V plane.
+   */
+  public void copyYuv420PlaneRegion(
+      @NonNull Image.Plane[] yuv420888planes,
+      int planeIndex,
+      @NonNull ImageStreamRegion region,
+      @NonNull ByteBuffer out) {
+    Image.Plane plane = yuv420888planes[planeIndex];
+    int subsampling = planeIndex == 0 ? 1 : 2;
+    converter.copyPlane(
+        plane.getBuffer(),
+        plane.getRowStride(),
+        plane.getPixelStride(),
+        region.getCropLeft() / subsampling,
+        region.getCropTop() / subsampling,
+        region.getOutputWidth() / subsampling,
+        region.getOutputHeight() / subsampling,
+        region.getDownscaleFactor(),
+        out);
+  }
+
+  /** Returns a view of {@code length} bytes of {@code buffer} starting {@code start} bytes in. */
+  private static ByteBuffer slice(@NonNull ByteBuffer buffer, int start, int length) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(duplicate.position() + start);
+    duplicate.limit(duplicate.position() + length);
+    return duplicate;
+  }
+
   /**
    * Copyright 2020 Google LLC. All rights reserved.
    *
@@ -103,52 +196,22 @@ public class ImageStreamReaderUtils {
     return areNV21;
   }
 
-  /**
-   * Copyright 2020 Google LLC. All rights reserved.
-   *
-   * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
-   * except in compliance with the License. You may obtain a copy of the License at
-   *
-   * <p>http://www.apache.org/licenses/LICENSE-2.0
-   *
-   * <p>Unless required by applicable law or agreed to in writing, software distributed under the
-   * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
-   * either express or implied. See the License for the specific language governing permissions and
-   * limitations under the License.
-   *
-   * <p>Unpack an image plane into a byte array.
-   *
-   * <p>The input plane data will be copied in 'out', starting at 'offset' and every pixel will be
-   * spaced by 'pixelStride'. Note that there is no row padding on the output.
-   *
-   * <p>https://github.com/googlesamples/mlkit/blob/master/android/vision-quickstart/app/src/main/java/com/google/mlkit/vision/demo/BitmapUtils.java
-   */
-  private static void unpackPlane(
-      @NonNull Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride)
-      throws IllegalStateException {
-    ByteBuffer buffer = plane.getBuffer();
-    buffer.rewind();
-
-    // Compute the size of the current plane.
-    // We assume that it has the aspect ratio as the original image.
-    int numRow = (buffer.limit() + plane.getRowStride() - 1) / plane.getRowStride();
-    if (numRow == 0) {
-      return;
-    }
-    int scaleFactor = height / numRow;
-    int numCol = width / scaleFactor;
-
-    // Extract the data in the output buffer.
-    int outputPos = offset;
-    int rowStart = 0;
-    for (int row = 0; row < numRow; row++) {
-      int inputPos = rowStart;
-      for (int col = 0; col < numCol; col++) {
-        out[outputPos] = buffer.get(inputPos);
-        outputPos += pixelStride;
-        inputPos += plane.getPixelStride();
-      }
-      rowStart += plane.getRowStride();
-    }
+  /** Converts the planes with {@link Yuv420Converter}, writing at the position of {@code out}. */
+  private void convertPlanes(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull ByteBuffer out) {
+    Image.Plane yPlane = yuv420888planes[0];
+    Image.Plane uPlane = yuv420888planes[1];
+    Image.Plane vPlane = yuv420888planes[2];
+    converter.toNv21(
+        yPlane.getBuffer(),
+        yPlane.getRowStride(),
+        yPlane.getPixelStride(),
+        uPlane.getBuffer(),
+        vPlane.getBuffer(),
+        uPlane.getRowStride(),
+        uPlane.getPixelStride(),
+        width,
+        height,
+        out);
   }
 }
@@ -0,0 +1,121 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+/**
+ * The part of each image stream frame to send to Dart, and the size it should be reduced to.
+ *
+ * <p>The region of interest is given in normalized coordinates (0 to 1) relative to the streamed
+ * frame, so it does not depend on the stream resolution. The frame is cropped to the region and
+ * then downscaled by the largest integer factor that keeps it at least as large as the target
+ * analysis size.
+ */
+public class ImageStreamRegion {
+  private final double left;
+  private final double top;
+  private final double width;
+  private final double height;
+  private final int targetWidth;
+  private final int targetHeight;
+
+  private int resolvedFrameWidth = -1;
+  private int resolvedFrameHeight = -1;
+  private int cropLeft;
+  private int cropTop;
+  private int cropWidth;
+  private int cropHeight;
+  private int downscaleFactor;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamRegion}.
+   *
+   * @param left the normalized left edge of the region of interest.
+   * @param top the normalized top edge of the region of interest.
+   * @param width the normalized width of the region of interest.
+   * @param height the normalized height of the region of interest.
+   * @param targetWidth the minimum width to downscale to, or 0 to not downscale.
+   * @param targetHeight the minimum height to downscale to, or 0 to not downscale.
+   */
+  public ImageStreamRegion(
+      double left, double top, double width, double height, int targetWidth, int targetHeight) {
+    this.left = clamp(left);
+    this.top = clamp(top);
+    this.width = Math.min(clamp(width), 1 - this.left);
+    this.height = Math.min(clamp(height), 1 - this.top);
+    this.targetWidth = Math.max(0, targetWidth);
+    this.targetHeight = Math.max(0, targetHeight);
+  }
+
+  /** Creates a region covering the whole frame, only downscaled towards the target size. */
+  public static ImageStreamRegion fullFrame(int targetWidth, int targetHeight) {
+    return new ImageStreamRegion(0, 0, 1, 1, targetWidth, targetHeight);
+  }
+
+  /**
+   * Computes the crop rectangle and downscale factor in pixels for a frame of the given size. The
+   * result is cached until the frame size changes.
+   */
+  public synchronized void resolve(int frameWidth, int frameHeight) {
+    if (frameWidth == resolvedFrameWidth && frameHeight == resolvedFrameHeight) {
+      return;
+    }
+    resolvedFrameWidth = frameWidth;
+    resolvedFrameHeight = frameHeight;
+
+    // NV21 and I420 subsample chroma by 2, so the crop origin has to be even.
+    cropLeft = (int) (left * frameWidth) & ~1;
+    cropTop = (int) (top * frameHeight) & ~1;
+    cropWidth = Math.max(2, Math.min((int) (width * frameWidth), frameWidth - cropLeft));
+    cropHeight = Math.max(2, Math.min((int) (height * frameHeight), frameHeight - cropTop));
+
+    int factor = Integer.MAX_VALUE;
+    if (targetWidth > 0) {
+      factor = Math.min(factor, cropWidth / targetWidth);
+    }
+    if (targetHeight > 0) {
+      factor = Math.min(factor, cropHeight / targetHeight);
+    }
+    downscaleFactor = factor == Integer.MAX_VALUE ? 1 : Math.max(1, factor);
+  }
+
+  /** The left edge of the crop in pixels, as of the last {@link #resolve(int, int)}. */
+  public synchronized int getCropLeft() {
+    return cropLeft;
+  }
+
+  /** The top edge of the crop in pixels, as of the last {@link #resolve(int, int)}. */
+  public synchronized int getCropTop() {
+    return cropTop;
+  }
+
+  /** The width of the crop in pixels, as of the last {@link #resolve(int, int)}. */
+  public synchronized int getCropWidth() {
+    return cropWidth;
+  }
+
+  /** The height of the crop in pixels, as of the last {@link #resolve(int, int)}. */
+  public synchronized int getCropHeight() {
+    return cropHeight;
+  }
+
+  /** The integer downscale factor, as of the last {@link #resolve(int, int)}. */
+  public synchronized int getDownscaleFactor() {
+    return downscaleFactor;
+  }
+
+  /** The width of the frames sent to Dart, as of the last {@link #resolve(int, int)}. */
+  public synchronized int getOutputWidth() {
+    return Yuv420Converter.outputLength(cropWidth, downscaleFactor);
+  }
+
+  /** The height of the frames sent to Dart, as of the last {@link #resolve(int, int)}. */
+  public synchronized int getOutputHeight() {
+    return Yuv420Converter.outputLength(cropHeight, downscaleFactor);
+  }
+
+  private static double clamp(double value) {
+    return Math.max(0, Math.min(1, value));
+  }
+}
@@ -0,0 +1,281 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Converts YUV_420_888 planes to NV21, optionally cropping and downscaling on the way.
+ *
+ * <p>The converter works on the raw plane buffers and strides so that it can run (and be
+ * benchmarked) without an {@link android.media.Image}. Rows are bulk-copied when the Y plane is not
+ * interleaved, and chroma is interleaved four samples at a time using 32 and 64-bit loads and
+ * stores, falling back to per-sample copies only for row tails and downscaling.
+ *
+ * <p>Plane buffers are read with absolute indexes starting at 0 and are never modified. Output is
+ * written at the current position of the destination buffer, which is advanced past the written
+ * bytes.
+ */
+public class Yuv420Converter {
+  private static final long EVEN_BYTES_MASK = 0x00FF00FF00FF00FFL;
+
+  /** Returns the size in bytes of an NV21 image of the given dimensions. */
+  public static int nv21Size(int width, int height) {
+    int imageSize = width * height;
+    return imageSize + 2 * (imageSize / 4);
+  }
+
+  /**
+   * Returns the size of the output along one axis for the given crop length and downscale factor,
+   * rounded down to an even number as required by NV21.
+   */
+  public static int outputLength(int cropLength, int downscaleFactor) {
+    return (cropLength / downscaleFactor) & ~1;
+  }
+
+  /** Converts the full image to NV21 without cropping or downscaling. */
+  public void toNv21(
+      @NonNull ByteBuffer yBuffer,
+      int yRowStride,
+      int yPixelStride,
+      @NonNull ByteBuffer uBuffer,
+      @NonNull ByteBuffer vBuffer,
+      int uvRowStride,
+      int uvPixelStride,
+      int width,
+      int height,
+      @NonNull ByteBuffer out) {
+    toNv21(
+        yBuffer,
+        yRowStride,
+        yPixelStride,
+        uBuffer,
+        vBuffer,
+        uvRowStride,
+        uvPixelStride,
+        0,
+        0,
+        width,
+        height,
+        1,
+        out);
+  }
+
+  /**
+   * Converts a region of a YUV_420_888 image to NV21.
+   *
+   * <p>The output is {@link #outputLength(int, int)} of the crop width by {@link #outputLength(int,
+   * int)} of the crop height. Downscaling keeps every {@code downscaleFactor}-th sample in each
+   * direction.
+   *
+   * @param cropLeft the left edge of the region to convert; rounded down to an even number.
+   * @param cropTop the top edge of the region to convert; rounded down to an even number.
+   * @param cropWidth the width of the region to convert.
+   * @param cropHeight the height of the region to convert.
+   * @param downscaleFactor the integer factor to downscale by, 1 for none.
+   * @param out the buffer to write to, which must have at least {@link #nv21Size(int, int)} of the
+   *     output dimensions remaining.
+   */
+  public void toNv21(
+      @NonNull ByteBuffer yBuffer,
+      int yRowStride,
+      int yPixelStride,
+      @NonNull ByteBuffer uBuffer,
+      @NonNull ByteBuffer vBuffer,
+      int uvRowStride,
+      int uvPixelStride,
+      int cropLeft,
+      int cropTop,
+      int cropWidth,
+      int cropHeight,
+      int downscaleFactor,
+      @NonNull ByteBuffer out) {
+    if (downscaleFactor < 1) {
+      throw new IllegalArgumentException("downscaleFactor must be at least 1");
+    }
+    cropLeft &= ~1;
+    cropTop &= ~1;
+    int outWidth = outputLength(cropWidth, downscaleFactor);
+    int outHeight = outputLength(cropHeight, downscaleFactor);
+    int outSize = nv21Size(outWidth, outHeight);
+    if (out.remaining() < outSize) {
+      throw new IllegalArgumentException(
+          "Output buffer has " + out.remaining() + " bytes remaining, needs " + outSize);
+    }
+
+    ByteBuffer dst = out.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    int outOffset = out.position();
+
+    copyPlane(
+        yBuffer,
+        yRowStride,
+        yPixelStride,
+        cropLeft,
+        cropTop,
+        outWidth,
+        outHeight,
+        downscaleFactor,
+        dst,
+        outOffset);
+    interleaveChroma(
+        uBuffer,
+        vBuffer,
+        uvRowStride,
+        uvPixelStride,
+        cropLeft / 2,
+        cropTop / 2,
+        outWidth / 2,
+        outHeight / 2,
+        downscaleFactor,
+        dst,
+        outOffset + outWidth * outHeight);
+
+    out.position(outOffset + outSize);
+  }
+
+  /**
+   * Copies a region of a single plane into {@code out} without row padding, so that the plane can
+   * be sent on its own with a pixel stride of 1.
+   *
+   * <p>For the chroma planes of a YUV_420_888 image, the region is half the size of the luma region
+   * in each direction.
+   *
+   * @param left the left edge of the region, in samples of this plane.
+   * @param top the top edge of the region, in rows of this plane.
+   * @param outWidth the number of samples per output row.
+   * @param outHeight the number of output rows.
+   * @param downscaleFactor the integer factor to downscale by, 1 for none.
+   * @param out the buffer to write to, at its current position.
+   */
+  public void copyPlane(
+      @NonNull ByteBuffer planeBuffer,
+      int rowStride,
+      int pixelStride,
+      int left,
+      int top,
+      int outWidth,
+      int outHeight,
+      int downscaleFactor,
+      @NonNull ByteBuffer out) {
+    int outSize = outWidth * outHeight;
+    if (out.remaining() < outSize) {
+      throw new IllegalArgumentException(
+          "Output buffer has " + out.remaining() + " bytes remaining, needs " + outSize);
+    }
+    int outOffset = out.position();
+    copyPlane(
+        planeBuffer,
+        rowStride,
+        pixelStride,
+        left,
+        top,
+        outWidth,
+        outHeight,
+        downscaleFactor,
+        out.duplicate(),
+        outOffset);
+    out.position(outOffset + outSize);
+  }
+
+  private static void copyPlane(
+      ByteBuffer planeBuffer,
+      int rowStride,
+      int pixelStride,
+      int left,
+      int top,
+      int outWidth,
+      int outHeight,
+      int downscaleFactor,
+      ByteBuffer dst,
+      int outOffset) {
+    int columnStep = pixelStride * downscaleFactor;
+    int rowStep = rowStride * downscaleFactor;
+    int rowStart = top * rowStride + left * pixelStride;
+
+    if (columnStep == 1) {
+      // Rows are contiguous, so each one is a single bulk copy.
+      ByteBuffer src = planeBuffer.duplicate();
+      dst.position(outOffset);
+      for (int row = 0; row < outHeight; row++) {
+        src.limit(rowStart + outWidth);
+        src.position(rowStart);
+        dst.put(src);
+        rowStart += rowStep;
+      }
+      return;
+    }
+
+    int outPos = outOffset;
+    for (int row = 0; row < outHeight; row++) {
+      int inPos = rowStart;
+      for (int col = 0; col < outWidth; col++) {
+        dst.put(outPos++, planeBuffer.get(inPos));
+        inPos += columnStep;
+      }
+      rowStart += rowStep;
+    }
+  }
+
+  private static void interleaveChroma(
+      ByteBuffer uBuffer,
+      ByteBuffer vBuffer,
+      int rowStride,
+      int pixelStride,
+      int left,
+      int top,
+      int outWidth,
+      int outHeight,
+      int downscaleFactor,
+      ByteBuffer dst,
+      int outOffset) {
+    ByteBuffer u = uBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    ByteBuffer v = vBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    int limit = Math.min(u.limit(), v.limit());
+    int columnStep = pixelStride * downscaleFactor;
+    int rowStep = rowStride * downscaleFactor;
+    int rowStart = top * rowStride + left * pixelStride;
+    int outPos = outOffset;
+
+    for (int row = 0; row < outHeight; row++) {
+      int inPos = rowStart;
+      int col = 0;
+      if (columnStep == 1) {
+        // Planar chroma: read four U and four V samples and spread them into one VUVUVUVU word.
+        for (; col + 4 <= outWidth && inPos + 4 <= limit; col += 4) {
+          long vWord = spreadBytes(v.getInt(inPos));
+          long uWord = spreadBytes(u.getInt(inPos));
+          dst.putLong(outPos, vWord | (uWord << 8));
+          inPos += 4;
+          outPos += 8;
+        }
+      } else if (columnStep == 2) {
+        // Semi-planar chroma: every other byte of each plane is a sample, so mask and merge.
+        for (; col + 4 <= outWidth && inPos + 8 <= limit; col += 4) {
+          long vWord = v.getLong(inPos) & EVEN_BYTES_MASK;
+          long uWord = u.getLong(inPos) & EVEN_BYTES_MASK;
+          dst.putLong(outPos, vWord | (uWord << 8));
+          inPos += 8;
+          outPos += 8;
+        }
+      }
+      for (; col < outWidth; col++) {
+        dst.put(outPos++, v.get(inPos));
+        dst.put(outPos++, u.get(inPos));
+        inPos += columnStep;
+      }
+      rowStart += rowStep;
+    }
+  }
+
+  /** Moves byte {@code i} of {@code value} to byte {@code 2 * i} of the result. */
+  private static long spreadBytes(int value) {
+    long x = value & 0xFFFFFFFFL;
+    x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+    x = (x | (x << 8)) & EVEN_BYTES_MASK;
+    return x;
+  }
+}
@@ -304,4 +304,16 @@ public class CameraPropertiesImplTest {
         .get(CameraCharacteristics.NOISE_REDUCTION_AVAILABLE_NOISE_REDUCTION_MODES);
     assertEquals(actualReductionModes, expectedReductionModes);
   }
+
+  @Test
+  public void getRequestPipelineMaxDepthTest() {
+    byte expectedDepth = 4;
+    when(mockCharacteristics.get(CameraCharacteristics.REQUEST_PIPELINE_MAX_DEPTH))
+        .thenReturn(expectedDepth);
+
+    int actualDepth = cameraProperties.getRequestPipelineMaxDepth();
+
+    verify(mockCharacteristics, times(1)).get(CameraCharacteristics.REQUEST_PIPELINE_MAX_DEPTH);
+    assertEquals(actualDepth, expectedDepth);
+  }
 }
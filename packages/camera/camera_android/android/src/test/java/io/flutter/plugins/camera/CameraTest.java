@@ -7,6 +7,8 @@ package io.flutter.plugins.camera;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -29,7 +31,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LifecycleObserver;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
-import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.BasicMessageChannel;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugins.camera.features.CameraFeatureFactory;
 import io.flutter.plugins.camera.features.CameraFeatures;
@@ -50,6 +52,7 @@ import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.BurstImageRing;
 import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.view.TextureRegistry;
 import java.io.Closeable;
@@ -773,7 +776,7 @@ public class CameraTest {
     when(cameraFlutterTexture.surfaceTexture()).thenReturn(mockSurfaceTexture);
     when(resolutionFeature.getPreviewSize()).thenReturn(mockSize);
 
-    camera.startPreviewWithImageStream(mock(EventChannel.class));
+    camera.startPreviewWithImageStream(mock(BasicMessageChannel.class));
     verify(mockImageStreamReader, times(1))
         .getSurface(); // stream pulled from image streaming imageReader's surface.
     verify(
@@ -1071,6 +1074,100 @@ public class CameraTest {
     verify(mockHandlerThread, never()).join();
   }
 
+  @Test
+  public void startBurstCapture_shouldSendErrorResultWhileRecording() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    camera.recordingVideo = true;
+
+    camera.startBurstCapture(3, mockResult);
+
+    verify(mockResult, times(1)).error(eq("burstCaptureFailed"), any(), any());
+    assertNull(camera.burstImageRing);
+  }
+
+  @Test
+  public void startBurstCapture_shouldSendErrorResultForInvalidCapacity() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.startBurstCapture(0, mockResult);
+
+    verify(mockResult, times(1)).error(eq("burstCaptureFailed"), any(), any());
+    assertNull(camera.burstImageRing);
+  }
+
+  @Test
+  public void stopBurstCapture_shouldCancelWaitingPicturesWhileRecording() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    BurstImageRing.Callback mockCallback = mock(BurstImageRing.Callback.class);
+    camera.pictureImageReader = mockPictureImageReader;
+    camera.burstImageRing = new BurstImageRing(3);
+    camera.burstImageRing.take(mockCallback);
+    camera.recordingVideo = true;
+
+    camera.stopBurstCapture(mockResult);
+
+    verify(mockCallback, times(1)).onCancelled();
+    verify(mockPictureImageReader, times(1)).setOnImageAvailableListener(null, null);
+    verify(mockResult, times(1)).success(null);
+    assertNull(camera.burstImageRing);
+  }
+
+  @Test
+  public void attachBurstFrames_shouldAddPictureSurfaceToRepeatingRequestUntilIdle()
+      throws CameraAccessException {
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    Surface mockPictureSurface = mock(Surface.class);
+    when(mockPictureImageReader.getSurface()).thenReturn(mockPictureSurface);
+    camera.pictureImageReader = mockPictureImageReader;
+    camera.burstImageRing = new BurstImageRing(3);
+    DeviceOrientationManager mockDeviceOrientationManager = mockPhotoOrientation(90);
+
+    camera.attachBurstFrames();
+    camera.attachBurstFrames();
+
+    assertTrue(camera.burstFramesAttached);
+    verify(mockPreviewRequestBuilder, times(1)).addTarget(mockPictureSurface);
+    verify(mockPreviewRequestBuilder, times(1)).set(CaptureRequest.JPEG_ORIENTATION, 90);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+    verify(mockHandler, times(2)).postDelayed(any(), eq(Camera.BURST_IDLE_TIMEOUT_MS));
+    verify(mockDeviceOrientationManager, times(2)).getPhotoOrientation();
+
+    camera.detachBurstFrames();
+
+    assertFalse(camera.burstFramesAttached);
+    verify(mockPreviewRequestBuilder, times(1)).removeTarget(mockPictureSurface);
+    verify(mockCaptureSession, times(2)).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void attachBurstFrames_shouldDropFramesInFlightWhenOrientationChanges() {
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    BurstImageRing mockBurstImageRing = mock(BurstImageRing.class);
+    camera.pictureImageReader = mockPictureImageReader;
+    camera.burstImageRing = mockBurstImageRing;
+    when(mockCameraProperties.getRequestPipelineMaxDepth()).thenReturn(4);
+    mockPhotoOrientation(90);
+    camera.attachBurstFrames();
+
+    mockPhotoOrientation(180);
+    camera.attachBurstFrames();
+
+    assertEquals(180, camera.burstJpegOrientation);
+    verify(mockPreviewRequestBuilder, times(1)).set(CaptureRequest.JPEG_ORIENTATION, 180);
+    verify(mockBurstImageRing, times(1)).discard(4);
+  }
+
+  private DeviceOrientationManager mockPhotoOrientation(int photoOrientation) {
+    final SensorOrientationFeature mockSensorOrientationFeature =
+        mockCameraFeatureFactory.createSensorOrientationFeature(mockCameraProperties, null, null);
+    DeviceOrientationManager mockDeviceOrientationManager = mock(DeviceOrientationManager.class);
+    when(mockSensorOrientationFeature.getDeviceOrientationManager())
+        .thenReturn(mockDeviceOrientationManager);
+    when(mockDeviceOrientationManager.getPhotoOrientation()).thenReturn(photoOrientation);
+    return mockDeviceOrientationManager;
+  }
+
   @Test
   public void onConverge_shouldTakePictureWithoutAbortingSession() throws CameraAccessException {
     ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
@@ -4,19 +4,28 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.app.Activity;
 import android.hardware.camera2.CameraAccessException;
 import androidx.lifecycle.LifecycleObserver;
+import io.flutter.plugin.common.BasicMessageChannel;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugins.camera.media.ImageStreamRegion;
 import io.flutter.view.TextureRegistry;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -73,4 +82,84 @@ public class MethodCallHandlerImplTest {
     verify(mockCamera, times(1)).resumePreview();
     verify(mockResult, times(1)).success(null);
   }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldStreamOverPackedChannel()
+      throws CameraAccessException {
+    handler.onMethodCall(new MethodCall("startImageStream", null), mockResult);
+
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any(BasicMessageChannel.class));
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_stopImageStream_shouldStopImageStreamAndSendSuccessResult()
+      throws CameraAccessException, InterruptedException {
+    handler.onMethodCall(new MethodCall("stopImageStream", null), mockResult);
+
+    verify(mockCamera, times(1)).stopImageStream();
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldConfigureFrameLimits()
+      throws CameraAccessException {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("keepOnlyLatest", true);
+    arguments.put("maxFramesInFlight", 2);
+    arguments.put("maxFramesPerSecond", 15);
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    verify(mockCamera, times(1)).setImageStreamFrameLimits(true, 2, 15.0);
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any(BasicMessageChannel.class));
+  }
+
+  @Test
+  public void onMethodCall_startBurstCapture_shouldPassCapacityToCamera() {
+    handler.onMethodCall(
+        new MethodCall("startBurstCapture", Collections.singletonMap("capacity", 5)), mockResult);
+
+    verify(mockCamera, times(1)).startBurstCapture(5, mockResult);
+  }
+
+  @Test
+  public void onMethodCall_stopBurstCapture_shouldStopBurstCapture() {
+    handler.onMethodCall(new MethodCall("stopBurstCapture", null), mockResult);
+
+    verify(mockCamera, times(1)).stopBurstCapture(mockResult);
+  }
+
+  @Test
+  public void onMethodCall_getImageStreamStatistics_shouldReturnCameraStatistics() {
+    Map<String, Object> statistics = new HashMap<>();
+    when(mockCamera.getImageStreamStatistics()).thenReturn(statistics);
+
+    handler.onMethodCall(new MethodCall("getImageStreamStatistics", null), mockResult);
+
+    verify(mockResult, times(1)).success(statistics);
+  }
+
+  @Test
+  public void parseImageStreamRegion_returnsNullWithoutRegionOrTargetSize() {
+    assertNull(MethodCallHandlerImpl.parseImageStreamRegion(null, null, null));
+  }
+
+  @Test
+  public void parseImageStreamRegion_parsesNormalizedRegionAndTargetSize() {
+    Map<String, Object> regionOfInterest = new HashMap<>();
+    regionOfInterest.put("left", 0.25);
+    regionOfInterest.put("top", 0.0);
+    regionOfInterest.put("width", 0.5);
+    regionOfInterest.put("height", 1);
+
+    ImageStreamRegion region =
+        MethodCallHandlerImpl.parseImageStreamRegion(regionOfInterest, 320, 240);
+    region.resolve(1280, 480);
+
+    assertEquals(320, region.getCropLeft());
+    assertEquals(640, region.getCropWidth());
+    assertEquals(480, region.getCropHeight());
+    assertEquals(2, region.getDownscaleFactor());
+  }
 }
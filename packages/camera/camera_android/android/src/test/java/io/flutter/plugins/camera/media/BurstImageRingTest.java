@@ -0,0 +1,157 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import android.media.ImageReader;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BurstImageRingTest {
+  private ImageReader mockImageReader;
+  private BurstImageRing.Callback mockCallback;
+
+  @Before
+  public void setUp() {
+    mockImageReader = mock(ImageReader.class);
+    mockCallback = mock(BurstImageRing.Callback.class);
+  }
+
+  @Test
+  public void onImageAvailable_closesOldestImageWhenFull() {
+    BurstImageRing ring = new BurstImageRing(2);
+    Image first = mock(Image.class);
+    Image second = mock(Image.class);
+    Image third = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(first, second, third);
+
+    ring.onImageAvailable(mockImageReader);
+    ring.onImageAvailable(mockImageReader);
+    ring.onImageAvailable(mockImageReader);
+
+    assertEquals(2, ring.size());
+    verify(first).close();
+    verify(second, never()).close();
+    verify(third, never()).close();
+  }
+
+  @Test
+  public void take_handsOutMostRecentImage() {
+    BurstImageRing ring = new BurstImageRing(3);
+    Image older = mock(Image.class);
+    Image newer = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(older, newer);
+    ring.onImageAvailable(mockImageReader);
+    ring.onImageAvailable(mockImageReader);
+
+    ring.take(mockCallback);
+
+    verify(mockCallback).onImage(newer);
+    assertEquals(1, ring.size());
+    verify(newer, never()).close();
+  }
+
+  @Test
+  public void take_waitsForNextImageWhenEmpty() {
+    BurstImageRing ring = new BurstImageRing(2);
+    Image image = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(image);
+
+    ring.take(mockCallback);
+    verify(mockCallback, never()).onImage(image);
+
+    ring.onImageAvailable(mockImageReader);
+
+    verify(mockCallback).onImage(image);
+    assertEquals(0, ring.size());
+  }
+
+  @Test
+  public void onImageAvailable_dropsOldestImageWhenReaderIsExhausted() {
+    BurstImageRing ring = new BurstImageRing(2);
+    Image first = mock(Image.class);
+    Image second = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(first);
+    ring.onImageAvailable(mockImageReader);
+    when(mockImageReader.acquireNextImage())
+        .thenThrow(new IllegalStateException("maxImages"))
+        .thenReturn(second);
+
+    ring.onImageAvailable(mockImageReader);
+
+    verify(first).close();
+    assertEquals(1, ring.size());
+  }
+
+  @Test
+  public void discard_dropsStaleImagesArrivingAfterwards() {
+    BurstImageRing ring = new BurstImageRing(2);
+    Image kept = mock(Image.class);
+    Image stale = mock(Image.class);
+    Image fresh = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(kept, stale, fresh);
+    ring.onImageAvailable(mockImageReader);
+
+    ring.discard(1);
+    ring.take(mockCallback);
+    ring.onImageAvailable(mockImageReader);
+    ring.onImageAvailable(mockImageReader);
+
+    verify(kept).close();
+    verify(stale).close();
+    verify(mockCallback, never()).onImage(stale);
+    verify(mockCallback).onImage(fresh);
+  }
+
+  @Test
+  public void clear_closesImagesAndCancelsWaitingCallbacks() {
+    BurstImageRing ring = new BurstImageRing(2);
+    Image kept = mock(Image.class);
+    Image next = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(kept, next);
+    ring.onImageAvailable(mockImageReader);
+    ring.clear();
+    ring.take(mockCallback);
+
+    ring.clear();
+
+    verify(kept).close();
+    verify(mockCallback).onCancelled();
+
+    ring.onImageAvailable(mockImageReader);
+    verify(mockCallback, never()).onImage(next);
+    assertEquals(1, ring.size());
+  }
+
+  @Test
+  public void close_closesImagesAndCancelsWaitingCallbacks() {
+    BurstImageRing ring = new BurstImageRing(2);
+    Image image = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(image);
+    ring.onImageAvailable(mockImageReader);
+    ring.take(mock(BurstImageRing.Callback.class));
+    ring.take(mockCallback);
+
+    ring.close();
+
+    verify(mockCallback).onCancelled();
+    assertEquals(0, ring.size());
+
+    ring.onImageAvailable(mockImageReader);
+    verify(image).close();
+    assertEquals(0, ring.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_rejectsCapacityBelowOne() {
+    new BurstImageRing(0);
+  }
+}
@@ -0,0 +1,84 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class ImageStreamBufferPoolTest {
+  @Test
+  public void acquire_returnsDirectBufferOfRequestedSize() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(2);
+
+    ByteBuffer buffer = pool.acquire(128);
+
+    assertNotNull(buffer);
+    assertTrue(buffer.isDirect());
+    assertTrue(buffer.capacity() >= 128);
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void acquire_returnsNullWhenAllBuffersAreInFlight() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(2);
+
+    assertNotNull(pool.acquire(16));
+    assertNotNull(pool.acquire(16));
+
+    assertNull(pool.acquire(16));
+    assertEquals(2, pool.getInFlightCount());
+  }
+
+  @Test
+  public void release_makesBufferAvailableForReuse() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(1);
+    ByteBuffer buffer = pool.acquire(16);
+    buffer.putInt(42);
+
+    pool.release(buffer);
+    ByteBuffer reused = pool.acquire(16);
+
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(1, pool.getInFlightCount());
+  }
+
+  @Test
+  public void acquire_replacesBuffersThatAreTooSmall() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(1);
+    ByteBuffer small = pool.acquire(16);
+    pool.release(small);
+
+    ByteBuffer large = pool.acquire(64);
+
+    assertNotNull(large);
+    assertTrue(large.capacity() >= 64);
+    assertEquals(1, pool.getInFlightCount());
+  }
+
+  @Test
+  public void release_discardsInFlightBuffersThatBecameTooSmall() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(2);
+    ByteBuffer small = pool.acquire(16);
+    ByteBuffer large = pool.acquire(64);
+
+    pool.release(small);
+
+    assertEquals(1, pool.getInFlightCount());
+    pool.release(large);
+    assertSame(large, pool.acquire(64));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_rejectsZeroCapacity() {
+    new ImageStreamBufferPool(0);
+  }
+}
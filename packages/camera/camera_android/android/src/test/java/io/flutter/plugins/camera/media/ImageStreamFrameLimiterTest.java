@@ -0,0 +1,88 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import org.junit.Test;
+
+public class ImageStreamFrameLimiterTest {
+  private static final long FRAME_30_FPS_NANOS = 33_333_333L;
+
+  @Test
+  public void tryAcquire_admitsEveryFrameByDefault() {
+    ImageStreamFrameLimiter limiter = new ImageStreamFrameLimiter();
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limiter.tryAcquire(i * FRAME_30_FPS_NANOS));
+    }
+    assertEquals(10, limiter.getStatistics().get("framesInFlight"));
+  }
+
+  @Test
+  public void tryAcquire_dropsFramesWhenMaxInFlightIsReached() {
+    ImageStreamFrameLimiter limiter = new ImageStreamFrameLimiter();
+    limiter.configure(false, 2, 0);
+
+    assertTrue(limiter.tryAcquire(0));
+    assertTrue(limiter.tryAcquire(FRAME_30_FPS_NANOS));
+    assertFalse(limiter.tryAcquire(2 * FRAME_30_FPS_NANOS));
+
+    limiter.onFrameDelivered();
+    assertTrue(limiter.tryAcquire(3 * FRAME_30_FPS_NANOS));
+
+    Map<String, Object> statistics = limiter.getStatistics();
+    assertEquals(1L, statistics.get("deliveredFrames"));
+    assertEquals(1L, statistics.get("droppedFrames"));
+    assertEquals(2, statistics.get("framesInFlight"));
+  }
+
+  @Test
+  public void tryAcquire_capsFrameRate() {
+    ImageStreamFrameLimiter limiter = new ImageStreamFrameLimiter();
+    limiter.configure(false, 0, 15);
+
+    int admitted = 0;
+    for (int i = 0; i < 30; i++) {
+      // Add some jitter to the sensor timestamps.
+      long timestamp = i * FRAME_30_FPS_NANOS + (i % 2 == 0 ? 1_000_000L : -1_000_000L);
+      if (limiter.tryAcquire(timestamp)) {
+        admitted++;
+        limiter.onFrameDelivered();
+      }
+    }
+
+    assertEquals(15, admitted);
+    assertEquals(15L, limiter.getStatistics().get("droppedFrames"));
+  }
+
+  @Test
+  public void onFrameDropped_releasesInFlightSlot() {
+    ImageStreamFrameLimiter limiter = new ImageStreamFrameLimiter();
+    limiter.configure(false, 1, 0);
+
+    assertTrue(limiter.tryAcquire(0));
+    limiter.onFrameDropped();
+
+    assertTrue(limiter.tryAcquire(FRAME_30_FPS_NANOS));
+    assertEquals(1L, limiter.getStatistics().get("droppedFrames"));
+  }
+
+  @Test
+  public void configure_resetsCounters() {
+    ImageStreamFrameLimiter limiter = new ImageStreamFrameLimiter();
+    limiter.tryAcquire(0);
+    limiter.onFrameDelivered();
+
+    limiter.configure(true, 0, 0);
+
+    assertTrue(limiter.isKeepOnlyLatest());
+    assertEquals(0L, limiter.getStatistics().get("deliveredFrames"));
+    assertEquals(0, limiter.getStatistics().get("framesInFlight"));
+  }
+}
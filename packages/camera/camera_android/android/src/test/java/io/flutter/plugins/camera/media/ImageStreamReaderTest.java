@@ -4,22 +4,29 @@
 
 package io.flutter.plugins.camera.media;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.graphics.ImageFormat;
 import android.media.Image;
 import android.media.ImageReader;
-import io.flutter.plugin.common.EventChannel;
+import android.os.Looper;
+import io.flutter.plugin.common.BasicMessageChannel;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
 
 @RunWith(RobolectricTestRunner.class)
@@ -57,10 +64,6 @@ public class ImageStreamReaderTest {
     ImageStreamReader imageStreamReader =
         new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
 
-    ByteBuffer mockBytes = ByteBuffer.allocate(0);
-    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(any(), anyInt(), anyInt()))
-        .thenReturn(mockBytes);
-
     // The image format as streamed from the camera
     int imageFormat = ImageFormat.YUV_420_888;
 
@@ -97,12 +100,14 @@ public class ImageStreamReaderTest {
     when(mockImage.getPlanes()).thenReturn(planes);
 
     CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
-    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
-    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockEventSink);
+    @SuppressWarnings("unchecked")
+    BasicMessageChannel<ByteBuffer> mockChannel = mock(BasicMessageChannel.class);
+    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockChannel);
 
-    // Make sure we processed the frame with parsePlanesForNv21
+    // Make sure we converted the frame to NV21
     verify(mockImageStreamReaderUtils)
-        .yuv420ThreePlanesToNV21(planes, mockImage.getWidth(), mockImage.getHeight());
+        .yuv420ThreePlanesToNV21(
+            eq(planes), eq(mockImage.getWidth()), eq(mockImage.getHeight()), any(ByteBuffer.class));
   }
 
   /** If we are requesting YUV420, then we should send the 3-plane image as it is. */
@@ -116,10 +121,6 @@ public class ImageStreamReaderTest {
     ImageStreamReader imageStreamReader =
         new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
 
-    ByteBuffer mockBytes = ByteBuffer.allocate(0);
-    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(any(), anyInt(), anyInt()))
-        .thenReturn(mockBytes);
-
     // The image format as streamed from the camera
     int imageFormat = ImageFormat.YUV_420_888;
 
@@ -156,10 +157,174 @@ public class ImageStreamReaderTest {
     when(mockImage.getPlanes()).thenReturn(planes);
 
     CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
-    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
-    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockEventSink);
+    @SuppressWarnings("unchecked")
+    BasicMessageChannel<ByteBuffer> mockChannel = mock(BasicMessageChannel.class);
+    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockChannel);
+
+    // Make sure we sent the planes as they are
+    verify(mockImageStreamReaderUtils, never())
+        .yuv420ThreePlanesToNV21(any(), anyInt(), anyInt(), any(ByteBuffer.class));
+  }
+
+  private Image mockPackedYuvImage() {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(4);
+    when(mockImage.getHeight()).thenReturn(2);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+
+    Image.Plane planeY = mock(Image.Plane.class);
+    Image.Plane planeU = mock(Image.Plane.class);
+    Image.Plane planeV = mock(Image.Plane.class);
+    when(planeY.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+    when(planeY.getRowStride()).thenReturn(4);
+    when(planeY.getPixelStride()).thenReturn(1);
+    when(planeU.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {9, 10, 11}));
+    when(planeU.getRowStride()).thenReturn(4);
+    when(planeU.getPixelStride()).thenReturn(2);
+    when(planeV.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {12, 13, 14}));
+    when(planeV.getRowStride()).thenReturn(4);
+    when(planeV.getPixelStride()).thenReturn(2);
+
+    Image.Plane[] planes = {planeY, planeU, planeV};
+    when(mockImage.getPlanes()).thenReturn(planes);
+    return mockImage;
+  }
+
+  /** Packed frames carry a fixed binary header followed by each plane's strides and bytes. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_sendsHeaderAndPlanesInOneBuffer() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.YUV_420_888, new ImageStreamReaderUtils());
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    when(mockCaptureProps.getLastLensAperture()).thenReturn(1.8f);
+    when(mockCaptureProps.getLastSensorExposureTime()).thenReturn(1000L);
+    when(mockCaptureProps.getLastSensorSensitivity()).thenReturn(null);
+    BasicMessageChannel<ByteBuffer> mockChannel = mock(BasicMessageChannel.class);
+    Image mockImage = mockPackedYuvImage();
 
-    // Make sure we processed the frame with parsePlanesForYuvOrJpeg
+    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockChannel);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    ArgumentCaptor<ByteBuffer> frameCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(mockChannel).send(frameCaptor.capture(), any());
+    verify(mockImage).close();
+    ByteBuffer frame = frameCaptor.getValue();
+    assertEquals(
+        ImageStreamReader.PACKED_FRAME_HEADER_SIZE
+            + 3 * ImageStreamReader.PACKED_PLANE_HEADER_SIZE
+            + 14,
+        frame.position());
+
+    frame.flip();
+    frame.order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(ImageStreamReader.PACKED_FRAME_VERSION, frame.getInt());
+    assertEquals(ImageFormat.YUV_420_888, frame.getInt());
+    assertEquals(4, frame.getInt());
+    assertEquals(2, frame.getInt());
+    assertEquals(1.8f, frame.getDouble(), 0.0001);
+    assertEquals(1000L, frame.getLong());
+    assertEquals(Double.NaN, frame.getDouble(), 0);
+    assertEquals(3, frame.getInt());
+    // Y plane.
+    assertEquals(4, frame.getInt());
+    assertEquals(1, frame.getInt());
+    assertEquals(8, frame.getInt());
+    byte[] yBytes = new byte[8];
+    frame.get(yBytes);
+    assertEquals(8, yBytes[7]);
+    // U plane.
+    assertEquals(4, frame.getInt());
+    assertEquals(2, frame.getInt());
+    assertEquals(3, frame.getInt());
+  }
+
+  /** When every pooled buffer is waiting for Dart, new frames are dropped until one is released. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_dropsFramesUntilDartReleasesABuffer() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.YUV_420_888, new ImageStreamReaderUtils());
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    BasicMessageChannel<ByteBuffer> mockChannel = mock(BasicMessageChannel.class);
+
+    for (int i = 0; i < 4; i++) {
+      imageStreamReader.onImageAvailable(mockPackedYuvImage(), mockCaptureProps, mockChannel);
+    }
+    shadowOf(Looper.getMainLooper()).idle();
+
+    ArgumentCaptor<BasicMessageChannel.Reply<ByteBuffer>> replyCaptor =
+        ArgumentCaptor.forClass(BasicMessageChannel.Reply.class);
+    verify(mockChannel, times(3)).send(any(), replyCaptor.capture());
+
+    replyCaptor.getAllValues().get(0).reply(null);
+    imageStreamReader.onImageAvailable(mockPackedYuvImage(), mockCaptureProps, mockChannel);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockChannel, times(4)).send(any(), any());
+  }
+
+  /** NV21 packed frames contain a single converted plane. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_convertsToNv21IntoPooledBuffer() {
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.NV21, mockImageStreamReaderUtils);
+    BasicMessageChannel<ByteBuffer> mockChannel = mock(BasicMessageChannel.class);
+    Image mockImage = mockPackedYuvImage();
+
+    imageStreamReader.onImageAvailable(mockImage, mock(CameraCaptureProperties.class), mockChannel);
+
+    verify(mockImageStreamReaderUtils)
+        .yuv420ThreePlanesToNV21(
+            any(Image.Plane[].class), anyInt(), anyInt(), any(ByteBuffer.class));
     verify(mockImageStreamReaderUtils, never()).yuv420ThreePlanesToNV21(any(), anyInt(), anyInt());
   }
+
+  /** With a region set, packed YUV420 frames carry only the cropped planes, without padding. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_sendsOnlyRegionWhenSet() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.YUV_420_888, new ImageStreamReaderUtils());
+    // The right half of the 4x2 frame.
+    imageStreamReader.setRegion(new ImageStreamRegion(0.5, 0, 0.5, 1, 0, 0));
+    BasicMessageChannel<ByteBuffer> mockChannel = mock(BasicMessageChannel.class);
+
+    imageStreamReader.onImageAvailable(
+        mockPackedYuvImage(), mock(CameraCaptureProperties.class), mockChannel);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    ArgumentCaptor<ByteBuffer> frameCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(mockChannel).send(frameCaptor.capture(), any());
+    ByteBuffer frame = frameCaptor.getValue();
+    assertEquals(
+        ImageStreamReader.PACKED_FRAME_HEADER_SIZE
+            + 3 * ImageStreamReader.PACKED_PLANE_HEADER_SIZE
+            + 6,
+        frame.position());
+
+    frame.flip();
+    frame.order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(2, frame.getInt(8));
+    assertEquals(2, frame.getInt(12));
+    frame.position(ImageStreamReader.PACKED_FRAME_HEADER_SIZE);
+    // Y plane.
+    assertEquals(2, frame.getInt());
+    assertEquals(1, frame.getInt());
+    assertEquals(4, frame.getInt());
+    byte[] yBytes = new byte[4];
+    frame.get(yBytes);
+    assertArrayEquals(new byte[] {3, 4, 7, 8}, yBytes);
+    // U plane.
+    assertEquals(1, frame.getInt());
+    assertEquals(1, frame.getInt());
+    assertEquals(1, frame.getInt());
+    assertEquals(11, frame.get());
+  }
 }
@@ -96,4 +96,31 @@ public class ImageStreamReaderUtilsTest {
         ((long) imageWidth * imageHeight) + (2 * ((long) (imageWidth / 2) * (imageHeight / 2))),
         result.limit());
   }
+
+  /** Ensure that converting into a caller-supplied buffer produces the same bytes. */
+  @Test
+  public void yuv420ThreePlanesToNV21_writesSameBytesIntoProvidedBuffer() {
+    Image mockImage = getImage(160, 120, 16);
+    byte[] yBytes = mockImage.getPlanes()[0].getBuffer().array();
+    byte[] uBytes = mockImage.getPlanes()[1].getBuffer().array();
+    for (int i = 0; i < yBytes.length; i++) {
+      yBytes[i] = (byte) i;
+    }
+    for (int i = 0; i < uBytes.length; i++) {
+      uBytes[i] = (byte) (i * 3);
+    }
+
+    ByteBuffer expected =
+        imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+            mockImage.getPlanes(), mockImage.getWidth(), mockImage.getHeight());
+    ByteBuffer out = ByteBuffer.allocateDirect(expected.limit() + 8);
+    out.position(8);
+    imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+        mockImage.getPlanes(), mockImage.getWidth(), mockImage.getHeight(), out);
+
+    Assert.assertEquals(expected.limit() + 8, out.position());
+    out.flip();
+    out.position(8);
+    Assert.assertEquals(expected, out);
+  }
 }
@@ -0,0 +1,63 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ImageStreamRegionTest {
+  @Test
+  public void resolve_cropsCenterSquareAndDownscalesTowardsTarget() {
+    ImageStreamRegion region = new ImageStreamRegion(0.21875, 0, 0.5625, 1, 320, 320);
+
+    region.resolve(1920, 1080);
+
+    assertEquals(420, region.getCropLeft());
+    assertEquals(0, region.getCropTop());
+    assertEquals(1080, region.getCropWidth());
+    assertEquals(1080, region.getCropHeight());
+    assertEquals(3, region.getDownscaleFactor());
+    assertEquals(360, region.getOutputWidth());
+    assertEquals(360, region.getOutputHeight());
+  }
+
+  @Test
+  public void resolve_fullFrameOnlyDownscales() {
+    ImageStreamRegion region = ImageStreamRegion.fullFrame(640, 0);
+
+    region.resolve(1920, 1080);
+
+    assertEquals(0, region.getCropLeft());
+    assertEquals(1920, region.getCropWidth());
+    assertEquals(3, region.getDownscaleFactor());
+    assertEquals(640, region.getOutputWidth());
+    assertEquals(360, region.getOutputHeight());
+  }
+
+  @Test
+  public void resolve_doesNotUpscaleWhenTargetIsLargerThanRegion() {
+    ImageStreamRegion region = new ImageStreamRegion(0.25, 0.25, 0.5, 0.5, 1920, 1080);
+
+    region.resolve(640, 480);
+
+    assertEquals(1, region.getDownscaleFactor());
+    assertEquals(320, region.getOutputWidth());
+    assertEquals(240, region.getOutputHeight());
+  }
+
+  @Test
+  public void resolve_keepsRegionInsideFrameAndEvenAligned() {
+    ImageStreamRegion region = new ImageStreamRegion(0.9, -0.5, 0.5, 2, 0, 0);
+
+    region.resolve(101, 60);
+
+    assertEquals(90, region.getCropLeft());
+    assertEquals(0, region.getCropTop());
+    assertEquals(10, region.getCropWidth());
+    assertEquals(60, region.getCropHeight());
+    assertEquals(10, region.getOutputWidth());
+  }
+}
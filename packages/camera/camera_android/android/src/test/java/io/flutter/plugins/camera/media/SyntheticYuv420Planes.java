@@ -0,0 +1,104 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Generates YUV_420_888 planes filled with random samples, laid out the way camera HALs commonly
+ * provide them, for use by {@link Yuv420ConverterTest} and {@link Yuv420ConverterBenchmark}.
+ */
+final class SyntheticYuv420Planes {
+  final int width;
+  final int height;
+  final int yRowStride;
+  final int uvRowStride;
+  final int uvPixelStride;
+  final ByteBuffer yBuffer;
+  final ByteBuffer uBuffer;
+  final ByteBuffer vBuffer;
+
+  private SyntheticYuv420Planes(
+      int width,
+      int height,
+      int yRowStride,
+      int uvRowStride,
+      int uvPixelStride,
+      ByteBuffer yBuffer,
+      ByteBuffer uBuffer,
+      ByteBuffer vBuffer) {
+    this.width = width;
+    this.height = height;
+    this.yRowStride = yRowStride;
+    this.uvRowStride = uvRowStride;
+    this.uvPixelStride = uvPixelStride;
+    this.yBuffer = yBuffer;
+    this.uBuffer = uBuffer;
+    this.vBuffer = vBuffer;
+  }
+
+  /** Planar chroma (I420-like): separate U and V planes with a pixel stride of 1. */
+  static SyntheticYuv420Planes planar(int width, int height, int rowPadding, long seed) {
+    Random random = new Random(seed);
+    int yRowStride = width + rowPadding;
+    int uvRowStride = width / 2 + rowPadding / 2;
+    ByteBuffer yBuffer = randomPlane(random, yRowStride, height, width);
+    ByteBuffer uBuffer = randomPlane(random, uvRowStride, height / 2, width / 2);
+    ByteBuffer vBuffer = randomPlane(random, uvRowStride, height / 2, width / 2);
+    return new SyntheticYuv420Planes(
+        width, height, yRowStride, uvRowStride, 1, yBuffer, uBuffer, vBuffer);
+  }
+
+  /**
+   * Semi-planar chroma (NV21-like): U and V are views into one interleaved VUVU buffer, offset by
+   * one byte, with a pixel stride of 2.
+   */
+  static SyntheticYuv420Planes semiPlanar(int width, int height, int rowPadding, long seed) {
+    Random random = new Random(seed);
+    int rowStride = width + rowPadding;
+    ByteBuffer yBuffer = randomPlane(random, rowStride, height, width);
+    ByteBuffer vuBuffer = randomPlane(random, rowStride, height / 2, width);
+    ByteBuffer vBuffer = vuBuffer.duplicate();
+    vBuffer.limit(vBuffer.limit() - 1);
+    vuBuffer.position(1);
+    ByteBuffer uBuffer = vuBuffer.slice();
+    return new SyntheticYuv420Planes(
+        width, height, rowStride, rowStride, 2, yBuffer.slice(), uBuffer, vBuffer.slice());
+  }
+
+  private static ByteBuffer randomPlane(Random random, int rowStride, int rows, int lastRowLength) {
+    // Like camera planes, the last row is not padded.
+    byte[] bytes = new byte[rowStride * (rows - 1) + lastRowLength];
+    random.nextBytes(bytes);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    return buffer;
+  }
+
+  /** Straightforward per-sample conversion used as the expected output. */
+  byte[] referenceNv21(int cropLeft, int cropTop, int cropWidth, int cropHeight, int scale) {
+    int outWidth = Yuv420Converter.outputLength(cropWidth, scale);
+    int outHeight = Yuv420Converter.outputLength(cropHeight, scale);
+    byte[] out = new byte[Yuv420Converter.nv21Size(outWidth, outHeight)];
+    int outPos = 0;
+    for (int row = 0; row < outHeight; row++) {
+      for (int col = 0; col < outWidth; col++) {
+        out[outPos++] = yBuffer.get((cropTop + row * scale) * yRowStride + cropLeft + col * scale);
+      }
+    }
+    for (int row = 0; row < outHeight / 2; row++) {
+      for (int col = 0; col < outWidth / 2; col++) {
+        int index =
+            (cropTop / 2 + row * scale) * uvRowStride
+                + (cropLeft / 2 + col * scale) * uvPixelStride;
+        out[outPos++] = vBuffer.get(index);
+        out[outPos++] = uBuffer.get(index);
+      }
+    }
+    return out;
+  }
+}
@@ -0,0 +1,115 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Measures {@link Yuv420Converter} throughput against a per-pixel copy on synthetic 1080p planes.
+ *
+ * <p>This is not run as part of the unit tests. Run it on a JVM with the unit test classpath, e.g.
+ * by invoking {@link #main} from an IDE.
+ */
+public final class Yuv420ConverterBenchmark {
+  private static final int WIDTH = 1920;
+  private static final int HEIGHT = 1080;
+  private static final int ROW_PADDING = 128;
+  private static final int WARMUP_ITERATIONS = 200;
+  private static final int ITERATIONS = 500;
+
+  private interface Conversion {
+    void run(SyntheticYuv420Planes planes, ByteBuffer out);
+  }
+
+  public static void main(String[] args) {
+    Yuv420Converter converter = new Yuv420Converter();
+    Conversion fast =
+        (planes, out) ->
+            converter.toNv21(
+                planes.yBuffer,
+                planes.yRowStride,
+                1,
+                planes.uBuffer,
+                planes.vBuffer,
+                planes.uvRowStride,
+                planes.uvPixelStride,
+                planes.width,
+                planes.height,
+                out);
+    Conversion perPixel = Yuv420ConverterBenchmark::perPixelToNv21;
+
+    SyntheticYuv420Planes planar = SyntheticYuv420Planes.planar(WIDTH, HEIGHT, ROW_PADDING, 1);
+    SyntheticYuv420Planes semiPlanar =
+        SyntheticYuv420Planes.semiPlanar(WIDTH, HEIGHT, ROW_PADDING, 2);
+
+    run("planar, per-pixel", perPixel, planar);
+    run("planar, Yuv420Converter", fast, planar);
+    run("semi-planar, per-pixel", perPixel, semiPlanar);
+    run("semi-planar, Yuv420Converter", fast, semiPlanar);
+  }
+
+  private static void run(String name, Conversion conversion, SyntheticYuv420Planes planes) {
+    ByteBuffer out = ByteBuffer.allocateDirect(Yuv420Converter.nv21Size(WIDTH, HEIGHT));
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      out.clear();
+      conversion.run(planes, out);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      out.clear();
+      conversion.run(planes, out);
+    }
+    double millisPerFrame = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    System.out.println(String.format(Locale.ROOT, "%-32s %7.3f ms/frame", name, millisPerFrame));
+  }
+
+  /** The per-pixel copy previously used by {@link ImageStreamReaderUtils}. */
+  private static void perPixelToNv21(SyntheticYuv420Planes planes, ByteBuffer out) {
+    int imageSize = planes.width * planes.height;
+    unpackPlane(planes.yBuffer, planes.yRowStride, 1, planes.width, planes.height, out, 0, 1);
+    unpackPlane(
+        planes.uBuffer,
+        planes.uvRowStride,
+        planes.uvPixelStride,
+        planes.width / 2,
+        planes.height / 2,
+        out,
+        imageSize + 1,
+        2);
+    unpackPlane(
+        planes.vBuffer,
+        planes.uvRowStride,
+        planes.uvPixelStride,
+        planes.width / 2,
+        planes.height / 2,
+        out,
+        imageSize,
+        2);
+  }
+
+  private static void unpackPlane(
+      ByteBuffer buffer,
+      int rowStride,
+      int pixelStride,
+      int numCol,
+      int numRow,
+      ByteBuffer out,
+      int offset,
+      int outPixelStride) {
+    int outputPos = offset;
+    int rowStart = 0;
+    for (int row = 0; row < numRow; row++) {
+      int inputPos = rowStart;
+      for (int col = 0; col < numCol; col++) {
+        out.put(outputPos, buffer.get(inputPos));
+        outputPos += outPixelStride;
+        inputPos += pixelStride;
+      }
+      rowStart += rowStride;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class Yuv420ConverterTest {
+  private final Yuv420Converter converter = new Yuv420Converter();
+
+  private byte[] convert(
+      SyntheticYuv420Planes planes,
+      int cropLeft,
+      int cropTop,
+      int cropWidth,
+      int cropHeight,
+      int scale) {
+    int outSize =
+        Yuv420Converter.nv21Size(
+            Yuv420Converter.outputLength(cropWidth, scale),
+            Yuv420Converter.outputLength(cropHeight, scale));
+    ByteBuffer out = ByteBuffer.allocateDirect(outSize);
+    converter.toNv21(
+        planes.yBuffer,
+        planes.yRowStride,
+        1,
+        planes.uBuffer,
+        planes.vBuffer,
+        planes.uvRowStride,
+        planes.uvPixelStride,
+        cropLeft,
+        cropTop,
+        cropWidth,
+        cropHeight,
+        scale,
+        out);
+    assertEquals(outSize, out.position());
+    byte[] bytes = new byte[outSize];
+    out.flip();
+    out.get(bytes);
+    return bytes;
+  }
+
+  @Test
+  public void toNv21_matchesReferenceForPlanarChroma() {
+    SyntheticYuv420Planes planes = SyntheticYuv420Planes.planar(158, 90, 18, 1);
+
+    assertArrayEquals(planes.referenceNv21(0, 0, 158, 90, 1), convert(planes, 0, 0, 158, 90, 1));
+  }
+
+  @Test
+  public void toNv21_matchesReferenceForSemiPlanarChroma() {
+    SyntheticYuv420Planes planes = SyntheticYuv420Planes.semiPlanar(158, 90, 18, 2);
+
+    assertArrayEquals(planes.referenceNv21(0, 0, 158, 90, 1), convert(planes, 0, 0, 158, 90, 1));
+  }
+
+  @Test
+  public void toNv21_matchesReferenceWithoutPadding() {
+    SyntheticYuv420Planes planar = SyntheticYuv420Planes.planar(64, 48, 0, 3);
+    SyntheticYuv420Planes semiPlanar = SyntheticYuv420Planes.semiPlanar(64, 48, 0, 4);
+
+    assertArrayEquals(planar.referenceNv21(0, 0, 64, 48, 1), convert(planar, 0, 0, 64, 48, 1));
+    assertArrayEquals(
+        semiPlanar.referenceNv21(0, 0, 64, 48, 1), convert(semiPlanar, 0, 0, 64, 48, 1));
+  }
+
+  @Test
+  public void toNv21_cropsRegion() {
+    SyntheticYuv420Planes planar = SyntheticYuv420Planes.planar(160, 120, 32, 5);
+    SyntheticYuv420Planes semiPlanar = SyntheticYuv420Planes.semiPlanar(160, 120, 32, 6);
+
+    assertArrayEquals(planar.referenceNv21(40, 20, 64, 64, 1), convert(planar, 40, 20, 64, 64, 1));
+    assertArrayEquals(
+        semiPlanar.referenceNv21(40, 20, 64, 64, 1), convert(semiPlanar, 40, 20, 64, 64, 1));
+  }
+
+  @Test
+  public void toNv21_downscales() {
+    SyntheticYuv420Planes planar = SyntheticYuv420Planes.planar(160, 120, 32, 7);
+    SyntheticYuv420Planes semiPlanar = SyntheticYuv420Planes.semiPlanar(160, 120, 32, 8);
+
+    assertArrayEquals(planar.referenceNv21(0, 0, 160, 120, 2), convert(planar, 0, 0, 160, 120, 2));
+    assertArrayEquals(
+        semiPlanar.referenceNv21(0, 0, 160, 120, 4), convert(semiPlanar, 0, 0, 160, 120, 4));
+  }
+
+  @Test
+  public void toNv21_cropsAndDownscales() {
+    SyntheticYuv420Planes planes = SyntheticYuv420Planes.semiPlanar(320, 240, 64, 9);
+
+    assertArrayEquals(
+        planes.referenceNv21(80, 60, 160, 120, 2), convert(planes, 80, 60, 160, 120, 2));
+  }
+
+  @Test
+  public void toNv21_writesAtOutputPosition() {
+    SyntheticYuv420Planes planes = SyntheticYuv420Planes.planar(16, 8, 0, 10);
+    ByteBuffer out = ByteBuffer.allocate(4 + Yuv420Converter.nv21Size(16, 8));
+    out.putInt(0x12345678);
+
+    converter.toNv21(
+        planes.yBuffer,
+        planes.yRowStride,
+        1,
+        planes.uBuffer,
+        planes.vBuffer,
+        planes.uvRowStride,
+        planes.uvPixelStride,
+        16,
+        8,
+        out);
+
+    assertEquals(out.capacity(), out.position());
+    assertEquals(0x12345678, out.getInt(0));
+    assertEquals(planes.yBuffer.get(0), out.get(4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void toNv21_rejectsTooSmallOutputBuffer() {
+    SyntheticYuv420Planes planes = SyntheticYuv420Planes.planar(16, 8, 0, 11);
+
+    converter.toNv21(
+        planes.yBuffer,
+        planes.yRowStride,
+        1,
+        planes.uBuffer,
+        planes.vBuffer,
+        planes.uvRowStride,
+        planes.uvPixelStride,
+        16,
+        8,
+        ByteBuffer.allocate(16));
+  }
+
+  @Test
+  public void copyPlane_copiesRegionWithoutPadding() {
+    SyntheticYuv420Planes planes = SyntheticYuv420Planes.semiPlanar(64, 32, 16, 12);
+    ByteBuffer out = ByteBuffer.allocate(8 * 4);
+
+    converter.copyPlane(
+        planes.uBuffer, planes.uvRowStride, planes.uvPixelStride, 4, 2, 8, 4, 2, out);
+
+    assertEquals(32, out.position());
+    for (int row = 0; row < 4; row++) {
+      for (int col = 0; col < 8; col++) {
+        int index = (2 + row * 2) * planes.uvRowStride + (4 + col * 2) * planes.uvPixelStride;
+        assertEquals(planes.uBuffer.get(index), out.get(row * 8 + col));
+      }
+    }
+  }
+}
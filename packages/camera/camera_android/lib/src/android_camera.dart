@@ -12,12 +12,19 @@ import 'package:flutter/widgets.dart';
 import 'package:stream_transform/stream_transform.dart';
 
 import 'messages.g.dart';
+import 'image_stream_options.dart';
 import 'type_conversion.dart';
 import 'utils.dart';
 
 const MethodChannel _channel =
     MethodChannel('plugins.flutter.io/camera_android');
 
+// Streamed frames are sent on this channel as single binary messages, see
+// cameraImageFromPackedFrame.
+const BasicMessageChannel<ByteData> _packedImageStreamChannel =
+    BasicMessageChannel<ByteData>(
+        'plugins.flutter.io/camera_android/packedImageStream', BinaryCodec());
+
 /// The Android implementation of [CameraPlatform] that uses method channels.
 class AndroidCamera extends CameraPlatform {
   /// Creates a new [CameraPlatform] instance.
@@ -58,9 +65,6 @@ class AndroidCamera extends CameraPlatform {
   final Map<int, HostCameraMessageHandler> hostCameraHandlers =
       <int, HostCameraMessageHandler>{};
 
-  // The stream to receive frames from the native code.
-  StreamSubscription<dynamic>? _platformImageStreamSubscription;
-
   // The stream for vending frames to platform interface clients.
   StreamController<CameraImageData>? _frameStreamController;
 
@@ -308,10 +312,22 @@ class AndroidCamera extends CameraPlatform {
   @override
   Stream<CameraImageData> onStreamedFrameAvailable(int cameraId,
       {CameraImageStreamOptions? options}) {
-    _installStreamController(onListen: _onFrameStreamListen);
+    _installStreamController(
+        onListen: () => _onFrameStreamListen(
+            options is AndroidCameraImageStreamOptions ? options : null));
     return _frameStreamController!.stream;
   }
 
+  /// Returns the frame counts of the current image stream of the camera with
+  /// the given [cameraId], or null if the camera has no image stream.
+  Future<ImageStreamStatistics?> getImageStreamStatistics(int cameraId) async {
+    final Map<dynamic, dynamic>? statistics = await _channel
+        .invokeMethod<Map<dynamic, dynamic>>('getImageStreamStatistics');
+    return statistics == null
+        ? null
+        : ImageStreamStatistics.fromPlatformData(statistics);
+  }
+
   StreamController<CameraImageData> _installStreamController(
       {void Function()? onListen}) {
     _frameStreamController = StreamController<CameraImageData>(
@@ -323,29 +339,28 @@ class AndroidCamera extends CameraPlatform {
     return _frameStreamController!;
   }
 
-  void _onFrameStreamListen() {
-    _startPlatformStream();
+  void _onFrameStreamListen(AndroidCameraImageStreamOptions? options) {
+    _startPlatformStream(options);
   }
 
-  Future<void> _startPlatformStream() async {
-    await _channel.invokeMethod<void>('startImageStream');
+  Future<void> _startPlatformStream(
+      AndroidCameraImageStreamOptions? options) async {
     _startStreamListener();
+    await _channel.invokeMethod<void>(
+        'startImageStream', options?.toPlatformArguments());
   }
 
   void _startStreamListener() {
-    const EventChannel cameraEventChannel =
-        EventChannel('plugins.flutter.io/camera_android/imageStream');
-    _platformImageStreamSubscription =
-        cameraEventChannel.receiveBroadcastStream().listen((dynamic imageData) {
-      _frameStreamController!
-          .add(cameraImageFromPlatformData(imageData as Map<dynamic, dynamic>));
+    _packedImageStreamChannel.setMessageHandler((ByteData? frame) async {
+      _frameStreamController?.add(cameraImageFromPackedFrame(frame!));
+      // Replying lets the platform reuse the buffer of the frame.
+      return ByteData(0);
     });
   }
 
   FutureOr<void> _onFrameStreamCancel() async {
     await _channel.invokeMethod<void>('stopImageStream');
-    await _platformImageStreamSubscription?.cancel();
-    _platformImageStreamSubscription = null;
+    _packedImageStreamChannel.setMessageHandler(null);
     _frameStreamController = null;
   }
 
@@ -510,6 +525,34 @@ class AndroidCamera extends CameraPlatform {
     );
   }
 
+  /// Starts burst capture for the camera with the given [cameraId].
+  ///
+  /// While burst capture is active, the [capacity] most recent full-resolution
+  /// frames of the preview are kept while pictures are taken in quick
+  /// succession, so [takePicture] saves the most recent frame right away
+  /// instead of running a focus and precapture sequence. The first picture of
+  /// a burst waits for the next frame.
+  ///
+  /// The preview is restarted, which stops an active image stream. Pictures
+  /// taken while recording video are not affected.
+  Future<void> startBurstCapture(int cameraId, {int capacity = 3}) async {
+    assert(capacity > 0);
+    await _channel.invokeMethod<void>(
+      'startBurstCapture',
+      <String, dynamic>{'cameraId': cameraId, 'capacity': capacity},
+    );
+  }
+
+  /// Stops burst capture for the camera with the given [cameraId].
+  ///
+  /// Pictures still waiting for a frame fail with a `captureCancelled` error.
+  Future<void> stopBurstCapture(int cameraId) async {
+    await _channel.invokeMethod<void>(
+      'stopBurstCapture',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+  }
+
   @override
   Future<void> setDescriptionWhileRecording(
       CameraDescription description) async {
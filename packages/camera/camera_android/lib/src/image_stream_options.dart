@@ -0,0 +1,109 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:math';
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// Android specific options for `onStreamedFrameAvailable`.
+///
+/// All settings are applied on the camera background thread, before a frame
+/// is copied for Dart.
+class AndroidCameraImageStreamOptions extends CameraImageStreamOptions {
+  /// Creates a new set of image stream options.
+  AndroidCameraImageStreamOptions({
+    this.keepOnlyLatest = false,
+    this.maxFramesInFlight,
+    this.maxFramesPerSecond,
+    this.regionOfInterest,
+    this.targetWidth,
+    this.targetHeight,
+  })  : assert(maxFramesInFlight == null || maxFramesInFlight > 0),
+        assert(maxFramesPerSecond == null || maxFramesPerSecond > 0),
+        assert(regionOfInterest == null ||
+            (regionOfInterest.left >= 0 &&
+                regionOfInterest.top >= 0 &&
+                regionOfInterest.right <= 1 &&
+                regionOfInterest.bottom <= 1));
+
+  /// Whether frames that arrive while Dart is still processing earlier frames
+  /// are dropped in favor of the most recent one.
+  final bool keepOnlyLatest;
+
+  /// The maximum number of frames that may be sent to Dart without having
+  /// been handled yet, or null for no limit.
+  final int? maxFramesInFlight;
+
+  /// The maximum number of frames per second sent to Dart, or null for no
+  /// limit.
+  final double? maxFramesPerSecond;
+
+  /// The part of each frame to send, as fractions of the frame size, or null
+  /// to send whole frames.
+  ///
+  /// Only applies to YUV420 and NV21 frames.
+  final Rectangle<double>? regionOfInterest;
+
+  /// The width to downscale the sent region to, or null to keep its width.
+  ///
+  /// Only applies to YUV420 and NV21 frames.
+  final int? targetWidth;
+
+  /// The height to downscale the sent region to, or null to keep its height.
+  ///
+  /// Only applies to YUV420 and NV21 frames.
+  final int? targetHeight;
+
+  /// Converts the options to the arguments of the `startImageStream` call.
+  @visibleForTesting
+  Map<String, Object?> toPlatformArguments() {
+    final Rectangle<double>? region = regionOfInterest;
+    return <String, Object?>{
+      'keepOnlyLatest': keepOnlyLatest,
+      'maxFramesInFlight': maxFramesInFlight,
+      'maxFramesPerSecond': maxFramesPerSecond,
+      'regionOfInterest': region == null
+          ? null
+          : <String, double>{
+              'left': region.left,
+              'top': region.top,
+              'width': region.width,
+              'height': region.height,
+            },
+      'targetWidth': targetWidth,
+      'targetHeight': targetHeight,
+    };
+  }
+}
+
+/// Counts of the frames of an image stream.
+@immutable
+class ImageStreamStatistics {
+  /// Creates a new set of image stream statistics.
+  const ImageStreamStatistics({
+    required this.deliveredFrames,
+    required this.droppedFrames,
+    required this.framesInFlight,
+  });
+
+  /// Creates image stream statistics from the result of the
+  /// `getImageStreamStatistics` call.
+  factory ImageStreamStatistics.fromPlatformData(Map<dynamic, dynamic> data) {
+    return ImageStreamStatistics(
+      deliveredFrames: data['deliveredFrames'] as int,
+      droppedFrames: data['droppedFrames'] as int,
+      framesInFlight: data['framesInFlight'] as int,
+    );
+  }
+
+  /// The number of frames handled by Dart.
+  final int deliveredFrames;
+
+  /// The number of frames dropped before reaching Dart.
+  final int droppedFrames;
+
+  /// The number of frames sent to Dart that have not been handled yet.
+  final int framesInFlight;
+}
@@ -6,20 +6,61 @@ import 'dart:typed_data';
 
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 
-/// Converts method channel call [data] for `receivedImageStreamData` to a
+/// The version of the packed frame layout read by [cameraImageFromPackedFrame].
+const int _packedFrameVersion = 1;
+
+/// The size in bytes of the fixed header of a packed frame.
+const int _packedFrameHeaderSize = 44;
+
+/// The size in bytes of the header preceding each plane of a packed frame.
+const int _packedPlaneHeaderSize = 12;
+
+/// Converts a [frame] sent on the packed image stream channel to a
 /// [CameraImageData].
-CameraImageData cameraImageFromPlatformData(Map<dynamic, dynamic> data) {
+///
+/// All values of a frame are little-endian. The frame starts with an int32
+/// version, int32 format, int32 width, int32 height, float64 lensAperture,
+/// int64 sensorExposureTime, float64 sensorSensitivity and int32 plane count,
+/// where missing capture properties are NaN or -1. Each plane follows as an
+/// int32 bytesPerRow, int32 bytesPerPixel and int32 length, and `length` bytes
+/// of plane data.
+///
+/// The engine copies each frame once when the platform sends it; the plane
+/// bytes are views of [frame], so decoding does not copy it again.
+CameraImageData cameraImageFromPackedFrame(ByteData frame) {
+  final int version = frame.getInt32(0, Endian.little);
+  if (version != _packedFrameVersion) {
+    throw ArgumentError.value(
+        version, 'frame', 'Unsupported packed frame version');
+  }
+  final double lensAperture = frame.getFloat64(16, Endian.little);
+  final int sensorExposureTime = frame.getInt64(24, Endian.little);
+  final double sensorSensitivity = frame.getFloat64(32, Endian.little);
+  final int planeCount = frame.getInt32(40, Endian.little);
+
+  final List<CameraImagePlane> planes = <CameraImagePlane>[];
+  int offset = _packedFrameHeaderSize;
+  for (int i = 0; i < planeCount; i++) {
+    final int bytesPerRow = frame.getInt32(offset, Endian.little);
+    final int bytesPerPixel = frame.getInt32(offset + 4, Endian.little);
+    final int length = frame.getInt32(offset + 8, Endian.little);
+    offset += _packedPlaneHeaderSize;
+    planes.add(CameraImagePlane(
+        bytes: frame.buffer.asUint8List(frame.offsetInBytes + offset, length),
+        bytesPerPixel: bytesPerPixel,
+        bytesPerRow: bytesPerRow));
+    offset += length;
+  }
+
   return CameraImageData(
-      format: _cameraImageFormatFromPlatformData(data['format']),
-      height: data['height'] as int,
-      width: data['width'] as int,
-      lensAperture: data['lensAperture'] as double?,
-      sensorExposureTime: data['sensorExposureTime'] as int?,
-      sensorSensitivity: data['sensorSensitivity'] as double?,
-      planes: List<CameraImagePlane>.unmodifiable(
-          (data['planes'] as List<dynamic>).map<CameraImagePlane>(
-              (dynamic planeData) => _cameraImagePlaneFromPlatformData(
-                  planeData as Map<dynamic, dynamic>))));
+      format: _cameraImageFormatFromPlatformData(
+          frame.getInt32(4, Endian.little)),
+      width: frame.getInt32(8, Endian.little),
+      height: frame.getInt32(12, Endian.little),
+      lensAperture: lensAperture.isNaN ? null : lensAperture,
+      sensorExposureTime: sensorExposureTime < 0 ? null : sensorExposureTime,
+      sensorSensitivity: sensorSensitivity.isNaN ? null : sensorSensitivity,
+      planes: List<CameraImagePlane>.unmodifiable(planes));
 }
 
 CameraImageFormat _cameraImageFormatFromPlatformData(dynamic data) {
@@ -38,12 +79,3 @@ ImageFormatGroup _imageFormatGroupFromPlatformData(dynamic data) {
 
   return ImageFormatGroup.unknown;
 }
-
-CameraImagePlane _cameraImagePlaneFromPlatformData(Map<dynamic, dynamic> data) {
-  return CameraImagePlane(
-      bytes: data['bytes'] as Uint8List,
-      bytesPerPixel: data['bytesPerPixel'] as int?,
-      bytesPerRow: data['bytesPerRow'] as int,
-      height: data['height'] as int?,
-      width: data['width'] as int?);
-}
@@ -7,6 +7,7 @@ import 'dart:math';
 
 import 'package:async/async.dart';
 import 'package:camera_android/src/android_camera.dart';
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/messages.g.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
@@ -1070,6 +1071,40 @@ void main() {
       ]);
     });
 
+    test('Should start burst capture', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'startBurstCapture': null},
+      );
+
+      // Act
+      await camera.startBurstCapture(cameraId, capacity: 5);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startBurstCapture',
+            arguments: <String, Object?>{'cameraId': cameraId, 'capacity': 5}),
+      ]);
+    });
+
+    test('Should stop burst capture', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'stopBurstCapture': null},
+      );
+
+      // Act
+      await camera.stopBurstCapture(cameraId);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('stopBurstCapture',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+    });
+
     test('Should start streaming', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -1093,6 +1128,111 @@ void main() {
       await subscription.cancel();
     });
 
+    test('Should pass Android image stream options', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'startImageStream': null},
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                keepOnlyLatest: true,
+                maxFramesInFlight: 2,
+                maxFramesPerSecond: 15,
+                regionOfInterest:
+                    const Rectangle<double>(0.25, 0.5, 0.5, 0.25),
+                targetWidth: 320,
+                targetHeight: 240,
+              ))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'keepOnlyLatest': true,
+          'maxFramesInFlight': 2,
+          'maxFramesPerSecond': 15.0,
+          'regionOfInterest': <String, double>{
+            'left': 0.25,
+            'top': 0.5,
+            'width': 0.5,
+            'height': 0.25,
+          },
+          'targetWidth': 320,
+          'targetHeight': 240,
+        }),
+      ]);
+
+      await subscription.cancel();
+    });
+
+    test('Should get image stream statistics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getImageStreamStatistics': <String, int>{
+            'deliveredFrames': 10,
+            'droppedFrames': 3,
+            'framesInFlight': 1,
+          },
+        },
+      );
+
+      // Act
+      final ImageStreamStatistics? statistics =
+          await camera.getImageStreamStatistics(cameraId);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('getImageStreamStatistics', arguments: null),
+      ]);
+      expect(statistics!.deliveredFrames, 10);
+      expect(statistics.droppedFrames, 3);
+      expect(statistics.framesInFlight, 1);
+    });
+
+    test('Should deliver packed frames', () async {
+      // Arrange
+      MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+      final ByteData frame = ByteData(44)
+        ..setInt32(0, 1, Endian.little)
+        ..setInt32(4, 17, Endian.little)
+        ..setInt32(8, 640, Endian.little)
+        ..setInt32(12, 480, Endian.little);
+      final Completer<CameraImageData> received = Completer<CameraImageData>();
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen(received.complete);
+
+      // Act
+      final Completer<ByteData?> reply = Completer<ByteData?>();
+      await TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .handlePlatformMessage(
+              'plugins.flutter.io/camera_android/packedImageStream',
+              frame,
+              reply.complete);
+
+      // Assert
+      final CameraImageData imageData = await received.future;
+      expect(imageData.format.group, ImageFormatGroup.nv21);
+      expect(imageData.width, 640);
+      expect(imageData.height, 480);
+      expect(imageData.planes, isEmpty);
+      expect(await reply.future, isNotNull);
+
+      await subscription.cancel();
+    });
+
     test('Should stop streaming', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -9,72 +9,75 @@ import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter_test/flutter_test.dart';
 
 void main() {
-  test('CameraImageData can be created', () {
+  ByteData headerOnlyFrame(int format) {
+    return ByteData(44)
+      ..setInt32(0, 1, Endian.little)
+      ..setInt32(4, format, Endian.little)
+      ..setInt32(8, 4, Endian.little)
+      ..setInt32(12, 1, Endian.little);
+  }
+
+  test('CameraImageData has ImageFormatGroup.unknown', () {
     final CameraImageData cameraImage =
-        cameraImageFromPlatformData(<dynamic, dynamic>{
-      'format': 1,
-      'height': 1,
-      'width': 4,
-      'lensAperture': 1.8,
-      'sensorExposureTime': 9991324,
-      'sensorSensitivity': 92.0,
-      'planes': <dynamic>[
-        <dynamic, dynamic>{
-          'bytes': Uint8List.fromList(<int>[1, 2, 3, 4]),
-          'bytesPerPixel': 1,
-          'bytesPerRow': 4,
-          'height': 1,
-          'width': 4
-        }
-      ]
-    });
+        cameraImageFromPackedFrame(headerOnlyFrame(1));
     expect(cameraImage.height, 1);
     expect(cameraImage.width, 4);
     expect(cameraImage.format.group, ImageFormatGroup.unknown);
-    expect(cameraImage.planes.length, 1);
+    expect(cameraImage.planes, isEmpty);
   });
 
   test('CameraImageData has ImageFormatGroup.yuv420', () {
     final CameraImageData cameraImage =
-        cameraImageFromPlatformData(<dynamic, dynamic>{
-      'format': 35,
-      'height': 1,
-      'width': 4,
-      'lensAperture': 1.8,
-      'sensorExposureTime': 9991324,
-      'sensorSensitivity': 92.0,
-      'planes': <dynamic>[
-        <dynamic, dynamic>{
-          'bytes': Uint8List.fromList(<int>[1, 2, 3, 4]),
-          'bytesPerPixel': 1,
-          'bytesPerRow': 4,
-          'height': 1,
-          'width': 4
-        }
-      ]
-    });
+        cameraImageFromPackedFrame(headerOnlyFrame(35));
     expect(cameraImage.format.group, ImageFormatGroup.yuv420);
   });
 
   test('CameraImageData has ImageFormatGroup.nv21', () {
     final CameraImageData cameraImage =
-        cameraImageFromPlatformData(<dynamic, dynamic>{
-      'format': 17,
-      'height': 1,
-      'width': 4,
-      'lensAperture': 1.8,
-      'sensorExposureTime': 9991324,
-      'sensorSensitivity': 92.0,
-      'planes': <dynamic>[
-        <dynamic, dynamic>{
-          'bytes': Uint8List.fromList(<int>[1, 2, 3, 4]),
-          'bytesPerPixel': 1,
-          'bytesPerRow': 4,
-          'height': 1,
-          'width': 4
-        }
-      ]
-    });
+        cameraImageFromPackedFrame(headerOnlyFrame(17));
     expect(cameraImage.format.group, ImageFormatGroup.nv21);
   });
+
+  test('CameraImageData can be created from a packed frame', () {
+    final ByteData frame = ByteData(44 + 12 + 4 + 12 + 2);
+    frame
+      ..setInt32(0, 1, Endian.little)
+      ..setInt32(4, 35, Endian.little)
+      ..setInt32(8, 4, Endian.little)
+      ..setInt32(12, 1, Endian.little)
+      ..setFloat64(16, 1.8, Endian.little)
+      ..setInt64(24, 9991324, Endian.little)
+      ..setFloat64(32, double.nan, Endian.little)
+      ..setInt32(40, 2, Endian.little)
+      ..setInt32(44, 4, Endian.little)
+      ..setInt32(48, 1, Endian.little)
+      ..setInt32(52, 4, Endian.little)
+      ..setUint32(56, 0x04030201, Endian.little)
+      ..setInt32(60, 2, Endian.little)
+      ..setInt32(64, 2, Endian.little)
+      ..setInt32(68, 2, Endian.little)
+      ..setUint16(72, 0x0605, Endian.little);
+
+    final CameraImageData cameraImage = cameraImageFromPackedFrame(frame);
+
+    expect(cameraImage.format.group, ImageFormatGroup.yuv420);
+    expect(cameraImage.width, 4);
+    expect(cameraImage.height, 1);
+    expect(cameraImage.lensAperture, 1.8);
+    expect(cameraImage.sensorExposureTime, 9991324);
+    expect(cameraImage.sensorSensitivity, isNull);
+    expect(cameraImage.planes.length, 2);
+    expect(cameraImage.planes[0].bytes, <int>[1, 2, 3, 4]);
+    expect(cameraImage.planes[0].bytesPerRow, 4);
+    expect(cameraImage.planes[0].bytesPerPixel, 1);
+    expect(cameraImage.planes[1].bytes, <int>[5, 6]);
+    expect(cameraImage.planes[1].bytesPerRow, 2);
+    expect(cameraImage.planes[1].bytesPerPixel, 2);
+  });
+
+  test('cameraImageFromPackedFrame rejects unknown versions', () {
+    final ByteData frame = ByteData(44)..setInt32(0, 2, Endian.little);
+
+    expect(() => cameraImageFromPackedFrame(frame), throwsArgumentError);
+  });
 }
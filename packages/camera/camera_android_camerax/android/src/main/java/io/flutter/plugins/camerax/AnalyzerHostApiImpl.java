@@ -4,12 +4,15 @@
 
 package io.flutter.plugins.camerax;
 
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.ImageProxy;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.AnalyzerHostApi;
+import java.util.concurrent.Executor;
 
 /**
  * Host API implementation for {@link ImageAnalysis.Analyzer}.
@@ -32,11 +35,21 @@ public class AnalyzerHostApiImpl implements AnalyzerHostApi {
         @NonNull BinaryMessenger binaryMessenger, @NonNull InstanceManager instanceManager) {
       return new AnalyzerImpl(binaryMessenger, instanceManager);
     }
+
+    /** Creates an instance of {@link PackedFrameAnalyzer}. */
+    @NonNull
+    public PackedFrameAnalyzer createPackedFrameAnalyzer(@NonNull BinaryMessenger binaryMessenger) {
+      return new PackedFrameAnalyzer(binaryMessenger);
+    }
   }
 
   /**
    * Implementation of {@link ImageAnalysis.Analyzer} that passes arguments of callback methods to
    * Dart.
+   *
+   * <p>{@link #analyze(ImageProxy)} is called on the image analysis thread and notifies Dart of the
+   * image on the main thread, which is required to send messages to Dart. The bytes of its planes
+   * are only copied if Dart requests them with {@link ImageProxyHostApiImpl#getPlanes(Long)}.
    */
   public static class AnalyzerImpl implements ImageAnalysis.Analyzer {
     private BinaryMessenger binaryMessenger;
@@ -45,6 +58,8 @@ public class AnalyzerHostApiImpl implements AnalyzerHostApi {
 
     @VisibleForTesting @NonNull public ImageProxyFlutterApiImpl imageProxyApi;
 
+    @VisibleForTesting @NonNull public Executor mainThreadExecutor;
+
     /**
      * Constructs an instance of {@link ImageAnalysis.Analyzer} that passes arguments of callbacks
      * methods to Dart.
@@ -56,6 +71,7 @@ public class AnalyzerHostApiImpl implements AnalyzerHostApi {
       this.instanceManager = instanceManager;
       api = new AnalyzerFlutterApiImpl(binaryMessenger, instanceManager);
       imageProxyApi = new ImageProxyFlutterApiImpl(binaryMessenger, instanceManager);
+      mainThreadExecutor = new Handler(Looper.getMainLooper())::post;
     }
 
     @Override
@@ -63,9 +79,12 @@ public class AnalyzerHostApiImpl implements AnalyzerHostApi {
       Long imageFormat = Long.valueOf(imageProxy.getFormat());
       Long imageHeight = Long.valueOf(imageProxy.getHeight());
       Long imageWidth = Long.valueOf(imageProxy.getWidth());
-      imageProxyApi.create(imageProxy, imageFormat, imageHeight, imageWidth, reply -> {});
 
-      api.analyze(this, imageProxy, reply -> {});
+      mainThreadExecutor.execute(
+          () -> {
+            imageProxyApi.create(imageProxy, imageFormat, imageHeight, imageWidth, reply -> {});
+            api.analyze(this, imageProxy, reply -> {});
+          });
     }
 
     /**
@@ -116,4 +135,17 @@ public class AnalyzerHostApiImpl implements AnalyzerHostApi {
     instanceManager.addDartCreatedInstance(
         proxy.create(binaryMessenger, instanceManager), identifier);
   }
+
+  /**
+   * Creates a {@link PackedFrameAnalyzer} that represents an {@link ImageAnalysis.Analyzer}
+   * instance with the specified identifier.
+   *
+   * <p>Unlike analyzers created with {@link #create(Long)}, it sends each image to Dart in a single
+   * message on {@link PackedFrameAnalyzer#CHANNEL_NAME}.
+   */
+  @Override
+  public void createPackedFrameAnalyzer(@NonNull Long identifier) {
+    instanceManager.addDartCreatedInstance(
+        proxy.createPackedFrameAnalyzer(binaryMessenger), identifier);
+  }
 }
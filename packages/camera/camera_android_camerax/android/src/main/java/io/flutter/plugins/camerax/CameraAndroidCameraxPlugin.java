@@ -62,7 +62,7 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
 
     // Set up Host APIs.
     GeneratedCameraXLibrary.InstanceManagerHostApi.setup(
-        binaryMessenger, () -> instanceManager.clear());
+        binaryMessenger, new InstanceManagerHostApiImpl(instanceManager));
     GeneratedCameraXLibrary.CameraHostApi.setup(
         binaryMessenger, new CameraHostApiImpl(binaryMessenger, instanceManager));
     GeneratedCameraXLibrary.CameraInfoHostApi.setup(
@@ -150,6 +150,9 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
     if (instanceManager != null) {
       instanceManager.stopFinalizationListener();
     }
+    if (imageAnalysisHostApiImpl != null) {
+      imageAnalysisHostApiImpl.shutdownAnalysisExecutor();
+    }
   }
 
   // Activity Lifecycle methods:
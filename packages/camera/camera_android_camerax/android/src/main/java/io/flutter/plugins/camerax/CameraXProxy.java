@@ -5,6 +5,7 @@
 package io.flutter.plugins.camerax;
 
 import android.app.Activity;
+import android.os.Process;
 import android.util.Size;
 import androidx.annotation.NonNull;
 import androidx.camera.core.CameraSelector;
@@ -15,9 +16,18 @@ import androidx.camera.video.Recorder;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ResolutionInfo;
 import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /** Utility class used to create CameraX-related objects primarily for testing purposes. */
 public class CameraXProxy {
+  /**
+   * Pool of arrays that image plane bytes are copied into, shared by all instances since image
+   * planes are copied and released by different host API implementations.
+   */
+  private static final PlaneBufferPool planeBufferPool = new PlaneBufferPool(4, 4);
+
   /**
    * Converts a {@link ResolutionInfo} instance to a {@link Size} for setting the target resolution
    * of {@link UseCase}s.
@@ -86,9 +96,44 @@ public class CameraXProxy {
     return new ImageAnalysis.Builder();
   }
 
-  /** Creates an array of {@code byte}s with the size provided. */
+  /**
+   * Creates a single-threaded {@link ExecutorService} for running {@link ImageAnalysis.Analyzer}s
+   * off the main thread, with its thread set to the specified {@link Process} priority.
+   */
+  @NonNull
+  public ExecutorService createImageAnalysisExecutor(int threadPriority) {
+    return Executors.newSingleThreadExecutor(
+        runnable ->
+            new Thread(
+                () -> {
+                  Process.setThreadPriority(threadPriority);
+                  runnable.run();
+                },
+                "CameraXImageAnalysis"));
+  }
+
+  /**
+   * Returns an array of {@code byte}s with the size provided, reusing one previously released with
+   * {@link #releaseBytes(byte[])} when possible.
+   */
   @NonNull
   public byte[] getBytesFromBuffer(int size) {
-    return new byte[size];
+    return planeBufferPool.acquire(size);
+  }
+
+  /**
+   * Releases an array obtained from {@link #getBytesFromBuffer(int)} so that it can be reused.
+   *
+   * <p>This may be called as soon as a message containing the array has been sent to Dart, since
+   * the message is encoded when it is sent.
+   */
+  public void releaseBytes(@NonNull byte[] bytes) {
+    planeBufferPool.release(bytes);
+  }
+
+  /** Returns the hit, miss and eviction counts of the pool used by {@link #getBytesFromBuffer}. */
+  @NonNull
+  public Map<String, Long> getPlaneBufferPoolStatistics() {
+    return planeBufferPool.getStatistics();
   }
 }
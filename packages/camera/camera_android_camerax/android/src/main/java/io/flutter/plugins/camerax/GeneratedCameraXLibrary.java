@@ -725,6 +725,19 @@ public class GeneratedCameraXLibrary {
      * <p>This is typically only used after a hot restart.
      */
     void clear();
+    /**
+     * Returns the number of native instances that have not been garbage collected, keyed by `live`,
+     * and how many of those are held by a strong or only by a weak reference, keyed by `strong` and
+     * `weak`.
+     */
+    @NonNull
+    Map<String, Long> getStatistics();
+    /**
+     * Returns the number of times an array for image plane bytes was reused, had to be allocated,
+     * or was discarded, keyed by `hits`, `misses` and `evictions`.
+     */
+    @NonNull
+    Map<String, Long> getPlaneBufferPoolStatistics();
 
     /** The codec used by InstanceManagerHostApi. */
     static @NonNull MessageCodec<Object> getCodec() {
@@ -757,6 +770,52 @@ public class GeneratedCameraXLibrary {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.InstanceManagerHostApi.getStatistics",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                try {
+                  Map<String, Long> output = api.getStatistics();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.InstanceManagerHostApi.getPlaneBufferPoolStatistics",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                try {
+                  Map<String, Long> output = api.getPlaneBufferPoolStatistics();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
@@ -2455,6 +2514,10 @@ public class GeneratedCameraXLibrary {
 
     void takePicture(@NonNull Long identifier, @NonNull Result<String> result);
 
+    void takePictureToMemory(@NonNull Long identifier, @NonNull Result<byte[]> result);
+
+    void setMaxPicturesInFlight(@NonNull Long maxPicturesInFlight);
+
     void setTargetRotation(@NonNull Long identifier, @NonNull Long rotation);
 
     /** The codec used by ImageCaptureHostApi. */
@@ -2554,6 +2617,64 @@ public class GeneratedCameraXLibrary {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number identifierArg = (Number) args.get(0);
+                Result<byte[]> resultCallback =
+                    new Result<byte[]>() {
+                      public void success(byte[] result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.takePictureToMemory(
+                    (identifierArg == null) ? null : identifierArg.longValue(), resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageCaptureHostApi.setMaxPicturesInFlight",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number maxPicturesInFlightArg = (Number) args.get(0);
+                try {
+                  api.setMaxPicturesInFlight(
+                      (maxPicturesInFlightArg == null) ? null : maxPicturesInFlightArg.longValue());
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -2920,7 +3041,11 @@ public class GeneratedCameraXLibrary {
     void create(
         @NonNull Long identifier,
         @Nullable Long targetRotation,
-        @Nullable Long resolutionSelectorId);
+        @Nullable Long resolutionSelectorId,
+        @Nullable Long backpressureStrategy,
+        @Nullable Long imageQueueDepth);
+
+    void setAnalysisThreadPriority(@NonNull Long priority);
 
     void setAnalyzer(@NonNull Long identifier, @NonNull Long analyzerIdentifier);
 
@@ -2950,13 +3075,45 @@ public class GeneratedCameraXLibrary {
                 Number identifierArg = (Number) args.get(0);
                 Number targetRotationArg = (Number) args.get(1);
                 Number resolutionSelectorIdArg = (Number) args.get(2);
+                Number backpressureStrategyArg = (Number) args.get(3);
+                Number imageQueueDepthArg = (Number) args.get(4);
                 try {
                   api.create(
                       (identifierArg == null) ? null : identifierArg.longValue(),
                       (targetRotationArg == null) ? null : targetRotationArg.longValue(),
                       (resolutionSelectorIdArg == null)
                           ? null
-                          : resolutionSelectorIdArg.longValue());
+                          : resolutionSelectorIdArg.longValue(),
+                      (backpressureStrategyArg == null)
+                          ? null
+                          : backpressureStrategyArg.longValue(),
+                      (imageQueueDepthArg == null) ? null : imageQueueDepthArg.longValue());
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageAnalysisHostApi.setAnalysisThreadPriority",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number priorityArg = (Number) args.get(0);
+                try {
+                  api.setAnalysisThreadPriority(
+                      (priorityArg == null) ? null : priorityArg.longValue());
                   wrapped.add(0, null);
                 } catch (Throwable exception) {
                   ArrayList<Object> wrappedError = wrapError(exception);
@@ -3054,6 +3211,8 @@ public class GeneratedCameraXLibrary {
 
     void create(@NonNull Long identifier);
 
+    void createPackedFrameAnalyzer(@NonNull Long identifier);
+
     /** The codec used by AnalyzerHostApi. */
     static @NonNull MessageCodec<Object> getCodec() {
       return new StandardMessageCodec();
@@ -3085,6 +3244,32 @@ public class GeneratedCameraXLibrary {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.AnalyzerHostApi.createPackedFrameAnalyzer",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number identifierArg = (Number) args.get(0);
+                try {
+                  api.createPackedFrameAnalyzer(
+                      (identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
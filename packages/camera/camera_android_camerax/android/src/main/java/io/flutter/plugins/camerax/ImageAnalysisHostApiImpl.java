@@ -5,22 +5,25 @@
 package io.flutter.plugins.camerax;
 
 import android.content.Context;
+import android.os.Process;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
-import androidx.core.content.ContextCompat;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisHostApi;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
-
   private InstanceManager instanceManager;
   private BinaryMessenger binaryMessenger;
   @Nullable private Context context;
 
+  private int analysisThreadPriority = Process.THREAD_PRIORITY_DEFAULT;
+  @Nullable private ExecutorService analysisExecutor;
+
   @VisibleForTesting @NonNull public CameraXProxy cameraXProxy = new CameraXProxy();
 
   public ImageAnalysisHostApiImpl(
@@ -32,17 +35,51 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
     this.context = context;
   }
 
-  /**
-   * Sets the context that will be used to run an {@link ImageAnalysis.Analyzer} on the main thread.
-   */
+  /** Sets the {@link Context} of the activity that the plugin is attached to. */
   public void setContext(@NonNull Context context) {
     this.context = context;
   }
 
-  /** Creates an {@link ImageAnalysis} instance with the target resolution if specified. */
+  /**
+   * Stops the thread that {@link ImageAnalysis.Analyzer}s run on once the images already handed to
+   * it have been analyzed. A new thread is started the next time an analyzer is set.
+   */
+  public void shutdownAnalysisExecutor() {
+    if (analysisExecutor != null) {
+      analysisExecutor.shutdown();
+      analysisExecutor = null;
+    }
+  }
+
+  /**
+   * Sets the {@link Process} priority of the thread that {@link ImageAnalysis.Analyzer}s run on.
+   *
+   * <p>If the thread is already running, its priority is changed once the images already handed to
+   * it have been analyzed.
+   */
+  @Override
+  public void setAnalysisThreadPriority(@NonNull Long priority) {
+    final int threadPriority = priority.intValue();
+    analysisThreadPriority = threadPriority;
+    if (analysisExecutor != null) {
+      analysisExecutor.execute(() -> Process.setThreadPriority(threadPriority));
+    }
+  }
+
+  /**
+   * Creates an {@link ImageAnalysis} instance with the target resolution and backpressure strategy
+   * if specified.
+   *
+   * <p>Without a backpressure strategy, {@link ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST} is used, so
+   * that a slow analyzer does not stall the camera.
+   */
   @Override
   public void create(
-      @NonNull Long identifier, @Nullable Long rotation, @Nullable Long resolutionSelectorId) {
+      @NonNull Long identifier,
+      @Nullable Long rotation,
+      @Nullable Long resolutionSelectorId,
+      @Nullable Long backpressureStrategy,
+      @Nullable Long imageQueueDepth) {
     ImageAnalysis.Builder imageAnalysisBuilder = cameraXProxy.createImageAnalysisBuilder();
 
     if (rotation != null) {
@@ -53,6 +90,20 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
           Objects.requireNonNull(instanceManager.getInstance(resolutionSelectorId));
       imageAnalysisBuilder.setResolutionSelector(resolutionSelector);
     }
+    if (backpressureStrategy != null) {
+      if (backpressureStrategy != ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST
+          && backpressureStrategy != ImageAnalysis.STRATEGY_BLOCK_PRODUCER) {
+        throw new IllegalArgumentException(
+            "Unknown backpressure strategy: " + backpressureStrategy);
+      }
+      imageAnalysisBuilder.setBackpressureStrategy(backpressureStrategy.intValue());
+    }
+    if (imageQueueDepth != null) {
+      if (imageQueueDepth < 1) {
+        throw new IllegalArgumentException("imageQueueDepth must be at least 1.");
+      }
+      imageAnalysisBuilder.setImageQueueDepth(imageQueueDepth.intValue());
+    }
 
     ImageAnalysis imageAnalysis = imageAnalysisBuilder.build();
     instanceManager.addDartCreatedInstance(imageAnalysis, identifier);
@@ -62,24 +113,19 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
    * Sets {@link ImageAnalysis.Analyzer} instance with specified {@code analyzerIdentifier} on the
    * {@link ImageAnalysis} instance with the specified {@code identifier} to receive and analyze
    * images.
+   *
+   * <p>The analyzer runs on a dedicated analysis thread rather than the main thread, so that
+   * analyzing images does not compete with the Flutter platform thread.
    */
   @Override
   public void setAnalyzer(@NonNull Long identifier, @NonNull Long analyzerIdentifier) {
-    if (context == null) {
-      throw new IllegalStateException("Context must be set to set an Analyzer.");
+    if (analysisExecutor == null) {
+      analysisExecutor = cameraXProxy.createImageAnalysisExecutor(analysisThreadPriority);
     }
 
-    // Shorten time interval used to define how often the instanceManager removes garbage
-    // collected weak references to native Android objects that it manages in order to
-    // account for the increased memory usage that comes from analyzing images with an
-    // ImageAnalysis.Analyzer.
-    instanceManager.setClearFinalizedWeakReferencesInterval(
-        InstanceManager.CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL_FOR_IMAGE_ANALYSIS);
-    instanceManager.releaseAllFinalizedInstances();
-
     getImageAnalysisInstance(identifier)
         .setAnalyzer(
-            ContextCompat.getMainExecutor(context),
+            analysisExecutor,
             Objects.requireNonNull(instanceManager.getInstance(analyzerIdentifier)));
   }
 
@@ -89,13 +135,6 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
     ImageAnalysis imageAnalysis =
         (ImageAnalysis) Objects.requireNonNull(instanceManager.getInstance(identifier));
     imageAnalysis.clearAnalyzer();
-
-    // Restore the default time interval used to define how often the instanceManager
-    // removes garbage collected weak references to native Android objects that it
-    // manages since analyzing images with an ImageAnalysis.Analyzer, which involves
-    // increased memory usage, is finished.
-    instanceManager.setClearFinalizedWeakReferencesInterval(
-        InstanceManager.DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL);
   }
 
   /** Dynamically sets the target rotation of the {@link ImageAnalysis}. */
@@ -10,13 +10,19 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageCaptureHostApi;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
   private final BinaryMessenger binaryMessenger;
@@ -28,6 +34,21 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
   public static final String TEMPORARY_FILE_NAME = "CAP";
   public static final String JPG_FILE_TYPE = ".jpg";
 
+  /**
+   * Executor that the callbacks of every capture run on. It has a single thread, which stops after
+   * being idle for a few seconds, so taking pictures in a burst does not start a thread per
+   * picture.
+   */
+  private static final ThreadPoolExecutor captureExecutor =
+      new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+
+  static {
+    captureExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  private final AtomicInteger picturesInFlight = new AtomicInteger();
+  private int maxPicturesInFlight = 0;
+
   @VisibleForTesting public @NonNull CameraXProxy cameraXProxy = new CameraXProxy();
 
   public ImageCaptureHostApiImpl(
@@ -47,6 +68,15 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
     this.context = context;
   }
 
+  /**
+   * Sets the maximum number of pictures that may be being taken at the same time, or 0 for no
+   * limit. Requests to take a picture beyond the limit fail immediately.
+   */
+  @Override
+  public void setMaxPicturesInFlight(@NonNull Long maxPicturesInFlight) {
+    this.maxPicturesInFlight = Math.max(0, maxPicturesInFlight.intValue());
+  }
+
   /**
    * Creates an {@link ImageCapture} with the requested flash mode and target resolution if
    * specified.
@@ -92,11 +122,15 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
     }
 
     ImageCapture imageCapture = getImageCaptureInstance(identifier);
+    if (!tryStartPicture(result)) {
+      return;
+    }
     final File outputDir = context.getCacheDir();
     File temporaryCaptureFile;
     try {
       temporaryCaptureFile = File.createTempFile(TEMPORARY_FILE_NAME, JPG_FILE_TYPE, outputDir);
     } catch (IOException | SecurityException e) {
+      picturesInFlight.decrementAndGet();
       result.error(e);
       return;
     }
@@ -106,8 +140,24 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
     ImageCapture.OnImageSavedCallback onImageSavedCallback =
         createOnImageSavedCallback(temporaryCaptureFile, result);
 
-    imageCapture.takePicture(
-        outputFileOptions, Executors.newSingleThreadExecutor(), onImageSavedCallback);
+    imageCapture.takePicture(outputFileOptions, getCaptureExecutor(), onImageSavedCallback);
+  }
+
+  /**
+   * Captures a still image and returns its JPEG encoded bytes without saving it to a file.
+   *
+   * <p>The bytes are returned as captured by the camera, so the rotation of the image is not
+   * applied.
+   */
+  @Override
+  public void takePictureToMemory(
+      @NonNull Long identifier, @NonNull GeneratedCameraXLibrary.Result<byte[]> result) {
+    ImageCapture imageCapture = getImageCaptureInstance(identifier);
+    if (!tryStartPicture(result)) {
+      return;
+    }
+
+    imageCapture.takePicture(getCaptureExecutor(), createOnImageCapturedCallback(result));
   }
 
   /** Creates a callback used when saving a captured image. */
@@ -117,16 +167,69 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
     return new ImageCapture.OnImageSavedCallback() {
       @Override
       public void onImageSaved(@NonNull ImageCapture.OutputFileResults outputFileResults) {
+        picturesInFlight.decrementAndGet();
         result.success(file.getAbsolutePath());
       }
 
       @Override
       public void onError(@NonNull ImageCaptureException exception) {
+        picturesInFlight.decrementAndGet();
+        result.error(exception);
+      }
+    };
+  }
+
+  /** Creates a callback used when capturing an image to memory. */
+  @VisibleForTesting
+  public @NonNull ImageCapture.OnImageCapturedCallback createOnImageCapturedCallback(
+      @NonNull GeneratedCameraXLibrary.Result<byte[]> result) {
+    return new ImageCapture.OnImageCapturedCallback() {
+      @Override
+      public void onCaptureSuccess(@NonNull ImageProxy image) {
+        picturesInFlight.decrementAndGet();
+        byte[] bytes;
+        try {
+          // Images captured in the default JPEG format have a single plane holding the JPEG.
+          ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+          bytes = new byte[buffer.remaining()];
+          buffer.get(bytes);
+        } finally {
+          image.close();
+        }
+        result.success(bytes);
+      }
+
+      @Override
+      public void onError(@NonNull ImageCaptureException exception) {
+        picturesInFlight.decrementAndGet();
         result.error(exception);
       }
     };
   }
 
+  /** Returns the executor that capture callbacks run on, which is shared by all captures. */
+  @VisibleForTesting
+  @NonNull
+  static Executor getCaptureExecutor() {
+    return captureExecutor;
+  }
+
+  /**
+   * Marks a picture as in flight, or reports an error to {@code result} and returns false if the
+   * maximum number of pictures are already in flight.
+   */
+  private boolean tryStartPicture(@NonNull GeneratedCameraXLibrary.Result<?> result) {
+    final int inFlight = picturesInFlight.incrementAndGet();
+    if (maxPicturesInFlight > 0 && inFlight > maxPicturesInFlight) {
+      picturesInFlight.decrementAndGet();
+      result.error(
+          new IllegalStateException(
+              "Cannot take more than " + maxPicturesInFlight + " pictures at the same time."));
+      return false;
+    }
+    return true;
+  }
+
   /** Dynamically sets the target rotation of the {@link ImageCapture}. */
   @Override
   public void setTargetRotation(@NonNull Long identifier, @NonNull Long rotation) {
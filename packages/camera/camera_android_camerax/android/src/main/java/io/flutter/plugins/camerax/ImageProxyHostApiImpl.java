@@ -43,6 +43,9 @@ public class ImageProxyHostApiImpl implements ImageProxyHostApi {
   /**
    * Returns the array of identifiers for planes of the {@link ImageProxy} instance with the
    * specified identifier.
+   *
+   * <p>The bytes of each plane are copied the first time they are requested, so images whose planes
+   * Dart never requests are not copied at all. Planes already sent to Dart are not copied again.
    */
   @Override
   @NonNull
@@ -51,6 +54,10 @@ public class ImageProxyHostApiImpl implements ImageProxyHostApi {
     List<Long> planeIdentifiers = new ArrayList<Long>();
 
     for (ImageProxy.PlaneProxy plane : planes) {
+      if (instanceManager.containsInstance(plane)) {
+        planeIdentifiers.add(instanceManager.getIdentifierForStrongReference(plane));
+        continue;
+      }
       ByteBuffer byteBuffer = plane.getBuffer();
       byte[] bytes = cameraXProxy.getBytesFromBuffer(byteBuffer.remaining());
       byteBuffer.get(bytes, 0, bytes.length);
@@ -58,6 +65,7 @@ public class ImageProxyHostApiImpl implements ImageProxyHostApi {
       Long rowStride = Long.valueOf(plane.getRowStride());
 
       planeProxyFlutterApiImpl.create(plane, bytes, pixelStride, rowStride, reply -> {});
+      cameraXProxy.releaseBytes(bytes);
       planeIdentifiers.add(instanceManager.getIdentifierForStrongReference(plane));
     }
 
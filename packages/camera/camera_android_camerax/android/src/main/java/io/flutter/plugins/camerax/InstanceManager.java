@@ -11,7 +11,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.WeakHashMap;
 
 /**
@@ -28,6 +31,12 @@ import java.util.WeakHashMap;
  * is removed and then the identifier is retrieved with the intention to pass the identifier to Dart
  * (e.g. calling {@link #getIdentifierForStrongReference(Object)}), the strong reference to the
  * instance is recreated. The strong reference will then need to be removed manually again.
+ *
+ * <p>Garbage collected weak references are detected on a background thread as soon as the garbage
+ * collector enqueues them, rather than on a timer, so reclamation keeps up with the allocation rate
+ * when many short-lived instances are added (e.g. while streaming images). The {@link
+ * FinalizationListener} is still called on the main thread. All methods may be called from any
+ * thread.
  */
 @SuppressWarnings("unchecked")
 public class InstanceManager {
@@ -38,44 +47,37 @@ public class InstanceManager {
   private static final long MIN_HOST_CREATED_IDENTIFIER = 65536;
   private static final String TAG = "InstanceManager";
 
-  /**
-   * The default time interval used to define how often this instance removes garbage collected weak
-   * references to native Android objects that this instance manages.
-   */
-  public static final long DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL = 3000;
-
-  /**
-   * The time interval used to define how often this instance removes garbage collected weak
-   * references to native Android objects that this instance manages, specifically when an {@code
-   * ImageAnalysis.Analyzer} is set on an {@code ImageAnalysis} instance to support image streaming.
-   *
-   * <p>Streaming images with an {@code ImageAnalysis.Analyzer} involves increased memory usage, so
-   * this interval, which is lower than the default {@link
-   * DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL} interval, accommodates this fact.
-   */
-  public static final long CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL_FOR_IMAGE_ANALYSIS = 1000;
-
   /** Interface for listening when a weak reference of an instance is removed from the manager. */
   public interface FinalizationListener {
     void onFinalize(long identifier);
   }
 
+  /** A weak reference that remembers the identifier of its instance once it is cleared. */
+  private static class IdentifiedWeakReference extends WeakReference<Object> {
+    final long identifier;
+
+    IdentifiedWeakReference(Object instance, long identifier, ReferenceQueue<Object> queue) {
+      super(instance, queue);
+      this.identifier = identifier;
+    }
+  }
+
   private final WeakHashMap<Object, Long> identifiers = new WeakHashMap<>();
-  private final HashMap<Long, WeakReference<Object>> weakInstances = new HashMap<>();
-  private final HashMap<Long, Object> strongInstances = new HashMap<>();
+  private final LongObjectMap<IdentifiedWeakReference> weakInstances = new LongObjectMap<>();
+  private final LongObjectMap<Object> strongInstances = new LongObjectMap<>();
 
   private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
-  private final HashMap<WeakReference<Object>, Long> weakReferencesToIdentifiers = new HashMap<>();
 
   private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Thread finalizerThread;
 
   private final FinalizationListener finalizationListener;
 
   private long nextIdentifier = MIN_HOST_CREATED_IDENTIFIER;
-  private boolean hasFinalizationListenerStopped = false;
+  private volatile boolean hasFinalizationListenerStopped = false;
 
-  private long clearFinalizedWeakReferencesInterval =
-      DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL;
+  // Identifiers of finalized instances waiting for the finalizationListener on the main thread.
+  private List<Long> pendingFinalizedIdentifiers = new ArrayList<>();
 
   /**
    * Instantiate a new manager.
@@ -92,7 +94,9 @@ public class InstanceManager {
 
   private InstanceManager(FinalizationListener finalizationListener) {
     this.finalizationListener = finalizationListener;
-    handler.postDelayed(this::releaseAllFinalizedInstances, clearFinalizedWeakReferencesInterval);
+    finalizerThread = new Thread(this::awaitFinalizedInstances, "CameraXInstanceManager");
+    finalizerThread.setDaemon(true);
+    finalizerThread.start();
   }
 
   /**
@@ -105,7 +109,7 @@ public class InstanceManager {
    *     the manager doesn't contain the value.
    */
   @Nullable
-  public <T> T remove(long identifier) {
+  public synchronized <T> T remove(long identifier) {
     logWarningIfFinalizationListenerHasStopped();
     return (T) strongInstances.remove(identifier);
   }
@@ -127,7 +131,7 @@ public class InstanceManager {
    *     `null` if the manager doesn't contain the value.
    */
   @Nullable
-  public Long getIdentifierForStrongReference(@Nullable Object instance) {
+  public synchronized Long getIdentifierForStrongReference(@Nullable Object instance) {
     logWarningIfFinalizationListenerHasStopped();
 
     final Long identifier = identifiers.get(instance);
@@ -148,7 +152,7 @@ public class InstanceManager {
    * @param identifier the identifier to be paired with instance. This value must be >= 0 and
    *     unique.
    */
-  public void addDartCreatedInstance(@NonNull Object instance, long identifier) {
+  public synchronized void addDartCreatedInstance(@NonNull Object instance, long identifier) {
     logWarningIfFinalizationListenerHasStopped();
     addInstance(instance, identifier);
   }
@@ -159,7 +163,7 @@ public class InstanceManager {
    * @param instance the instance to be stored. This must be unique to all other added instances.
    * @return the unique identifier (>= 0) stored with instance.
    */
-  public long addHostCreatedInstance(@NonNull Object instance) {
+  public synchronized long addHostCreatedInstance(@NonNull Object instance) {
     logWarningIfFinalizationListenerHasStopped();
 
     if (containsInstance(instance)) {
@@ -180,12 +184,12 @@ public class InstanceManager {
    *     `null` if the manager doesn't contain the value.
    */
   @Nullable
-  public <T> T getInstance(long identifier) {
+  public synchronized <T> T getInstance(long identifier) {
     logWarningIfFinalizationListenerHasStopped();
 
-    final WeakReference<T> instance = (WeakReference<T>) weakInstances.get(identifier);
+    final IdentifiedWeakReference instance = weakInstances.get(identifier);
     if (instance != null) {
-      return instance.get();
+      return (T) instance.get();
     }
     return null;
   }
@@ -196,7 +200,7 @@ public class InstanceManager {
    * @param instance the instance whose presence in this manager is to be tested.
    * @return whether this manager contains the given `instance`.
    */
-  public boolean containsInstance(@Nullable Object instance) {
+  public synchronized boolean containsInstance(@Nullable Object instance) {
     logWarningIfFinalizationListenerHasStopped();
     return identifiers.containsKey(instance);
   }
@@ -209,8 +213,8 @@ public class InstanceManager {
    * longer be called and methods will log a warning.
    */
   public void stopFinalizationListener() {
-    handler.removeCallbacks(this::releaseAllFinalizedInstances);
     hasFinalizationListenerStopped = true;
+    finalizerThread.interrupt();
   }
 
   /**
@@ -218,11 +222,10 @@ public class InstanceManager {
    *
    * <p>The manager will be empty after this call returns.
    */
-  public void clear() {
+  public synchronized void clear() {
     identifiers.clear();
     weakInstances.clear();
     strongInstances.clear();
-    weakReferencesToIdentifiers.clear();
   }
 
   /**
@@ -236,32 +239,80 @@ public class InstanceManager {
   }
 
   /**
-   * Modifies the time interval used to define how often this instance removes garbage collected
-   * weak references to native Android objects that this instance was managing.
+   * Returns the number of instances that have not been garbage collected, the number of those held
+   * by a strong reference, and the number held only by a weak reference, keyed by {@code live},
+   * {@code strong} and {@code weak}.
    */
-  public void setClearFinalizedWeakReferencesInterval(long interval) {
-    clearFinalizedWeakReferencesInterval = interval;
+  @NonNull
+  public synchronized Map<String, Integer> getStatistics() {
+    final Map<String, Integer> statistics = new HashMap<>();
+    statistics.put("live", weakInstances.size());
+    statistics.put("strong", strongInstances.size());
+    statistics.put("weak", weakInstances.size() - strongInstances.size());
+    return statistics;
   }
 
   /**
    * Releases garbage collected weak references to native Android objects that this instance was
-   * managing.
+   * managing that have not been released by the background thread yet, and calls the {@link
+   * FinalizationListener} for them.
+   *
+   * <p>This must be called on the main thread.
    */
   public void releaseAllFinalizedInstances() {
     if (hasFinalizationListenerStopped()) {
       return;
     }
 
-    WeakReference<Object> reference;
-    while ((reference = (WeakReference<Object>) referenceQueue.poll()) != null) {
-      final Long identifier = weakReferencesToIdentifiers.remove(reference);
-      if (identifier != null) {
-        weakInstances.remove(identifier);
-        strongInstances.remove(identifier);
-        finalizationListener.onFinalize(identifier);
+    IdentifiedWeakReference reference;
+    while ((reference = (IdentifiedWeakReference) referenceQueue.poll()) != null) {
+      releaseFinalizedInstance(reference);
+    }
+    notifyFinalizationListener();
+  }
+
+  private void awaitFinalizedInstances() {
+    while (!hasFinalizationListenerStopped()) {
+      try {
+        releaseFinalizedInstance((IdentifiedWeakReference) referenceQueue.remove());
+      } catch (InterruptedException e) {
+        return;
+      }
+      // Release everything the garbage collector enqueued along with it before waking the main
+      // thread, so a burst of finalized instances results in a single main thread task.
+      IdentifiedWeakReference reference;
+      while ((reference = (IdentifiedWeakReference) referenceQueue.poll()) != null) {
+        releaseFinalizedInstance(reference);
+      }
+      handler.post(this::notifyFinalizationListener);
+    }
+  }
+
+  private synchronized void releaseFinalizedInstance(IdentifiedWeakReference reference) {
+    // The identifier may have been cleared or reused since the reference was created.
+    if (weakInstances.get(reference.identifier) != reference) {
+      return;
+    }
+    weakInstances.remove(reference.identifier);
+    strongInstances.remove(reference.identifier);
+    pendingFinalizedIdentifiers.add(reference.identifier);
+  }
+
+  private void notifyFinalizationListener() {
+    final List<Long> finalizedIdentifiers;
+    synchronized (this) {
+      if (pendingFinalizedIdentifiers.isEmpty()) {
+        return;
       }
+      finalizedIdentifiers = pendingFinalizedIdentifiers;
+      pendingFinalizedIdentifiers = new ArrayList<>();
+    }
+    if (hasFinalizationListenerStopped()) {
+      return;
+    }
+    for (Long identifier : finalizedIdentifiers) {
+      finalizationListener.onFinalize(identifier);
     }
-    handler.postDelayed(this::releaseAllFinalizedInstances, clearFinalizedWeakReferencesInterval);
   }
 
   private void addInstance(Object instance, long identifier) {
@@ -272,10 +323,10 @@ public class InstanceManager {
       throw new IllegalArgumentException(
           String.format("Identifier has already been added: %d", identifier));
     }
-    final WeakReference<Object> weakReference = new WeakReference<>(instance, referenceQueue);
+    final IdentifiedWeakReference weakReference =
+        new IdentifiedWeakReference(instance, identifier, referenceQueue);
     identifiers.put(instance, identifier);
     weakInstances.put(identifier, weakReference);
-    weakReferencesToIdentifiers.put(weakReference, identifier);
     strongInstances.put(identifier, instance);
   }
 
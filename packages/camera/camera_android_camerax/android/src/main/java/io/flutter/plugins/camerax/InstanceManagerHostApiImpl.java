@@ -0,0 +1,53 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.InstanceManagerHostApi;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pigeon Host API implementation that handles clearing the {@link InstanceManager} and reporting
+ * statistics on the native objects and buffers kept by the plugin.
+ */
+public class InstanceManagerHostApiImpl implements InstanceManagerHostApi {
+  private final InstanceManager instanceManager;
+
+  @VisibleForTesting @NonNull public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  /**
+   * Constructs a {@link InstanceManagerHostApiImpl}.
+   *
+   * @param instanceManager maintains instances stored to communicate with Dart objects
+   */
+  public InstanceManagerHostApiImpl(@NonNull InstanceManager instanceManager) {
+    this.instanceManager = instanceManager;
+  }
+
+  @Override
+  public void clear() {
+    instanceManager.clear();
+  }
+
+  /** Returns the statistics of {@link InstanceManager#getStatistics()}. */
+  @Override
+  @NonNull
+  public Map<String, Long> getStatistics() {
+    final Map<String, Long> statistics = new HashMap<>();
+    for (Map.Entry<String, Integer> entry : instanceManager.getStatistics().entrySet()) {
+      statistics.put(entry.getKey(), entry.getValue().longValue());
+    }
+    return statistics;
+  }
+
+  /** Returns the statistics of the pool used by {@link CameraXProxy#getBytesFromBuffer(int)}. */
+  @Override
+  @NonNull
+  public Map<String, Long> getPlaneBufferPoolStatistics() {
+    return cameraXProxy.getPlaneBufferPoolStatistics();
+  }
+}
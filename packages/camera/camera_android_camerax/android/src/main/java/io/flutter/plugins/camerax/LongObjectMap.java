@@ -0,0 +1,150 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to non-null values.
+ *
+ * <p>Unlike a {@code HashMap<Long, V>}, keys are not boxed and no entry objects are allocated, so
+ * adding and removing the many short-lived instances created while streaming images does not
+ * generate garbage. Uses open addressing with linear probing and is not thread safe.
+ */
+public class LongObjectMap<V> {
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  /** Constructs an empty {@link LongObjectMap}. */
+  public LongObjectMap() {
+    allocate(MIN_CAPACITY);
+  }
+
+  /** Returns the value for {@code key}, or null if the map does not contain {@code key}. */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    for (int slot = slotFor(key); values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+    }
+    return null;
+  }
+
+  /** Returns whether the map contains {@code key}. */
+  public boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Associates {@code value} with {@code key}.
+   *
+   * @return the value previously associated with {@code key}, or null if there was none.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V put(long key, @NonNull V value) {
+    int slot = slotFor(key);
+    for (; values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        final V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    // Keep the load factor at or below one half so probe sequences stay short.
+    if (++size * 2 > values.length) {
+      resize(values.length * 2);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the value for {@code key}.
+   *
+   * @return the removed value, or null if the map did not contain {@code key}.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    int slot = slotFor(key);
+    for (; values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        final V removed = (V) values[slot];
+        deleteSlot(slot);
+        size--;
+        return removed;
+      }
+    }
+    return null;
+  }
+
+  /** Returns the number of entries in the map. */
+  public int size() {
+    return size;
+  }
+
+  /** Removes all entries from the map. */
+  public void clear() {
+    if (values.length > MIN_CAPACITY) {
+      allocate(MIN_CAPACITY);
+    } else {
+      Arrays.fill(values, null);
+    }
+    size = 0;
+  }
+
+  private void deleteSlot(int slot) {
+    // Shift later entries of the probe sequence back so lookups never stop at the removed slot.
+    int empty = slot;
+    for (int next = (empty + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+      final int home = slotFor(keys[next]);
+      final boolean homeIsOutsideGap =
+          empty <= next ? (home <= empty || home > next) : (home <= empty && home > next);
+      if (homeIsOutsideGap) {
+        keys[empty] = keys[next];
+        values[empty] = values[next];
+        empty = next;
+      }
+    }
+    values[empty] = null;
+  }
+
+  private void resize(int capacity) {
+    final long[] oldKeys = keys;
+    final Object[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slotFor(oldKeys[i]);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  private int slotFor(long key) {
+    final long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
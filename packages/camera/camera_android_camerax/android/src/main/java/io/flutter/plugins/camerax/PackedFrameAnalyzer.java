@@ -0,0 +1,152 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryCodec;
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Implementation of {@link ImageAnalysis.Analyzer} that sends each image to Dart as a single packed
+ * message, instead of creating an {@code ImageProxy} and a {@code PlaneProxy} per plane in Dart.
+ *
+ * <p>Images are copied into a reusable direct buffer on the image analysis thread and closed right
+ * away, so neither the images nor their planes are added to the {@link InstanceManager}. The buffer
+ * is sent on {@link #CHANNEL_NAME} from the main thread and reused once Dart replies. If {@link
+ * #MAX_FRAMES_IN_FLIGHT} images are still waiting for a reply, new images are dropped.
+ *
+ * <p>Each message is laid out in little-endian byte order as:
+ *
+ * <ul>
+ *   <li>int version ({@link #PACKED_FRAME_VERSION}), int format, int width, int height
+ *   <li>long timestamp in nanoseconds, int rotation in degrees, int plane count
+ *   <li>for each plane: int row stride, int pixel stride, int length, followed by {@code length}
+ *       bytes
+ * </ul>
+ */
+public class PackedFrameAnalyzer implements ImageAnalysis.Analyzer {
+  /** The name of the channel packed images are sent on. */
+  public static final String CHANNEL_NAME =
+      "plugins.flutter.io/camera_android_camerax/packedImageAnalysis";
+
+  /** The version of the packed message layout, written at the start of each message. */
+  public static final int PACKED_FRAME_VERSION = 1;
+
+  /** The size in bytes of the header that precedes the planes of a packed message. */
+  public static final int PACKED_FRAME_HEADER_SIZE = 32;
+
+  /** The size in bytes of the header that precedes the bytes of each plane. */
+  public static final int PACKED_PLANE_HEADER_SIZE = 12;
+
+  /** The maximum number of packed images sent to Dart that have not been replied to yet. */
+  public static final int MAX_FRAMES_IN_FLIGHT = 2;
+
+  private final BasicMessageChannel<ByteBuffer> channel;
+  private final ArrayDeque<ByteBuffer> freeBuffers = new ArrayDeque<>(MAX_FRAMES_IN_FLIGHT);
+  private int framesInFlight;
+  private long droppedFrames;
+
+  @VisibleForTesting @NonNull public Executor mainThreadExecutor;
+
+  /**
+   * Constructs a {@link PackedFrameAnalyzer}.
+   *
+   * @param binaryMessenger used to send packed images to Dart
+   */
+  public PackedFrameAnalyzer(@NonNull BinaryMessenger binaryMessenger) {
+    this(new BasicMessageChannel<>(binaryMessenger, CHANNEL_NAME, BinaryCodec.INSTANCE));
+  }
+
+  @VisibleForTesting
+  PackedFrameAnalyzer(@NonNull BasicMessageChannel<ByteBuffer> channel) {
+    this.channel = channel;
+    mainThreadExecutor = new Handler(Looper.getMainLooper())::post;
+  }
+
+  @Override
+  public void analyze(@NonNull ImageProxy imageProxy) {
+    try {
+      ImageProxy.PlaneProxy[] planes = imageProxy.getPlanes();
+      int packedSize = PACKED_FRAME_HEADER_SIZE;
+      for (ImageProxy.PlaneProxy plane : planes) {
+        packedSize += PACKED_PLANE_HEADER_SIZE + plane.getBuffer().remaining();
+      }
+
+      ByteBuffer buffer = acquireBuffer(packedSize);
+      if (buffer == null) {
+        return;
+      }
+
+      boolean sent = false;
+      try {
+        buffer.putInt(PACKED_FRAME_VERSION);
+        buffer.putInt(imageProxy.getFormat());
+        buffer.putInt(imageProxy.getWidth());
+        buffer.putInt(imageProxy.getHeight());
+        buffer.putLong(imageProxy.getImageInfo().getTimestamp());
+        buffer.putInt(imageProxy.getImageInfo().getRotationDegrees());
+        buffer.putInt(planes.length);
+        for (ImageProxy.PlaneProxy plane : planes) {
+          // Duplicate so that the position of the plane buffer is left untouched.
+          ByteBuffer planeBuffer = plane.getBuffer().duplicate();
+          buffer.putInt(plane.getRowStride());
+          buffer.putInt(plane.getPixelStride());
+          buffer.putInt(planeBuffer.remaining());
+          buffer.put(planeBuffer);
+        }
+
+        // The message is the bytes up to the position of the buffer, so it is not flipped.
+        mainThreadExecutor.execute(() -> channel.send(buffer, reply -> releaseBuffer(buffer)));
+        sent = true;
+      } finally {
+        if (!sent) {
+          // Frees the slot of an image that failed to be packed, so that later images are not
+          // dropped.
+          releaseBuffer(buffer);
+        }
+      }
+    } finally {
+      imageProxy.close();
+    }
+  }
+
+  /** Returns the number of images dropped because too many were waiting for a reply from Dart. */
+  public synchronized long getDroppedFrameCount() {
+    return droppedFrames;
+  }
+
+  @Nullable
+  private synchronized ByteBuffer acquireBuffer(int size) {
+    if (framesInFlight >= MAX_FRAMES_IN_FLIGHT) {
+      droppedFrames++;
+      return null;
+    }
+    framesInFlight++;
+
+    ByteBuffer buffer = freeBuffers.poll();
+    if (buffer == null || buffer.capacity() < size) {
+      // Buffers that are too small, e.g. after the resolution changed, are left to be collected.
+      buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  private synchronized void releaseBuffer(@NonNull ByteBuffer buffer) {
+    framesInFlight--;
+    freeBuffers.offer(buffer);
+  }
+}
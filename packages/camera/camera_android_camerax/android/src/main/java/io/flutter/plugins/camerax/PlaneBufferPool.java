@@ -0,0 +1,97 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded pool of {@code byte} arrays that image plane bytes are copied into before being sent to
+ * Dart, so that streaming images does not allocate new arrays for every plane of every image.
+ *
+ * <p>Arrays are bucketed by their exact size, since the planes of a stream of images keep the same
+ * sizes until the resolution changes. At most {@code maxSizes} sizes are kept, evicting the least
+ * recently used size first, and at most {@code maxArraysPerSize} arrays are kept per size.
+ */
+public class PlaneBufferPool {
+  private final int maxArraysPerSize;
+  private final int maxSizes;
+  private final LinkedHashMap<Integer, ArrayDeque<byte[]>> freeArrays;
+
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Constructs a {@link PlaneBufferPool}.
+   *
+   * @param maxArraysPerSize the maximum number of unused arrays kept for each size
+   * @param maxSizes the maximum number of different sizes arrays are kept for
+   */
+  public PlaneBufferPool(int maxArraysPerSize, int maxSizes) {
+    if (maxArraysPerSize < 1 || maxSizes < 1) {
+      throw new IllegalArgumentException("maxArraysPerSize and maxSizes must be at least 1.");
+    }
+    this.maxArraysPerSize = maxArraysPerSize;
+    this.maxSizes = maxSizes;
+    this.freeArrays = new LinkedHashMap<>(maxSizes, 0.75f, true);
+  }
+
+  /** Returns an array of exactly {@code size} bytes, reusing a released one if available. */
+  @NonNull
+  public synchronized byte[] acquire(int size) {
+    ArrayDeque<byte[]> arrays = freeArrays.get(size);
+    if (arrays != null && !arrays.isEmpty()) {
+      hitCount++;
+      return arrays.poll();
+    }
+    missCount++;
+    return new byte[size];
+  }
+
+  /**
+   * Returns an array obtained from {@link #acquire(int)} to the pool. The array must not be used by
+   * the caller afterwards.
+   */
+  public synchronized void release(@NonNull byte[] array) {
+    ArrayDeque<byte[]> arrays = freeArrays.get(array.length);
+    if (arrays == null) {
+      evictLeastRecentlyUsedSizes(maxSizes - 1);
+      arrays = new ArrayDeque<>(maxArraysPerSize);
+      freeArrays.put(array.length, arrays);
+    }
+    if (arrays.size() >= maxArraysPerSize) {
+      evictionCount++;
+      return;
+    }
+    arrays.offer(array);
+  }
+
+  /**
+   * Returns the number of times an array was reused, the number of times one had to be allocated
+   * and the number of released arrays that were discarded, keyed by {@code hits}, {@code misses}
+   * and {@code evictions}.
+   */
+  @NonNull
+  public synchronized Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new HashMap<>();
+    statistics.put("hits", hitCount);
+    statistics.put("misses", missCount);
+    statistics.put("evictions", evictionCount);
+    return statistics;
+  }
+
+  private void evictLeastRecentlyUsedSizes(int sizesToKeep) {
+    Iterator<ArrayDeque<byte[]>> iterator = freeArrays.values().iterator();
+    while (freeArrays.size() > sizesToKeep && iterator.hasNext()) {
+      evictionCount += iterator.next().size();
+      iterator.remove();
+    }
+  }
+}
@@ -7,7 +7,9 @@ package io.flutter.plugins.camerax;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,11 +17,14 @@ import static org.mockito.Mockito.when;
 import androidx.camera.core.ImageProxy;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.AnalyzerFlutterApi;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -57,6 +62,21 @@ public class AnalyzerTest {
     assertEquals(instanceManager.getInstance(instanceIdentifier), mockImageAnalysisAnalyzer);
   }
 
+  @Test
+  public void hostApiCreatePackedFrameAnalyzer_addsInstanceWithExpectedIdentifier() {
+    final AnalyzerHostApiImpl hostApi =
+        new AnalyzerHostApiImpl(mockBinaryMessenger, instanceManager, mockProxy);
+    final PackedFrameAnalyzer mockPackedFrameAnalyzer = mock(PackedFrameAnalyzer.class);
+    final long instanceIdentifier = 91;
+
+    when(mockProxy.createPackedFrameAnalyzer(mockBinaryMessenger))
+        .thenReturn(mockPackedFrameAnalyzer);
+
+    hostApi.createPackedFrameAnalyzer(instanceIdentifier);
+
+    assertEquals(instanceManager.getInstance(instanceIdentifier), mockPackedFrameAnalyzer);
+  }
+
   @Test
   public void flutterApiCreate_makesCallToDartCreate() {
     final AnalyzerFlutterApiImpl flutterApi =
@@ -90,6 +110,7 @@ public class AnalyzerTest {
     flutterApi.setApi(mockFlutterApi);
     instance.setApi(flutterApi);
     instance.imageProxyApi = mockImageProxyApi;
+    instance.mainThreadExecutor = Runnable::run;
 
     instanceManager.addDartCreatedInstance(instance, instanceIdentifier);
     instanceManager.addDartCreatedInstance(mockImageProxy, mockImageProxyIdentifier);
@@ -103,4 +124,30 @@ public class AnalyzerTest {
     verify(mockFlutterApi).analyze(eq(instanceIdentifier), eq(mockImageProxyIdentifier), any());
     verify(mockImageProxyApi).create(eq(mockImageProxy), eq(format), eq(height), eq(width), any());
   }
+
+  @Test
+  public void analyze_notifiesDartOnMainThreadWithoutCopyingPlanes() {
+    final AnalyzerHostApiImpl.AnalyzerImpl instance =
+        new AnalyzerHostApiImpl.AnalyzerImpl(mockBinaryMessenger, instanceManager);
+    final AnalyzerFlutterApiImpl mockAnalyzerApi = mock(AnalyzerFlutterApiImpl.class);
+    final ImageProxyFlutterApiImpl mockImageProxyApi = mock(ImageProxyFlutterApiImpl.class);
+    final ImageProxy mockImageProxy = mock(ImageProxy.class);
+    final List<Runnable> mainThreadTasks = new ArrayList<>();
+
+    instance.setApi(mockAnalyzerApi);
+    instance.imageProxyApi = mockImageProxyApi;
+    instance.mainThreadExecutor = mainThreadTasks::add;
+
+    instance.analyze(mockImageProxy);
+
+    verify(mockAnalyzerApi, never()).analyze(any(), any(), any());
+    assertEquals(mainThreadTasks.size(), 1);
+
+    mainThreadTasks.get(0).run();
+
+    final InOrder inOrder = inOrder(mockImageProxyApi, mockAnalyzerApi);
+    inOrder.verify(mockImageProxyApi).create(eq(mockImageProxy), any(), any(), any(), any());
+    inOrder.verify(mockAnalyzerApi).analyze(eq(instance), eq(mockImageProxy), any());
+    verify(mockImageProxy, never()).getPlanes();
+  }
 }
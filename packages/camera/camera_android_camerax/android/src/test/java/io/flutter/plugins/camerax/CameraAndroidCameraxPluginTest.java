@@ -34,6 +34,18 @@ public class CameraAndroidCameraxPluginTest {
   @Mock ActivityPluginBinding activityPluginBinding;
   @Mock FlutterPluginBinding flutterPluginBinding;
 
+  @Test
+  public void onDetachedFromEngine_shutsDownImageAnalysisExecutor() {
+    final CameraAndroidCameraxPlugin plugin = new CameraAndroidCameraxPlugin();
+    final ImageAnalysisHostApiImpl mockImageAnalysisHostApiImpl =
+        mock(ImageAnalysisHostApiImpl.class);
+
+    plugin.imageAnalysisHostApiImpl = mockImageAnalysisHostApiImpl;
+    plugin.onDetachedFromEngine(flutterPluginBinding);
+
+    verify(mockImageAnalysisHostApiImpl).shutdownAnalysisExecutor();
+  }
+
   @Test
   public void onAttachedToActivity_setsLifecycleOwnerAsActivityIfLifecycleOwnerAsNeeded() {
     final CameraAndroidCameraxPlugin plugin = spy(new CameraAndroidCameraxPlugin());
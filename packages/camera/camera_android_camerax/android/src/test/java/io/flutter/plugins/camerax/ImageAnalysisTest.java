@@ -6,18 +6,23 @@ package io.flutter.plugins.camerax;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.content.Context;
+import android.os.Process;
 import android.view.Surface;
 import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
 import androidx.test.core.app.ApplicationProvider;
 import io.flutter.plugin.common.BinaryMessenger;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -65,7 +70,8 @@ public class ImageAnalysisTest {
     when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
     when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
 
-    hostApi.create(instanceIdentifier, Long.valueOf(targetRotation), mockResolutionSelectorId);
+    hostApi.create(
+        instanceIdentifier, Long.valueOf(targetRotation), mockResolutionSelectorId, null, null);
 
     verify(mockImageAnalysisBuilder).setTargetRotation(targetRotation);
     verify(mockImageAnalysisBuilder).setResolutionSelector(mockResolutionSelector);
@@ -89,6 +95,111 @@ public class ImageAnalysisTest {
     verify(mockImageAnalysis).setAnalyzer(any(Executor.class), eq(mockAnalyzer));
   }
 
+  @Test
+  public void hostApiCreate_setsBackpressureStrategyAndImageQueueDepth() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+
+    when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
+    when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
+
+    hostApi.create(7L, null, null, (long) ImageAnalysis.STRATEGY_BLOCK_PRODUCER, 3L);
+
+    verify(mockImageAnalysisBuilder).setBackpressureStrategy(ImageAnalysis.STRATEGY_BLOCK_PRODUCER);
+    verify(mockImageAnalysisBuilder).setImageQueueDepth(3);
+  }
+
+  @Test
+  public void hostApiCreate_keepsDefaultBackpressureStrategyWhenUnspecified() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+
+    when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
+    when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
+
+    hostApi.create(7L, null, null, null, null);
+
+    verify(mockImageAnalysisBuilder, never()).setBackpressureStrategy(anyInt());
+    verify(mockImageAnalysisBuilder, never()).setImageQueueDepth(anyInt());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void hostApiCreate_throwsForUnknownBackpressureStrategy() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+
+    when(mockCameraXProxy.createImageAnalysisBuilder())
+        .thenReturn(mock(ImageAnalysis.Builder.class));
+
+    hostApi.create(7L, null, null, 5L, null);
+  }
+
+  @Test
+  public void setAnalyzer_runsAnalyzerOnAnalysisExecutor() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ExecutorService mockExecutor = mock(ExecutorService.class);
+    final ImageAnalysis.Analyzer mockAnalyzer = mock(ImageAnalysis.Analyzer.class);
+    final long analyzerIdentifier = 10;
+    final long instanceIdentifier = 94;
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+    instanceManager.addDartCreatedInstance(mockAnalyzer, analyzerIdentifier);
+    instanceManager.addDartCreatedInstance(mockImageAnalysis, instanceIdentifier);
+
+    when(mockCameraXProxy.createImageAnalysisExecutor(Process.THREAD_PRIORITY_DEFAULT))
+        .thenReturn(mockExecutor);
+
+    hostApi.setAnalyzer(instanceIdentifier, analyzerIdentifier);
+    hostApi.setAnalyzer(instanceIdentifier, analyzerIdentifier);
+
+    verify(mockCameraXProxy).createImageAnalysisExecutor(Process.THREAD_PRIORITY_DEFAULT);
+    verify(mockImageAnalysis, times(2)).setAnalyzer(mockExecutor, mockAnalyzer);
+
+    hostApi.shutdownAnalysisExecutor();
+
+    verify(mockExecutor).shutdown();
+  }
+
+  @Test
+  public void setAnalysisThreadPriority_appliesToNewAndRunningAnalysisThreads() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ExecutorService mockExecutor = mock(ExecutorService.class);
+    final ImageAnalysis.Analyzer mockAnalyzer = mock(ImageAnalysis.Analyzer.class);
+    final long analyzerIdentifier = 10;
+    final long instanceIdentifier = 94;
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+    instanceManager.addDartCreatedInstance(mockAnalyzer, analyzerIdentifier);
+    instanceManager.addDartCreatedInstance(mockImageAnalysis, instanceIdentifier);
+
+    when(mockCameraXProxy.createImageAnalysisExecutor(Process.THREAD_PRIORITY_DISPLAY))
+        .thenReturn(mockExecutor);
+
+    hostApi.setAnalysisThreadPriority((long) Process.THREAD_PRIORITY_DISPLAY);
+    verify(mockExecutor, never()).execute(any(Runnable.class));
+
+    hostApi.setAnalyzer(instanceIdentifier, analyzerIdentifier);
+    verify(mockCameraXProxy).createImageAnalysisExecutor(Process.THREAD_PRIORITY_DISPLAY);
+
+    hostApi.setAnalysisThreadPriority((long) Process.THREAD_PRIORITY_BACKGROUND);
+    verify(mockExecutor).execute(any(Runnable.class));
+  }
+
   @Test
   public void clearAnalyzer_makesCallToClearAnalyzerOnExpectedImageAnalysisInstance() {
     final ImageAnalysisHostApiImpl hostApi =
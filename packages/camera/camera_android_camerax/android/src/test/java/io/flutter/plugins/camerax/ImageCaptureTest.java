@@ -4,6 +4,8 @@
 
 package io.flutter.plugins.camerax;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -17,16 +19,19 @@ import android.content.Context;
 import android.view.Surface;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
 import io.flutter.plugin.common.BinaryMessenger;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Executor;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.MockitoJUnit;
@@ -173,6 +178,91 @@ public class ImageCaptureTest {
             any(ImageCapture.OnImageSavedCallback.class));
   }
 
+  @Test
+  public void takePicture_usesSharedCaptureExecutor() {
+    final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+    final Long imageCaptureIdentifier = 6L;
+    final File mockOutputDir = mock(File.class);
+    final File mockFile = mock(File.class);
+    @SuppressWarnings("unchecked")
+    final GeneratedCameraXLibrary.Result<String> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, imageCaptureIdentifier);
+    when(context.getCacheDir()).thenReturn(mockOutputDir);
+    imageCaptureHostApiImpl.cameraXProxy = mockCameraXProxy;
+    mockedStaticFile
+        .when(
+            () ->
+                File.createTempFile(
+                    ImageCaptureHostApiImpl.TEMPORARY_FILE_NAME,
+                    ImageCaptureHostApiImpl.JPG_FILE_TYPE,
+                    mockOutputDir))
+        .thenReturn(mockFile);
+
+    imageCaptureHostApiImpl.takePicture(imageCaptureIdentifier, mockResult);
+    imageCaptureHostApiImpl.takePicture(imageCaptureIdentifier, mockResult);
+
+    final ArgumentCaptor<Executor> executorCaptor = ArgumentCaptor.forClass(Executor.class);
+    verify(mockImageCapture, times(2))
+        .takePicture(any(), executorCaptor.capture(), any(ImageCapture.OnImageSavedCallback.class));
+    assertSame(ImageCaptureHostApiImpl.getCaptureExecutor(), executorCaptor.getAllValues().get(0));
+    assertSame(ImageCaptureHostApiImpl.getCaptureExecutor(), executorCaptor.getAllValues().get(1));
+  }
+
+  @Test
+  public void takePictureToMemory_sendsErrorWhenTooManyPicturesAreInFlight() {
+    final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+    final Long imageCaptureIdentifier = 6L;
+    @SuppressWarnings("unchecked")
+    final GeneratedCameraXLibrary.Result<byte[]> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, imageCaptureIdentifier);
+    imageCaptureHostApiImpl.setMaxPicturesInFlight(1L);
+
+    imageCaptureHostApiImpl.takePictureToMemory(imageCaptureIdentifier, mockResult);
+    imageCaptureHostApiImpl.takePictureToMemory(imageCaptureIdentifier, mockResult);
+
+    verify(mockImageCapture, times(1))
+        .takePicture(any(Executor.class), any(ImageCapture.OnImageCapturedCallback.class));
+    verify(mockResult).error(any(IllegalStateException.class));
+  }
+
+  @Test
+  public void takePictureToMemory_usesExpectedOnImageCapturedCallback() {
+    final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+    @SuppressWarnings("unchecked")
+    final GeneratedCameraXLibrary.Result<byte[]> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+    final ImageProxy mockImageProxy = mock(ImageProxy.class);
+    final ImageProxy.PlaneProxy mockPlaneProxy = mock(ImageProxy.PlaneProxy.class);
+    final byte[] jpegBytes = new byte[] {(byte) 0xFF, (byte) 0xD8, 1, 2};
+
+    when(mockImageProxy.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlaneProxy});
+    when(mockPlaneProxy.getBuffer()).thenReturn(ByteBuffer.wrap(jpegBytes));
+
+    final ImageCapture.OnImageCapturedCallback onImageCapturedCallback =
+        imageCaptureHostApiImpl.createOnImageCapturedCallback(mockResult);
+
+    // Test success case.
+    onImageCapturedCallback.onCaptureSuccess(mockImageProxy);
+
+    final ArgumentCaptor<byte[]> bytesCaptor = ArgumentCaptor.forClass(byte[].class);
+    verify(mockResult).success(bytesCaptor.capture());
+    assertArrayEquals(jpegBytes, bytesCaptor.getValue());
+    verify(mockImageProxy).close();
+
+    // Test error case.
+    final ImageCaptureException captureException = mock(ImageCaptureException.class);
+    onImageCapturedCallback.onError(captureException);
+
+    verify(mockResult).error(captureException);
+  }
+
   @Test
   public void takePicture_usesExpectedOnImageSavedCallback() {
     final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -84,9 +85,34 @@ public class ImageProxyTest {
             eq(Long.valueOf(pixelStride)),
             eq(Long.valueOf(rowStride)),
             any());
+    verify(mockCameraXProxy).releaseBytes(buffer);
     assertEquals(result.size(), 1);
   }
 
+  @Test
+  public void getPlanes_doesNotCopyPlanesAlreadySentToDart() {
+    final ImageProxyHostApiImpl hostApi =
+        new ImageProxyHostApiImpl(mockBinaryMessenger, instanceManager);
+    final PlaneProxyFlutterApiImpl mockPlaneProxyFlutterApiImpl =
+        mock(PlaneProxyFlutterApiImpl.class);
+    final long instanceIdentifier = 24;
+    final long planeProxyIdentifier = 45;
+    final ImageProxy.PlaneProxy mockPlaneProxy = mock(ImageProxy.PlaneProxy.class);
+
+    instanceManager.addDartCreatedInstance(mockImageProxy, instanceIdentifier);
+    instanceManager.addDartCreatedInstance(mockPlaneProxy, planeProxyIdentifier);
+
+    hostApi.planeProxyFlutterApiImpl = mockPlaneProxyFlutterApiImpl;
+
+    when(mockImageProxy.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlaneProxy});
+
+    final List<Long> result = hostApi.getPlanes(instanceIdentifier);
+
+    verify(mockPlaneProxy, never()).getBuffer();
+    verify(mockPlaneProxyFlutterApiImpl, never()).create(any(), any(), any(), any(), any());
+    assertEquals(result.get(0), Long.valueOf(planeProxyIdentifier));
+  }
+
   @Test
   public void close_makesCallToCloseExpectedImageProxyInstance() {
     final ImageProxyHostApiImpl hostApi =
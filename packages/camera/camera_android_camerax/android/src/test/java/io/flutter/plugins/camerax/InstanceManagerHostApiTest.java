@@ -0,0 +1,67 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InstanceManagerHostApiTest {
+  InstanceManager instanceManager;
+
+  @Before
+  public void setUp() {
+    instanceManager = InstanceManager.create(identifier -> {});
+  }
+
+  @After
+  public void tearDown() {
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void clear() {
+    final InstanceManagerHostApiImpl hostApi = new InstanceManagerHostApiImpl(instanceManager);
+    final Object object = new Object();
+    instanceManager.addDartCreatedInstance(object, 0);
+
+    hostApi.clear();
+
+    assertFalse(instanceManager.containsInstance(object));
+  }
+
+  @Test
+  public void getStatistics_returnsInstanceManagerStatistics() {
+    final InstanceManagerHostApiImpl hostApi = new InstanceManagerHostApiImpl(instanceManager);
+    final Object object = new Object();
+    instanceManager.addDartCreatedInstance(object, 0);
+
+    final Map<String, Long> statistics = hostApi.getStatistics();
+
+    assertEquals((Long) 1L, statistics.get("live"));
+    assertEquals((Long) 1L, statistics.get("strong"));
+    assertEquals((Long) 0L, statistics.get("weak"));
+  }
+
+  @Test
+  public void getPlaneBufferPoolStatistics_returnsStatisticsOfCameraXProxy() {
+    final InstanceManagerHostApiImpl hostApi = new InstanceManagerHostApiImpl(instanceManager);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final Map<String, Long> statistics = new HashMap<>();
+    statistics.put("hits", 3L);
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+    when(mockCameraXProxy.getPlaneBufferPoolStatistics()).thenReturn(statistics);
+
+    assertEquals(statistics, hostApi.getPlaneBufferPoolStatistics());
+  }
+}
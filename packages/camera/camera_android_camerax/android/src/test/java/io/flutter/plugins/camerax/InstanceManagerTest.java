@@ -10,6 +10,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 
 public class InstanceManagerTest {
@@ -137,4 +140,49 @@ public class InstanceManagerTest {
     assertEquals(instanceManager.getIdentifierForStrongReference(instance), (Long) identifier);
     assertTrue(instanceManager.containsInstance(instance));
   }
+
+  @Test
+  public void getStatisticsReturnsLiveStrongAndWeakCounts() {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+
+    final Object first = new Object();
+    final Object second = new Object();
+    instanceManager.addDartCreatedInstance(first, 0);
+    instanceManager.addHostCreatedInstance(second);
+    instanceManager.remove(0);
+
+    final Map<String, Integer> statistics = instanceManager.getStatistics();
+    assertEquals((Integer) 2, statistics.get("live"));
+    assertEquals((Integer) 1, statistics.get("strong"));
+    assertEquals((Integer) 1, statistics.get("weak"));
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void garbageCollectedInstancesAreReleasedWithoutWaitingForMainThread()
+      throws InterruptedException {
+    final List<Long> finalizedIdentifiers = new ArrayList<>();
+    final InstanceManager instanceManager = InstanceManager.create(finalizedIdentifiers::add);
+
+    Object object = new Object();
+    instanceManager.addDartCreatedInstance(object, 0);
+    instanceManager.remove(0);
+
+    // To allow for object to be garbage collected.
+    //noinspection UnusedAssignment
+    object = null;
+
+    for (int i = 0; i < 100 && instanceManager.getStatistics().get("live") > 0; i++) {
+      Runtime.getRuntime().gc();
+      Thread.sleep(10);
+    }
+    assertEquals((Integer) 0, instanceManager.getStatistics().get("live"));
+
+    instanceManager.releaseAllFinalizedInstances();
+    assertEquals(1, finalizedIdentifiers.size());
+    assertEquals((Long) 0L, finalizedIdentifiers.get(0));
+
+    instanceManager.stopFinalizationListener();
+  }
 }
@@ -0,0 +1,88 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class LongObjectMapTest {
+  @Test
+  public void putAndGet() {
+    final LongObjectMap<String> map = new LongObjectMap<>();
+
+    assertNull(map.put(1, "one"));
+    assertNull(map.put(65536, "host"));
+
+    assertEquals("one", map.get(1));
+    assertEquals("host", map.get(65536));
+    assertNull(map.get(2));
+    assertTrue(map.containsKey(1));
+    assertFalse(map.containsKey(2));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  public void putReplacesExistingValue() {
+    final LongObjectMap<String> map = new LongObjectMap<>();
+
+    map.put(7, "first");
+
+    assertEquals("first", map.put(7, "second"));
+    assertEquals("second", map.get(7));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void removeReturnsRemovedValue() {
+    final LongObjectMap<String> map = new LongObjectMap<>();
+    map.put(3, "three");
+
+    assertEquals("three", map.remove(3));
+    assertNull(map.remove(3));
+    assertNull(map.get(3));
+    assertEquals(0, map.size());
+  }
+
+  @Test
+  public void clearRemovesAllEntries() {
+    final LongObjectMap<Long> map = new LongObjectMap<>();
+    for (long i = 0; i < 100; i++) {
+      map.put(i, i);
+    }
+
+    map.clear();
+
+    assertEquals(0, map.size());
+    assertNull(map.get(50));
+  }
+
+  @Test
+  public void matchesHashMapUnderRandomOperations() {
+    final LongObjectMap<Long> map = new LongObjectMap<>();
+    final Map<Long, Long> expected = new HashMap<>();
+    final Random random = new Random(0);
+
+    for (int i = 0; i < 20000; i++) {
+      // A small key range forces collisions, growth and removals from the middle of probe chains.
+      final long key = 65536 + random.nextInt(512);
+      if (random.nextBoolean()) {
+        assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+      } else {
+        assertEquals(expected.remove(key), map.remove(key));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    for (long key = 65536; key < 65536 + 512; key++) {
+      assertEquals(expected.get(key), map.get(key));
+    }
+  }
+}
@@ -0,0 +1,147 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import androidx.camera.core.ImageInfo;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BasicMessageChannel;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class PackedFrameAnalyzerTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+  @Mock public BasicMessageChannel<ByteBuffer> mockChannel;
+  @Mock public ImageProxy mockImageProxy;
+  @Mock public ImageInfo mockImageInfo;
+  @Mock public ImageProxy.PlaneProxy mockYPlane;
+  @Mock public ImageProxy.PlaneProxy mockUvPlane;
+
+  private PackedFrameAnalyzer analyzer;
+
+  @Before
+  public void setUp() {
+    analyzer = new PackedFrameAnalyzer(mockChannel);
+    analyzer.mainThreadExecutor = Runnable::run;
+
+    when(mockImageProxy.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+    when(mockImageProxy.getWidth()).thenReturn(4);
+    when(mockImageProxy.getHeight()).thenReturn(2);
+    when(mockImageProxy.getImageInfo()).thenReturn(mockImageInfo);
+    when(mockImageInfo.getTimestamp()).thenReturn(123456789L);
+    when(mockImageInfo.getRotationDegrees()).thenReturn(90);
+    when(mockImageProxy.getPlanes())
+        .thenReturn(new ImageProxy.PlaneProxy[] {mockYPlane, mockUvPlane});
+    when(mockYPlane.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+    when(mockYPlane.getRowStride()).thenReturn(4);
+    when(mockYPlane.getPixelStride()).thenReturn(1);
+    when(mockUvPlane.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {9, 10, 11, 12}));
+    when(mockUvPlane.getRowStride()).thenReturn(4);
+    when(mockUvPlane.getPixelStride()).thenReturn(2);
+  }
+
+  @Test
+  public void analyze_sendsImageAndPlanesInSinglePackedMessage() {
+    analyzer.analyze(mockImageProxy);
+
+    final ArgumentCaptor<ByteBuffer> messageCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(mockChannel).send(messageCaptor.capture(), any());
+    verify(mockImageProxy).close();
+
+    final ByteBuffer message = messageCaptor.getValue();
+    assertEquals(
+        PackedFrameAnalyzer.PACKED_FRAME_HEADER_SIZE
+            + 2 * PackedFrameAnalyzer.PACKED_PLANE_HEADER_SIZE
+            + 12,
+        message.position());
+
+    final ByteBuffer packed = message.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    packed.flip();
+    assertEquals(PackedFrameAnalyzer.PACKED_FRAME_VERSION, packed.getInt());
+    assertEquals(ImageFormat.YUV_420_888, packed.getInt());
+    assertEquals(4, packed.getInt());
+    assertEquals(2, packed.getInt());
+    assertEquals(123456789L, packed.getLong());
+    assertEquals(90, packed.getInt());
+    assertEquals(2, packed.getInt());
+
+    assertEquals(4, packed.getInt());
+    assertEquals(1, packed.getInt());
+    final byte[] yBytes = new byte[packed.getInt()];
+    packed.get(yBytes);
+    assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, yBytes);
+
+    assertEquals(4, packed.getInt());
+    assertEquals(2, packed.getInt());
+    final byte[] uvBytes = new byte[packed.getInt()];
+    packed.get(uvBytes);
+    assertArrayEquals(new byte[] {9, 10, 11, 12}, uvBytes);
+  }
+
+  @Test
+  public void analyze_dropsImagesWhileTooManyAreWaitingForReply() {
+    for (int i = 0; i < PackedFrameAnalyzer.MAX_FRAMES_IN_FLIGHT + 1; i++) {
+      analyzer.analyze(mockImageProxy);
+    }
+
+    verify(mockChannel, times(PackedFrameAnalyzer.MAX_FRAMES_IN_FLIGHT)).send(any(), any());
+    verify(mockImageProxy, times(PackedFrameAnalyzer.MAX_FRAMES_IN_FLIGHT + 1)).close();
+    assertEquals(1, analyzer.getDroppedFrameCount());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void analyze_reusesBufferOnceDartReplies() {
+    final ArgumentCaptor<ByteBuffer> messageCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    final ArgumentCaptor<BasicMessageChannel.Reply<ByteBuffer>> replyCaptor =
+        ArgumentCaptor.forClass(BasicMessageChannel.Reply.class);
+
+    analyzer.analyze(mockImageProxy);
+    verify(mockChannel).send(messageCaptor.capture(), replyCaptor.capture());
+    replyCaptor.getValue().reply(null);
+
+    analyzer.analyze(mockImageProxy);
+    verify(mockChannel, times(2)).send(messageCaptor.capture(), any());
+
+    final List<ByteBuffer> messages = messageCaptor.getAllValues();
+    assertSame(messages.get(0), messages.get(messages.size() - 1));
+    assertEquals(0, analyzer.getDroppedFrameCount());
+  }
+
+  @Test
+  public void analyze_freesSlotOfImageThatFailsToBePacked() {
+    final IllegalStateException closedException = new IllegalStateException("Image is closed");
+    when(mockUvPlane.getRowStride())
+        .thenThrow(closedException)
+        .thenThrow(closedException)
+        .thenReturn(4);
+
+    for (int i = 0; i < PackedFrameAnalyzer.MAX_FRAMES_IN_FLIGHT; i++) {
+      assertThrows(IllegalStateException.class, () -> analyzer.analyze(mockImageProxy));
+    }
+    analyzer.analyze(mockImageProxy);
+
+    verify(mockChannel).send(any(), any());
+    verify(mockImageProxy, times(PackedFrameAnalyzer.MAX_FRAMES_IN_FLIGHT + 1)).close();
+    assertEquals(0, analyzer.getDroppedFrameCount());
+  }
+}
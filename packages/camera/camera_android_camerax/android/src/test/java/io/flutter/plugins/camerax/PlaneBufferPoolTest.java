@@ -0,0 +1,89 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Map;
+import org.junit.Test;
+
+public class PlaneBufferPoolTest {
+  @Test
+  public void acquire_allocatesArrayOfRequestedSizeWhenPoolIsEmpty() {
+    final PlaneBufferPool pool = new PlaneBufferPool(2, 2);
+
+    final byte[] array = pool.acquire(10);
+
+    assertEquals(10, array.length);
+    assertStatistics(pool, 0, 1, 0);
+  }
+
+  @Test
+  public void acquire_reusesReleasedArrayOfSameSize() {
+    final PlaneBufferPool pool = new PlaneBufferPool(2, 2);
+    final byte[] array = pool.acquire(10);
+
+    pool.release(array);
+
+    assertSame(array, pool.acquire(10));
+    assertNotSame(array, pool.acquire(10));
+    assertStatistics(pool, 1, 2, 0);
+  }
+
+  @Test
+  public void acquire_doesNotReuseArrayOfDifferentSize() {
+    final PlaneBufferPool pool = new PlaneBufferPool(2, 2);
+
+    pool.release(pool.acquire(10));
+
+    assertEquals(12, pool.acquire(12).length);
+    assertStatistics(pool, 0, 2, 0);
+  }
+
+  @Test
+  public void release_evictsArraysBeyondMaxArraysPerSize() {
+    final PlaneBufferPool pool = new PlaneBufferPool(1, 2);
+    final byte[] first = pool.acquire(10);
+    final byte[] second = pool.acquire(10);
+
+    pool.release(first);
+    pool.release(second);
+
+    assertSame(first, pool.acquire(10));
+    assertStatistics(pool, 1, 2, 1);
+  }
+
+  @Test
+  public void release_evictsLeastRecentlyUsedSizeBeyondMaxSizes() {
+    final PlaneBufferPool pool = new PlaneBufferPool(2, 2);
+    final byte[] small = pool.acquire(10);
+    final byte[] medium = pool.acquire(20);
+    final byte[] large = pool.acquire(30);
+
+    pool.release(small);
+    pool.release(medium);
+    pool.release(large);
+
+    assertSame(medium, pool.acquire(20));
+    assertSame(large, pool.acquire(30));
+    assertNotSame(small, pool.acquire(10));
+    assertStatistics(pool, 2, 4, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_throwsWhenMaxArraysPerSizeIsZero() {
+    new PlaneBufferPool(0, 2);
+  }
+
+  private static void assertStatistics(
+      PlaneBufferPool pool, long expectedHits, long expectedMisses, long expectedEvictions) {
+    final Map<String, Long> statistics = pool.getStatistics();
+    assertEquals(Long.valueOf(expectedHits), statistics.get("hits"));
+    assertEquals(Long.valueOf(expectedMisses), statistics.get("misses"));
+    assertEquals(Long.valueOf(expectedEvictions), statistics.get("evictions"));
+  }
+}
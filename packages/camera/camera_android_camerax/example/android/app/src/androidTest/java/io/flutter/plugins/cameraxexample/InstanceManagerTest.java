@@ -33,8 +33,7 @@ public class InstanceManagerTest {
 
     Runtime.getRuntime().gc();
 
-    // Wait for the interval after finalized callbacks are made for garbage collected objects.
-    // See InstanceManager.CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL.
+    // Wait for any finalized callbacks that would be made for garbage collected objects.
     Thread.sleep(30000);
 
     assertNull(instanceManager.getInstance(0));
@@ -33,12 +33,11 @@ import 'focus_metering_action.dart';
 import 'focus_metering_result.dart';
 import 'image_analysis.dart';
 import 'image_capture.dart';
-import 'image_proxy.dart';
 import 'live_data.dart';
 import 'metering_point.dart';
 import 'observer.dart';
+import 'packed_frame_analyzer.dart';
 import 'pending_recording.dart';
-import 'plane_proxy.dart';
 import 'preview.dart';
 import 'process_camera_provider.dart';
 import 'quality_selector.dart';
@@ -1208,35 +1207,33 @@ class AndroidCameraCameraX extends CameraPlatform {
           .setTargetRotation(await proxy.getDefaultDisplayRotation());
     }
 
-    // Create and set Analyzer that can read image data for image streaming.
+    // Create and set an Analyzer that sends the data of each image in a single
+    // message for image streaming.
     final WeakReference<AndroidCameraCameraX> weakThis =
         WeakReference<AndroidCameraCameraX>(this);
-    Future<void> analyze(ImageProxy imageProxy) async {
-      final List<PlaneProxy> planes = await imageProxy.getPlanes();
+    void onImage(PackedImage image) {
       final List<CameraImagePlane> cameraImagePlanes = <CameraImagePlane>[];
-      for (final PlaneProxy plane in planes) {
+      for (final PackedImagePlane plane in image.planes) {
         cameraImagePlanes.add(CameraImagePlane(
-            bytes: plane.buffer,
+            bytes: plane.bytes,
             bytesPerRow: plane.rowStride,
             bytesPerPixel: plane.pixelStride));
       }
 
-      final int format = imageProxy.format;
       final CameraImageFormat cameraImageFormat = CameraImageFormat(
-          _imageFormatGroupFromPlatformData(format),
-          raw: format);
+          _imageFormatGroupFromPlatformData(image.format),
+          raw: image.format);
 
       final CameraImageData cameraImageData = CameraImageData(
           format: cameraImageFormat,
           planes: cameraImagePlanes,
-          height: imageProxy.height,
-          width: imageProxy.width);
+          height: image.height,
+          width: image.width);
 
       weakThis.target!.cameraImageDataStreamController!.add(cameraImageData);
-      await imageProxy.close();
     }
 
-    final Analyzer analyzer = proxy.createAnalyzer(analyze);
+    final Analyzer analyzer = proxy.createPackedFrameAnalyzer(onImage);
     await imageAnalysis!.setAnalyzer(analyzer);
   }
 
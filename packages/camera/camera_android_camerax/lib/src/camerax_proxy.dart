@@ -24,6 +24,7 @@ import 'image_capture.dart';
 import 'image_proxy.dart';
 import 'metering_point.dart';
 import 'observer.dart';
+import 'packed_frame_analyzer.dart';
 import 'preview.dart';
 import 'process_camera_provider.dart';
 import 'quality_selector.dart';
@@ -50,6 +51,7 @@ class CameraXProxy {
     this.createVideoCapture = _createAttachedVideoCapture,
     this.createImageAnalysis = _createAttachedImageAnalysis,
     this.createAnalyzer = _createAttachedAnalyzer,
+    this.createPackedFrameAnalyzer = _createAttachedPackedFrameAnalyzer,
     this.createCameraStateObserver = _createAttachedCameraStateObserver,
     this.createResolutionStrategy = _createAttachedResolutionStrategy,
     this.createResolutionSelector = _createAttachedResolutionSelector,
@@ -109,6 +111,11 @@ class CameraXProxy {
   Analyzer Function(Future<void> Function(ImageProxy imageProxy) analyze)
       createAnalyzer;
 
+  /// Returns a [PackedFrameAnalyzer] configured with the specified callback
+  /// for handling [PackedImage]s.
+  PackedFrameAnalyzer Function(void Function(PackedImage image) onImage)
+      createPackedFrameAnalyzer;
+
   /// Returns an [Observer] of the [CameraState] with the specified callback
   /// for handling changes in that state.
   Observer<CameraState> Function(void Function(Object stateAsObject) onChanged)
@@ -251,6 +258,11 @@ class CameraXProxy {
     return Analyzer(analyze: analyze);
   }
 
+  static PackedFrameAnalyzer _createAttachedPackedFrameAnalyzer(
+      void Function(PackedImage image) onImage) {
+    return PackedFrameAnalyzer(onImage: onImage);
+  }
+
   static Observer<CameraState> _createAttachedCameraStateObserver(
       void Function(Object stateAsObject) onChanged) {
     return Observer<CameraState>(onChanged: onChanged);
@@ -25,13 +25,17 @@ class ImageAnalysis extends UseCase {
       {BinaryMessenger? binaryMessenger,
       InstanceManager? instanceManager,
       this.initialTargetRotation,
-      this.resolutionSelector})
-      : super.detached(
+      this.resolutionSelector,
+      this.backpressureStrategy,
+      this.imageQueueDepth})
+      : assert(imageQueueDepth == null || imageQueueDepth > 0),
+        super.detached(
             binaryMessenger: binaryMessenger,
             instanceManager: instanceManager) {
     _api = _ImageAnalysisHostApiImpl(
         binaryMessenger: binaryMessenger, instanceManager: instanceManager);
-    _api.createFromInstances(this, initialTargetRotation, resolutionSelector);
+    _api.createFromInstances(this, initialTargetRotation, resolutionSelector,
+        backpressureStrategy, imageQueueDepth);
     AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
   }
 
@@ -41,8 +45,11 @@ class ImageAnalysis extends UseCase {
       {BinaryMessenger? binaryMessenger,
       InstanceManager? instanceManager,
       this.initialTargetRotation,
-      this.resolutionSelector})
-      : super.detached(
+      this.resolutionSelector,
+      this.backpressureStrategy,
+      this.imageQueueDepth})
+      : assert(imageQueueDepth == null || imageQueueDepth > 0),
+        super.detached(
             binaryMessenger: binaryMessenger,
             instanceManager: instanceManager) {
     _api = _ImageAnalysisHostApiImpl(
@@ -66,6 +73,40 @@ class ImageAnalysis extends UseCase {
   /// https://developer.android.com/reference/androidx/camera/core/ImageAnalysis.Builder#setResolutionSelector(androidx.camera.core.resolutionselector.ResolutionSelector).
   final ResolutionSelector? resolutionSelector;
 
+  /// How images are handed to the [Analyzer] while it is still analyzing an
+  /// earlier image, either [strategyKeepOnlyLatest] or [strategyBlockProducer].
+  ///
+  /// If not set, [strategyKeepOnlyLatest] is used.
+  final int? backpressureStrategy;
+
+  /// The number of images that may wait to be analyzed with
+  /// [strategyBlockProducer] before the camera stalls.
+  ///
+  /// Ignored with [strategyKeepOnlyLatest]. If not set, the CameraX default of
+  /// 6 is used.
+  final int? imageQueueDepth;
+
+  /// Drops images that arrive while the [Analyzer] is analyzing an image, so
+  /// that it always receives the latest one.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST().
+  static const int strategyKeepOnlyLatest = 0;
+
+  /// Queues up to [imageQueueDepth] images while the [Analyzer] is analyzing
+  /// an image, and stalls the camera once the queue is full.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#STRATEGY_BLOCK_PRODUCER().
+  static const int strategyBlockProducer = 1;
+
+  /// Sets the priority of the thread that all [Analyzer]s run on.
+  ///
+  /// [priority] is an Android thread priority, such as
+  /// `Process.THREAD_PRIORITY_DISPLAY` (-4) or
+  /// `Process.THREAD_PRIORITY_BACKGROUND` (10), and applies to images analyzed
+  /// after this call.
+  Future<void> setAnalysisThreadPriority(int priority) =>
+      _api.setAnalysisThreadPriority(priority);
+
   /// Dynamically sets the target rotation of this instance.
   ///
   /// [rotation] should be specified in terms of one of the [Surface]
@@ -108,6 +149,8 @@ class _ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
     ImageAnalysis instance,
     int? targetRotation,
     ResolutionSelector? resolutionSelector,
+    int? backpressureStrategy,
+    int? imageQueueDepth,
   ) {
     return create(
       instanceManager.addDartCreatedInstance(
@@ -115,6 +158,8 @@ class _ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
         onCopy: (ImageAnalysis original) => ImageAnalysis.detached(
           initialTargetRotation: original.initialTargetRotation,
           resolutionSelector: original.resolutionSelector,
+          backpressureStrategy: original.backpressureStrategy,
+          imageQueueDepth: original.imageQueueDepth,
           binaryMessenger: binaryMessenger,
           instanceManager: instanceManager,
         ),
@@ -123,6 +168,8 @@ class _ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
       resolutionSelector == null
           ? null
           : instanceManager.getIdentifier(resolutionSelector),
+      backpressureStrategy,
+      imageQueueDepth,
     );
   }
 
@@ -2,6 +2,8 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:typed_data';
+
 import 'package:flutter/services.dart' show BinaryMessenger;
 import 'package:meta/meta.dart' show immutable;
 
@@ -117,6 +119,24 @@ class ImageCapture extends UseCase {
   Future<String> takePicture() async {
     return _api.takePictureFromInstances(this);
   }
+
+  /// Takes a picture and returns its JPEG encoded bytes without saving it to
+  /// a file.
+  ///
+  /// The bytes are returned as captured by the camera, so the rotation of the
+  /// image is not applied.
+  Future<Uint8List> takePictureToMemory() async {
+    return _api.takePictureToMemoryFromInstances(this);
+  }
+
+  /// Sets the maximum number of pictures that may be taken at the same time
+  /// by all [ImageCapture]s, or 0 for no limit.
+  ///
+  /// Requests to take a picture beyond the limit fail with a
+  /// [PlatformException].
+  Future<void> setMaxPicturesInFlight(int maxPicturesInFlight) {
+    return _api.setMaxPicturesInFlight(maxPicturesInFlight);
+  }
 }
 
 /// Host API implementation of [ImageCapture].
@@ -192,4 +212,15 @@ class ImageCaptureHostApiImpl extends ImageCaptureHostApi {
     final String picturePath = await takePicture(identifier!);
     return picturePath;
   }
+
+  /// Takes a picture with the specified [ImageCapture] instance and returns
+  /// its bytes.
+  Future<Uint8List> takePictureToMemoryFromInstances(
+      ImageCapture instance) async {
+    final int? identifier = instanceManager.getIdentifier(instance);
+    assert(identifier != null,
+        'No ImageCapture has the identifer of that requested to take a picture with.');
+
+    return takePictureToMemory(identifier!);
+  }
 }
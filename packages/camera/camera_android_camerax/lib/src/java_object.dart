@@ -45,6 +45,30 @@ class JavaObject {
     instance._api.instanceManager.removeWeakReference(instance);
   }
 
+  /// Returns the number of native objects that have not been garbage
+  /// collected, keyed by `live`, and how many of those are held by a strong
+  /// or only by a weak reference, keyed by `strong` and `weak`.
+  static Future<Map<String, int>> getInstanceManagerStatistics(
+      {BinaryMessenger? binaryMessenger}) async {
+    final Map<String?, int?> statistics =
+        await InstanceManagerHostApi(binaryMessenger: binaryMessenger)
+            .getStatistics();
+    return statistics.cast<String, int>();
+  }
+
+  /// Returns the number of times an array that the bytes of an image plane
+  /// are copied into was reused, had to be allocated, or was discarded, keyed
+  /// by `hits`, `misses` and `evictions`.
+  ///
+  /// Once images are streamed at a steady size, only `hits` should increase.
+  static Future<Map<String, int>> getPlaneBufferPoolStatistics(
+      {BinaryMessenger? binaryMessenger}) async {
+    final Map<String?, int?> statistics =
+        await InstanceManagerHostApi(binaryMessenger: binaryMessenger)
+            .getPlaneBufferPoolStatistics();
+    return statistics.cast<String, int>();
+  }
+
   // ignore: unused_field
   final JavaObjectHostApiImpl _api;
 }
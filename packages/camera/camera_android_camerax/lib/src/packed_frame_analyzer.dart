@@ -0,0 +1,202 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart'
+    show BasicMessageChannel, BinaryCodec, BinaryMessenger;
+import 'package:meta/meta.dart' show immutable;
+
+import 'analyzer.dart';
+import 'camerax_library.g.dart';
+import 'image_proxy.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+
+/// An [Analyzer] that receives each image as a single [PackedImage] message,
+/// instead of as an [ImageProxy] whose planes are requested separately.
+///
+/// The native analyzer copies the planes of each image on the image analysis
+/// thread and closes the image right away, so neither the image nor its
+/// planes are added to the [InstanceManager].
+@immutable
+class PackedFrameAnalyzer extends Analyzer {
+  /// Creates a [PackedFrameAnalyzer] that calls [onImage] with each image.
+  ///
+  /// Only the most recently created [PackedFrameAnalyzer] receives images.
+  PackedFrameAnalyzer(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      required this.onImage})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager,
+            analyze: _closeImageProxy) {
+    _packedApi = _PackedFrameAnalyzerHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    _packedApi.createFromInstances(this);
+    BasicMessageChannel<ByteData>(channelName, const BinaryCodec(),
+            binaryMessenger: binaryMessenger)
+        .setMessageHandler((ByteData? message) async {
+      onImage(PackedImage.fromMessage(message!));
+      // Replying lets the native analyzer reuse the buffer of the message.
+      return ByteData(0);
+    });
+  }
+
+  /// Constructs a [PackedFrameAnalyzer] that is not automatically attached to
+  /// a native object and does not receive images.
+  PackedFrameAnalyzer.detached(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      required this.onImage})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager,
+            analyze: _closeImageProxy) {
+    _packedApi = _PackedFrameAnalyzerHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+  }
+
+  /// The name of the channel packed images are sent on.
+  static const String channelName =
+      'plugins.flutter.io/camera_android_camerax/packedImageAnalysis';
+
+  late final _PackedFrameAnalyzerHostApiImpl _packedApi;
+
+  /// Handles an image received from the native analyzer.
+  final void Function(PackedImage image) onImage;
+
+  // The native analyzer never sends an ImageProxy, this only satisfies
+  // Analyzer.
+  static Future<void> _closeImageProxy(ImageProxy imageProxy) =>
+      imageProxy.close();
+}
+
+/// An image received by a [PackedFrameAnalyzer].
+///
+/// See https://developer.android.com/reference/androidx/camera/core/ImageProxy.
+@immutable
+class PackedImage {
+  /// Creates a [PackedImage].
+  const PackedImage({
+    required this.format,
+    required this.width,
+    required this.height,
+    required this.timestamp,
+    required this.rotationDegrees,
+    required this.planes,
+  });
+
+  /// Decodes a message sent by the native packed-frame analyzer.
+  ///
+  /// All values of a message are little-endian. The message starts with an
+  /// int32 version, int32 format, int32 width, int32 height, int64 timestamp,
+  /// int32 rotation in degrees and int32 plane count. Each plane follows as an
+  /// int32 row stride, int32 pixel stride and int32 length, and `length` bytes
+  /// of plane data.
+  ///
+  /// The plane bytes are views of [message], which is not copied again.
+  factory PackedImage.fromMessage(ByteData message) {
+    final int version = message.getInt32(0, Endian.little);
+    if (version != _packedFrameVersion) {
+      throw ArgumentError.value(
+          version, 'message', 'Unsupported packed frame version');
+    }
+
+    final int planeCount = message.getInt32(28, Endian.little);
+    final List<PackedImagePlane> planes = <PackedImagePlane>[];
+    int offset = _packedFrameHeaderSize;
+    for (int i = 0; i < planeCount; i++) {
+      final int rowStride = message.getInt32(offset, Endian.little);
+      final int pixelStride = message.getInt32(offset + 4, Endian.little);
+      final int length = message.getInt32(offset + 8, Endian.little);
+      offset += _packedPlaneHeaderSize;
+      planes.add(PackedImagePlane(
+          bytes: message.buffer
+              .asUint8List(message.offsetInBytes + offset, length),
+          rowStride: rowStride,
+          pixelStride: pixelStride));
+      offset += length;
+    }
+
+    return PackedImage(
+      format: message.getInt32(4, Endian.little),
+      width: message.getInt32(8, Endian.little),
+      height: message.getInt32(12, Endian.little),
+      timestamp: message.getInt64(16, Endian.little),
+      rotationDegrees: message.getInt32(24, Endian.little),
+      planes: List<PackedImagePlane>.unmodifiable(planes),
+    );
+  }
+
+  static const int _packedFrameVersion = 1;
+  static const int _packedFrameHeaderSize = 32;
+  static const int _packedPlaneHeaderSize = 12;
+
+  /// The image format.
+  final int format;
+
+  /// The image width.
+  final int width;
+
+  /// The image height.
+  final int height;
+
+  /// The timestamp of the image in nanoseconds.
+  final int timestamp;
+
+  /// The rotation in degrees needed to show the image upright.
+  final int rotationDegrees;
+
+  /// The planes of the image.
+  final List<PackedImagePlane> planes;
+}
+
+/// A plane of a [PackedImage].
+@immutable
+class PackedImagePlane {
+  /// Creates a [PackedImagePlane].
+  const PackedImagePlane({
+    required this.bytes,
+    required this.rowStride,
+    required this.pixelStride,
+  });
+
+  /// The bytes of the plane.
+  final Uint8List bytes;
+
+  /// The row stride of the plane.
+  final int rowStride;
+
+  /// The pixel stride of the plane.
+  final int pixelStride;
+}
+
+/// Host API implementation of [PackedFrameAnalyzer].
+class _PackedFrameAnalyzerHostApiImpl extends AnalyzerHostApi {
+  _PackedFrameAnalyzerHostApiImpl({
+    this.binaryMessenger,
+    InstanceManager? instanceManager,
+  })  : instanceManager = instanceManager ?? JavaObject.globalInstanceManager,
+        super(binaryMessenger: binaryMessenger);
+
+  final BinaryMessenger? binaryMessenger;
+
+  final InstanceManager instanceManager;
+
+  /// Creates a [PackedFrameAnalyzer] instance on the native side.
+  Future<void> createFromInstances(PackedFrameAnalyzer instance) {
+    return createPackedFrameAnalyzer(
+      instanceManager.addDartCreatedInstance(
+        instance,
+        onCopy: (PackedFrameAnalyzer original) => PackedFrameAnalyzer.detached(
+          onImage: original.onImage,
+          binaryMessenger: binaryMessenger,
+          instanceManager: instanceManager,
+        ),
+      ),
+    );
+  }
+}
@@ -180,6 +180,16 @@ abstract class InstanceManagerHostApi {
   ///
   /// This is typically only used after a hot restart.
   void clear();
+
+  /// Returns the number of native instances that have not been garbage
+  /// collected, keyed by `live`, and how many of those are held by a strong
+  /// or only by a weak reference, keyed by `strong` and `weak`.
+  Map<String, int> getStatistics();
+
+  /// Returns the number of times an array for image plane bytes was reused,
+  /// had to be allocated, or was discarded, keyed by `hits`, `misses` and
+  /// `evictions`.
+  Map<String, int> getPlaneBufferPoolStatistics();
 }
 
 @HostApi(dartHostTestHandler: 'TestJavaObjectHostApi')
@@ -368,6 +378,11 @@ abstract class ImageCaptureHostApi {
   @async
   String takePicture(int identifier);
 
+  @async
+  Uint8List takePictureToMemory(int identifier);
+
+  void setMaxPicturesInFlight(int maxPicturesInFlight);
+
   void setTargetRotation(int identifier, int rotation);
 }
 
@@ -411,7 +426,10 @@ abstract class ZoomStateFlutterApi {
 
 @HostApi(dartHostTestHandler: 'TestImageAnalysisHostApi')
 abstract class ImageAnalysisHostApi {
-  void create(int identifier, int? targetRotation, int? resolutionSelectorId);
+  void create(int identifier, int? targetRotation, int? resolutionSelectorId,
+      int? backpressureStrategy, int? imageQueueDepth);
+
+  void setAnalysisThreadPriority(int priority);
 
   void setAnalyzer(int identifier, int analyzerIdentifier);
 
@@ -423,6 +441,8 @@ abstract class ImageAnalysisHostApi {
 @HostApi(dartHostTestHandler: 'TestAnalyzerHostApi')
 abstract class AnalyzerHostApi {
   void create(int identifier);
+
+  void createPackedFrameAnalyzer(int identifier);
 }
 
 @HostApi(dartHostTestHandler: 'TestObserverHostApi')
@@ -2,9 +2,13 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:async';
+import 'dart:typed_data';
+
 import 'package:camera_android_camerax/src/analyzer.dart';
 import 'package:camera_android_camerax/src/image_proxy.dart';
 import 'package:camera_android_camerax/src/instance_manager.dart';
+import 'package:camera_android_camerax/src/packed_frame_analyzer.dart';
 import 'package:flutter_test/flutter_test.dart';
 import 'package:mockito/annotations.dart';
 import 'package:mockito/mockito.dart';
@@ -113,4 +117,93 @@ void main() {
       );
     });
   });
+
+  group('PackedFrameAnalyzer', () {
+    tearDown(() {
+      TestAnalyzerHostApi.setup(null);
+      TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .setMockMessageHandler(PackedFrameAnalyzer.channelName, null);
+    });
+
+    ByteData packedMessage() {
+      return ByteData(32 + 12 + 4 + 12 + 2)
+        ..setInt32(0, 1, Endian.little)
+        ..setInt32(4, 35, Endian.little)
+        ..setInt32(8, 4, Endian.little)
+        ..setInt32(12, 1, Endian.little)
+        ..setInt64(16, 123456789, Endian.little)
+        ..setInt32(24, 90, Endian.little)
+        ..setInt32(28, 2, Endian.little)
+        ..setInt32(32, 4, Endian.little)
+        ..setInt32(36, 1, Endian.little)
+        ..setInt32(40, 4, Endian.little)
+        ..setUint32(44, 0x04030201, Endian.little)
+        ..setInt32(48, 2, Endian.little)
+        ..setInt32(52, 2, Endian.little)
+        ..setInt32(56, 2, Endian.little)
+        ..setUint16(60, 0x0605, Endian.little);
+    }
+
+    test('HostApi createPackedFrameAnalyzer', () {
+      final MockTestAnalyzerHostApi mockApi = MockTestAnalyzerHostApi();
+      TestAnalyzerHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+
+      final PackedFrameAnalyzer instance = PackedFrameAnalyzer(
+        onImage: (PackedImage image) {},
+        instanceManager: instanceManager,
+      );
+
+      verify(mockApi.createPackedFrameAnalyzer(
+        instanceManager.getIdentifier(instance),
+      ));
+      verifyNever(mockApi.create(any));
+    });
+
+    test('receives packed images', () async {
+      TestAnalyzerHostApi.setup(MockTestAnalyzerHostApi());
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final List<PackedImage> images = <PackedImage>[];
+      PackedFrameAnalyzer(
+        onImage: images.add,
+        instanceManager: instanceManager,
+      );
+
+      final Completer<ByteData?> reply = Completer<ByteData?>();
+      await TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .handlePlatformMessage(
+              PackedFrameAnalyzer.channelName, packedMessage(), reply.complete);
+
+      expect(images, hasLength(1));
+      expect(await reply.future, isNotNull);
+    });
+
+    test('PackedImage.fromMessage decodes the header and planes', () {
+      final PackedImage image = PackedImage.fromMessage(packedMessage());
+
+      expect(image.format, 35);
+      expect(image.width, 4);
+      expect(image.height, 1);
+      expect(image.timestamp, 123456789);
+      expect(image.rotationDegrees, 90);
+      expect(image.planes, hasLength(2));
+      expect(image.planes[0].bytes, <int>[1, 2, 3, 4]);
+      expect(image.planes[0].rowStride, 4);
+      expect(image.planes[0].pixelStride, 1);
+      expect(image.planes[1].bytes, <int>[5, 6]);
+      expect(image.planes[1].rowStride, 2);
+      expect(image.planes[1].pixelStride, 2);
+    });
+
+    test('PackedImage.fromMessage rejects unknown versions', () {
+      final ByteData message = ByteData(32)..setInt32(0, 2, Endian.little);
+
+      expect(() => PackedImage.fromMessage(message), throwsArgumentError);
+    });
+  });
 }
@@ -37,6 +37,15 @@ class MockTestAnalyzerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+
+  @override
+  void createPackedFrameAnalyzer(int? identifier) => super.noSuchMethod(
+        Invocation.method(
+          #createPackedFrameAnalyzer,
+          [identifier],
+        ),
+        returnValueForMissingStub: null,
+      );
 }
 
 /// A class which mocks [TestInstanceManagerHostApi].
@@ -56,4 +65,22 @@ class MockTestInstanceManagerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+
+  @override
+  Map<String?, int?> getStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
+
+  @override
+  Map<String?, int?> getPlaneBufferPoolStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getPlaneBufferPoolStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
 }
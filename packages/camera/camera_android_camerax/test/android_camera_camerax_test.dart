@@ -32,6 +32,7 @@ import 'package:camera_android_camerax/src/image_proxy.dart';
 import 'package:camera_android_camerax/src/live_data.dart';
 import 'package:camera_android_camerax/src/metering_point.dart';
 import 'package:camera_android_camerax/src/observer.dart';
+import 'package:camera_android_camerax/src/packed_frame_analyzer.dart';
 import 'package:camera_android_camerax/src/pending_recording.dart';
 import 'package:camera_android_camerax/src/plane_proxy.dart';
 import 'package:camera_android_camerax/src/preview.dart';
@@ -1676,9 +1677,9 @@ void main() {
 
       // Tell plugin to create detached Analyzer for testing.
       camera.proxy = CameraXProxy(
-          createAnalyzer:
-              (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                  Analyzer.detached(analyze: analyze),
+          createPackedFrameAnalyzer:
+              (void Function(PackedImage image) onImage) =>
+                  PackedFrameAnalyzer.detached(onImage: onImage),
           getCamera2CameraInfo: (CameraInfo cameraInfo) async =>
               cameraInfo == initialCameraInfo
                   ? mockCamera2CameraInfo
@@ -2329,9 +2330,9 @@ void main() {
 
     // Tell plugin to create detached Analyzer for testing.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze));
+        createPackedFrameAnalyzer:
+            (void Function(PackedImage image) onImage) =>
+                PackedFrameAnalyzer.detached(onImage: onImage));
 
     // Set directly for test versus calling createCamera.
     camera.processCameraProvider = mockProcessCameraProvider;
@@ -2372,9 +2373,9 @@ void main() {
 
     // Tell plugin to create detached Analyzer for testing.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze));
+        createPackedFrameAnalyzer:
+            (void Function(PackedImage image) onImage) =>
+                PackedFrameAnalyzer.detached(onImage: onImage));
 
     // Set directly for test versus calling createCamera.
     camera.processCameraProvider = mockProcessCameraProvider;
@@ -2420,9 +2421,6 @@ void main() {
     final MockImageAnalysis mockImageAnalysis = MockImageAnalysis();
     final Camera mockCamera = MockCamera();
     final CameraInfo mockCameraInfo = MockCameraInfo();
-    final MockImageProxy mockImageProxy = MockImageProxy();
-    final MockPlaneProxy mockPlane = MockPlaneProxy();
-    final List<MockPlaneProxy> mockPlanes = <MockPlaneProxy>[mockPlane];
     final Uint8List buffer = Uint8List(0);
     const int pixelStride = 27;
     const int rowStride = 58;
@@ -2432,9 +2430,9 @@ void main() {
 
     // Tell plugin to create detached Analyzer for testing.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze),
+        createPackedFrameAnalyzer:
+            (void Function(PackedImage image) onImage) =>
+                PackedFrameAnalyzer.detached(onImage: onImage),
         createCameraStateObserver: (void Function(Object) onChanged) =>
             Observer<CameraState>.detached(onChanged: onChanged));
 
@@ -2454,14 +2452,6 @@ void main() {
     when(mockCamera.getCameraInfo()).thenAnswer((_) async => mockCameraInfo);
     when(mockCameraInfo.getCameraState())
         .thenAnswer((_) async => MockLiveCameraState());
-    when(mockImageProxy.getPlanes())
-        .thenAnswer((_) async => Future<List<PlaneProxy>>.value(mockPlanes));
-    when(mockPlane.buffer).thenReturn(buffer);
-    when(mockPlane.rowStride).thenReturn(rowStride);
-    when(mockPlane.pixelStride).thenReturn(pixelStride);
-    when(mockImageProxy.format).thenReturn(imageFormat);
-    when(mockImageProxy.height).thenReturn(imageHeight);
-    when(mockImageProxy.width).thenReturn(imageWidth);
 
     final Completer<CameraImageData> imageDataCompleter =
         Completer<CameraImageData>();
@@ -2474,15 +2464,24 @@ void main() {
 
     // Test ImageAnalysis use case is bound to ProcessCameraProvider.
     await untilCalled(mockImageAnalysis.setAnalyzer(any));
-    final Analyzer capturedAnalyzer =
+    final PackedFrameAnalyzer capturedAnalyzer =
         verify(mockImageAnalysis.setAnalyzer(captureAny)).captured.single
-            as Analyzer;
-
-    await capturedAnalyzer.analyze(mockImageProxy);
+            as PackedFrameAnalyzer;
+
+    capturedAnalyzer.onImage(PackedImage(
+        format: imageFormat,
+        width: imageWidth,
+        height: imageHeight,
+        timestamp: 0,
+        rotationDegrees: 0,
+        planes: <PackedImagePlane>[
+          PackedImagePlane(
+              bytes: buffer, rowStride: rowStride, pixelStride: pixelStride),
+        ]));
 
     final CameraImageData imageData = await imageDataCompleter.future;
 
-    // Test Analyzer correctly process ImageProxy instances.
+    // Test Analyzer correctly process PackedImage instances.
     expect(imageData.planes.length, equals(1));
     expect(imageData.planes[0].bytes, equals(buffer));
     expect(imageData.planes[0].bytesPerRow, equals(rowStride));
@@ -2511,7 +2510,9 @@ void main() {
     camera.captureOrientationLocked = true;
 
     // Tell plugin to create a detached analyzer for testing purposes.
-    camera.proxy = CameraXProxy(createAnalyzer: (_) => MockAnalyzer());
+    camera.proxy = CameraXProxy(
+        createPackedFrameAnalyzer: (void Function(PackedImage image) onImage) =>
+            PackedFrameAnalyzer.detached(onImage: onImage));
 
     when(mockProcessCameraProvider.isBound(mockImageAnalysis))
         .thenAnswer((_) async => true);
@@ -2542,7 +2543,8 @@ void main() {
     // Tell plugin to create a detached analyzer for testing purposes and mock
     // call to get current photo orientation.
     camera.proxy = CameraXProxy(
-        createAnalyzer: (_) => MockAnalyzer(),
+        createPackedFrameAnalyzer: (void Function(PackedImage image) onImage) =>
+            PackedFrameAnalyzer.detached(onImage: onImage),
         getDefaultDisplayRotation: () =>
             Future<int>.value(defaultTargetRotation));
 
@@ -3933,7 +3935,8 @@ void main() {
 
     // Tell plugin to create a detached analyzer for testing purposes.
     camera.proxy = CameraXProxy(
-      createAnalyzer: (_) => MockAnalyzer(),
+      createPackedFrameAnalyzer: (void Function(PackedImage image) onImage) =>
+          PackedFrameAnalyzer.detached(onImage: onImage),
       createCameraStateObserver: (_) => MockObserver(),
     );
 
@@ -4179,9 +4182,9 @@ void main() {
 
     // Tell plugin to create detached Observer when camera info updated.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze),
+        createPackedFrameAnalyzer:
+            (void Function(PackedImage image) onImage) =>
+                PackedFrameAnalyzer.detached(onImage: onImage),
         createCameraStateObserver: (void Function(Object) onChanged) =>
             Observer<CameraState>.detached(onChanged: onChanged),
         getCamera2CameraInfo: (CameraInfo cameraInfo) =>
@@ -948,6 +948,28 @@ class MockImageCapture extends _i1.Mock implements _i31.ImageCapture {
           ),
         )),
       ) as _i17.Future<String>);
+
+  @override
+  _i17.Future<_i34.Uint8List> takePictureToMemory() => (super.noSuchMethod(
+        Invocation.method(
+          #takePictureToMemory,
+          [],
+        ),
+        returnValue: _i17.Future<_i34.Uint8List>.value(_i34.Uint8List(0)),
+        returnValueForMissingStub:
+            _i17.Future<_i34.Uint8List>.value(_i34.Uint8List(0)),
+      ) as _i17.Future<_i34.Uint8List>);
+
+  @override
+  _i17.Future<void> setMaxPicturesInFlight(int? maxPicturesInFlight) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setMaxPicturesInFlight,
+          [maxPicturesInFlight],
+        ),
+        returnValue: _i17.Future<void>.value(),
+        returnValueForMissingStub: _i17.Future<void>.value(),
+      ) as _i17.Future<void>);
 }
 
 /// A class which mocks [ImageProxy].
@@ -1356,6 +1378,24 @@ class MockTestInstanceManagerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+
+  @override
+  Map<String?, int?> getStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
+
+  @override
+  Map<String?, int?> getPlaneBufferPoolStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getPlaneBufferPoolStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
 }
 
 /// A class which mocks [TestSystemServicesHostApi].
@@ -128,6 +128,24 @@ class MockTestInstanceManagerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+
+  @override
+  Map<String?, int?> getStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
+
+  @override
+  Map<String?, int?> getPlaneBufferPoolStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getPlaneBufferPoolStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
 }
 
 /// A class which mocks [FocusMeteringAction].
@@ -47,7 +47,7 @@ void main() {
       );
 
       verifyNever(mockApi.create(argThat(isA<int>()), argThat(isA<int>()),
-          argThat(isA<ResolutionSelector>())));
+          argThat(isA<ResolutionSelector>()), any, any));
     });
     test('create calls create on the Java side', () {
       final MockTestImageAnalysisHostApi mockApi =
@@ -72,13 +72,34 @@ void main() {
       final ImageAnalysis instance = ImageAnalysis(
         initialTargetRotation: targetRotation,
         resolutionSelector: mockResolutionSelector,
+        backpressureStrategy: ImageAnalysis.strategyBlockProducer,
+        imageQueueDepth: 4,
         instanceManager: instanceManager,
       );
 
       verify(mockApi.create(
           argThat(equals(instanceManager.getIdentifier(instance))),
           argThat(equals(targetRotation)),
-          argThat(equals(mockResolutionSelectorId))));
+          argThat(equals(mockResolutionSelectorId)),
+          ImageAnalysis.strategyBlockProducer,
+          4));
+    });
+
+    test(
+        'setAnalysisThreadPriority makes call to set the analysis thread priority',
+        () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final ImageAnalysis imageAnalysis = ImageAnalysis.detached(
+        instanceManager: InstanceManager(onWeakReferenceRemoved: (_) {}),
+      );
+      const int priority = -4;
+
+      await imageAnalysis.setAnalysisThreadPriority(priority);
+
+      verify(mockApi.setAnalysisThreadPriority(priority));
     });
 
     test(
@@ -35,6 +35,8 @@ class MockTestImageAnalysisHostApi extends _i1.Mock
     int? identifier,
     int? targetRotation,
     int? resolutionSelectorId,
+    int? backpressureStrategy,
+    int? imageQueueDepth,
   ) =>
       super.noSuchMethod(
         Invocation.method(
@@ -43,11 +45,22 @@ class MockTestImageAnalysisHostApi extends _i1.Mock
             identifier,
             targetRotation,
             resolutionSelectorId,
+            backpressureStrategy,
+            imageQueueDepth,
           ],
         ),
         returnValueForMissingStub: null,
       );
 
+  @override
+  void setAnalysisThreadPriority(int? priority) => super.noSuchMethod(
+        Invocation.method(
+          #setAnalysisThreadPriority,
+          [priority],
+        ),
+        returnValueForMissingStub: null,
+      );
+
   @override
   void setAnalyzer(
     int? identifier,
@@ -107,6 +120,24 @@ class MockTestInstanceManagerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+
+  @override
+  Map<String?, int?> getStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
+
+  @override
+  Map<String?, int?> getPlaneBufferPoolStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getPlaneBufferPoolStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
 }
 
 /// A class which mocks [ResolutionSelector].
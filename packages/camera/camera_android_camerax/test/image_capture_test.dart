@@ -2,6 +2,8 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:typed_data';
+
 import 'package:camera_android_camerax/src/image_capture.dart';
 import 'package:camera_android_camerax/src/instance_manager.dart';
 import 'package:camera_android_camerax/src/resolution_selector.dart';
@@ -150,5 +152,43 @@ void main() {
       expect(await imageCapture.takePicture(), equals(expectedPicturePath));
       verify(mockApi.takePicture(instanceManager.getIdentifier(imageCapture)));
     });
+
+    test('takePictureToMemory makes call to capture still image to memory',
+        () async {
+      final MockTestImageCaptureHostApi mockApi = MockTestImageCaptureHostApi();
+      TestImageCaptureHostApi.setup(mockApi);
+
+      final Uint8List expectedBytes = Uint8List.fromList(<int>[0xFF, 0xD8]);
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageCapture imageCapture = ImageCapture.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        imageCapture,
+        0,
+        onCopy: (_) => ImageCapture.detached(),
+      );
+
+      when(mockApi.takePictureToMemory(0))
+          .thenAnswer((_) async => expectedBytes);
+      expect(await imageCapture.takePictureToMemory(), equals(expectedBytes));
+      verify(mockApi.takePictureToMemory(0));
+    });
+
+    test('setMaxPicturesInFlight makes call to limit pictures in flight',
+        () async {
+      final MockTestImageCaptureHostApi mockApi = MockTestImageCaptureHostApi();
+      TestImageCaptureHostApi.setup(mockApi);
+
+      final ImageCapture imageCapture = ImageCapture.detached(
+        instanceManager: InstanceManager(onWeakReferenceRemoved: (_) {}),
+      );
+
+      await imageCapture.setMaxPicturesInFlight(3);
+
+      verify(mockApi.setMaxPicturesInFlight(3));
+    });
   });
 }
@@ -4,6 +4,7 @@
 
 // ignore_for_file: no_leading_underscores_for_library_prefixes
 import 'dart:async' as _i3;
+import 'dart:typed_data' as _i6;
 
 import 'package:camera_android_camerax/src/resolution_selector.dart' as _i5;
 import 'package:mockito/mockito.dart' as _i1;
@@ -84,6 +85,25 @@ class MockTestImageCaptureHostApi extends _i1.Mock
         )),
       ) as _i3.Future<String>);
 
+  @override
+  _i3.Future<_i6.Uint8List> takePictureToMemory(int? identifier) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #takePictureToMemory,
+          [identifier],
+        ),
+        returnValue: _i3.Future<_i6.Uint8List>.value(_i6.Uint8List(0)),
+      ) as _i3.Future<_i6.Uint8List>);
+
+  @override
+  void setMaxPicturesInFlight(int? maxPicturesInFlight) => super.noSuchMethod(
+        Invocation.method(
+          #setMaxPicturesInFlight,
+          [maxPicturesInFlight],
+        ),
+        returnValueForMissingStub: null,
+      );
+
   @override
   void setTargetRotation(
     int? identifier,
@@ -118,6 +138,24 @@ class MockTestInstanceManagerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+
+  @override
+  Map<String?, int?> getStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
+
+  @override
+  Map<String?, int?> getPlaneBufferPoolStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getPlaneBufferPoolStatistics,
+          [],
+        ),
+        returnValue: <String?, int?>{},
+      ) as Map<String?, int?>);
 }
 
 /// A class which mocks [ResolutionSelector].
@@ -0,0 +1,46 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_android_camerax/src/java_object.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:mockito/annotations.dart';
+import 'package:mockito/mockito.dart';
+
+import 'java_object_test.mocks.dart';
+import 'test_camerax_library.g.dart';
+
+@GenerateMocks(<Type>[TestInstanceManagerHostApi])
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('JavaObject', () {
+    tearDown(() {
+      TestInstanceManagerHostApi.setup(null);
+    });
+
+    test('getInstanceManagerStatistics returns native statistics', () async {
+      final MockTestInstanceManagerHostApi mockApi =
+          MockTestInstanceManagerHostApi();
+      TestInstanceManagerHostApi.setup(mockApi);
+
+      when(mockApi.getStatistics()).thenReturn(
+          <String?, int?>{'live': 3, 'strong': 2, 'weak': 1});
+
+      expect(await JavaObject.getInstanceManagerStatistics(),
+          <String, int>{'live': 3, 'strong': 2, 'weak': 1});
+    });
+
+    test('getPlaneBufferPoolStatistics returns native statistics', () async {
+      final MockTestInstanceManagerHostApi mockApi =
+          MockTestInstanceManagerHostApi();
+      TestInstanceManagerHostApi.setup(mockApi);
+
+      when(mockApi.getPlaneBufferPoolStatistics()).thenReturn(
+          <String?, int?>{'hits': 30, 'misses': 3, 'evictions': 0});
+
+      expect(await JavaObject.getPlaneBufferPoolStatistics(),
+          <String, int>{'hits': 30, 'misses': 3, 'evictions': 0});
+    });
+  });
+}
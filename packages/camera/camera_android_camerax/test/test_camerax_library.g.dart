@@ -23,6 +23,16 @@ abstract class TestInstanceManagerHostApi {
   /// This is typically only used after a hot restart.
   void clear();
 
+  /// Returns the number of native instances that have not been garbage
+  /// collected, keyed by `live`, and how many of those are held by a strong
+  /// or only by a weak reference, keyed by `strong` and `weak`.
+  Map<String?, int?> getStatistics();
+
+  /// Returns the number of times an array for image plane bytes was reused,
+  /// had to be allocated, or was discarded, keyed by `hits`, `misses` and
+  /// `evictions`.
+  Map<String?, int?> getPlaneBufferPoolStatistics();
+
   static void setup(TestInstanceManagerHostApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -42,6 +52,41 @@ abstract class TestInstanceManagerHostApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.InstanceManagerHostApi.getStatistics', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          // ignore message
+          final Map<String?, int?> output = api.getStatistics();
+          return <Object?>[output];
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.InstanceManagerHostApi.getPlaneBufferPoolStatistics',
+          codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          // ignore message
+          final Map<String?, int?> output = api.getPlaneBufferPoolStatistics();
+          return <Object?>[output];
+        });
+      }
+    }
   }
 }
 
@@ -1190,6 +1235,10 @@ abstract class TestImageCaptureHostApi {
 
   Future<String> takePicture(int identifier);
 
+  Future<Uint8List> takePictureToMemory(int identifier);
+
+  void setMaxPicturesInFlight(int maxPicturesInFlight);
+
   void setTargetRotation(int identifier, int rotation);
 
   static void setup(TestImageCaptureHostApi? api,
@@ -1267,6 +1316,52 @@ abstract class TestImageCaptureHostApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory was null, expected non-null int.');
+          final Uint8List output =
+              await api.takePictureToMemory(arg_identifier!);
+          return <Object?>[output];
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageCaptureHostApi.setMaxPicturesInFlight',
+          codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageCaptureHostApi.setMaxPicturesInFlight was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_maxPicturesInFlight = (args[0] as int?);
+          assert(arg_maxPicturesInFlight != null,
+              'Argument for dev.flutter.pigeon.ImageCaptureHostApi.setMaxPicturesInFlight was null, expected non-null int.');
+          api.setMaxPicturesInFlight(arg_maxPicturesInFlight!);
+          return <Object?>[];
+        });
+      }
+    }
     {
       final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
           'dev.flutter.pigeon.ImageCaptureHostApi.setTargetRotation', codec,
@@ -1443,7 +1538,10 @@ abstract class TestImageAnalysisHostApi {
       TestDefaultBinaryMessengerBinding.instance;
   static const MessageCodec<Object?> codec = StandardMessageCodec();
 
-  void create(int identifier, int? targetRotation, int? resolutionSelectorId);
+  void create(int identifier, int? targetRotation, int? resolutionSelectorId,
+      int? backpressureStrategy, int? imageQueueDepth);
+
+  void setAnalysisThreadPriority(int priority);
 
   void setAnalyzer(int identifier, int analyzerIdentifier);
 
@@ -1472,8 +1570,34 @@ abstract class TestImageAnalysisHostApi {
               'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.create was null, expected non-null int.');
           final int? arg_targetRotation = (args[1] as int?);
           final int? arg_resolutionSelectorId = (args[2] as int?);
-          api.create(
-              arg_identifier!, arg_targetRotation, arg_resolutionSelectorId);
+          final int? arg_backpressureStrategy = (args[3] as int?);
+          final int? arg_imageQueueDepth = (args[4] as int?);
+          api.create(arg_identifier!, arg_targetRotation,
+              arg_resolutionSelectorId, arg_backpressureStrategy,
+              arg_imageQueueDepth);
+          return <Object?>[];
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageAnalysisHostApi.setAnalysisThreadPriority',
+          codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setAnalysisThreadPriority was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_priority = (args[0] as int?);
+          assert(arg_priority != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setAnalysisThreadPriority was null, expected non-null int.');
+          api.setAnalysisThreadPriority(arg_priority!);
           return <Object?>[];
         });
       }
@@ -1560,6 +1684,8 @@ abstract class TestAnalyzerHostApi {
 
   void create(int identifier);
 
+  void createPackedFrameAnalyzer(int identifier);
+
   static void setup(TestAnalyzerHostApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -1584,6 +1710,29 @@ abstract class TestAnalyzerHostApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AnalyzerHostApi.createPackedFrameAnalyzer',
+          codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.AnalyzerHostApi.createPackedFrameAnalyzer was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.AnalyzerHostApi.createPackedFrameAnalyzer was null, expected non-null int.');
+          api.createPackedFrameAnalyzer(arg_identifier!);
+          return <Object?>[];
+        });
+      }
+    }
   }
 }
 
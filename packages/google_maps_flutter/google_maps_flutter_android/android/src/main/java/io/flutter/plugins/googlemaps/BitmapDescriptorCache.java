@@ -0,0 +1,237 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A bounded least recently used cache of the {@link BitmapDescriptor}s created for marker icons.
+ *
+ * <p>Icons are keyed by their image, i.e. the bytes of a {@link Messages.PlatformBitmapBytesMap} or
+ * the asset name of a {@link Messages.PlatformBitmapAssetMap}, together with the parameters the
+ * image is scaled with. Many markers sharing a few icons then decode and scale each icon once, and
+ * share a single bitmap.
+ *
+ * <p>The size of the cache is the byte count of the cached bitmaps and of the image bytes held by
+ * the keys. The cache is safe to use from any thread.
+ */
+class BitmapDescriptorCache {
+  /** The default maximum size of the cache in bytes. */
+  static final int DEFAULT_MAX_SIZE_BYTES = 16 * 1024 * 1024;
+
+  @Nullable private static BitmapDescriptorCache sharedInstance;
+
+  private final LruCache<Key, Entry> cache;
+
+  BitmapDescriptorCache(int maxSizeBytes) {
+    cache =
+        new LruCache<Key, Entry>(maxSizeBytes) {
+          @Override
+          protected int sizeOf(@NonNull Key key, @NonNull Entry entry) {
+            return entry.sizeBytes;
+          }
+        };
+  }
+
+  /** Returns the cache shared by the markers of all maps. */
+  @NonNull
+  static synchronized BitmapDescriptorCache getSharedInstance() {
+    if (sharedInstance == null) {
+      sharedInstance = new BitmapDescriptorCache(DEFAULT_MAX_SIZE_BYTES);
+    }
+    return sharedInstance;
+  }
+
+  /** Creates the {@link BitmapDescriptor} of an icon that is not cached. */
+  interface Loader {
+    @NonNull
+    BitmapDescriptor load(@NonNull Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactory);
+  }
+
+  /**
+   * Returns the cached descriptor for {@code key}, or creates and caches it with {@code loader}.
+   *
+   * <p>Concurrent misses for the same key may both create a descriptor, in which case the last one
+   * created is cached.
+   *
+   * @param key the key of the icon.
+   * @param bitmapDescriptorFactory the factory the loader creates the descriptor with.
+   * @param loader creates the descriptor if it is not cached.
+   * @return the descriptor of the icon.
+   */
+  @NonNull
+  BitmapDescriptor get(
+      @NonNull Key key,
+      @NonNull Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactory,
+      @NonNull Loader loader) {
+    Entry entry = cache.get(key);
+    if (entry != null) {
+      return entry.descriptor;
+    }
+    SizingBitmapDescriptorFactoryWrapper sizingFactory =
+        new SizingBitmapDescriptorFactoryWrapper(bitmapDescriptorFactory);
+    BitmapDescriptor descriptor = loader.load(sizingFactory);
+    int sizeBytes = (int) Math.min(Integer.MAX_VALUE, key.sizeBytes() + sizingFactory.byteCount);
+    cache.put(key, new Entry(descriptor, Math.max(1, sizeBytes)));
+    return descriptor;
+  }
+
+  /** Removes all cached descriptors. The statistics are kept. */
+  void clear() {
+    cache.evictAll();
+  }
+
+  /** Returns the number of descriptors returned from the cache. */
+  int hitCount() {
+    return cache.hitCount();
+  }
+
+  /** Returns the number of descriptors that were created because they were not cached. */
+  int missCount() {
+    return cache.missCount();
+  }
+
+  /** Returns a snapshot of the cache statistics, with a {@code hitRate} between 0 and 1. */
+  @NonNull
+  Messages.PlatformMarkerIconCacheStats getStats() {
+    // Reads the counters at once, as they may change concurrently.
+    synchronized (cache) {
+      long hitCount = cache.hitCount();
+      long missCount = cache.missCount();
+      long requestCount = hitCount + missCount;
+      return new Messages.PlatformMarkerIconCacheStats.Builder()
+          .setHitCount(hitCount)
+          .setMissCount(missCount)
+          .setHitRate(requestCount == 0 ? 0.0 : (double) hitCount / requestCount)
+          .setEvictionCount((long) cache.evictionCount())
+          .setSizeBytes((long) cache.size())
+          .setMaxSizeBytes((long) cache.maxSize())
+          .build();
+    }
+  }
+
+  /** The image of an icon together with the parameters it is scaled with. */
+  static final class Key {
+    @Nullable private final byte[] bytes;
+    @Nullable private final String assetName;
+    @NonNull private final Messages.PlatformMapBitmapScaling bitmapScaling;
+    @Nullable private final Double width;
+    @Nullable private final Double height;
+    @NonNull private final Double imagePixelRatio;
+    private final float density;
+    private final int hashCode;
+
+    private Key(
+        @Nullable byte[] bytes,
+        @Nullable String assetName,
+        @NonNull Messages.PlatformMapBitmapScaling bitmapScaling,
+        @Nullable Double width,
+        @Nullable Double height,
+        @NonNull Double imagePixelRatio,
+        float density) {
+      this.bytes = bytes;
+      this.assetName = assetName;
+      this.bitmapScaling = bitmapScaling;
+      this.width = width;
+      this.height = height;
+      this.imagePixelRatio = imagePixelRatio;
+      this.density = density;
+      // Hashes the bytes once, instead of on every lookup.
+      this.hashCode =
+          31 * Arrays.hashCode(bytes)
+              + Objects.hash(assetName, bitmapScaling, width, height, imagePixelRatio, density);
+    }
+
+    @NonNull
+    static Key forBytes(@NonNull Messages.PlatformBitmapBytesMap bytesMap, float density) {
+      return new Key(
+          bytesMap.getByteData(),
+          null,
+          bytesMap.getBitmapScaling(),
+          bytesMap.getWidth(),
+          bytesMap.getHeight(),
+          bytesMap.getImagePixelRatio(),
+          density);
+    }
+
+    @NonNull
+    static Key forAsset(@NonNull Messages.PlatformBitmapAssetMap assetMap, float density) {
+      return new Key(
+          null,
+          assetMap.getAssetName(),
+          assetMap.getBitmapScaling(),
+          assetMap.getWidth(),
+          assetMap.getHeight(),
+          assetMap.getImagePixelRatio(),
+          density);
+    }
+
+    private long sizeBytes() {
+      return bytes == null ? 0 : bytes.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return hashCode == that.hashCode
+          && Float.compare(density, that.density) == 0
+          && bitmapScaling == that.bitmapScaling
+          && Objects.equals(assetName, that.assetName)
+          && Objects.equals(width, that.width)
+          && Objects.equals(height, that.height)
+          && imagePixelRatio.equals(that.imagePixelRatio)
+          && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class Entry {
+    @NonNull final BitmapDescriptor descriptor;
+    final int sizeBytes;
+
+    Entry(@NonNull BitmapDescriptor descriptor, int sizeBytes) {
+      this.descriptor = descriptor;
+      this.sizeBytes = sizeBytes;
+    }
+  }
+
+  /** Records the byte count of the bitmaps a loader creates descriptors from. */
+  private static final class SizingBitmapDescriptorFactoryWrapper
+      extends Convert.BitmapDescriptorFactoryWrapper {
+    private final Convert.BitmapDescriptorFactoryWrapper wrapped;
+    long byteCount;
+
+    SizingBitmapDescriptorFactoryWrapper(@NonNull Convert.BitmapDescriptorFactoryWrapper wrapped) {
+      this.wrapped = wrapped;
+    }
+
+    @Override
+    public BitmapDescriptor fromAsset(String assetKey) {
+      return wrapped.fromAsset(assetKey);
+    }
+
+    @Override
+    public BitmapDescriptor fromBitmap(Bitmap bitmap) {
+      byteCount += bitmap.getByteCount();
+      return wrapped.fromBitmap(bitmap);
+    }
+  }
+}
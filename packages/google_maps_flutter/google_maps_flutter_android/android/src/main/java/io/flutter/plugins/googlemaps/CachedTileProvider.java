@@ -0,0 +1,17 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import com.google.android.gms.maps.model.TileProvider;
+
+/** A {@link TileProvider} that caches the tiles it provides in a {@link TileCache}. */
+interface CachedTileProvider extends TileProvider {
+  /**
+   * Removes all cached tiles.
+   *
+   * <p>Tiles that are being loaded are not cached once they are loaded.
+   */
+  void clearTileCache();
+}
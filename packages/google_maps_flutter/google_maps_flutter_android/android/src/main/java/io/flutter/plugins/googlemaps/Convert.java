@@ -63,14 +63,21 @@ class Convert {
   private static BitmapDescriptor toBitmapDescriptor(
       Messages.PlatformBitmap platformBitmap, AssetManager assetManager, float density) {
     return toBitmapDescriptor(
-        platformBitmap, assetManager, density, new BitmapDescriptorFactoryWrapper());
+        platformBitmap, assetManager, density, new BitmapDescriptorFactoryWrapper(), null);
   }
 
-  private static BitmapDescriptor toBitmapDescriptor(
+  /**
+   * Creates the BitmapDescriptor of a platform bitmap, reusing the descriptors cached in {@code
+   * cache} if it is not null.
+   *
+   * <p>This may be called from any thread.
+   */
+  static BitmapDescriptor toBitmapDescriptor(
       Messages.PlatformBitmap platformBitmap,
       AssetManager assetManager,
       float density,
-      BitmapDescriptorFactoryWrapper wrapper) {
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache cache) {
     Object bitmap = platformBitmap.getBitmap();
     if (bitmap instanceof Messages.PlatformBitmapDefaultMarker) {
       Messages.PlatformBitmapDefaultMarker typedBitmap =
@@ -108,12 +115,21 @@ class Convert {
     }
     if (bitmap instanceof Messages.PlatformBitmapAssetMap) {
       Messages.PlatformBitmapAssetMap typedBitmap = (Messages.PlatformBitmapAssetMap) bitmap;
-      return getBitmapFromAsset(
-          typedBitmap, assetManager, density, wrapper, new FlutterInjectorWrapper());
+      BitmapDescriptorCache.Loader loader =
+          factory ->
+              getBitmapFromAsset(
+                  typedBitmap, assetManager, density, factory, new FlutterInjectorWrapper());
+      return cache == null
+          ? loader.load(wrapper)
+          : cache.get(BitmapDescriptorCache.Key.forAsset(typedBitmap, density), wrapper, loader);
     }
     if (bitmap instanceof Messages.PlatformBitmapBytesMap) {
       Messages.PlatformBitmapBytesMap typedBitmap = (Messages.PlatformBitmapBytesMap) bitmap;
-      return getBitmapFromBytes(typedBitmap, density, wrapper);
+      BitmapDescriptorCache.Loader loader =
+          factory -> getBitmapFromBytes(typedBitmap, density, factory);
+      return cache == null
+          ? loader.load(wrapper)
+          : cache.get(BitmapDescriptorCache.Key.forBytes(typedBitmap, density), wrapper, loader);
     }
     throw new IllegalArgumentException("PlatformBitmap did not contain a supported subtype.");
   }
@@ -589,12 +605,26 @@ class Convert {
       AssetManager assetManager,
       float density,
       BitmapDescriptorFactoryWrapper wrapper) {
+    interpretMarkerOptions(
+        marker, sink, toBitmapDescriptor(marker.getIcon(), assetManager, density, wrapper, null));
+  }
+
+  /**
+   * Set the options in the given object to marker options sink, with an icon created beforehand
+   * from {@code marker.getIcon()}.
+   *
+   * @param icon the icon of the marker, or null to leave the icon of the sink unchanged.
+   */
+  static void interpretMarkerOptions(
+      Messages.PlatformMarker marker, MarkerOptionsSink sink, @Nullable BitmapDescriptor icon) {
     sink.setAlpha(marker.getAlpha().floatValue());
     sink.setAnchor(marker.getAnchor().getX().floatValue(), marker.getAnchor().getY().floatValue());
     sink.setConsumeTapEvents(marker.getConsumeTapEvents());
     sink.setDraggable(marker.getDraggable());
     sink.setFlat(marker.getFlat());
-    sink.setIcon(toBitmapDescriptor(marker.getIcon(), assetManager, density, wrapper));
+    if (icon != null) {
+      sink.setIcon(icon);
+    }
     interpretInfoWindowOptions(sink, marker.getInfoWindow());
     sink.setPosition(toLatLng(marker.getPosition().toList()));
     sink.setRotation(marker.getRotation().floatValue());
@@ -718,11 +748,22 @@ class Convert {
     }
   }
 
-  static List<LatLng> pointsFromPigeon(List<Messages.PlatformLatLng> data) {
-    final List<LatLng> points = new ArrayList<>(data.size());
+  /**
+   * Converts points packed as latitude and longitude pairs, i.e. [latitude0, longitude0, latitude1,
+   * longitude1, ...], to a list of LatLng objects.
+   *
+   * @param data the packed points.
+   * @return a list of LatLng objects.
+   */
+  static List<LatLng> pointsFromPigeon(double[] data) {
+    if (data.length % 2 != 0) {
+      throw new IllegalArgumentException(
+          "Packed points must hold latitude and longitude pairs, got " + data.length + " values");
+    }
+    final List<LatLng> points = new ArrayList<>(data.length / 2);
 
-    for (Messages.PlatformLatLng rawPoint : data) {
-      points.add(new LatLng(rawPoint.getLatitude(), rawPoint.getLongitude()));
+    for (int i = 0; i < data.length; i += 2) {
+      points.add(new LatLng(data[i], data[i + 1]));
     }
     return points;
   }
@@ -783,10 +824,10 @@ class Convert {
     return new Gradient(colors, startPoints, colorMapSize);
   }
 
-  private static List<List<LatLng>> toHoles(List<List<Messages.PlatformLatLng>> data) {
+  private static List<List<LatLng>> toHoles(List<double[]> data) {
     final List<List<LatLng>> holes = new ArrayList<>(data.size());
 
-    for (List<Messages.PlatformLatLng> hole : data) {
+    for (double[] hole : data) {
       holes.add(pointsFromPigeon(hole));
     }
     return holes;
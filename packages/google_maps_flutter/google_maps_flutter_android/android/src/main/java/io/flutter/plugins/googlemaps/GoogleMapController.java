@@ -15,6 +15,8 @@ import android.graphics.Bitmap;
 import android.graphics.Point;
 import android.graphics.SurfaceTexture;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.TextureView;
 import android.view.TextureView.SurfaceTextureListener;
@@ -131,12 +133,15 @@ class GoogleMapController
             clusterManagersController,
             assetManager,
             density,
-            new Convert.BitmapDescriptorFactoryWrapper());
+            new Convert.BitmapDescriptorFactoryWrapper(),
+            BitmapDescriptorCache.getSharedInstance(),
+            MarkersController.getSharedIconDecodeExecutor(),
+            new Handler(Looper.getMainLooper())::post);
     this.polygonsController = new PolygonsController(flutterApi, density);
     this.polylinesController = new PolylinesController(flutterApi, assetManager, density);
     this.circlesController = new CirclesController(flutterApi, density);
     this.heatmapsController = new HeatmapsController();
-    this.tileOverlaysController = new TileOverlaysController(flutterApi);
+    this.tileOverlaysController = new TileOverlaysController(flutterApi, context.getCacheDir());
   }
 
   // Constructor for testing purposes only
@@ -381,6 +386,7 @@ class GoogleMapController
     setMarkerCollectionListener(null);
     setClusterItemClickListener(null);
     setClusterItemRenderedListener(null);
+    markersController.dispose();
     destroyMapViewIfNecessary();
     Lifecycle lifecycle = lifecycleProvider.getLifecycle();
     if (lifecycle != null) {
@@ -855,10 +861,9 @@ class GoogleMapController
   public void updateMarkers(
       @NonNull List<Messages.PlatformMarker> toAdd,
       @NonNull List<Messages.PlatformMarker> toChange,
-      @NonNull List<String> idsToRemove) {
-    markersController.addMarkers(toAdd);
-    markersController.changeMarkers(toChange);
-    markersController.removeMarkers(idsToRemove);
+      @NonNull List<String> idsToRemove,
+      @NonNull Messages.VoidResult result) {
+    markersController.updateMarkers(toAdd, toChange, idsToRemove, result);
   }
 
   @Override
@@ -1005,6 +1010,11 @@ class GoogleMapController
     }
   }
 
+  @Override
+  public @NonNull Messages.PlatformMarkerIconCacheStats getMarkerIconCacheStats() {
+    return markersController.getIconCacheStats();
+  }
+
   /** MapsInspectorApi implementation */
   @Override
   public @NonNull Boolean areBuildingsEnabled() {
@@ -1085,6 +1095,8 @@ class GoogleMapController
 
   @Override
   public @NonNull List<Messages.PlatformCluster> getClusters(@NonNull String clusterManagerId) {
+    // Clusters only include the markers that are added to their cluster manager.
+    markersController.applyPendingUpdatesNow();
     Set<? extends Cluster<MarkerBuilder>> clusters =
         clusterManagersController.getClustersWithClusterManagerId(clusterManagerId);
     List<Messages.PlatformCluster> data = new ArrayList<>(clusters.size());
@@ -5,17 +5,44 @@
 package io.flutter.plugins.googlemaps;
 
 import android.content.res.AssetManager;
+import android.os.SystemClock;
+import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controls the markers of a map.
+ *
+ * <p>Marker icons are decoded and scaled on a background executor. The markers of each update are
+ * then applied on the main thread in the order of the updates, in chunks that each take at most
+ * about a frame, so that adding many markers does not freeze the map.
+ */
 class MarkersController {
+  private static final String TAG = "MarkersController";
+
+  /** The longest time applying markers may take on the main thread before yielding to it. */
+  private static final long MAX_APPLY_DURATION_MS = 8;
+
+  @Nullable private static Executor sharedIconDecodeExecutor;
+
   private final HashMap<String, MarkerBuilder> markerIdToMarkerBuilder;
   private final HashMap<String, MarkerController> markerIdToController;
   private final HashMap<String, String> googleMapsMarkerIdToDartMarkerId;
@@ -25,13 +52,27 @@ class MarkersController {
   private final AssetManager assetManager;
   private final float density;
   private final Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper;
+  private final BitmapDescriptorCache bitmapDescriptorCache;
+  private final Executor iconDecodeExecutor;
+  private final Executor mainThreadExecutor;
+  private final ArrayDeque<PendingUpdate> pendingUpdates = new ArrayDeque<>();
 
+  /**
+   * Creates a markers controller.
+   *
+   * @param iconDecodeExecutor the executor marker icons are decoded on.
+   * @param mainThreadExecutor an executor running tasks on the main thread, which all other methods
+   *     are called on.
+   */
   MarkersController(
       @NonNull MapsCallbackApi flutterApi,
       ClusterManagersController clusterManagersController,
       AssetManager assetManager,
       float density,
-      Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper) {
+      Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper,
+      BitmapDescriptorCache bitmapDescriptorCache,
+      @NonNull Executor iconDecodeExecutor,
+      @NonNull Executor mainThreadExecutor) {
     this.markerIdToMarkerBuilder = new HashMap<>();
     this.markerIdToController = new HashMap<>();
     this.googleMapsMarkerIdToDartMarkerId = new HashMap<>();
@@ -40,27 +81,158 @@ class MarkersController {
     this.assetManager = assetManager;
     this.density = density;
     this.bitmapDescriptorFactoryWrapper = bitmapDescriptorFactoryWrapper;
+    this.bitmapDescriptorCache = bitmapDescriptorCache;
+    this.iconDecodeExecutor = iconDecodeExecutor;
+    this.mainThreadExecutor = mainThreadExecutor;
+  }
+
+  /** Returns the executor the marker icons of all maps are decoded on. */
+  @NonNull
+  static synchronized Executor getSharedIconDecodeExecutor() {
+    if (sharedIconDecodeExecutor == null) {
+      int threadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              threadCount,
+              threadCount,
+              30,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              runnable -> {
+                Thread thread = new Thread(runnable, "GoogleMapsMarkerIconDecoder");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.allowCoreThreadTimeOut(true);
+      sharedIconDecodeExecutor = executor;
+    }
+    return sharedIconDecodeExecutor;
+  }
+
+  /** Returns the statistics of the cache of marker icons. */
+  @NonNull
+  Messages.PlatformMarkerIconCacheStats getIconCacheStats() {
+    return bitmapDescriptorCache.getStats();
   }
 
   void setCollection(MarkerManager.Collection markerCollection) {
     this.markerCollection = markerCollection;
   }
 
+  /** Adds markers once their icons are decoded, after all previous updates. */
   void addMarkers(@NonNull List<Messages.PlatformMarker> markersToAdd) {
-    for (Messages.PlatformMarker markerToAdd : markersToAdd) {
-      addMarker(markerToAdd);
-    }
+    addMarkers(markersToAdd, null);
   }
 
+  /** Changes markers once their icons are decoded, after all previous updates. */
   void changeMarkers(@NonNull List<Messages.PlatformMarker> markersToChange) {
-    for (Messages.PlatformMarker markerToChange : markersToChange) {
-      changeMarker(markerToChange);
-    }
+    changeMarkers(markersToChange, null);
   }
 
+  /** Removes markers after all previous updates. */
   void removeMarkers(@NonNull List<String> markerIdsToRemove) {
-    for (String markerId : markerIdsToRemove) {
-      removeMarker(markerId);
+    if (!markerIdsToRemove.isEmpty()) {
+      PendingUpdate update = new PendingUpdate(markerIdsToRemove);
+      if (pendingUpdates.isEmpty()) {
+        update.apply(Long.MAX_VALUE);
+      } else {
+        pendingUpdates.add(update);
+      }
+    }
+  }
+
+  /**
+   * Adds, changes and removes markers after all previous updates, and completes {@code result} once
+   * they are on the map.
+   *
+   * <p>The markers that cannot be added or changed, for example because their icon cannot be
+   * created, are skipped, and {@code result} then completes with a {@link Messages.FlutterError}
+   * whose details are the IDs of these markers.
+   */
+  void updateMarkers(
+      @NonNull List<Messages.PlatformMarker> markersToAdd,
+      @NonNull List<Messages.PlatformMarker> markersToChange,
+      @NonNull List<String> markerIdsToRemove,
+      @NonNull Messages.VoidResult result) {
+    List<String> failedMarkerIds = new ArrayList<>();
+    addMarkers(markersToAdd, failedMarkerIds);
+    changeMarkers(markersToChange, failedMarkerIds);
+    removeMarkers(markerIdsToRemove);
+    PendingUpdate completion = new PendingUpdate(result, failedMarkerIds);
+    if (pendingUpdates.isEmpty()) {
+      completion.apply(Long.MAX_VALUE);
+    } else {
+      pendingUpdates.add(completion);
+    }
+  }
+
+  /**
+   * Drops the updates that are not applied yet.
+   *
+   * <p>The updates waiting for them complete successfully, as the markers are removed with the map
+   * anyway.
+   */
+  void dispose() {
+    for (PendingUpdate update : pendingUpdates) {
+      if (update.icons != null) {
+        update.icons.cancel(false);
+      }
+      if (update.result != null) {
+        update.result.success();
+      }
+    }
+    pendingUpdates.clear();
+  }
+
+  private void addMarkers(
+      @NonNull List<Messages.PlatformMarker> markersToAdd, @Nullable List<String> failedMarkerIds) {
+    if (!markersToAdd.isEmpty()) {
+      enqueue(new PendingUpdate(markersToAdd, /* isChange= */ false, failedMarkerIds));
+    }
+  }
+
+  private void changeMarkers(
+      @NonNull List<Messages.PlatformMarker> markersToChange,
+      @Nullable List<String> failedMarkerIds) {
+    if (!markersToChange.isEmpty()) {
+      enqueue(new PendingUpdate(markersToChange, /* isChange= */ true, failedMarkerIds));
+    }
+  }
+
+  private void enqueue(@NonNull PendingUpdate update) {
+    pendingUpdates.add(update);
+    iconDecodeExecutor.execute(update.icons);
+  }
+
+  /**
+   * Applies the pending updates whose icons are decoded, in order, until applying takes longer than
+   * {@link #MAX_APPLY_DURATION_MS}. The remaining updates are applied by a later call, which is
+   * posted when more time is needed or an update's icons are decoded.
+   */
+  private void applyPendingUpdates() {
+    long deadlineMs = SystemClock.uptimeMillis() + MAX_APPLY_DURATION_MS;
+    while (!pendingUpdates.isEmpty()) {
+      PendingUpdate update = pendingUpdates.peek();
+      if (update.icons != null && !update.icons.isDone()) {
+        return;
+      }
+      if (!update.apply(deadlineMs)) {
+        mainThreadExecutor.execute(this::applyPendingUpdates);
+        return;
+      }
+      pendingUpdates.poll();
+    }
+  }
+
+  /**
+   * Applies all pending updates at once.
+   *
+   * <p>Icons that the icon decode executor has not started decoding yet are decoded on the calling
+   * thread, so that it does not wait behind the icons of other maps.
+   */
+  void applyPendingUpdatesNow() {
+    while (!pendingUpdates.isEmpty()) {
+      pendingUpdates.poll().apply(Long.MAX_VALUE);
     }
   }
 
@@ -85,6 +257,7 @@ class MarkersController {
   }
 
   void showMarkerInfoWindow(String markerId) {
+    applyPendingUpdatesNow();
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController == null) {
       throw new Messages.FlutterError(
@@ -94,6 +267,7 @@ class MarkersController {
   }
 
   void hideMarkerInfoWindow(String markerId) {
+    applyPendingUpdatesNow();
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController == null) {
       throw new Messages.FlutterError(
@@ -103,6 +277,7 @@ class MarkersController {
   }
 
   boolean isInfoWindowShown(String markerId) {
+    applyPendingUpdatesNow();
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController == null) {
       throw new Messages.FlutterError(
@@ -171,12 +346,11 @@ class MarkersController {
     }
   }
 
-  private void addMarker(@NonNull Messages.PlatformMarker marker) {
+  private void addMarker(@NonNull Messages.PlatformMarker marker, @NonNull BitmapDescriptor icon) {
     String markerId = marker.getMarkerId();
     String clusterManagerId = marker.getClusterManagerId();
     MarkerBuilder markerBuilder = new MarkerBuilder(markerId, clusterManagerId);
-    Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
+    Convert.interpretMarkerOptions(marker, markerBuilder, icon);
     addMarker(markerBuilder);
   }
 
@@ -212,7 +386,8 @@ class MarkersController {
     googleMapsMarkerIdToDartMarkerId.put(marker.getId(), markerId);
   }
 
-  private void changeMarker(@NonNull Messages.PlatformMarker marker) {
+  private void changeMarker(
+      @NonNull Messages.PlatformMarker marker, @NonNull BitmapDescriptor icon) {
     String markerId = marker.getMarkerId();
 
     MarkerBuilder markerBuilder = markerIdToMarkerBuilder.get(markerId);
@@ -227,19 +402,190 @@ class MarkersController {
     // be removed and re-added to update its cluster manager state.
     if (!(Objects.equals(clusterManagerId, oldClusterManagerId))) {
       removeMarker(markerId);
-      addMarker(marker);
+      addMarker(marker, icon);
       return;
     }
 
     // Update marker builder.
-    Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
+    Convert.interpretMarkerOptions(marker, markerBuilder, icon);
 
     // Update existing marker on map.
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController != null) {
-      Convert.interpretMarkerOptions(
-          marker, markerController, assetManager, density, bitmapDescriptorFactoryWrapper);
+      Convert.interpretMarkerOptions(marker, markerController, icon);
+    }
+  }
+
+  /**
+   * Decodes the icons of {@code markers} on the calling thread.
+   *
+   * @return the icons, with null for the icons that could not be decoded.
+   */
+  @NonNull
+  private BitmapDescriptor[] decodeIcons(@NonNull List<Messages.PlatformMarker> markers) {
+    BitmapDescriptor[] icons = new BitmapDescriptor[markers.size()];
+    for (int i = 0; i < icons.length; i++) {
+      Messages.PlatformMarker marker = markers.get(i);
+      try {
+        icons[i] =
+            Convert.toBitmapDescriptor(
+                marker.getIcon(),
+                assetManager,
+                density,
+                bitmapDescriptorFactoryWrapper,
+                bitmapDescriptorCache);
+      } catch (RuntimeException e) {
+        Log.e(TAG, "Cannot create the icon of marker " + marker.getMarkerId(), e);
+      }
+    }
+    return icons;
+  }
+
+  /**
+   * Markers to add, change or remove, or the result to complete once the previous updates are
+   * applied, in the order the updates were made.
+   */
+  private final class PendingUpdate {
+    @Nullable private final List<Messages.PlatformMarker> markers;
+    private final boolean isChange;
+    @Nullable private final List<String> markerIdsToRemove;
+    // The IDs of the markers that could not be added or changed, to report with the result of the
+    // update. Null when they are only logged.
+    @Nullable private final List<String> failedMarkerIds;
+    @Nullable final Messages.VoidResult result;
+    // Null when not adding or changing markers.
+    @Nullable final FutureTask<BitmapDescriptor[]> icons;
+    // The icons decoded on the main thread when the update had to be applied before the icon decode
+    // executor started decoding them.
+    @Nullable private BitmapDescriptor[] iconsDecodedNow;
+    private int nextIndex;
+
+    PendingUpdate(
+        @NonNull List<Messages.PlatformMarker> markers,
+        boolean isChange,
+        @Nullable List<String> failedMarkerIds) {
+      this.markers = markers;
+      this.isChange = isChange;
+      this.markerIdsToRemove = null;
+      this.failedMarkerIds = failedMarkerIds;
+      this.result = null;
+      this.icons =
+          new FutureTask<BitmapDescriptor[]>(() -> decodeIcons(markers)) {
+            @Override
+            protected void done() {
+              if (!isCancelled()) {
+                mainThreadExecutor.execute(MarkersController.this::applyPendingUpdates);
+              }
+            }
+          };
+    }
+
+    PendingUpdate(@NonNull List<String> markerIdsToRemove) {
+      this.markers = null;
+      this.isChange = false;
+      this.markerIdsToRemove = markerIdsToRemove;
+      this.failedMarkerIds = null;
+      this.result = null;
+      this.icons = null;
+    }
+
+    PendingUpdate(@NonNull Messages.VoidResult result, @NonNull List<String> failedMarkerIds) {
+      this.markers = null;
+      this.isChange = false;
+      this.markerIdsToRemove = null;
+      this.failedMarkerIds = failedMarkerIds;
+      this.result = result;
+      this.icons = null;
+    }
+
+    /**
+     * Applies the update until {@code deadlineMs}.
+     *
+     * <p>Markers that fail to be added, changed or removed are logged and skipped, so that the
+     * update always completes.
+     *
+     * @return whether the update is completely applied.
+     */
+    boolean apply(long deadlineMs) {
+      if (result != null) {
+        if (failedMarkerIds.isEmpty()) {
+          result.success();
+        } else {
+          result.error(
+              new Messages.FlutterError(
+                  "Invalid marker",
+                  "Cannot add or change markers " + String.join(", ", failedMarkerIds),
+                  failedMarkerIds));
+        }
+        return true;
+      }
+      if (markers == null) {
+        for (String markerId : markerIdsToRemove) {
+          try {
+            removeMarker(markerId);
+          } catch (RuntimeException e) {
+            Log.e(TAG, "Cannot remove marker " + markerId, e);
+          }
+        }
+        return true;
+      }
+      BitmapDescriptor[] decodedIcons = getDecodedIcons();
+      while (nextIndex < markers.size()) {
+        Messages.PlatformMarker marker = markers.get(nextIndex);
+        BitmapDescriptor icon = decodedIcons[nextIndex];
+        nextIndex++;
+        try {
+          if (icon == null) {
+            // The icon could not be decoded, which has been logged.
+            onMarkerFailed(marker);
+          } else if (isChange) {
+            changeMarker(marker, icon);
+          } else {
+            addMarker(marker, icon);
+          }
+        } catch (RuntimeException e) {
+          Log.e(
+              TAG,
+              "Cannot " + (isChange ? "change" : "add") + " marker " + marker.getMarkerId(),
+              e);
+          onMarkerFailed(marker);
+        }
+        if (nextIndex < markers.size() && SystemClock.uptimeMillis() >= deadlineMs) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void onMarkerFailed(@NonNull Messages.PlatformMarker marker) {
+      if (failedMarkerIds != null) {
+        failedMarkerIds.add(marker.getMarkerId());
+      }
+    }
+
+    /**
+     * Returns the decoded icons, decoding them on the calling thread if the icon decode executor
+     * has not started decoding them yet.
+     */
+    @NonNull
+    private BitmapDescriptor[] getDecodedIcons() {
+      if (iconsDecodedNow != null) {
+        return iconsDecodedNow;
+      }
+      // Cancelling succeeds only if the decoding has not started, and then skips it.
+      if (icons.cancel(false)) {
+        iconsDecodedNow = decodeIcons(markers);
+        return iconsDecodedNow;
+      }
+      try {
+        return icons.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException | CancellationException e) {
+        Log.e(TAG, "Cannot decode marker icons", e);
+      }
+      iconsDecodedNow = new BitmapDescriptor[markers.size()];
+      return iconsDecodedNow;
     }
   }
 }
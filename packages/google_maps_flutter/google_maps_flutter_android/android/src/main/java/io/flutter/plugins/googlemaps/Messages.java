@@ -2153,26 +2153,31 @@ public class Messages {
       this.geodesic = setterArg;
     }
 
-    private @NonNull List<PlatformLatLng> points;
+    /**
+     * The vertices, packed as latitude and longitude pairs, i.e. [latitude0, longitude0, latitude1,
+     * longitude1, ...].
+     */
+    private @NonNull double[] points;
 
-    public @NonNull List<PlatformLatLng> getPoints() {
+    public @NonNull double[] getPoints() {
       return points;
     }
 
-    public void setPoints(@NonNull List<PlatformLatLng> setterArg) {
+    public void setPoints(@NonNull double[] setterArg) {
       if (setterArg == null) {
         throw new IllegalStateException("Nonnull field \"points\" is null.");
       }
       this.points = setterArg;
     }
 
-    private @NonNull List<List<PlatformLatLng>> holes;
+    /** The holes, each packed like [points]. */
+    private @NonNull List<double[]> holes;
 
-    public @NonNull List<List<PlatformLatLng>> getHoles() {
+    public @NonNull List<double[]> getHoles() {
       return holes;
     }
 
-    public void setHoles(@NonNull List<List<PlatformLatLng>> setterArg) {
+    public void setHoles(@NonNull List<double[]> setterArg) {
       if (setterArg == null) {
         throw new IllegalStateException("Nonnull field \"holes\" is null.");
       }
@@ -2247,7 +2252,7 @@ public class Messages {
           && consumesTapEvents.equals(that.consumesTapEvents)
           && fillColor.equals(that.fillColor)
           && geodesic.equals(that.geodesic)
-          && points.equals(that.points)
+          && Arrays.equals(points, that.points)
           && holes.equals(that.holes)
           && visible.equals(that.visible)
           && strokeColor.equals(that.strokeColor)
@@ -2257,17 +2262,19 @@ public class Messages {
 
     @Override
     public int hashCode() {
-      return Objects.hash(
-          polygonId,
-          consumesTapEvents,
-          fillColor,
-          geodesic,
-          points,
-          holes,
-          visible,
-          strokeColor,
-          strokeWidth,
-          zIndex);
+      int pigeonVar_result =
+          Objects.hash(
+              polygonId,
+              consumesTapEvents,
+              fillColor,
+              geodesic,
+              holes,
+              visible,
+              strokeColor,
+              strokeWidth,
+              zIndex);
+      pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(points);
+      return pigeonVar_result;
     }
 
     public static final class Builder {
@@ -2304,18 +2311,18 @@ public class Messages {
         return this;
       }
 
-      private @Nullable List<PlatformLatLng> points;
+      private @Nullable double[] points;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setPoints(@NonNull List<PlatformLatLng> setterArg) {
+      public @NonNull Builder setPoints(@NonNull double[] setterArg) {
         this.points = setterArg;
         return this;
       }
 
-      private @Nullable List<List<PlatformLatLng>> holes;
+      private @Nullable List<double[]> holes;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setHoles(@NonNull List<List<PlatformLatLng>> setterArg) {
+      public @NonNull Builder setHoles(@NonNull List<double[]> setterArg) {
         this.holes = setterArg;
         return this;
       }
@@ -2395,9 +2402,9 @@ public class Messages {
       Object geodesic = pigeonVar_list.get(3);
       pigeonResult.setGeodesic((Boolean) geodesic);
       Object points = pigeonVar_list.get(4);
-      pigeonResult.setPoints((List<PlatformLatLng>) points);
+      pigeonResult.setPoints((double[]) points);
       Object holes = pigeonVar_list.get(5);
-      pigeonResult.setHoles((List<List<PlatformLatLng>>) holes);
+      pigeonResult.setHoles((List<double[]>) holes);
       Object visible = pigeonVar_list.get(6);
       pigeonResult.setVisible((Boolean) visible);
       Object strokeColor = pigeonVar_list.get(7);
@@ -2496,13 +2503,17 @@ public class Messages {
       this.patterns = setterArg;
     }
 
-    private @NonNull List<PlatformLatLng> points;
+    /**
+     * The vertices, packed as latitude and longitude pairs, i.e. [latitude0, longitude0, latitude1,
+     * longitude1, ...].
+     */
+    private @NonNull double[] points;
 
-    public @NonNull List<PlatformLatLng> getPoints() {
+    public @NonNull double[] getPoints() {
       return points;
     }
 
-    public void setPoints(@NonNull List<PlatformLatLng> setterArg) {
+    public void setPoints(@NonNull double[] setterArg) {
       if (setterArg == null) {
         throw new IllegalStateException("Nonnull field \"points\" is null.");
       }
@@ -2596,7 +2607,7 @@ public class Messages {
           && geodesic.equals(that.geodesic)
           && jointType.equals(that.jointType)
           && patterns.equals(that.patterns)
-          && points.equals(that.points)
+          && Arrays.equals(points, that.points)
           && startCap.equals(that.startCap)
           && endCap.equals(that.endCap)
           && visible.equals(that.visible)
@@ -2606,19 +2617,21 @@ public class Messages {
 
     @Override
     public int hashCode() {
-      return Objects.hash(
-          polylineId,
-          consumesTapEvents,
-          color,
-          geodesic,
-          jointType,
-          patterns,
-          points,
-          startCap,
-          endCap,
-          visible,
-          width,
-          zIndex);
+      int pigeonVar_result =
+          Objects.hash(
+              polylineId,
+              consumesTapEvents,
+              color,
+              geodesic,
+              jointType,
+              patterns,
+              startCap,
+              endCap,
+              visible,
+              width,
+              zIndex);
+      pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(points);
+      return pigeonVar_result;
     }
 
     public static final class Builder {
@@ -2671,10 +2684,10 @@ public class Messages {
         return this;
       }
 
-      private @Nullable List<PlatformLatLng> points;
+      private @Nullable double[] points;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setPoints(@NonNull List<PlatformLatLng> setterArg) {
+      public @NonNull Builder setPoints(@NonNull double[] setterArg) {
         this.points = setterArg;
         return this;
       }
@@ -2770,7 +2783,7 @@ public class Messages {
       Object patterns = pigeonVar_list.get(5);
       pigeonResult.setPatterns((List<PlatformPatternItem>) patterns);
       Object points = pigeonVar_list.get(6);
-      pigeonResult.setPoints((List<PlatformLatLng>) points);
+      pigeonResult.setPoints((double[]) points);
       Object startCap = pigeonVar_list.get(7);
       pigeonResult.setStartCap((PlatformCap) startCap);
       Object endCap = pigeonVar_list.get(8);
@@ -3202,6 +3215,47 @@ public class Messages {
       this.tileSize = setterArg;
     }
 
+    /**
+     * The maximum size in bytes of the disk cache of the tiles, or 0 to only cache them in memory.
+     */
+    private @NonNull Long diskCacheMaxSizeBytes;
+
+    public @NonNull Long getDiskCacheMaxSizeBytes() {
+      return diskCacheMaxSizeBytes;
+    }
+
+    public void setDiskCacheMaxSizeBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"diskCacheMaxSizeBytes\" is null.");
+      }
+      this.diskCacheMaxSizeBytes = setterArg;
+    }
+
+    /**
+     * The HTTP or HTTPS URL with `{x}`, `{y}` and `{z}` placeholders that the tiles are fetched
+     * from natively, or null to request them from Dart.
+     */
+    private @Nullable String urlTemplate;
+
+    public @Nullable String getUrlTemplate() {
+      return urlTemplate;
+    }
+
+    public void setUrlTemplate(@Nullable String setterArg) {
+      this.urlTemplate = setterArg;
+    }
+
+    /** The HTTP headers sent with each tile request to [urlTemplate]. */
+    private @Nullable Map<String, String> httpHeaders;
+
+    public @Nullable Map<String, String> getHttpHeaders() {
+      return httpHeaders;
+    }
+
+    public void setHttpHeaders(@Nullable Map<String, String> setterArg) {
+      this.httpHeaders = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformTileOverlay() {}
 
@@ -3219,12 +3273,24 @@ public class Messages {
           && transparency.equals(that.transparency)
           && zIndex.equals(that.zIndex)
           && visible.equals(that.visible)
-          && tileSize.equals(that.tileSize);
+          && tileSize.equals(that.tileSize)
+          && diskCacheMaxSizeBytes.equals(that.diskCacheMaxSizeBytes)
+          && Objects.equals(urlTemplate, that.urlTemplate)
+          && Objects.equals(httpHeaders, that.httpHeaders);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(tileOverlayId, fadeIn, transparency, zIndex, visible, tileSize);
+      return Objects.hash(
+          tileOverlayId,
+          fadeIn,
+          transparency,
+          zIndex,
+          visible,
+          tileSize,
+          diskCacheMaxSizeBytes,
+          urlTemplate,
+          httpHeaders);
     }
 
     public static final class Builder {
@@ -3277,6 +3343,30 @@ public class Messages {
         return this;
       }
 
+      private @Nullable Long diskCacheMaxSizeBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDiskCacheMaxSizeBytes(@NonNull Long setterArg) {
+        this.diskCacheMaxSizeBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable String urlTemplate;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setUrlTemplate(@Nullable String setterArg) {
+        this.urlTemplate = setterArg;
+        return this;
+      }
+
+      private @Nullable Map<String, String> httpHeaders;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHttpHeaders(@Nullable Map<String, String> setterArg) {
+        this.httpHeaders = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformTileOverlay build() {
         PlatformTileOverlay pigeonReturn = new PlatformTileOverlay();
         pigeonReturn.setTileOverlayId(tileOverlayId);
@@ -3285,19 +3375,25 @@ public class Messages {
         pigeonReturn.setZIndex(zIndex);
         pigeonReturn.setVisible(visible);
         pigeonReturn.setTileSize(tileSize);
+        pigeonReturn.setDiskCacheMaxSizeBytes(diskCacheMaxSizeBytes);
+        pigeonReturn.setUrlTemplate(urlTemplate);
+        pigeonReturn.setHttpHeaders(httpHeaders);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(6);
+      ArrayList<Object> toListResult = new ArrayList<>(9);
       toListResult.add(tileOverlayId);
       toListResult.add(fadeIn);
       toListResult.add(transparency);
       toListResult.add(zIndex);
       toListResult.add(visible);
       toListResult.add(tileSize);
+      toListResult.add(diskCacheMaxSizeBytes);
+      toListResult.add(urlTemplate);
+      toListResult.add(httpHeaders);
       return toListResult;
     }
 
@@ -3315,6 +3411,12 @@ public class Messages {
       pigeonResult.setVisible((Boolean) visible);
       Object tileSize = pigeonVar_list.get(5);
       pigeonResult.setTileSize((Long) tileSize);
+      Object diskCacheMaxSizeBytes = pigeonVar_list.get(6);
+      pigeonResult.setDiskCacheMaxSizeBytes((Long) diskCacheMaxSizeBytes);
+      Object urlTemplate = pigeonVar_list.get(7);
+      pigeonResult.setUrlTemplate((String) urlTemplate);
+      Object httpHeaders = pigeonVar_list.get(8);
+      pigeonResult.setHttpHeaders((Map<String, String>) httpHeaders);
       return pigeonResult;
     }
   }
@@ -5820,6 +5922,208 @@ public class Messages {
     }
   }
 
+  /**
+   * Statistics of the cache of marker icons shared by all maps.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformMarkerIconCacheStats {
+    private @NonNull Long hitCount;
+
+    public @NonNull Long getHitCount() {
+      return hitCount;
+    }
+
+    public void setHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitCount\" is null.");
+      }
+      this.hitCount = setterArg;
+    }
+
+    private @NonNull Long missCount;
+
+    public @NonNull Long getMissCount() {
+      return missCount;
+    }
+
+    public void setMissCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"missCount\" is null.");
+      }
+      this.missCount = setterArg;
+    }
+
+    private @NonNull Double hitRate;
+
+    public @NonNull Double getHitRate() {
+      return hitRate;
+    }
+
+    public void setHitRate(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitRate\" is null.");
+      }
+      this.hitRate = setterArg;
+    }
+
+    private @NonNull Long evictionCount;
+
+    public @NonNull Long getEvictionCount() {
+      return evictionCount;
+    }
+
+    public void setEvictionCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"evictionCount\" is null.");
+      }
+      this.evictionCount = setterArg;
+    }
+
+    private @NonNull Long sizeBytes;
+
+    public @NonNull Long getSizeBytes() {
+      return sizeBytes;
+    }
+
+    public void setSizeBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"sizeBytes\" is null.");
+      }
+      this.sizeBytes = setterArg;
+    }
+
+    private @NonNull Long maxSizeBytes;
+
+    public @NonNull Long getMaxSizeBytes() {
+      return maxSizeBytes;
+    }
+
+    public void setMaxSizeBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxSizeBytes\" is null.");
+      }
+      this.maxSizeBytes = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformMarkerIconCacheStats() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformMarkerIconCacheStats that = (PlatformMarkerIconCacheStats) o;
+      return hitCount.equals(that.hitCount)
+          && missCount.equals(that.missCount)
+          && hitRate.equals(that.hitRate)
+          && evictionCount.equals(that.evictionCount)
+          && sizeBytes.equals(that.sizeBytes)
+          && maxSizeBytes.equals(that.maxSizeBytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(hitCount, missCount, hitRate, evictionCount, sizeBytes, maxSizeBytes);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long hitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHitCount(@NonNull Long setterArg) {
+        this.hitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long missCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMissCount(@NonNull Long setterArg) {
+        this.missCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Double hitRate;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHitRate(@NonNull Double setterArg) {
+        this.hitRate = setterArg;
+        return this;
+      }
+
+      private @Nullable Long evictionCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEvictionCount(@NonNull Long setterArg) {
+        this.evictionCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long sizeBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSizeBytes(@NonNull Long setterArg) {
+        this.sizeBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long maxSizeBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxSizeBytes(@NonNull Long setterArg) {
+        this.maxSizeBytes = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformMarkerIconCacheStats build() {
+        PlatformMarkerIconCacheStats pigeonReturn = new PlatformMarkerIconCacheStats();
+        pigeonReturn.setHitCount(hitCount);
+        pigeonReturn.setMissCount(missCount);
+        pigeonReturn.setHitRate(hitRate);
+        pigeonReturn.setEvictionCount(evictionCount);
+        pigeonReturn.setSizeBytes(sizeBytes);
+        pigeonReturn.setMaxSizeBytes(maxSizeBytes);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(6);
+      toListResult.add(hitCount);
+      toListResult.add(missCount);
+      toListResult.add(hitRate);
+      toListResult.add(evictionCount);
+      toListResult.add(sizeBytes);
+      toListResult.add(maxSizeBytes);
+      return toListResult;
+    }
+
+    static @NonNull PlatformMarkerIconCacheStats fromList(
+        @NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformMarkerIconCacheStats pigeonResult = new PlatformMarkerIconCacheStats();
+      Object hitCount = pigeonVar_list.get(0);
+      pigeonResult.setHitCount((Long) hitCount);
+      Object missCount = pigeonVar_list.get(1);
+      pigeonResult.setMissCount((Long) missCount);
+      Object hitRate = pigeonVar_list.get(2);
+      pigeonResult.setHitRate((Double) hitRate);
+      Object evictionCount = pigeonVar_list.get(3);
+      pigeonResult.setEvictionCount((Long) evictionCount);
+      Object sizeBytes = pigeonVar_list.get(4);
+      pigeonResult.setSizeBytes((Long) sizeBytes);
+      Object maxSizeBytes = pigeonVar_list.get(5);
+      pigeonResult.setMaxSizeBytes((Long) maxSizeBytes);
+      return pigeonResult;
+    }
+  }
+
   private static class PigeonCodec extends StandardMessageCodec {
     public static final PigeonCodec INSTANCE = new PigeonCodec();
 
@@ -5942,6 +6246,8 @@ public class Messages {
           return PlatformBitmapAssetMap.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 173:
           return PlatformBitmapBytesMap.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 174:
+          return PlatformMarkerIconCacheStats.fromList((ArrayList<Object>) readValue(buffer));
         default:
           return super.readValueOfType(type, buffer);
       }
@@ -6084,6 +6390,9 @@ public class Messages {
       } else if (value instanceof PlatformBitmapBytesMap) {
         stream.write(173);
         writeValue(stream, ((PlatformBitmapBytesMap) value).toList());
+      } else if (value instanceof PlatformMarkerIconCacheStats) {
+        stream.write(174);
+        writeValue(stream, ((PlatformMarkerIconCacheStats) value).toList());
       } else {
         super.writeValue(stream, value);
       }
@@ -6144,11 +6453,18 @@ public class Messages {
     /** Updates the set of custer managers for clusters on the map. */
     void updateClusterManagers(
         @NonNull List<PlatformClusterManager> toAdd, @NonNull List<String> idsToRemove);
-    /** Updates the set of markers on the map. */
+    /**
+     * Updates the set of markers on the map.
+     *
+     * <p>Returns once the markers are on the map. If some markers could not be added or changed,
+     * for example because their icon could not be created, the other markers are still updated and
+     * an error with the IDs of the failed markers as details is thrown.
+     */
     void updateMarkers(
         @NonNull List<PlatformMarker> toAdd,
         @NonNull List<PlatformMarker> toChange,
-        @NonNull List<String> idsToRemove);
+        @NonNull List<String> idsToRemove,
+        @NonNull VoidResult result);
     /** Updates the set of polygonss on the map. */
     void updatePolygons(
         @NonNull List<PlatformPolygon> toAdd,
@@ -6208,6 +6524,9 @@ public class Messages {
     void clearTileCache(@NonNull String tileOverlayId);
     /** Takes a snapshot of the map and returns its image data. */
     void takeSnapshot(@NonNull Result<byte[]> result);
+    /** Returns the statistics of the cache of marker icons shared by all maps. */
+    @NonNull
+    PlatformMarkerIconCacheStats getMarkerIconCacheStats();
 
     /** The codec used by MapsApi. */
     static @NonNull MessageCodec<Object> getCodec() {
@@ -6373,13 +6692,20 @@ public class Messages {
                 List<PlatformMarker> toAddArg = (List<PlatformMarker>) args.get(0);
                 List<PlatformMarker> toChangeArg = (List<PlatformMarker>) args.get(1);
                 List<String> idsToRemoveArg = (List<String>) args.get(2);
-                try {
-                  api.updateMarkers(toAddArg, toChangeArg, idsToRemoveArg);
-                  wrapped.add(0, null);
-                } catch (Throwable exception) {
-                  wrapped = wrapError(exception);
-                }
-                reply.reply(wrapped);
+                VoidResult resultCallback =
+                    new VoidResult() {
+                      public void success() {
+                        wrapped.add(0, null);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.updateMarkers(toAddArg, toChangeArg, idsToRemoveArg, resultCallback);
               });
         } else {
           channel.setMessageHandler(null);
@@ -6790,6 +7116,29 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.getMarkerIconCacheStats"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  PlatformMarkerIconCacheStats output = api.getMarkerIconCacheStats();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /** Generated class from Pigeon that represents Flutter messages that can be called from Java. */
@@ -0,0 +1,304 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.util.Log;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.Tile;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the tiles of a single tile overlay, keyed by their coordinates and zoom level.
+ *
+ * <p>Tiles are kept in a bounded least recently used memory cache shared by the tile overlays of
+ * all maps, and optionally in a bounded directory on disk, so that they outlive the map. The size
+ * of both is the byte count of the tile data.
+ *
+ * <p>The cache is safe to use from any thread. Disk reads and writes are blocking, and should be
+ * done on the tile threads of the map.
+ */
+class TileCache {
+  private static final String TAG = "TileCache";
+
+  /** The maximum size in bytes of the memory cache shared by all tile overlays. */
+  static final int MEMORY_MAX_SIZE_BYTES = 16 * 1024 * 1024;
+
+  /** The name of the directory holding the disk stores of all tile overlays. */
+  static final String DISK_CACHE_DIRECTORY = "google_maps_flutter_tiles";
+
+  private static final String TILE_FILE_SUFFIX = ".tile";
+
+  private static final LruCache<String, Tile> sharedMemoryCache =
+      createMemoryCache(MEMORY_MAX_SIZE_BYTES);
+  // The disk stores of the tile overlays, keyed by their directory, so that tile overlays with the
+  // same ID on different maps share the size and lock of their directory.
+  private static final Map<File, DiskStore> diskStores = new HashMap<>();
+  private static final AtomicLong nextCacheId = new AtomicLong();
+
+  private final LruCache<String, Tile> memoryCache;
+  // Prefixes the keys of the tiles of this cache in the memory cache.
+  private final String memoryKeyPrefix = nextCacheId.getAndIncrement() + "/";
+  @Nullable private final DiskStore diskStore;
+
+  TileCache(
+      @NonNull LruCache<String, Tile> memoryCache,
+      @Nullable File diskDirectory,
+      long diskMaxSizeBytes) {
+    this.memoryCache = memoryCache;
+    diskStore =
+        diskDirectory == null || diskMaxSizeBytes <= 0
+            ? null
+            : getDiskStore(diskDirectory, diskMaxSizeBytes);
+  }
+
+  /** Creates a memory cache of at most {@code maxSizeBytes} bytes of tile data. */
+  @NonNull
+  static LruCache<String, Tile> createMemoryCache(int maxSizeBytes) {
+    return new LruCache<String, Tile>(maxSizeBytes) {
+      @Override
+      protected int sizeOf(@NonNull String key, @NonNull Tile tile) {
+        return tile.data == null ? 1 : Math.max(1, tile.data.length);
+      }
+    };
+  }
+
+  @NonNull
+  private static DiskStore getDiskStore(@NonNull File directory, long maxSizeBytes) {
+    File key = directory.getAbsoluteFile();
+    synchronized (diskStores) {
+      DiskStore diskStore = diskStores.get(key);
+      if (diskStore == null) {
+        diskStore = new DiskStore(key, maxSizeBytes);
+        diskStores.put(key, diskStore);
+      } else {
+        diskStore.setMaxSizeBytes(maxSizeBytes);
+      }
+      return diskStore;
+    }
+  }
+
+  /**
+   * Creates the cache of the tile overlay {@code tileOverlayId}.
+   *
+   * <p>If the disk store is enabled, the tiles are stored in a directory named after the tile
+   * overlay in {@code cacheDirectory}. Tile overlays with the same ID, e.g. on different maps,
+   * share their disk store.
+   *
+   * @param cacheDirectory the cache directory of the application.
+   * @param tileOverlayId the ID of the tile overlay.
+   * @param diskMaxSizeBytes the maximum size in bytes of the disk store, or 0 to disable it.
+   * @return the cache of the tile overlay.
+   */
+  @NonNull
+  static TileCache create(
+      @Nullable File cacheDirectory, @NonNull String tileOverlayId, long diskMaxSizeBytes) {
+    File diskDirectory = null;
+    if (cacheDirectory != null && diskMaxSizeBytes > 0) {
+      diskDirectory =
+          new File(new File(cacheDirectory, DISK_CACHE_DIRECTORY), directoryName(tileOverlayId));
+    }
+    return new TileCache(sharedMemoryCache, diskDirectory, diskMaxSizeBytes);
+  }
+
+  @NonNull
+  private static String directoryName(@NonNull String tileOverlayId) {
+    try {
+      // The prefix keeps IDs like ".." from naming another directory.
+      return "overlay_" + URLEncoder.encode(tileOverlayId, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @NonNull
+  static String key(int x, int y, int zoom) {
+    return zoom + "_" + x + "_" + y;
+  }
+
+  /**
+   * Returns the cached tile at the given coordinates, or null if it is not cached.
+   *
+   * <p>Tiles read from the disk store are added to the memory cache.
+   */
+  @Nullable
+  Tile get(int x, int y, int zoom) {
+    String key = key(x, y, zoom);
+    Tile tile = memoryCache.get(memoryKeyPrefix + key);
+    if (tile == null && diskStore != null) {
+      tile = diskStore.get(key);
+      if (tile != null) {
+        memoryCache.put(memoryKeyPrefix + key, tile);
+      }
+    }
+    return tile;
+  }
+
+  /** Adds {@code tile} to the memory cache only. */
+  void putInMemory(int x, int y, int zoom, @NonNull Tile tile) {
+    memoryCache.put(memoryKeyPrefix + key(x, y, zoom), tile);
+  }
+
+  /** Adds {@code tile} to the memory cache and the disk store. */
+  void put(int x, int y, int zoom, @NonNull Tile tile) {
+    String key = key(x, y, zoom);
+    memoryCache.put(memoryKeyPrefix + key, tile);
+    if (diskStore != null) {
+      diskStore.put(key, tile);
+    }
+  }
+
+  /** Removes all tiles of this cache from the memory cache and the disk store. */
+  void clear() {
+    for (String key : memoryCache.snapshot().keySet()) {
+      if (key.startsWith(memoryKeyPrefix)) {
+        memoryCache.remove(key);
+      }
+    }
+    if (diskStore != null) {
+      diskStore.clear();
+    }
+  }
+
+  /**
+   * A directory of tile files, from which the least recently used files are deleted once their size
+   * exceeds the maximum size.
+   *
+   * <p>Each file holds the width and height of the tile, followed by its data.
+   */
+  private static final class DiskStore {
+    private final File directory;
+    private long maxSizeBytes;
+    // The size of the directory, or -1 until it has been measured.
+    private long sizeBytes = -1;
+
+    DiskStore(@NonNull File directory, long maxSizeBytes) {
+      this.directory = directory;
+      this.maxSizeBytes = maxSizeBytes;
+    }
+
+    // Tile overlays added after the maximum size changed use the new maximum size.
+    synchronized void setMaxSizeBytes(long maxSizeBytes) {
+      this.maxSizeBytes = maxSizeBytes;
+    }
+
+    @Nullable
+    synchronized Tile get(@NonNull String key) {
+      File file = new File(directory, key + TILE_FILE_SUFFIX);
+      if (!file.isFile()) {
+        return null;
+      }
+      try (DataInputStream input =
+          new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+        int width = input.readInt();
+        int height = input.readInt();
+        int length = input.readInt();
+        if (length < 0 || length > file.length()) {
+          throw new IOException("Invalid tile data length " + length);
+        }
+        byte[] data = new byte[length];
+        input.readFully(data);
+        // Marks the file as recently used.
+        file.setLastModified(System.currentTimeMillis());
+        return new Tile(width, height, data);
+      } catch (IOException | RuntimeException e) {
+        Log.w(TAG, "Can't read cached tile " + file, e);
+        deleteFile(file);
+        return null;
+      }
+    }
+
+    synchronized void put(@NonNull String key, @NonNull Tile tile) {
+      if (tile.data == null || !directory.isDirectory() && !directory.mkdirs()) {
+        return;
+      }
+      measure();
+      File file = new File(directory, key + TILE_FILE_SUFFIX);
+      // Writes to a temporary file first, so that readers never see a partially written tile.
+      File temporaryFile = new File(directory, key + ".tmp");
+      try (DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+        output.writeInt(tile.width);
+        output.writeInt(tile.height);
+        output.writeInt(tile.data.length);
+        output.write(tile.data);
+      } catch (IOException e) {
+        Log.w(TAG, "Can't cache tile " + file, e);
+        temporaryFile.delete();
+        return;
+      }
+      deleteFile(file);
+      if (!temporaryFile.renameTo(file)) {
+        temporaryFile.delete();
+        return;
+      }
+      sizeBytes += file.length();
+      if (sizeBytes > maxSizeBytes) {
+        trim();
+      }
+    }
+
+    synchronized void clear() {
+      File[] files = directory.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          file.delete();
+        }
+      }
+      sizeBytes = 0;
+    }
+
+    private void measure() {
+      if (sizeBytes >= 0) {
+        return;
+      }
+      sizeBytes = 0;
+      File[] files = directory.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          sizeBytes += file.length();
+        }
+      }
+    }
+
+    private void deleteFile(@NonNull File file) {
+      long length = file.length();
+      if (file.delete() && sizeBytes >= 0) {
+        sizeBytes -= length;
+      }
+    }
+
+    // Deletes the least recently used files until the directory is at most 90% of its maximum size,
+    // so that not every write has to list the directory.
+    private void trim() {
+      File[] files = directory.listFiles();
+      if (files == null) {
+        return;
+      }
+      Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+      long targetSizeBytes = maxSizeBytes / 10 * 9;
+      for (File file : files) {
+        if (sizeBytes <= targetSizeBytes) {
+          break;
+        }
+        deleteFile(file);
+      }
+    }
+  }
+}
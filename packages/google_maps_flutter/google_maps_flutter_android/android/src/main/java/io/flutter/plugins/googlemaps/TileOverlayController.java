@@ -4,22 +4,45 @@
 
 package io.flutter.plugins.googlemaps;
 
+import androidx.annotation.NonNull;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileProvider;
 
 class TileOverlayController implements TileOverlaySink {
 
   private final TileOverlay tileOverlay;
+  private final @NonNull CachedTileProvider tileProvider;
+  private final @NonNull Messages.PlatformTileOverlay tileProviderOptions;
 
-  TileOverlayController(TileOverlay tileOverlay) {
+  /**
+   * Creates the controller of a tile overlay.
+   *
+   * @param tileProviderOptions the tile overlay that {@code tileProvider} was created for.
+   */
+  TileOverlayController(
+      TileOverlay tileOverlay,
+      @NonNull CachedTileProvider tileProvider,
+      @NonNull Messages.PlatformTileOverlay tileProviderOptions) {
     this.tileOverlay = tileOverlay;
+    this.tileProvider = tileProvider;
+    this.tileProviderOptions = tileProviderOptions;
+  }
+
+  /** Returns the tile overlay that the tile provider was created for. */
+  @NonNull
+  Messages.PlatformTileOverlay getTileProviderOptions() {
+    return tileProviderOptions;
   }
 
   void remove() {
     tileOverlay.remove();
   }
 
+  /**
+   * Clears the cached tiles of the map and of the tile provider, so that all tiles are reloaded.
+   */
   void clearTileCache() {
+    tileProvider.clearTileCache();
     tileOverlay.clearTileCache();
   }
 
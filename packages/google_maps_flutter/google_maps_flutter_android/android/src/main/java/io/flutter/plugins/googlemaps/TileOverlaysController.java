@@ -4,25 +4,38 @@
 
 package io.flutter.plugins.googlemaps;
 
+import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileOverlayOptions;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 class TileOverlaysController {
+  private static final String TAG = "TileOverlaysController";
 
   private final Map<String, TileOverlayController> tileOverlayIdToController;
   private final MapsCallbackApi flutterApi;
+  private final @Nullable File cacheDirectory;
   private GoogleMap googleMap;
 
-  TileOverlaysController(MapsCallbackApi flutterApi) {
+  /**
+   * Creates the controller of the tile overlays of a map.
+   *
+   * @param flutterApi the API tiles are requested from.
+   * @param cacheDirectory the directory tiles are cached in on disk, for the tile overlays with a
+   *     disk cache.
+   */
+  TileOverlaysController(MapsCallbackApi flutterApi, @Nullable File cacheDirectory) {
     this.tileOverlayIdToController = new HashMap<>();
     this.flutterApi = flutterApi;
+    this.cacheDirectory = cacheDirectory;
   }
 
   void setGoogleMap(GoogleMap googleMap) {
@@ -79,21 +92,65 @@ class TileOverlaysController {
     TileOverlayBuilder tileOverlayOptionsBuilder = new TileOverlayBuilder();
     String tileOverlayId =
         Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayOptionsBuilder);
-    TileProviderController tileProviderController =
-        new TileProviderController(flutterApi, tileOverlayId);
-    tileOverlayOptionsBuilder.setTileProvider(tileProviderController);
+    CachedTileProvider tileProvider = createTileProvider(platformTileOverlay);
+    tileOverlayOptionsBuilder.setTileProvider(tileProvider);
     TileOverlayOptions options = tileOverlayOptionsBuilder.build();
     TileOverlay tileOverlay = googleMap.addTileOverlay(options);
-    TileOverlayController tileOverlayController = new TileOverlayController(tileOverlay);
+    TileOverlayController tileOverlayController =
+        new TileOverlayController(tileOverlay, tileProvider, platformTileOverlay);
     tileOverlayIdToController.put(tileOverlayId, tileOverlayController);
   }
 
+  /**
+   * Creates the tile provider of a tile overlay, which fetches the tiles from the URL template of
+   * the tile overlay if it has a valid one, and requests them from Dart otherwise.
+   */
+  @NonNull
+  private CachedTileProvider createTileProvider(
+      @NonNull Messages.PlatformTileOverlay platformTileOverlay) {
+    String tileOverlayId = platformTileOverlay.getTileOverlayId();
+    TileCache tileCache =
+        TileCache.create(
+            cacheDirectory,
+            tileOverlayId,
+            Math.max(0, platformTileOverlay.getDiskCacheMaxSizeBytes()));
+    String urlTemplate = platformTileOverlay.getUrlTemplate();
+    if (urlTemplate != null && !UrlTemplateTileProvider.isValidUrlTemplate(urlTemplate)) {
+      Log.e(TAG, "Not an HTTP or HTTPS URL template: " + urlTemplate);
+      urlTemplate = null;
+    }
+    if (urlTemplate == null) {
+      return new TileProviderController(flutterApi, tileOverlayId, tileCache);
+    }
+    Map<String, String> httpHeaders = platformTileOverlay.getHttpHeaders();
+    return new UrlTemplateTileProvider(
+        urlTemplate,
+        httpHeaders == null ? new HashMap<>() : new HashMap<>(httpHeaders),
+        tileCache,
+        UrlTemplateTileProvider.getSharedFetchExecutor(),
+        TileProviderController.TILE_REQUEST_TIMEOUT_MS);
+  }
+
   private void changeTileOverlay(@NonNull Messages.PlatformTileOverlay platformTileOverlay) {
     String tileOverlayId = platformTileOverlay.getTileOverlayId();
     TileOverlayController tileOverlayController = tileOverlayIdToController.get(tileOverlayId);
-    if (tileOverlayController != null) {
-      Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayController);
+    if (tileOverlayController == null) {
+      return;
+    }
+    // The tile provider of a tile overlay can't be changed, so the tile overlay is added again.
+    if (!hasSameTileProvider(tileOverlayController.getTileProviderOptions(), platformTileOverlay)) {
+      removeTileOverlay(tileOverlayId);
+      addTileOverlay(platformTileOverlay);
+      return;
     }
+    Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayController);
+  }
+
+  private static boolean hasSameTileProvider(
+      @NonNull Messages.PlatformTileOverlay a, @NonNull Messages.PlatformTileOverlay b) {
+    return a.getDiskCacheMaxSizeBytes().equals(b.getDiskCacheMaxSizeBytes())
+        && Objects.equals(a.getUrlTemplate(), b.getUrlTemplate())
+        && Objects.equals(a.getHttpHeaders(), b.getHttpHeaders());
   }
 
   private void removeTileOverlay(String tileOverlayId) {
@@ -9,53 +9,144 @@ import android.os.Looper;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import com.google.android.gms.maps.model.Tile;
 import com.google.android.gms.maps.model.TileProvider;
 import io.flutter.plugins.googlemaps.Messages.FlutterError;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
-class TileProviderController implements TileProvider {
+/**
+ * Provides the tiles of a tile overlay by requesting them from Dart.
+ *
+ * <p>Tiles are cached in a {@link TileCache}, and concurrent requests for the same tile share a
+ * single request to Dart. A tile that Dart does not provide within the request timeout is reported
+ * as not available for now, so that the map asks for it again later instead of a tile thread being
+ * blocked indefinitely.
+ */
+class TileProviderController implements CachedTileProvider {
 
   private static final String TAG = "TileProviderController";
 
+  /** The time a tile thread waits for Dart to provide a tile. */
+  static final long TILE_REQUEST_TIMEOUT_MS = 10_000;
+
   protected final String tileOverlayId;
   protected final @NonNull MapsCallbackApi flutterApi;
-  protected final Handler handler = new Handler(Looper.getMainLooper());
+  private final @NonNull TileCache tileCache;
+  private final @NonNull Executor mainThreadExecutor;
+  private final long requestTimeoutMs;
+  // The requests to Dart that have not completed nor timed out yet, keyed by TileCache.key.
+  private final Map<String, Worker> inFlightWorkers = new HashMap<>();
+  // Incremented when the cache is cleared, so that tiles requested before are not cached.
+  private int cacheGeneration;
+
+  TileProviderController(
+      @NonNull MapsCallbackApi flutterApi, String tileOverlayId, @NonNull TileCache tileCache) {
+    this(
+        flutterApi,
+        tileOverlayId,
+        tileCache,
+        new Handler(Looper.getMainLooper())::post,
+        TILE_REQUEST_TIMEOUT_MS);
+  }
 
-  TileProviderController(@NonNull MapsCallbackApi flutterApi, String tileOverlayId) {
+  @VisibleForTesting
+  TileProviderController(
+      @NonNull MapsCallbackApi flutterApi,
+      String tileOverlayId,
+      @NonNull TileCache tileCache,
+      @NonNull Executor mainThreadExecutor,
+      long requestTimeoutMs) {
     this.tileOverlayId = tileOverlayId;
     this.flutterApi = flutterApi;
+    this.tileCache = tileCache;
+    this.mainThreadExecutor = mainThreadExecutor;
+    this.requestTimeoutMs = requestTimeoutMs;
   }
 
   @Override
   public Tile getTile(final int x, final int y, final int zoom) {
-    Worker worker = new Worker(x, y, zoom);
-    return worker.getTile();
+    Tile cachedTile = tileCache.get(x, y, zoom);
+    if (cachedTile != null) {
+      return cachedTile;
+    }
+    String key = TileCache.key(x, y, zoom);
+    Worker worker;
+    boolean isNewRequest = false;
+    synchronized (inFlightWorkers) {
+      worker = inFlightWorkers.get(key);
+      if (worker == null) {
+        worker = new Worker(key, x, y, zoom, cacheGeneration);
+        inFlightWorkers.put(key, worker);
+        isNewRequest = true;
+      }
+    }
+    if (isNewRequest) {
+      worker.request();
+    }
+    return worker.getTile(isNewRequest);
+  }
+
+  @Override
+  public void clearTileCache() {
+    synchronized (inFlightWorkers) {
+      cacheGeneration++;
+      inFlightWorkers.clear();
+    }
+    tileCache.clear();
   }
 
   private final class Worker implements Messages.Result<Messages.PlatformTile> {
 
     private final CountDownLatch countDownLatch = new CountDownLatch(1);
+    private final String key;
     private final int x;
     private final int y;
     private final int zoom;
-    private @Nullable Messages.PlatformTile result;
+    private final int generation;
+    private volatile @Nullable Tile result;
 
-    Worker(int x, int y, int zoom) {
+    Worker(String key, int x, int y, int zoom, int generation) {
+      this.key = key;
       this.x = x;
       this.y = y;
       this.zoom = zoom;
+      this.generation = generation;
     }
 
-    @NonNull
-    Tile getTile() {
+    void request() {
       final Messages.PlatformPoint location =
           new Messages.PlatformPoint.Builder().setX((long) x).setY((long) y).build();
-      handler.post(() -> flutterApi.getTileOverlayTile(tileOverlayId, location, (long) zoom, this));
+      mainThreadExecutor.execute(
+          () -> flutterApi.getTileOverlayTile(tileOverlayId, location, (long) zoom, this));
+    }
+
+    /**
+     * Waits for the tile.
+     *
+     * @param isRequester whether the calling thread made the request, and stores the tile on disk.
+     * @return the tile, {@link TileProvider#NO_TILE} if Dart failed to provide it, or null if it
+     *     was not provided in time.
+     */
+    @Nullable
+    Tile getTile(boolean isRequester) {
       try {
-        // `flutterApi.getTileOverlayTile` is async, so use a `countDownLatch` to make it synchronized.
-        countDownLatch.await();
+        // `flutterApi.getTileOverlayTile` is async, so use a `countDownLatch` to make it
+        // synchronized.
+        if (!countDownLatch.await(requestTimeoutMs, TimeUnit.MILLISECONDS)) {
+          Log.w(
+              TAG,
+              String.format("Timed out waiting for tile: x = %d, y= %d, zoom = %d", x, y, zoom));
+          // Lets the next request for the tile ask Dart again. The tile is still cached if Dart
+          // provides it later.
+          removeFromInFlightWorkers();
+          return null;
+        }
       } catch (InterruptedException e) {
         Log.e(
             TAG,
@@ -63,24 +154,43 @@ class TileProviderController implements TileProvider {
             e);
         return TileProvider.NO_TILE;
       }
-      try {
-        if (result == null) {
-          Log.e(
-              TAG,
-              String.format(
-                  "Did not receive tile data for tile: x = %d, y= %d, zoom = %d", x, y, zoom));
-          return TileProvider.NO_TILE;
-        }
-        return Convert.tileFromPigeon(result);
-      } catch (Exception e) {
-        Log.e(TAG, "Can't parse tile data", e);
+      Tile tile = result;
+      if (tile == null) {
         return TileProvider.NO_TILE;
       }
+      if (isRequester && isCurrentGeneration()) {
+        tileCache.put(x, y, zoom, tile);
+      }
+      return tile;
+    }
+
+    private boolean isCurrentGeneration() {
+      synchronized (inFlightWorkers) {
+        return generation == cacheGeneration;
+      }
+    }
+
+    private void removeFromInFlightWorkers() {
+      synchronized (inFlightWorkers) {
+        if (inFlightWorkers.get(key) == this) {
+          inFlightWorkers.remove(key);
+        }
+      }
     }
 
     @Override
     public void success(@NonNull Messages.PlatformTile result) {
-      this.result = result;
+      try {
+        Tile tile = Convert.tileFromPigeon(result);
+        this.result = tile;
+        // The requesting thread also stores the tile on disk, unless it timed out.
+        if (isCurrentGeneration()) {
+          tileCache.putInMemory(x, y, zoom, tile);
+        }
+      } catch (Exception e) {
+        Log.e(TAG, "Can't parse tile data", e);
+      }
+      removeFromInFlightWorkers();
       countDownLatch.countDown();
     }
 
@@ -100,6 +210,7 @@ class TileProviderController implements TileProvider {
         Log.e(TAG, "Can't get tile: " + error);
       }
       result = null;
+      removeFromInFlightWorkers();
       countDownLatch.countDown();
     }
   }
@@ -0,0 +1,250 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.graphics.BitmapFactory;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.Tile;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Provides the tiles of a tile overlay by fetching them from a URL template, without involving
+ * Dart.
+ *
+ * <p>The template holds the {@code {x}}, {@code {y}} and {@code {z}} placeholders, e.g. {@code
+ * https://tile.example.com/{z}/{x}/{y}.png}. Tiles are fetched on a bounded executor shared by all
+ * maps, and cached in a {@link TileCache}. Concurrent requests for the same tile share a single
+ * fetch.
+ *
+ * <p>Tiles that are not found are reported as {@link #NO_TILE}. Tiles that fail to load because of
+ * a network or server error, or that do not load within {@link
+ * TileProviderController#TILE_REQUEST_TIMEOUT_MS}, are reported as not available for now, so that
+ * the map requests them again later.
+ */
+class UrlTemplateTileProvider implements CachedTileProvider {
+  private static final String TAG = "UrlTemplateTileProvider";
+
+  static final int CONNECT_TIMEOUT_MS = 10_000;
+  static final int READ_TIMEOUT_MS = 10_000;
+
+  private static final int MAX_FETCH_THREAD_COUNT = 4;
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+  @Nullable private static Executor sharedFetchExecutor;
+
+  private final @NonNull String urlTemplate;
+  private final @NonNull Map<String, String> httpHeaders;
+  private final @NonNull TileCache tileCache;
+  private final @NonNull Executor fetchExecutor;
+  private final long requestTimeoutMs;
+  // The fetches that have not completed yet, keyed by TileCache.key.
+  private final Map<String, FutureTask<Tile>> inFlightFetches = new HashMap<>();
+  // Incremented when the cache is cleared, so that tiles fetched before are not cached.
+  private int cacheGeneration;
+
+  UrlTemplateTileProvider(
+      @NonNull String urlTemplate,
+      @NonNull Map<String, String> httpHeaders,
+      @NonNull TileCache tileCache,
+      @NonNull Executor fetchExecutor,
+      long requestTimeoutMs) {
+    this.urlTemplate = urlTemplate;
+    this.httpHeaders = httpHeaders;
+    this.tileCache = tileCache;
+    this.fetchExecutor = fetchExecutor;
+    this.requestTimeoutMs = requestTimeoutMs;
+  }
+
+  /** Returns the executor the tiles of all URL template tile overlays are fetched on. */
+  @NonNull
+  static synchronized Executor getSharedFetchExecutor() {
+    if (sharedFetchExecutor == null) {
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              MAX_FETCH_THREAD_COUNT,
+              MAX_FETCH_THREAD_COUNT,
+              30,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              runnable -> {
+                Thread thread = new Thread(runnable, "GoogleMapsTileFetcher");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.allowCoreThreadTimeOut(true);
+      sharedFetchExecutor = executor;
+    }
+    return sharedFetchExecutor;
+  }
+
+  /** Returns whether {@code urlTemplate} is an HTTP or HTTPS URL template. */
+  static boolean isValidUrlTemplate(@NonNull String urlTemplate) {
+    return urlTemplate.startsWith("https://") || urlTemplate.startsWith("http://");
+  }
+
+  @NonNull
+  String getTileUrl(int x, int y, int zoom) {
+    return urlTemplate
+        .replace("{x}", Integer.toString(x))
+        .replace("{y}", Integer.toString(y))
+        .replace("{z}", Integer.toString(zoom));
+  }
+
+  @Override
+  @Nullable
+  public Tile getTile(int x, int y, int zoom) {
+    Tile cachedTile = tileCache.get(x, y, zoom);
+    if (cachedTile != null) {
+      return cachedTile;
+    }
+    String key = TileCache.key(x, y, zoom);
+    FutureTask<Tile> fetch;
+    boolean isNewFetch = false;
+    synchronized (inFlightFetches) {
+      fetch = inFlightFetches.get(key);
+      if (fetch == null) {
+        final int generation = cacheGeneration;
+        fetch = new FutureTask<>(() -> fetchTile(key, x, y, zoom, generation));
+        inFlightFetches.put(key, fetch);
+        isNewFetch = true;
+      }
+    }
+    if (isNewFetch) {
+      fetchExecutor.execute(fetch);
+    }
+    try {
+      return fetch.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // The fetch goes on, and caches the tile for the next request.
+      Log.w(TAG, "Timed out fetching tile " + getTileUrl(x, y, zoom));
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      Log.e(TAG, "Can't fetch tile " + getTileUrl(x, y, zoom), e);
+      return NO_TILE;
+    }
+  }
+
+  @Override
+  public void clearTileCache() {
+    synchronized (inFlightFetches) {
+      cacheGeneration++;
+      inFlightFetches.clear();
+    }
+    tileCache.clear();
+  }
+
+  @Nullable
+  private Tile fetchTile(@NonNull String key, int x, int y, int zoom, int generation) {
+    try {
+      Tile tile = downloadTile(x, y, zoom);
+      if (tile != null && tile != NO_TILE) {
+        synchronized (inFlightFetches) {
+          if (generation != cacheGeneration) {
+            return tile;
+          }
+        }
+        tileCache.put(x, y, zoom, tile);
+      }
+      return tile;
+    } finally {
+      synchronized (inFlightFetches) {
+        if (generation == cacheGeneration) {
+          inFlightFetches.remove(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Downloads and decodes a tile.
+   *
+   * @return the tile, {@link #NO_TILE} if there is no tile at the given coordinates, or null if it
+   *     failed to download and may be downloaded later.
+   */
+  @Nullable
+  private Tile downloadTile(int x, int y, int zoom) {
+    String url = getTileUrl(x, y, zoom);
+    HttpURLConnection connection = null;
+    try {
+      connection = openConnection(new URL(url));
+      connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+      connection.setReadTimeout(READ_TIMEOUT_MS);
+      for (Map.Entry<String, String> header : httpHeaders.entrySet()) {
+        connection.setRequestProperty(header.getKey(), header.getValue());
+      }
+      int responseCode = connection.getResponseCode();
+      if (responseCode == HttpURLConnection.HTTP_OK) {
+        // Reading the body to the end and closing the stream, without disconnecting, lets the next
+        // tile reuse the connection.
+        try (InputStream input = connection.getInputStream()) {
+          return decodeTile(readFully(input));
+        }
+      }
+      connection.disconnect();
+      if (responseCode == HTTP_TOO_MANY_REQUESTS || responseCode >= 500) {
+        Log.w(TAG, "Can't fetch tile " + url + ": HTTP " + responseCode);
+        return null;
+      }
+      return NO_TILE;
+    } catch (IOException e) {
+      if (connection != null) {
+        connection.disconnect();
+      }
+      Log.w(TAG, "Can't fetch tile " + url, e);
+      return null;
+    }
+  }
+
+  @VisibleForTesting
+  @NonNull
+  HttpURLConnection openConnection(@NonNull URL url) throws IOException {
+    return (HttpURLConnection) url.openConnection();
+  }
+
+  /** Returns the tile of an encoded image, or {@link #NO_TILE} if the image can't be decoded. */
+  @VisibleForTesting
+  @NonNull
+  Tile decodeTile(@NonNull byte[] data) {
+    // Only the size of the tile is needed, the map decodes the image itself.
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    BitmapFactory.decodeByteArray(data, 0, data.length, options);
+    if (options.outWidth <= 0 || options.outHeight <= 0) {
+      Log.e(TAG, "Can't decode tile of " + data.length + " bytes");
+      return NO_TILE;
+    }
+    return new Tile(options.outWidth, options.outHeight, data);
+  }
+
+  @NonNull
+  private static byte[] readFully(@NonNull InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[16 * 1024];
+    int count;
+    while ((count = input.read(buffer)) != -1) {
+      output.write(buffer, 0, count);
+    }
+    return output.toByteArray();
+  }
+}
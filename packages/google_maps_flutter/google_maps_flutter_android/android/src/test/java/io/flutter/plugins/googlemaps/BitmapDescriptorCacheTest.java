@@ -0,0 +1,137 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class BitmapDescriptorCacheTest {
+  @Mock private Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper;
+  @Mock private Bitmap bitmap;
+
+  private AutoCloseable mocksClosable;
+  private int loadCount;
+
+  @Before
+  public void setUp() {
+    mocksClosable = MockitoAnnotations.openMocks(this);
+    when(bitmap.getByteCount()).thenReturn(1000);
+    when(bitmapDescriptorFactoryWrapper.fromBitmap(any()))
+        .thenAnswer(invocation -> mock(BitmapDescriptor.class));
+  }
+
+  @After
+  public void close() throws Exception {
+    mocksClosable.close();
+  }
+
+  private static Messages.PlatformBitmapBytesMap bytesMap(byte[] bytes, Double width) {
+    return new Messages.PlatformBitmapBytesMap.Builder()
+        .setByteData(bytes)
+        .setBitmapScaling(Messages.PlatformMapBitmapScaling.AUTO)
+        .setImagePixelRatio(2.0)
+        .setWidth(width)
+        .build();
+  }
+
+  private BitmapDescriptor get(BitmapDescriptorCache cache, BitmapDescriptorCache.Key key) {
+    return cache.get(
+        key,
+        bitmapDescriptorFactoryWrapper,
+        factory -> {
+          loadCount++;
+          return factory.fromBitmap(bitmap);
+        });
+  }
+
+  @Test
+  public void getReturnsCachedDescriptorForEqualBytes() {
+    BitmapDescriptorCache cache = new BitmapDescriptorCache(1 << 20);
+
+    BitmapDescriptor first =
+        get(cache, BitmapDescriptorCache.Key.forBytes(bytesMap(new byte[] {1, 2, 3}, 10.0), 2f));
+    BitmapDescriptor second =
+        get(cache, BitmapDescriptorCache.Key.forBytes(bytesMap(new byte[] {1, 2, 3}, 10.0), 2f));
+
+    assertSame(first, second);
+    assertEquals(1, loadCount);
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.missCount());
+  }
+
+  @Test
+  public void getLoadsDescriptorForDifferentBytesOrScaling() {
+    BitmapDescriptorCache cache = new BitmapDescriptorCache(1 << 20);
+    byte[] bytes = new byte[] {1, 2, 3};
+
+    get(cache, BitmapDescriptorCache.Key.forBytes(bytesMap(bytes, 10.0), 2f));
+    get(cache, BitmapDescriptorCache.Key.forBytes(bytesMap(new byte[] {1, 2, 4}, 10.0), 2f));
+    get(cache, BitmapDescriptorCache.Key.forBytes(bytesMap(bytes, 20.0), 2f));
+    get(cache, BitmapDescriptorCache.Key.forBytes(bytesMap(bytes, 10.0), 3f));
+
+    assertEquals(4, loadCount);
+    assertEquals(0, cache.hitCount());
+  }
+
+  @Test
+  public void assetKeysAreKeyedByAssetName() {
+    Messages.PlatformBitmapAssetMap.Builder builder =
+        new Messages.PlatformBitmapAssetMap.Builder()
+            .setBitmapScaling(Messages.PlatformMapBitmapScaling.NONE)
+            .setImagePixelRatio(1.0);
+    BitmapDescriptorCache.Key key =
+        BitmapDescriptorCache.Key.forAsset(builder.setAssetName("a.png").build(), 1f);
+
+    assertEquals(
+        key, BitmapDescriptorCache.Key.forAsset(builder.setAssetName("a.png").build(), 1f));
+    assertNotEquals(
+        key, BitmapDescriptorCache.Key.forAsset(builder.setAssetName("b.png").build(), 1f));
+  }
+
+  @Test
+  public void getEvictsLeastRecentlyUsedDescriptorsBeyondMaxSize() {
+    // Holds two entries of 1000 bitmap bytes and 3 key bytes each.
+    BitmapDescriptorCache cache = new BitmapDescriptorCache(2500);
+    BitmapDescriptorCache.Key key1 =
+        BitmapDescriptorCache.Key.forBytes(bytesMap(new byte[] {1, 1, 1}, null), 1f);
+    BitmapDescriptorCache.Key key2 =
+        BitmapDescriptorCache.Key.forBytes(bytesMap(new byte[] {2, 2, 2}, null), 1f);
+    BitmapDescriptorCache.Key key3 =
+        BitmapDescriptorCache.Key.forBytes(bytesMap(new byte[] {3, 3, 3}, null), 1f);
+
+    get(cache, key1);
+    get(cache, key2);
+    get(cache, key1);
+    get(cache, key3);
+    get(cache, key2);
+
+    assertEquals(4, loadCount);
+    Messages.PlatformMarkerIconCacheStats stats = cache.getStats();
+    assertEquals(1L, (long) stats.getHitCount());
+    assertEquals(4L, (long) stats.getMissCount());
+    assertEquals(0.2, stats.getHitRate(), 1e-9);
+    assertEquals(2L, (long) stats.getEvictionCount());
+    assertEquals(2006L, (long) stats.getSizeBytes());
+    assertEquals(2500L, (long) stats.getMaxSizeBytes());
+  }
+}
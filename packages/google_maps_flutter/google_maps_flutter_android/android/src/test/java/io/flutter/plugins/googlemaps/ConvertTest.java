@@ -43,7 +43,6 @@ import io.flutter.plugins.googlemaps.Convert.FlutterInjectorWrapper;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.junit.After;
@@ -88,12 +87,20 @@ public class ConvertTest {
   public void ConvertPointsFromPigeonConvertsThePointsWithFullPrecision() {
     double latitude = 43.03725568057;
     double longitude = -87.90466904649;
-    Messages.PlatformLatLng platLng =
-        new Messages.PlatformLatLng.Builder().setLatitude(latitude).setLongitude(longitude).build();
-    List<LatLng> latLngs = Convert.pointsFromPigeon(Collections.singletonList(platLng));
+    List<LatLng> latLngs =
+        Convert.pointsFromPigeon(new double[] {latitude, longitude, -latitude, -longitude});
+    Assert.assertEquals(2, latLngs.size());
     LatLng latLng = latLngs.get(0);
     Assert.assertEquals(latitude, latLng.latitude, 1e-15);
     Assert.assertEquals(longitude, latLng.longitude, 1e-15);
+    LatLng secondLatLng = latLngs.get(1);
+    Assert.assertEquals(-latitude, secondLatLng.latitude, 1e-15);
+    Assert.assertEquals(-longitude, secondLatLng.longitude, 1e-15);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ConvertPointsFromPigeonThrowsForUnpairedValues() {
+    Convert.pointsFromPigeon(new double[] {43.0, -87.9, 44.0});
   }
 
   @Test
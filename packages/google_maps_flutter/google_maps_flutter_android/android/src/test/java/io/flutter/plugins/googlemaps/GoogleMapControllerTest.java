@@ -4,13 +4,16 @@
 
 package io.flutter.plugins.googlemaps;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.content.Context;
 import android.os.Build;
@@ -27,6 +30,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.Robolectric;
@@ -248,4 +252,46 @@ public class GoogleMapControllerTest {
     verify(mockHeatmapsController, times(1)).changeHeatmaps(toChange);
     verify(mockHeatmapsController, times(1)).removeHeatmaps(idsToRemove);
   }
+
+  @Test
+  public void UpdateMarkers() {
+    GoogleMapController googleMapController = getGoogleMapControllerWithMockedDependencies();
+
+    final List<Messages.PlatformMarker> toAdd = List.of(new Messages.PlatformMarker());
+    final List<Messages.PlatformMarker> toChange = List.of(new Messages.PlatformMarker());
+    final List<String> idsToRemove = List.of("marker_1");
+    final Messages.VoidResult result = mock(Messages.VoidResult.class);
+
+    googleMapController.updateMarkers(toAdd, toChange, idsToRemove, result);
+
+    verify(mockMarkersController, times(1)).updateMarkers(toAdd, toChange, idsToRemove, result);
+  }
+
+  @Test
+  public void GetMarkerIconCacheStats() {
+    GoogleMapController googleMapController = getGoogleMapControllerWithMockedDependencies();
+    final Messages.PlatformMarkerIconCacheStats stats =
+        new Messages.PlatformMarkerIconCacheStats.Builder()
+            .setHitCount(1L)
+            .setMissCount(3L)
+            .setHitRate(0.25)
+            .setEvictionCount(0L)
+            .setSizeBytes(100L)
+            .setMaxSizeBytes(1000L)
+            .build();
+    when(mockMarkersController.getIconCacheStats()).thenReturn(stats);
+
+    assertEquals(stats, googleMapController.getMarkerIconCacheStats());
+  }
+
+  @Test
+  public void GetClustersAppliesPendingMarkerUpdatesFirst() {
+    GoogleMapController googleMapController = getGoogleMapControllerWithMockedDependencies();
+
+    googleMapController.getClusters("cm_1");
+
+    InOrder inOrder = inOrder(mockMarkersController, mockClusterManagersController);
+    inOrder.verify(mockMarkersController).applyPendingUpdatesNow();
+    inOrder.verify(mockClusterManagersController).getClustersWithClusterManagerId("cm_1");
+  }
 }
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
@@ -18,6 +19,7 @@ import android.graphics.Bitmap;
 import android.os.Build;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
@@ -25,8 +27,11 @@ import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -100,7 +105,10 @@ public class MarkersControllerTest {
             clusterManagersController,
             assetManager,
             density,
-            bitmapDescriptorFactoryWrapper);
+            bitmapDescriptorFactoryWrapper,
+            new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_SIZE_BYTES),
+            Runnable::run,
+            Runnable::run);
     googleMap = mock(GoogleMap.class);
     markerManager = new MarkerManager(googleMap);
     markerCollection = markerManager.newCollection();
@@ -108,6 +116,21 @@ public class MarkersControllerTest {
     clusterManagersController.init(googleMap, markerManager);
   }
 
+  private MarkersController createControllerWithIconDecodeExecutor(Executor iconDecodeExecutor) {
+    MarkersController controller =
+        new MarkersController(
+            flutterApi,
+            clusterManagersController,
+            assetManager,
+            density,
+            bitmapDescriptorFactoryWrapper,
+            new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_SIZE_BYTES),
+            iconDecodeExecutor,
+            Runnable::run);
+    controller.setCollection(markerCollection);
+    return controller;
+  }
+
   @After
   public void close() throws Exception {
     mocksClosable.close();
@@ -174,6 +197,126 @@ public class MarkersControllerTest {
         .onMarkerDrag(eq(googleMarkerId), eq(Convert.latLngToPigeon(latLng)), any());
   }
 
+  @Test
+  public void controller_AddMarkersSharingAnIconDecodesItOnce() {
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(mock(Marker.class));
+
+    controller.addMarkers(
+        Arrays.asList(
+            defaultMarkerBuilder().setMarkerId("marker1").build(),
+            defaultMarkerBuilder().setMarkerId("marker2").build()));
+
+    Mockito.verify(bitmapDescriptorFactoryWrapper, times(1)).fromBitmap(any());
+  }
+
+  @Test
+  public void controller_AddsMarkersOnceIconsAreDecoded() {
+    List<Runnable> decodeTasks = new ArrayList<>();
+    MarkersController controller = createControllerWithIconDecodeExecutor(decodeTasks::add);
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(mock(Marker.class));
+
+    controller.addMarkers(
+        Collections.singletonList(defaultMarkerBuilder().setMarkerId("marker1").build()));
+    Mockito.verify(googleMap, never()).addMarker(any(MarkerOptions.class));
+
+    decodeTasks.get(0).run();
+    Mockito.verify(googleMap, times(1)).addMarker(any(MarkerOptions.class));
+  }
+
+  @Test
+  public void controller_SkipsMarkersThatFailToBeAdded() {
+    Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn("google_marker2");
+    when(googleMap.addMarker(any(MarkerOptions.class)))
+        .thenThrow(new IllegalArgumentException("invalid marker"))
+        .thenReturn(marker);
+
+    controller.addMarkers(
+        Arrays.asList(
+            defaultMarkerBuilder().setMarkerId("marker1").build(),
+            defaultMarkerBuilder().setMarkerId("marker2").build()));
+    controller.addMarkers(
+        Collections.singletonList(defaultMarkerBuilder().setMarkerId("marker3").build()));
+
+    Mockito.verify(googleMap, times(3)).addMarker(any(MarkerOptions.class));
+    controller.showMarkerInfoWindow("marker2");
+    Mockito.verify(marker, times(1)).showInfoWindow();
+  }
+
+  @Test
+  public void controller_UpdateMarkersCompletesOnceMarkersAreAdded() {
+    List<Runnable> decodeTasks = new ArrayList<>();
+    MarkersController controller = createControllerWithIconDecodeExecutor(decodeTasks::add);
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(mock(Marker.class));
+    Messages.VoidResult result = mock(Messages.VoidResult.class);
+
+    controller.updateMarkers(
+        Collections.singletonList(defaultMarkerBuilder().setMarkerId("marker1").build()),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        result);
+    Mockito.verify(result, never()).success();
+
+    decodeTasks.get(0).run();
+    Mockito.verify(googleMap, times(1)).addMarker(any(MarkerOptions.class));
+    Mockito.verify(result, times(1)).success();
+  }
+
+  @Test
+  public void controller_UpdateMarkersReportsMarkersWhoseIconCannotBeCreated() {
+    Marker marker = mock(Marker.class);
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(marker);
+    when(bitmapDescriptorFactoryWrapper.fromBitmap(any()))
+        .thenThrow(new IllegalArgumentException("invalid icon"))
+        .thenReturn(mock(BitmapDescriptor.class));
+    Messages.VoidResult result = mock(Messages.VoidResult.class);
+
+    controller.updateMarkers(
+        Arrays.asList(
+            defaultMarkerBuilder().setMarkerId("marker1").build(),
+            defaultMarkerBuilder().setMarkerId("marker2").build()),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        result);
+
+    Mockito.verify(googleMap, times(1)).addMarker(any(MarkerOptions.class));
+    ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+    Mockito.verify(result, times(1)).error(error.capture());
+    Mockito.verify(result, never()).success();
+    assertEquals(
+        Collections.singletonList("marker1"), ((Messages.FlutterError) error.getValue()).details);
+  }
+
+  @Test
+  public void controller_ShowInfoWindowDecodesPendingIconsOnTheCallingThread() {
+    List<Runnable> decodeTasks = new ArrayList<>();
+    MarkersController controller = createControllerWithIconDecodeExecutor(decodeTasks::add);
+    Marker marker = mock(Marker.class);
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(marker);
+
+    controller.addMarkers(
+        Collections.singletonList(defaultMarkerBuilder().setMarkerId("marker1").build()));
+    controller.showMarkerInfoWindow("marker1");
+
+    Mockito.verify(marker, times(1)).showInfoWindow();
+    // The decode task does not decode the icons again.
+    decodeTasks.get(0).run();
+    Mockito.verify(googleMap, times(1)).addMarker(any(MarkerOptions.class));
+  }
+
+  @Test
+  public void controller_RemoveBeforeIconsAreDecodedDoesNotAddMarker() {
+    List<Runnable> decodeTasks = new ArrayList<>();
+    MarkersController controller = createControllerWithIconDecodeExecutor(decodeTasks::add);
+
+    controller.addMarkers(
+        Collections.singletonList(defaultMarkerBuilder().setMarkerId("marker1").build()));
+    controller.removeMarkers(Collections.singletonList("marker1"));
+    decodeTasks.get(0).run();
+
+    Mockito.verify(googleMap, never()).addMarker(any(MarkerOptions.class));
+  }
+
   @Test(expected = IllegalStateException.class)
   public void controller_AddMarkerThrowsErrorIfMarkerIdIsNull() {
     final List<Messages.PlatformMarker> markers =
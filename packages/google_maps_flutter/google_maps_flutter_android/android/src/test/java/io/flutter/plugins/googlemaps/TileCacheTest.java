@@ -0,0 +1,130 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Build;
+import android.util.LruCache;
+import com.google.android.gms.maps.model.Tile;
+import java.io.File;
+import java.io.FileOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class TileCacheTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static Tile tile(int size) {
+    return new Tile(256, 256, new byte[size]);
+  }
+
+  @Test
+  public void createStoresTilesOnDiskOnlyWithAPositiveMaxSize() throws Exception {
+    File cacheDirectory = temporaryFolder.newFolder();
+
+    TileCache.create(cacheDirectory, "memory", 0).put(0, 0, 1, tile(100));
+    TileCache.create(cacheDirectory, "disk", 1 << 20).put(0, 0, 1, tile(100));
+
+    File tilesDirectory = new File(cacheDirectory, TileCache.DISK_CACHE_DIRECTORY);
+    assertFalse(new File(tilesDirectory, "overlay_memory").exists());
+    assertTrue(
+        new File(new File(tilesDirectory, "overlay_disk"), TileCache.key(0, 0, 1) + ".tile")
+            .exists());
+  }
+
+  @Test
+  public void getReadsTilesFromDiskOnceEvictedFromMemory() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    TileCache cache = new TileCache(TileCache.createMemoryCache(150), directory, 1 << 20);
+
+    cache.put(0, 0, 1, tile(100));
+    cache.put(1, 0, 1, tile(100));
+
+    Tile tile = cache.get(0, 0, 1);
+    assertNotNull(tile);
+    assertEquals(100, tile.data.length);
+    assertNull(cache.get(0, 1, 1));
+  }
+
+  @Test
+  public void putDeletesLeastRecentlyUsedFilesBeyondMaxSize() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    // Each file holds 12 bytes of header and 100 bytes of data.
+    TileCache cache = new TileCache(TileCache.createMemoryCache(1), directory, 250);
+
+    cache.put(0, 0, 1, tile(100));
+    new File(directory, TileCache.key(0, 0, 1) + ".tile").setLastModified(1000);
+    cache.put(1, 0, 1, tile(100));
+    new File(directory, TileCache.key(1, 0, 1) + ".tile").setLastModified(2000);
+    cache.put(2, 0, 1, tile(100));
+
+    assertNull(cache.get(0, 0, 1));
+    assertNotNull(cache.get(1, 0, 1));
+    assertNotNull(cache.get(2, 0, 1));
+  }
+
+  @Test
+  public void getIgnoresAndDeletesInvalidFiles() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    File file = new File(directory, TileCache.key(0, 0, 1) + ".tile");
+    try (FileOutputStream output = new FileOutputStream(file)) {
+      output.write(new byte[] {0, 0, 1, 0, 0, 0, 1, 0, 127, 0, 0, 0});
+    }
+    TileCache cache = new TileCache(TileCache.createMemoryCache(1 << 20), directory, 1 << 20);
+
+    assertNull(cache.get(0, 0, 1));
+    assertEquals(0, directory.listFiles().length);
+
+    cache.put(0, 0, 1, tile(3));
+    assertArrayEquals(new byte[3], cache.get(0, 0, 1).data);
+  }
+
+  @Test
+  public void memoryCacheIsSharedAndClearedPerTileOverlay() {
+    LruCache<String, Tile> memoryCache = TileCache.createMemoryCache(250);
+    TileCache first = new TileCache(memoryCache, null, 0);
+    TileCache second = new TileCache(memoryCache, null, 0);
+
+    first.put(0, 0, 1, tile(100));
+    second.put(0, 0, 1, tile(100));
+    second.put(1, 0, 1, tile(100));
+
+    // The caches share the size limit, but not their tiles.
+    assertNull(first.get(0, 0, 1));
+    assertNotNull(second.get(0, 0, 1));
+    second.clear();
+    assertNull(second.get(1, 0, 1));
+    assertEquals(0, memoryCache.size());
+  }
+
+  @Test
+  public void cachesWithTheSameDirectoryShareTheDiskSizeLimit() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    TileCache first = new TileCache(TileCache.createMemoryCache(1), directory, 250);
+    TileCache second = new TileCache(TileCache.createMemoryCache(1), directory, 250);
+
+    first.put(0, 0, 1, tile(100));
+    new File(directory, TileCache.key(0, 0, 1) + ".tile").setLastModified(1000);
+    second.put(1, 0, 1, tile(100));
+    new File(directory, TileCache.key(1, 0, 1) + ".tile").setLastModified(2000);
+    first.put(2, 0, 1, tile(100));
+
+    assertEquals(2, directory.listFiles().length);
+    assertNull(second.get(0, 0, 1));
+    assertNotNull(second.get(2, 0, 1));
+  }
+}
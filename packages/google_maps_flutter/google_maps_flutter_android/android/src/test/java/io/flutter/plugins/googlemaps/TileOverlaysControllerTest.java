@@ -0,0 +1,129 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Build;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.TileOverlay;
+import com.google.android.gms.maps.model.TileOverlayOptions;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class TileOverlaysControllerTest {
+  @Mock GoogleMap mockGoogleMap;
+  @Mock Messages.MapsCallbackApi flutterApi;
+  AutoCloseable mockCloseable;
+  TileOverlaysController controller;
+
+  @Before
+  public void setUp() {
+    mockCloseable = MockitoAnnotations.openMocks(this);
+    when(mockGoogleMap.addTileOverlay(any(TileOverlayOptions.class)))
+        .thenAnswer(invocation -> mock(TileOverlay.class));
+    controller = new TileOverlaysController(flutterApi, null);
+    controller.setGoogleMap(mockGoogleMap);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    mockCloseable.close();
+  }
+
+  private static Messages.PlatformTileOverlay.Builder tileOverlayBuilder() {
+    return new Messages.PlatformTileOverlay.Builder()
+        .setTileOverlayId("overlay")
+        .setFadeIn(true)
+        .setTransparency(0.0)
+        .setZIndex(0L)
+        .setVisible(true)
+        .setTileSize(256L)
+        .setDiskCacheMaxSizeBytes(0L);
+  }
+
+  private List<TileOverlayOptions> captureAddedTileOverlays(int count) {
+    ArgumentCaptor<TileOverlayOptions> options = ArgumentCaptor.forClass(TileOverlayOptions.class);
+    verify(mockGoogleMap, times(count)).addTileOverlay(options.capture());
+    return options.getAllValues();
+  }
+
+  @Test
+  public void addTileOverlays_requestsTilesFromDartWithoutUrlTemplate() {
+    controller.addTileOverlays(Collections.singletonList(tileOverlayBuilder().build()));
+
+    assertTrue(
+        captureAddedTileOverlays(1).get(0).getTileProvider() instanceof TileProviderController);
+  }
+
+  @Test
+  public void addTileOverlays_fetchesTilesFromUrlTemplate() {
+    controller.addTileOverlays(
+        Collections.singletonList(
+            tileOverlayBuilder()
+                .setUrlTemplate("https://tile.example.com/{z}/{x}/{y}.png")
+                .setHttpHeaders(Collections.singletonMap("User-Agent", "test"))
+                .build()));
+
+    assertTrue(
+        captureAddedTileOverlays(1).get(0).getTileProvider() instanceof UrlTemplateTileProvider);
+  }
+
+  @Test
+  public void addTileOverlays_requestsTilesFromDartWithInvalidUrlTemplate() {
+    controller.addTileOverlays(
+        Collections.singletonList(
+            tileOverlayBuilder().setUrlTemplate("file:///tiles/{z}/{x}/{y}.png").build()));
+
+    assertTrue(
+        captureAddedTileOverlays(1).get(0).getTileProvider() instanceof TileProviderController);
+  }
+
+  @Test
+  public void changeTileOverlays_addsTileOverlayAgainWhenUrlTemplateChanges() {
+    controller.addTileOverlays(Collections.singletonList(tileOverlayBuilder().build()));
+    TileOverlay tileOverlay = controller.getTileOverlay("overlay");
+
+    controller.changeTileOverlays(
+        Collections.singletonList(
+            tileOverlayBuilder()
+                .setUrlTemplate("https://tile.example.com/{z}/{x}/{y}.png")
+                .build()));
+
+    verify(tileOverlay).remove();
+    assertTrue(
+        captureAddedTileOverlays(2).get(1).getTileProvider() instanceof UrlTemplateTileProvider);
+  }
+
+  @Test
+  public void changeTileOverlays_keepsTileOverlayWhenTileProviderIsUnchanged() {
+    controller.addTileOverlays(Collections.singletonList(tileOverlayBuilder().build()));
+    TileOverlay tileOverlay = controller.getTileOverlay("overlay");
+
+    controller.changeTileOverlays(
+        Collections.singletonList(tileOverlayBuilder().setZIndex(2L).build()));
+
+    verify(tileOverlay, never()).remove();
+    verify(tileOverlay).setZIndex(2f);
+    captureAddedTileOverlays(1);
+  }
+}
@@ -0,0 +1,209 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.Build;
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class TileProviderControllerTest {
+  private static final String TILE_OVERLAY_ID = "tile_overlay_1";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Mock private MapsCallbackApi flutterApi;
+
+  private AutoCloseable mocksClosable;
+  // The results of the tile requests to Dart that have not been answered yet.
+  private final List<Messages.Result<Messages.PlatformTile>> pendingResults = new ArrayList<>();
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    mocksClosable = MockitoAnnotations.openMocks(this);
+    doAnswer(
+            invocation -> {
+              synchronized (pendingResults) {
+                pendingResults.add(invocation.getArgument(3));
+              }
+              return null;
+            })
+        .when(flutterApi)
+        .getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), any(), any());
+  }
+
+  @After
+  public void close() throws Exception {
+    mocksClosable.close();
+  }
+
+  private TileProviderController createController(TileCache tileCache, long requestTimeoutMs) {
+    return new TileProviderController(
+        flutterApi, TILE_OVERLAY_ID, tileCache, Runnable::run, requestTimeoutMs);
+  }
+
+  private static TileCache createMemoryCache() {
+    return new TileCache(TileCache.createMemoryCache(TileCache.MEMORY_MAX_SIZE_BYTES), null, 0);
+  }
+
+  private static TileCache createDiskCache(File directory) {
+    return new TileCache(
+        TileCache.createMemoryCache(TileCache.MEMORY_MAX_SIZE_BYTES), directory, 1 << 20);
+  }
+
+  private static Messages.PlatformTile platformTile(byte[] data) {
+    return new Messages.PlatformTile.Builder().setWidth(256L).setHeight(256L).setData(data).build();
+  }
+
+  // Answers the next pending tile request with `data` once it has been made.
+  private Thread answerNextRequest(byte[] data) {
+    Thread thread =
+        new Thread(
+            () -> {
+              while (true) {
+                synchronized (pendingResults) {
+                  if (!pendingResults.isEmpty()) {
+                    pendingResults.remove(0).success(platformTile(data));
+                    return;
+                  }
+                }
+                Thread.yield();
+              }
+            });
+    thread.start();
+    return thread;
+  }
+
+  @Test
+  public void getTile_ReturnsCachedTileWithoutRequestingItAgain() throws Exception {
+    TileProviderController controller = createController(createMemoryCache(), 10_000);
+    byte[] data = new byte[] {1, 2, 3};
+
+    Thread answer = answerNextRequest(data);
+    Tile first = controller.getTile(1, 2, 3);
+    answer.join();
+    Tile second = controller.getTile(1, 2, 3);
+
+    assertArrayEquals(data, first.data);
+    assertSame(first, second);
+    verify(flutterApi, times(1)).getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), eq(3L), any());
+  }
+
+  @Test
+  public void getTile_CoalescesConcurrentRequestsForTheSameTile() throws Exception {
+    TileProviderController controller = createController(createMemoryCache(), 10_000);
+    AtomicReference<Tile> first = new AtomicReference<>();
+    AtomicReference<Tile> second = new AtomicReference<>();
+    Thread firstThread = new Thread(() -> first.set(controller.getTile(1, 2, 3)));
+    Thread secondThread = new Thread(() -> second.set(controller.getTile(1, 2, 3)));
+
+    firstThread.start();
+    secondThread.start();
+    // Answers once both threads wait for the tile.
+    while (firstThread.getState() != Thread.State.TIMED_WAITING
+        || secondThread.getState() != Thread.State.TIMED_WAITING) {
+      Thread.yield();
+    }
+    synchronized (pendingResults) {
+      assertEquals(1, pendingResults.size());
+      pendingResults.remove(0).success(platformTile(new byte[] {1}));
+    }
+    firstThread.join();
+    secondThread.join();
+
+    assertSame(first.get(), second.get());
+    verify(flutterApi, times(1)).getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), any(), any());
+  }
+
+  @Test
+  public void getTile_ReturnsNullOnTimeoutAndCachesTileProvidedLater() {
+    TileProviderController controller = createController(createMemoryCache(), 10);
+
+    assertNull(controller.getTile(1, 2, 3));
+    synchronized (pendingResults) {
+      pendingResults.remove(0).success(platformTile(new byte[] {1}));
+    }
+    Tile tile = controller.getTile(1, 2, 3);
+
+    assertArrayEquals(new byte[] {1}, tile.data);
+    verify(flutterApi, times(1)).getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), any(), any());
+  }
+
+  @Test
+  public void getTile_ReturnsNoTileOnError() {
+    TileProviderController controller = createController(createMemoryCache(), 10_000);
+    doAnswer(
+            invocation -> {
+              Messages.Result<Messages.PlatformTile> result = invocation.getArgument(3);
+              result.error(new Messages.FlutterError("error", "message", null));
+              return null;
+            })
+        .when(flutterApi)
+        .getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), any(), any());
+
+    assertSame(TileProvider.NO_TILE, controller.getTile(1, 2, 3));
+    assertSame(TileProvider.NO_TILE, controller.getTile(1, 2, 3));
+    // Failures are not cached.
+    verify(flutterApi, times(2)).getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), any(), any());
+  }
+
+  @Test
+  public void clearTileCache_RequestsTilesAgain() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    TileProviderController controller = createController(createDiskCache(directory), 10_000);
+
+    Thread answer = answerNextRequest(new byte[] {1});
+    controller.getTile(1, 2, 3);
+    answer.join();
+    controller.clearTileCache();
+    answer = answerNextRequest(new byte[] {2});
+    Tile tile = controller.getTile(1, 2, 3);
+    answer.join();
+
+    assertArrayEquals(new byte[] {2}, tile.data);
+    verify(flutterApi, times(2)).getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), any(), any());
+  }
+
+  @Test
+  public void getTile_ReadsTilesStoredOnDiskByAnotherController() throws Exception {
+    File directory = temporaryFolder.newFolder();
+
+    Thread answer = answerNextRequest(new byte[] {1, 2});
+    createController(createDiskCache(directory), 10_000).getTile(1, 2, 3);
+    answer.join();
+    Tile tile = createController(createDiskCache(directory), 10_000).getTile(1, 2, 3);
+
+    assertEquals(256, tile.width);
+    assertArrayEquals(new byte[] {1, 2}, tile.data);
+    verify(flutterApi, times(1)).getTileOverlayTile(eq(TILE_OVERLAY_ID), any(), any(), any());
+  }
+}
@@ -0,0 +1,178 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Build;
+import androidx.annotation.NonNull;
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class UrlTemplateTileProviderTest {
+  private static final String URL_TEMPLATE = "https://tile.example.com/{z}/{x}/{y}.png";
+
+  private final List<String> requestedUrls = new ArrayList<>();
+  private HttpURLConnection connection;
+
+  @Before
+  public void setUp() {
+    connection = mock(HttpURLConnection.class);
+  }
+
+  private UrlTemplateTileProvider createProvider(Executor fetchExecutor, long requestTimeoutMs) {
+    return new UrlTemplateTileProvider(
+        URL_TEMPLATE,
+        Collections.singletonMap("Authorization", "token"),
+        new TileCache(TileCache.createMemoryCache(TileCache.MEMORY_MAX_SIZE_BYTES), null, 0),
+        fetchExecutor,
+        requestTimeoutMs) {
+      @NonNull
+      @Override
+      HttpURLConnection openConnection(@NonNull URL url) {
+        synchronized (requestedUrls) {
+          requestedUrls.add(url.toString());
+        }
+        return connection;
+      }
+
+      @NonNull
+      @Override
+      Tile decodeTile(@NonNull byte[] data) {
+        return new Tile(256, 256, data);
+      }
+    };
+  }
+
+  private void respondWith(byte[] data) throws IOException {
+    when(connection.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
+    when(connection.getInputStream()).thenReturn(new ByteArrayInputStream(data));
+  }
+
+  @Test
+  public void isValidUrlTemplate_AcceptsOnlyHttpUrls() {
+    assertTrue(UrlTemplateTileProvider.isValidUrlTemplate(URL_TEMPLATE));
+    assertTrue(UrlTemplateTileProvider.isValidUrlTemplate("http://tile.example.com/{z}/{x}/{y}"));
+    assertFalse(UrlTemplateTileProvider.isValidUrlTemplate("file:///tiles/{z}/{x}/{y}.png"));
+  }
+
+  @Test
+  public void getTile_FetchesTileWithHeadersAndCachesIt() throws Exception {
+    UrlTemplateTileProvider provider = createProvider(Runnable::run, 10_000);
+    respondWith(new byte[] {1, 2, 3});
+
+    Tile first = provider.getTile(1, 2, 3);
+    Tile second = provider.getTile(1, 2, 3);
+
+    assertArrayEquals(new byte[] {1, 2, 3}, first.data);
+    assertSame(first, second);
+    assertEquals(Collections.singletonList("https://tile.example.com/3/1/2.png"), requestedUrls);
+    verify(connection).setRequestProperty("Authorization", "token");
+    // Keeps the connection alive for the next tile.
+    verify(connection, never()).disconnect();
+  }
+
+  @Test
+  public void getTile_ReturnsNoTileWhenNotFound() throws Exception {
+    UrlTemplateTileProvider provider = createProvider(Runnable::run, 10_000);
+    when(connection.getResponseCode()).thenReturn(HttpURLConnection.HTTP_NOT_FOUND);
+
+    assertSame(TileProvider.NO_TILE, provider.getTile(1, 2, 3));
+    verify(connection).disconnect();
+  }
+
+  @Test
+  public void getTile_ReturnsNullAndFetchesAgainOnServerOrNetworkErrors() throws Exception {
+    UrlTemplateTileProvider provider = createProvider(Runnable::run, 10_000);
+    when(connection.getResponseCode()).thenReturn(HttpURLConnection.HTTP_UNAVAILABLE);
+    assertNull(provider.getTile(1, 2, 3));
+
+    when(connection.getResponseCode()).thenThrow(new IOException("offline"));
+    assertNull(provider.getTile(1, 2, 3));
+
+    assertEquals(2, requestedUrls.size());
+  }
+
+  @Test
+  public void getTile_CoalescesConcurrentRequestsForTheSameTile() throws Exception {
+    List<Runnable> fetches = new ArrayList<>();
+    UrlTemplateTileProvider provider =
+        createProvider(
+            runnable -> {
+              synchronized (fetches) {
+                fetches.add(runnable);
+              }
+            },
+            10_000);
+    respondWith(new byte[] {1});
+    AtomicReference<Tile> first = new AtomicReference<>();
+    AtomicReference<Tile> second = new AtomicReference<>();
+    Thread firstThread = new Thread(() -> first.set(provider.getTile(1, 2, 3)));
+    Thread secondThread = new Thread(() -> second.set(provider.getTile(1, 2, 3)));
+
+    firstThread.start();
+    secondThread.start();
+    // Fetches once both threads wait for the tile.
+    while (firstThread.getState() != Thread.State.TIMED_WAITING
+        || secondThread.getState() != Thread.State.TIMED_WAITING) {
+      Thread.yield();
+    }
+    synchronized (fetches) {
+      assertEquals(1, fetches.size());
+      fetches.get(0).run();
+    }
+    firstThread.join();
+    secondThread.join();
+
+    assertSame(first.get(), second.get());
+    assertEquals(1, requestedUrls.size());
+  }
+
+  @Test
+  public void getTile_ReturnsNullOnTimeout() {
+    UrlTemplateTileProvider provider = createProvider(runnable -> {}, 10);
+
+    assertNull(provider.getTile(1, 2, 3));
+  }
+
+  @Test
+  public void clearTileCache_FetchesTilesAgain() throws Exception {
+    UrlTemplateTileProvider provider = createProvider(Runnable::run, 10_000);
+    respondWith(new byte[] {1});
+    provider.getTile(1, 2, 3);
+
+    provider.clearTileCache();
+    respondWith(new byte[] {2});
+    Tile tile = provider.getTile(1, 2, 3);
+
+    assertArrayEquals(new byte[] {2}, tile.data);
+    assertEquals(2, requestedUrls.size());
+  }
+}
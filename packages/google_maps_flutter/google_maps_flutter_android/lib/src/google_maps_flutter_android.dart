@@ -449,6 +449,17 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     return _hostApi(mapId).takeSnapshot();
   }
 
+  /// Returns the statistics of the cache of marker icons.
+  ///
+  /// The cache is shared by all maps, so any [mapId] of a created map returns
+  /// the same statistics.
+  Future<MarkerIconCacheStats> getMarkerIconCacheStats({
+    required int mapId,
+  }) async {
+    return MarkerIconCacheStats._fromPlatform(
+        await _hostApi(mapId).getMarkerIconCacheStats());
+  }
+
   @override
   Future<String?> getStyleError({required int mapId}) async {
     return (await _hostApi(mapId).didLastStyleSucceed())
@@ -681,6 +692,17 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
         latitude: latLng.latitude, longitude: latLng.longitude);
   }
 
+  /// Packs [points] as latitude and longitude pairs, which are encoded and
+  /// decoded as a single array rather than as one object per point.
+  static Float64List _packedPointsFromLatLngs(List<LatLng> points) {
+    final Float64List packed = Float64List(points.length * 2);
+    for (final (int i, LatLng point) in points.indexed) {
+      packed[2 * i] = point.latitude;
+      packed[2 * i + 1] = point.longitude;
+    }
+    return packed;
+  }
+
   static PlatformDoublePair _platformPairFromOffset(Offset offset) {
     return PlatformDoublePair(x: offset.dx, y: offset.dy);
   }
@@ -750,12 +772,9 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   static PlatformPolygon _platformPolygonFromPolygon(Polygon polygon) {
-    final List<PlatformLatLng?> points =
-        polygon.points.map(_platformLatLngFromLatLng).toList();
-    final List<List<PlatformLatLng?>?> holes =
-        polygon.holes.map((List<LatLng> hole) {
-      return hole.map(_platformLatLngFromLatLng).toList();
-    }).toList();
+    final Float64List points = _packedPointsFromLatLngs(polygon.points);
+    final List<Float64List?> holes =
+        polygon.holes.map(_packedPointsFromLatLngs).toList();
     return PlatformPolygon(
       polygonId: polygon.polygonId.value,
       fillColor: polygon.fillColor.value,
@@ -771,8 +790,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   static PlatformPolyline _platformPolylineFromPolyline(Polyline polyline) {
-    final List<PlatformLatLng?> points =
-        polyline.points.map(_platformLatLngFromLatLng).toList();
+    final Float64List points = _packedPointsFromLatLngs(polyline.points);
     final List<PlatformPatternItem?> pattern =
         polyline.patterns.map(platformPatternItemFromPatternItem).toList();
     return PlatformPolyline(
@@ -793,6 +811,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
 
   static PlatformTileOverlay _platformTileOverlayFromTileOverlay(
       TileOverlay tileOverlay) {
+    final TileProvider? tileProvider = tileOverlay.tileProvider;
     return PlatformTileOverlay(
       tileOverlayId: tileOverlay.tileOverlayId.value,
       fadeIn: tileOverlay.fadeIn,
@@ -800,6 +819,15 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
       zIndex: tileOverlay.zIndex,
       visible: tileOverlay.visible,
       tileSize: tileOverlay.tileSize,
+      diskCacheMaxSizeBytes: tileProvider is AndroidTileProvider
+          ? tileProvider.diskCacheMaxSizeBytes
+          : 0,
+      urlTemplate:
+          tileProvider is AndroidTileProvider ? tileProvider.urlTemplate : null,
+      httpHeaders: tileProvider is AndroidTileProvider &&
+              tileProvider.urlTemplate != null
+          ? tileProvider.httpHeaders
+          : null,
     );
   }
 
@@ -948,6 +976,123 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 }
 
+/// Statistics of the cache of marker icons created from bytes or assets, which
+/// is shared by all maps.
+///
+/// See [GoogleMapsFlutterAndroid.getMarkerIconCacheStats].
+@immutable
+class MarkerIconCacheStats {
+  MarkerIconCacheStats._fromPlatform(PlatformMarkerIconCacheStats stats)
+      : hitCount = stats.hitCount,
+        missCount = stats.missCount,
+        hitRate = stats.hitRate,
+        evictionCount = stats.evictionCount,
+        sizeBytes = stats.sizeBytes,
+        maxSizeBytes = stats.maxSizeBytes;
+
+  /// The number of icons that were found in the cache.
+  final int hitCount;
+
+  /// The number of icons that were created because they were not cached.
+  final int missCount;
+
+  /// The ratio of [hitCount] to all requests, between 0 and 1.
+  final double hitRate;
+
+  /// The number of icons that were evicted to stay within [maxSizeBytes].
+  final int evictionCount;
+
+  /// The size in bytes of the cached icons.
+  final int sizeBytes;
+
+  /// The maximum size in bytes of the cached icons.
+  final int maxSizeBytes;
+}
+
+/// A [TileProvider] with the options of its tile overlay that are specific to
+/// Android.
+///
+/// Use it as the [TileOverlay.tileProvider] of a tile overlay.
+@immutable
+class AndroidTileProvider implements TileProvider {
+  /// Creates a [TileProvider] that gets its tiles from [tileProvider].
+  const AndroidTileProvider({
+    this.tileProvider,
+    this.diskCacheMaxSizeBytes = 0,
+  })  : urlTemplate = null,
+        httpHeaders = const <String, String>{},
+        assert(diskCacheMaxSizeBytes >= 0);
+
+  /// Creates a [TileProvider] whose tiles are fetched natively from
+  /// [urlTemplate], instead of being requested from Dart one at a time.
+  ///
+  /// Throws an [ArgumentError] if [urlTemplate] is not an HTTP or HTTPS URL.
+  AndroidTileProvider.urlTemplate(
+    String urlTemplate, {
+    this.httpHeaders = const <String, String>{},
+    this.diskCacheMaxSizeBytes = 0,
+  })  : tileProvider = null,
+        urlTemplate = _checkUrlTemplate(urlTemplate),
+        assert(diskCacheMaxSizeBytes >= 0);
+
+  static String _checkUrlTemplate(String urlTemplate) {
+    if (!urlTemplate.startsWith('https://') &&
+        !urlTemplate.startsWith('http://')) {
+      throw ArgumentError.value(
+          urlTemplate, 'urlTemplate', 'Not an HTTP or HTTPS URL template');
+    }
+    return urlTemplate;
+  }
+
+  /// The provider of the tiles, or null if there are no tiles or they are
+  /// fetched from [urlTemplate].
+  final TileProvider? tileProvider;
+
+  /// The HTTP or HTTPS URL the tiles are fetched from, with `{x}`, `{y}` and
+  /// `{z}` placeholders, e.g. `https://tile.example.com/{z}/{x}/{y}.png`.
+  ///
+  /// The tiles are fetched natively, on a pool of threads shared by all maps,
+  /// and cached like other tiles.
+  final String? urlTemplate;
+
+  /// The HTTP headers sent with each request to [urlTemplate].
+  final Map<String, String> httpHeaders;
+
+  /// The maximum size in bytes of the disk cache of the tiles.
+  ///
+  /// Tiles are always cached in a memory cache shared by all maps. When this
+  /// is greater than 0, they are also cached in the cache directory of the
+  /// application, so that they outlive the map. Tile overlays with the same
+  /// ID share their disk cache, which is cleared by clearing the tile cache of
+  /// any of them.
+  ///
+  /// Changing it adds the tile overlay to the map again, as does changing
+  /// [urlTemplate] or [httpHeaders].
+  final int diskCacheMaxSizeBytes;
+
+  @override
+  Future<Tile> getTile(int x, int y, int? zoom) {
+    return tileProvider?.getTile(x, y, zoom) ??
+        Future<Tile>.value(TileProvider.noTile);
+  }
+
+  @override
+  bool operator ==(Object other) {
+    if (other.runtimeType != runtimeType) {
+      return false;
+    }
+    return other is AndroidTileProvider &&
+        tileProvider == other.tileProvider &&
+        urlTemplate == other.urlTemplate &&
+        mapEquals(httpHeaders, other.httpHeaders) &&
+        diskCacheMaxSizeBytes == other.diskCacheMaxSizeBytes;
+  }
+
+  @override
+  int get hashCode => Object.hash(tileProvider, urlTemplate,
+      Object.hashAllUnordered(httpHeaders.entries), diskCacheMaxSizeBytes);
+}
+
 /// Callback handler for map events from the platform host.
 @visibleForTesting
 class HostMapMessageHandler implements MapsCallbackApi {
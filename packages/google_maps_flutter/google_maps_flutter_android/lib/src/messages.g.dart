@@ -607,9 +607,12 @@ class PlatformPolygon {
 
   bool geodesic;
 
-  List<PlatformLatLng?> points;
+  /// The vertices, packed as latitude and longitude pairs, i.e.
+  /// [latitude0, longitude0, latitude1, longitude1, ...].
+  Float64List points;
 
-  List<List<PlatformLatLng?>?> holes;
+  /// The holes, each packed like [points].
+  List<Float64List?> holes;
 
   bool visible;
 
@@ -641,8 +644,8 @@ class PlatformPolygon {
       consumesTapEvents: result[1]! as bool,
       fillColor: result[2]! as int,
       geodesic: result[3]! as bool,
-      points: (result[4] as List<Object?>?)!.cast<PlatformLatLng?>(),
-      holes: (result[5] as List<Object?>?)!.cast<List<PlatformLatLng?>?>(),
+      points: result[4]! as Float64List,
+      holes: (result[5] as List<Object?>?)!.cast<Float64List?>(),
       visible: result[6]! as bool,
       strokeColor: result[7]! as int,
       strokeWidth: result[8]! as int,
@@ -682,7 +685,9 @@ class PlatformPolyline {
   /// The pattern data, as a list of pattern items.
   List<PlatformPatternItem?> patterns;
 
-  List<PlatformLatLng?> points;
+  /// The vertices, packed as latitude and longitude pairs, i.e.
+  /// [latitude0, longitude0, latitude1, longitude1, ...].
+  Float64List points;
 
   /// The cap at the start and end vertex of a polyline.
   /// See https://developers.google.com/maps/documentation/android-sdk/reference/com/google/android/libraries/maps/model/Cap.
@@ -722,7 +727,7 @@ class PlatformPolyline {
       geodesic: result[3]! as bool,
       jointType: result[4]! as PlatformJointType,
       patterns: (result[5] as List<Object?>?)!.cast<PlatformPatternItem?>(),
-      points: (result[6] as List<Object?>?)!.cast<PlatformLatLng?>(),
+      points: result[6]! as Float64List,
       startCap: result[7]! as PlatformCap,
       endCap: result[8]! as PlatformCap,
       visible: result[9]! as bool,
@@ -833,6 +838,9 @@ class PlatformTileOverlay {
     required this.zIndex,
     required this.visible,
     required this.tileSize,
+    required this.diskCacheMaxSizeBytes,
+    this.urlTemplate,
+    this.httpHeaders,
   });
 
   String tileOverlayId;
@@ -847,6 +855,17 @@ class PlatformTileOverlay {
 
   int tileSize;
 
+  /// The maximum size in bytes of the disk cache of the tiles, or 0 to only
+  /// cache them in memory.
+  int diskCacheMaxSizeBytes;
+
+  /// The HTTP or HTTPS URL with `{x}`, `{y}` and `{z}` placeholders that the
+  /// tiles are fetched from natively, or null to request them from Dart.
+  String? urlTemplate;
+
+  /// The HTTP headers sent with each tile request to [urlTemplate].
+  Map<String?, String?>? httpHeaders;
+
   Object encode() {
     return <Object?>[
       tileOverlayId,
@@ -855,6 +874,9 @@ class PlatformTileOverlay {
       zIndex,
       visible,
       tileSize,
+      diskCacheMaxSizeBytes,
+      urlTemplate,
+      httpHeaders,
     ];
   }
 
@@ -867,6 +889,10 @@ class PlatformTileOverlay {
       zIndex: result[3]! as int,
       visible: result[4]! as bool,
       tileSize: result[5]! as int,
+      diskCacheMaxSizeBytes: result[6]! as int,
+      urlTemplate: result[7] as String?,
+      httpHeaders:
+          (result[8] as Map<Object?, Object?>?)?.cast<String?, String?>(),
     );
   }
 }
@@ -1526,6 +1552,53 @@ class PlatformBitmapBytesMap {
   }
 }
 
+/// Statistics of the cache of marker icons shared by all maps.
+class PlatformMarkerIconCacheStats {
+  PlatformMarkerIconCacheStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.hitRate,
+    required this.evictionCount,
+    required this.sizeBytes,
+    required this.maxSizeBytes,
+  });
+
+  int hitCount;
+
+  int missCount;
+
+  double hitRate;
+
+  int evictionCount;
+
+  int sizeBytes;
+
+  int maxSizeBytes;
+
+  Object encode() {
+    return <Object?>[
+      hitCount,
+      missCount,
+      hitRate,
+      evictionCount,
+      sizeBytes,
+      maxSizeBytes,
+    ];
+  }
+
+  static PlatformMarkerIconCacheStats decode(Object result) {
+    result as List<Object?>;
+    return PlatformMarkerIconCacheStats(
+      hitCount: result[0]! as int,
+      missCount: result[1]! as int,
+      hitRate: result[2]! as double,
+      evictionCount: result[3]! as int,
+      sizeBytes: result[4]! as int,
+      maxSizeBytes: result[5]! as int,
+    );
+  }
+}
+
 class _PigeonCodec extends StandardMessageCodec {
   const _PigeonCodec();
   @override
@@ -1668,6 +1741,9 @@ class _PigeonCodec extends StandardMessageCodec {
     } else if (value is PlatformBitmapBytesMap) {
       buffer.putUint8(173);
       writeValue(buffer, value.encode());
+    } else if (value is PlatformMarkerIconCacheStats) {
+      buffer.putUint8(174);
+      writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
     }
@@ -1772,6 +1848,8 @@ class _PigeonCodec extends StandardMessageCodec {
         return PlatformBitmapAssetMap.decode(readValue(buffer)!);
       case 173:
         return PlatformBitmapBytesMap.decode(readValue(buffer)!);
+      case 174:
+        return PlatformMarkerIconCacheStats.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -1928,6 +2006,11 @@ class MapsApi {
   }
 
   /// Updates the set of markers on the map.
+  ///
+  /// Returns once the markers are on the map. If some markers could not be
+  /// added or changed, for example because their icon could not be created,
+  /// the other markers are still updated and an error with the IDs of the
+  /// failed markers as details is thrown.
   Future<void> updateMarkers(List<PlatformMarker?> toAdd,
       List<PlatformMarker?> toChange, List<String?> idsToRemove) async {
     final String pigeonVar_channelName =
@@ -2405,6 +2488,36 @@ class MapsApi {
       return (pigeonVar_replyList[0] as Uint8List?)!;
     }
   }
+
+  /// Returns the statistics of the cache of marker icons shared by all maps.
+  Future<PlatformMarkerIconCacheStats> getMarkerIconCacheStats() async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.getMarkerIconCacheStats$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlatformMarkerIconCacheStats?)!;
+    }
+  }
 }
 
 abstract class MapsCallbackApi {
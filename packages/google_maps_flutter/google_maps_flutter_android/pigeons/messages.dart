@@ -221,8 +221,14 @@ class PlatformPolygon {
   final bool consumesTapEvents;
   final int fillColor;
   final bool geodesic;
-  final List<PlatformLatLng?> points;
-  final List<List<PlatformLatLng?>?> holes;
+
+  /// The vertices, packed as latitude and longitude pairs, i.e.
+  /// [latitude0, longitude0, latitude1, longitude1, ...].
+  final Float64List points;
+
+  /// The holes, each packed like [points].
+  final List<Float64List?> holes;
+
   final bool visible;
   final int strokeColor;
   final int strokeWidth;
@@ -263,7 +269,10 @@ class PlatformPolyline {
 
   /// The pattern data, as a list of pattern items.
   final List<PlatformPatternItem?> patterns;
-  final List<PlatformLatLng?> points;
+
+  /// The vertices, packed as latitude and longitude pairs, i.e.
+  /// [latitude0, longitude0, latitude1, longitude1, ...].
+  final Float64List points;
 
   /// The cap at the start and end vertex of a polyline.
   /// See https://developers.google.com/maps/documentation/android-sdk/reference/com/google/android/libraries/maps/model/Cap.
@@ -329,6 +338,9 @@ class PlatformTileOverlay {
     required this.zIndex,
     required this.visible,
     required this.tileSize,
+    required this.diskCacheMaxSizeBytes,
+    this.urlTemplate,
+    this.httpHeaders,
   });
 
   final String tileOverlayId;
@@ -337,6 +349,20 @@ class PlatformTileOverlay {
   final int zIndex;
   final bool visible;
   final int tileSize;
+
+  /// The maximum size in bytes of the disk cache of the tiles, or 0 to only
+  /// cache them in memory.
+  final int diskCacheMaxSizeBytes;
+
+  /// The HTTP or HTTPS URL with `{x}`, `{y}` and `{z}` placeholders that the
+  /// tiles are fetched from natively, or null to request them from Dart.
+  final String? urlTemplate;
+
+  /// The HTTP headers sent with each tile request to [urlTemplate].
+  // TODO(stuartmorgan): Make the generic type non-nullable once supported.
+  // https://github.com/flutter/flutter/issues/97848
+  // The consuming code treats the entries as non-nullable.
+  final Map<String?, String?>? httpHeaders;
 }
 
 /// Pigeon equivalent of Flutter's EdgeInsets.
@@ -594,6 +620,23 @@ class PlatformBitmapBytesMap {
   final double? height;
 }
 
+/// Statistics of the cache of marker icons shared by all maps.
+class PlatformMarkerIconCacheStats {
+  PlatformMarkerIconCacheStats(
+      {required this.hitCount,
+      required this.missCount,
+      required this.hitRate,
+      required this.evictionCount,
+      required this.sizeBytes,
+      required this.maxSizeBytes});
+  final int hitCount;
+  final int missCount;
+  final double hitRate;
+  final int evictionCount;
+  final int sizeBytes;
+  final int maxSizeBytes;
+}
+
 /// Interface for non-test interactions with the native SDK.
 ///
 /// For test-only state queries, see [MapsInspectorApi].
@@ -631,9 +674,15 @@ abstract class MapsApi {
       List<PlatformClusterManager?> toAdd, List<String?> idsToRemove);
 
   /// Updates the set of markers on the map.
+  ///
+  /// Returns once the markers are on the map. If some markers could not be
+  /// added or changed, for example because their icon could not be created,
+  /// the other markers are still updated and an error with the IDs of the
+  /// failed markers as details is thrown.
   // TODO(stuartmorgan): Make the generic type non-nullable once supported.
   // https://github.com/flutter/flutter/issues/97848
   // The consuming code treats the entries as non-nullable.
+  @async
   void updateMarkers(List<PlatformMarker?> toAdd,
       List<PlatformMarker?> toChange, List<String?> idsToRemove);
 
@@ -707,6 +756,9 @@ abstract class MapsApi {
   /// Takes a snapshot of the map and returns its image data.
   @async
   Uint8List takeSnapshot();
+
+  /// Returns the statistics of the cache of marker icons shared by all maps.
+  PlatformMarkerIconCacheStats getMarkerIconCacheStats();
 }
 
 @FlutterApi()
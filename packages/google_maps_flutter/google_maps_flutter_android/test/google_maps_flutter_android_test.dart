@@ -27,6 +27,14 @@ void main() {
     return (maps, api);
   }
 
+  void expectPackedPoints(Float64List actual, List<LatLng> expected) {
+    expect(actual.length, expected.length * 2);
+    for (final (int i, LatLng point) in expected.indexed) {
+      expect(actual[2 * i], point.latitude);
+      expect(actual[2 * i + 1], point.longitude);
+    }
+  }
+
   test('registers instance', () async {
     GoogleMapsFlutterAndroid.registerWith();
     expect(GoogleMapsFlutterPlatform.instance, isA<GoogleMapsFlutterAndroid>());
@@ -200,6 +208,30 @@ void main() {
     expect(await maps.takeSnapshot(mapId: mapId), fakeSnapshot);
   });
 
+  test('getMarkerIconCacheStats calls through', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    when(api.getMarkerIconCacheStats()).thenAnswer((_) async =>
+        PlatformMarkerIconCacheStats(
+            hitCount: 3,
+            missCount: 1,
+            hitRate: 0.75,
+            evictionCount: 2,
+            sizeBytes: 100,
+            maxSizeBytes: 1000));
+
+    final MarkerIconCacheStats stats =
+        await maps.getMarkerIconCacheStats(mapId: mapId);
+    expect(stats.hitCount, 3);
+    expect(stats.missCount, 1);
+    expect(stats.hitRate, 0.75);
+    expect(stats.evictionCount, 2);
+    expect(stats.sizeBytes, 100);
+    expect(stats.maxSizeBytes, 1000);
+  });
+
   test('clearTileCache calls through', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -483,7 +515,12 @@ void main() {
     const Polygon object1 = Polygon(polygonId: PolygonId('1'));
     const Polygon object2old = Polygon(polygonId: PolygonId('2'));
     final Polygon object2new = object2old.copyWith(strokeWidthParam: 42);
-    const Polygon object3 = Polygon(polygonId: PolygonId('3'));
+    const Polygon object3 = Polygon(
+        polygonId: PolygonId('3'),
+        points: <LatLng>[LatLng(10, 20), LatLng(30, 40), LatLng(50, 60)],
+        holes: <List<LatLng>>[
+          <LatLng>[LatLng(11, 21), LatLng(12, 22), LatLng(13, 23)],
+        ]);
     await maps.updatePolygons(
         PolygonUpdates.from(
             <Polygon>{object1, object2old}, <Polygon>{object2new, object3}),
@@ -507,18 +544,10 @@ void main() {
         expected.fillColor.value,
         expected.geodesic,
       ]);
-      expect(actual.points.length, expected.points.length);
-      for (final (int i, PlatformLatLng? point) in actual.points.indexed) {
-        expect(point?.latitude, actual.points[i]?.latitude);
-        expect(point?.longitude, actual.points[i]?.longitude);
-      }
+      expectPackedPoints(actual.points, expected.points);
       expect(actual.holes.length, expected.holes.length);
-      for (final (int i, List<PlatformLatLng?>? hole) in actual.holes.indexed) {
-        final List<LatLng> expectedHole = expected.holes[i];
-        for (final (int j, PlatformLatLng? point) in hole!.indexed) {
-          expect(point?.latitude, expectedHole[j].latitude);
-          expect(point?.longitude, expectedHole[j].longitude);
-        }
+      for (final (int i, Float64List? hole) in actual.holes.indexed) {
+        expectPackedPoints(hole!, expected.holes[i]);
       }
       expect(encoded.sublist(6), <Object>[
         expected.visible,
@@ -549,6 +578,7 @@ void main() {
         Cap.customCapFromBitmap(BitmapDescriptor.defaultMarker, refWidth: 15);
     final Polyline object3 = Polyline(
         polylineId: const PolylineId('3'),
+        points: const <LatLng>[LatLng(10, 20), LatLng(30, 40)],
         startCap: customCap,
         endCap: Cap.roundCap);
     await maps.updatePolylines(
@@ -577,11 +607,7 @@ void main() {
         expected.width,
         expected.zIndex,
       ]);
-      expect(actual.points.length, expected.points.length);
-      for (final (int i, PlatformLatLng? point) in actual.points.indexed) {
-        expect(point?.latitude, actual.points[i]?.latitude);
-        expect(point?.longitude, actual.points[i]?.longitude);
-      }
+      expectPackedPoints(actual.points, expected.points);
       expect(actual.patterns.length, expected.patterns.length);
       for (final (int i, PlatformPatternItem? pattern)
           in actual.patterns.indexed) {
@@ -647,6 +673,9 @@ void main() {
         expected.zIndex,
         expected.visible,
         expected.tileSize,
+        0,
+        null,
+        null,
       ]);
     }
 
@@ -661,6 +690,64 @@ void main() {
     expectTileOverlay(toAdd.first, object3);
   });
 
+  test('updateTileOverlays passes the disk cache size of AndroidTileProvider',
+      () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    const TileOverlay tileOverlay = TileOverlay(
+        tileOverlayId: TileOverlayId('1'),
+        tileProvider: AndroidTileProvider(diskCacheMaxSizeBytes: 1000));
+    await maps.updateTileOverlays(
+        newTileOverlays: <TileOverlay>{tileOverlay}, mapId: mapId);
+
+    final VerificationResult verification =
+        verify(api.updateTileOverlays(captureAny, captureAny, captureAny));
+    final List<PlatformTileOverlay?> toAdd =
+        verification.captured[0] as List<PlatformTileOverlay?>;
+    expect(toAdd.single?.diskCacheMaxSizeBytes, 1000);
+  });
+
+  test('updateTileOverlays passes the URL template of AndroidTileProvider',
+      () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    final TileOverlay tileOverlay = TileOverlay(
+        tileOverlayId: const TileOverlayId('1'),
+        tileProvider: AndroidTileProvider.urlTemplate(
+            'https://tile.example.com/{z}/{x}/{y}.png',
+            httpHeaders: const <String, String>{'User-Agent': 'test'}));
+    await maps.updateTileOverlays(
+        newTileOverlays: <TileOverlay>{tileOverlay}, mapId: mapId);
+
+    final VerificationResult verification =
+        verify(api.updateTileOverlays(captureAny, captureAny, captureAny));
+    final List<PlatformTileOverlay?> toAdd =
+        verification.captured[0] as List<PlatformTileOverlay?>;
+    expect(toAdd.single?.urlTemplate,
+        'https://tile.example.com/{z}/{x}/{y}.png');
+    expect(toAdd.single?.httpHeaders,
+        const <String, String>{'User-Agent': 'test'});
+  });
+
+  test('AndroidTileProvider.urlTemplate rejects non-HTTP URLs', () {
+    expect(() => AndroidTileProvider.urlTemplate('file:///{z}/{x}/{y}.png'),
+        throwsArgumentError);
+  });
+
+  test('AndroidTileProvider gets tiles from its tile provider', () async {
+    const Tile tile = Tile(1, 1, null);
+    final AndroidTileProvider tileProvider =
+        AndroidTileProvider(tileProvider: _FakeTileProvider(tile));
+
+    expect(await tileProvider.getTile(0, 0, 1), tile);
+    expect(await const AndroidTileProvider().getTile(0, 0, 1),
+        TileProvider.noTile);
+  });
+
   test('markers send drag event to correct streams', () async {
     const int mapId = 1;
     const String dragStartId = 'drag-start-marker';
@@ -1111,3 +1198,12 @@ void main() {
     );
   });
 }
+
+class _FakeTileProvider implements TileProvider {
+  _FakeTileProvider(this.tile);
+
+  final Tile tile;
+
+  @override
+  Future<Tile> getTile(int x, int y, int? zoom) async => tile;
+}
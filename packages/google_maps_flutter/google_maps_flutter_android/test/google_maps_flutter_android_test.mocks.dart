@@ -54,6 +54,17 @@ class _FakePlatformLatLngBounds_2 extends _i1.SmartFake
         );
 }
 
+class _FakePlatformMarkerIconCacheStats_3 extends _i1.SmartFake
+    implements _i2.PlatformMarkerIconCacheStats {
+  _FakePlatformMarkerIconCacheStats_3(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
 /// A class which mocks [MapsApi].
 ///
 /// See the documentation for Mockito's code generation for more information.
@@ -388,4 +399,30 @@ class MockMapsApi extends _i1.Mock implements _i2.MapsApi {
         returnValueForMissingStub:
             _i3.Future<_i4.Uint8List>.value(_i4.Uint8List(0)),
       ) as _i3.Future<_i4.Uint8List>);
+
+  @override
+  _i3.Future<_i2.PlatformMarkerIconCacheStats> getMarkerIconCacheStats() =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #getMarkerIconCacheStats,
+          [],
+        ),
+        returnValue: _i3.Future<_i2.PlatformMarkerIconCacheStats>.value(
+            _FakePlatformMarkerIconCacheStats_3(
+          this,
+          Invocation.method(
+            #getMarkerIconCacheStats,
+            [],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i3.Future<_i2.PlatformMarkerIconCacheStats>.value(
+                _FakePlatformMarkerIconCacheStats_3(
+          this,
+          Invocation.method(
+            #getMarkerIconCacheStats,
+            [],
+          ),
+        )),
+      ) as _i3.Future<_i2.PlatformMarkerIconCacheStats>);
 }
@@ -0,0 +1,59 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+/**
+ * Limits the memory held by video players that keep their {@link
+ * androidx.media3.exoplayer.ExoPlayer} while their surface is destroyed, e.g. while the app is in
+ * the background.
+ *
+ * <p>Such a video player keeps its buffers and decoders, so that it continues from buffered data
+ * once the surface is recreated. A video player that does not fit into the remaining budget
+ * releases its {@link androidx.media3.exoplayer.ExoPlayer} instead, and prepares the media again.
+ * All calls must be made on the main thread.
+ */
+final class DetachedPlayerBudget {
+  private long maxBytes;
+  private long usedBytes;
+
+  /**
+   * Sets the memory video players may keep while their surface is destroyed.
+   *
+   * <p>Players that are already kept are not released if the budget shrinks.
+   *
+   * @param maxBytes the budget in bytes, or 0 to always release players.
+   */
+  void setMaxBytes(long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("maxBytes must not be negative");
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Reserves {@code bytes} for a video player whose surface was destroyed, if they fit into the
+   * remaining budget.
+   *
+   * @param bytes the estimated memory of the player.
+   * @return whether the bytes were reserved.
+   */
+  boolean tryAcquire(long bytes) {
+    if (bytes > maxBytes - usedBytes) {
+      return false;
+    }
+    usedBytes += bytes;
+    return true;
+  }
+
+  /** Returns bytes reserved with {@link #tryAcquire(long)} to the budget. */
+  void release(long bytes) {
+    usedBytes -= bytes;
+  }
+
+  /** Returns the bytes currently reserved. */
+  long getUsedBytes() {
+    return usedBytes;
+  }
+}
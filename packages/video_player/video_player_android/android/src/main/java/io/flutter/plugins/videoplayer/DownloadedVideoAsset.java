@@ -0,0 +1,46 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
+import androidx.media3.exoplayer.source.MediaSource;
+
+/** A video downloaded by {@link MediaDownloader}, played without network access. */
+// TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+@OptIn(markerClass = UnstableApi.class)
+final class DownloadedVideoAsset extends VideoAsset {
+  @NonNull private final DownloadRequest downloadRequest;
+  @NonNull private final Cache downloadCache;
+
+  DownloadedVideoAsset(@NonNull DownloadRequest downloadRequest, @NonNull Cache downloadCache) {
+    super(downloadRequest.uri.toString());
+    this.downloadRequest = downloadRequest;
+    this.downloadCache = downloadCache;
+  }
+
+  @NonNull
+  @Override
+  MediaItem getMediaItem() {
+    // Includes the downloaded tracks of adaptive streams, so that no others are requested.
+    return downloadRequest.toMediaItem();
+  }
+
+  @Override
+  MediaSource.Factory getMediaSourceFactory(Context context) {
+    // Without an upstream data source factory, reading media that is not downloaded fails instead
+    // of falling back to the network.
+    CacheDataSource.Factory dataSourceFactory =
+        new CacheDataSource.Factory().setCache(downloadCache).setCacheWriteDataSinkFactory(null);
+    return new DefaultMediaSourceFactory(context).setDataSourceFactory(dataSourceFactory);
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.exoplayer.ExoPlayer;
+import java.util.ArrayDeque;
+
+/**
+ * Keeps a bounded number of idle {@link ExoPlayer} instances, shared by all {@link VideoPlayer}
+ * instances, so that creating a player does not build a new {@link ExoPlayer}.
+ *
+ * <p>A player returned to the recycler is stopped and reset instead of released, so that the next
+ * video, or the same video after its surface was recreated, reuses its playback thread, renderers,
+ * track selector and load control. Stopping the player releases its decoders, so a reused player
+ * still initializes new decoders for its next video. At most {@link #MAX_IDLE_PLAYERS} players are
+ * kept idle, and further returned players are released.
+ *
+ * <p>Only players with the default load control and bandwidth meter are recycled, as both are fixed
+ * when a player is built. {@link VideoPlayer#create} builds a dedicated player instead when its
+ * options change them.
+ *
+ * <p>Leased players are built without a media source factory, so media must be set with {@link
+ * ExoPlayer#setMediaSource}. Like the players themselves, the recycler must only be used on the
+ * main thread.
+ */
+final class ExoPlayerRecycler implements VideoPlayer.ExoPlayerProvider {
+  /** The maximum number of players kept idle. */
+  @VisibleForTesting static final int MAX_IDLE_PLAYERS = 2;
+
+  @NonNull private final VideoPlayer.ExoPlayerProvider playerFactory;
+  private final int maxIdlePlayers;
+  @NonNull private final TrackSelectionParameters defaultTrackSelectionParameters;
+  private final ArrayDeque<ExoPlayer> idlePlayers = new ArrayDeque<>();
+  private boolean released;
+
+  ExoPlayerRecycler(@NonNull Context context) {
+    this(
+        () -> new ExoPlayer.Builder(context).build(),
+        MAX_IDLE_PLAYERS,
+        TrackSelectionParameters.getDefaults(context));
+  }
+
+  @VisibleForTesting
+  ExoPlayerRecycler(
+      @NonNull VideoPlayer.ExoPlayerProvider playerFactory,
+      int maxIdlePlayers,
+      @NonNull TrackSelectionParameters defaultTrackSelectionParameters) {
+    this.playerFactory = playerFactory;
+    this.maxIdlePlayers = maxIdlePlayers;
+    this.defaultTrackSelectionParameters = defaultTrackSelectionParameters;
+  }
+
+  /**
+   * Returns an idle player, or a new one if none is idle.
+   *
+   * @return a player without media, surface or listeners.
+   */
+  @NonNull
+  @Override
+  public ExoPlayer get() {
+    ExoPlayer exoPlayer = idlePlayers.pollLast();
+    return exoPlayer != null ? exoPlayer : playerFactory.get();
+  }
+
+  /**
+   * Resets {@code exoPlayer} and keeps it idle for the next lease, or releases it if the recycler
+   * is full or released.
+   *
+   * <p>Listeners added by the lessee must be removed before.
+   *
+   * @param exoPlayer a player previously returned by {@link #get()}.
+   */
+  @Override
+  public void recycle(@NonNull ExoPlayer exoPlayer) {
+    if (released || idlePlayers.size() >= maxIdlePlayers) {
+      exoPlayer.release();
+      return;
+    }
+    // Detach the surface first, as it may already be released when the surface was destroyed.
+    exoPlayer.clearVideoSurface();
+    exoPlayer.stop();
+    exoPlayer.clearMediaItems();
+    exoPlayer.setPlayWhenReady(false);
+    exoPlayer.setTrackSelectionParameters(defaultTrackSelectionParameters);
+    ExoPlayerState.initial().restore(exoPlayer);
+    idlePlayers.addLast(exoPlayer);
+  }
+
+  /** Returns the number of idle players. */
+  @VisibleForTesting
+  int getIdlePlayerCount() {
+    return idlePlayers.size();
+  }
+
+  /**
+   * Releases all idle players, and releases players returned afterwards instead of keeping them.
+   */
+  void release() {
+    released = true;
+    ExoPlayer exoPlayer;
+    while ((exoPlayer = idlePlayers.poll()) != null) {
+      exoPlayer.release();
+    }
+  }
+}
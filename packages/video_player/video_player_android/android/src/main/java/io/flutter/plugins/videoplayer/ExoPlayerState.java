@@ -5,6 +5,7 @@
 package io.flutter.plugins.videoplayer;
 
 import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.Player;
 import androidx.media3.exoplayer.ExoPlayer;
 
 /**
@@ -32,6 +33,22 @@ final class ExoPlayerState {
         /*playbackParameters=*/ exoPlayer.getPlaybackParameters());
   }
 
+  /**
+   * Returns the state of a newly built player, i.e. at the start, not repeating, at full volume and
+   * normal speed.
+   *
+   * <p>Restoring it resets a previously used player before it is reused for another item.
+   *
+   * @return an opaque object representing the state.
+   */
+  static ExoPlayerState initial() {
+    return new ExoPlayerState(
+        /*position=*/ 0,
+        /*repeatMode=*/ Player.REPEAT_MODE_OFF,
+        /*volume=*/ 1.0f,
+        /*playbackParameters=*/ PlaybackParameters.DEFAULT);
+  }
+
   private ExoPlayerState(
       long position, int repeatMode, float volume, PlaybackParameters playbackParameters) {
     this.position = position;
@@ -52,6 +69,16 @@ final class ExoPlayerState {
   /** Previous value of {@link ExoPlayer#getPlaybackParameters()}. */
   private final PlaybackParameters playbackParameters;
 
+  /** Returns the captured value of {@link ExoPlayer#getCurrentPosition()}. */
+  long getPosition() {
+    return position;
+  }
+
+  /** Returns the captured playback speed of {@link ExoPlayer#getPlaybackParameters()}. */
+  float getPlaybackSpeed() {
+    return playbackParameters.speed;
+  }
+
   /**
    * Restores the captured state onto the provided player.
    *
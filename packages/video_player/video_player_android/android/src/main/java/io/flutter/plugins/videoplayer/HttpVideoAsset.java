@@ -13,10 +13,13 @@ import androidx.media3.common.MediaItem;
 import androidx.media3.common.MimeTypes;
 import androidx.media3.common.util.UnstableApi;
 import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
 import androidx.media3.datasource.DefaultDataSource;
 import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.ResolvingDataSource;
 import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
 import androidx.media3.exoplayer.source.MediaSource;
+import java.util.HashMap;
 import java.util.Map;
 
 final class HttpVideoAsset extends VideoAsset {
@@ -24,15 +27,51 @@ final class HttpVideoAsset extends VideoAsset {
   private static final String HEADER_USER_AGENT = "User-Agent";
 
   @NonNull private final StreamingFormat streamingFormat;
-  @NonNull private final Map<String, String> httpHeaders;
+  @NonNull private final Map<String, String> requestHeaders;
+  @Nullable private final MediaCache mediaCache;
+  @NonNull private final DataSource.Factory httpDataSourceFactory;
+  @NonNull private final MediaCache.Statistics mediaCacheStatistics = new MediaCache.Statistics();
 
   HttpVideoAsset(
       @Nullable String assetUrl,
       @NonNull StreamingFormat streamingFormat,
-      @NonNull Map<String, String> httpHeaders) {
+      @NonNull Map<String, String> httpHeaders,
+      @Nullable MediaCache mediaCache,
+      @NonNull DataSource.Factory httpDataSourceFactory) {
     super(assetUrl);
     this.streamingFormat = streamingFormat;
-    this.httpHeaders = httpHeaders;
+    this.requestHeaders = new HashMap<>(httpHeaders);
+    if (!requestHeaders.containsKey(HEADER_USER_AGENT)) {
+      requestHeaders.put(HEADER_USER_AGENT, DEFAULT_USER_AGENT);
+    }
+    this.mediaCache = mediaCache;
+    this.httpDataSourceFactory = httpDataSourceFactory;
+  }
+
+  /**
+   * Returns a factory for HTTP data sources that can be shared by all remote assets.
+   *
+   * <p>The factory sets no user agent or headers of its own, as each asset adds its own to the
+   * requests it makes. Sharing it keeps the requests of all players configured the same, so that
+   * the keep-alive connections pooled by the platform are reused across players and segments.
+   *
+   * @return the factory.
+   */
+  // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+  @OptIn(markerClass = UnstableApi.class)
+  @NonNull
+  static DataSource.Factory unstableCreateSharedHttpDataSourceFactory() {
+    return new DefaultHttpDataSource.Factory().setAllowCrossProtocolRedirects(true);
+  }
+
+  /**
+   * Returns the bytes of this asset read from the media cache and from the network.
+   *
+   * @return statistics, which stay at zero if the asset is not cached.
+   */
+  @NonNull
+  MediaCache.Statistics getMediaCacheStatistics() {
+    return mediaCacheStatistics;
   }
 
   @NonNull
@@ -59,39 +98,58 @@ final class HttpVideoAsset extends VideoAsset {
 
   @Override
   MediaSource.Factory getMediaSourceFactory(Context context) {
-    return getMediaSourceFactory(context, new DefaultHttpDataSource.Factory());
+    DataSource.Factory dataSourceFactory = getUpstreamDataSourceFactory(context);
+    if (mediaCache != null) {
+      dataSourceFactory =
+          mediaCache.createDataSourceFactory(dataSourceFactory, mediaCacheStatistics);
+    }
+    return new DefaultMediaSourceFactory(context).setDataSourceFactory(dataSourceFactory);
   }
 
   /**
-   * Returns a configured media source factory, starting at the provided factory.
-   *
-   * <p>This method is provided for ease of testing without making real HTTP calls.
+   * Returns a factory for data sources that read this asset from the network, bypassing the media
+   * cache, with the configured user agent and HTTP headers.
    *
    * @param context application context.
-   * @param initialFactory initial factory, to be configured.
-   * @return configured factory, or {@code null} if not needed for this asset type.
+   * @return configured factory.
    */
+  @NonNull
+  DataSource.Factory getUpstreamDataSourceFactory(@NonNull Context context) {
+    return new DefaultDataSource.Factory(context, unstableGetHttpDataSourceFactory());
+  }
+
+  /**
+   * Returns a factory for data sources that read this asset over the shared HTTP data source
+   * factory, adding the user agent and HTTP headers of this asset to every request.
+   *
+   * <p>If the asset is cached, the data sources also count the bytes read from the network.
+   *
+   * @return configured factory.
+   */
+  // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+  @OptIn(markerClass = UnstableApi.class)
   @VisibleForTesting
-  MediaSource.Factory getMediaSourceFactory(
-      Context context, DefaultHttpDataSource.Factory initialFactory) {
-    String userAgent = DEFAULT_USER_AGENT;
-    if (!httpHeaders.isEmpty() && httpHeaders.containsKey(HEADER_USER_AGENT)) {
-      userAgent = httpHeaders.get(HEADER_USER_AGENT);
+  @NonNull
+  DataSource.Factory unstableGetHttpDataSourceFactory() {
+    ResolvingDataSource.Factory factory =
+        new ResolvingDataSource.Factory(httpDataSourceFactory, this::addRequestHeaders);
+    if (mediaCache == null) {
+      return factory;
     }
-    unstableUpdateDataSourceFactory(initialFactory, httpHeaders, userAgent);
-    DataSource.Factory dataSourceFactory = new DefaultDataSource.Factory(context, initialFactory);
-    return new DefaultMediaSourceFactory(context).setDataSourceFactory(dataSourceFactory);
+    return () -> {
+      DataSource dataSource = factory.createDataSource();
+      dataSource.addTransferListener(mediaCacheStatistics);
+      return dataSource;
+    };
   }
 
   // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
   @OptIn(markerClass = UnstableApi.class)
-  private static void unstableUpdateDataSourceFactory(
-      @NonNull DefaultHttpDataSource.Factory factory,
-      @NonNull Map<String, String> httpHeaders,
-      @Nullable String userAgent) {
-    factory.setUserAgent(userAgent).setAllowCrossProtocolRedirects(true);
-    if (!httpHeaders.isEmpty()) {
-      factory.setDefaultRequestProperties(httpHeaders);
-    }
+  @NonNull
+  private DataSpec addRequestHeaders(@NonNull DataSpec dataSpec) {
+    Map<String, String> headers = new HashMap<>(requestHeaders);
+    // Headers set by the player for a single request take precedence.
+    headers.putAll(dataSpec.httpRequestHeaders);
+    return dataSpec.buildUpon().setHttpRequestHeaders(headers).build();
   }
 }
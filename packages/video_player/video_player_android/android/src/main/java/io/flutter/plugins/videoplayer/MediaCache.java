@@ -0,0 +1,193 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.database.DatabaseProvider;
+import androidx.media3.database.StandaloneDatabaseProvider;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheWriter;
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+import io.flutter.Log;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded cache of media downloaded over HTTP, shared by all {@link VideoPlayer} instances.
+ *
+ * <p>When the cache is full, the least recently used media is evicted first. Only one cache may
+ * exist per directory within a process, so the cache is created once with the size it is first
+ * requested with.
+ */
+// TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+@OptIn(markerClass = UnstableApi.class)
+final class MediaCache {
+  private static final String TAG = "MediaCache";
+  private static final String CACHE_DIRECTORY = "video_player_cache";
+
+  @Nullable private static MediaCache instance;
+  @Nullable private static DatabaseProvider databaseProvider;
+
+  @NonNull private final Cache cache;
+  private final long maxBytes;
+
+  /**
+   * Returns the process-wide cache, creating it with a limit of {@code maxBytes} if needed.
+   *
+   * @param context application context.
+   * @param maxBytes the maximum size of the cache in bytes.
+   * @return the shared cache.
+   */
+  @NonNull
+  static synchronized MediaCache getInstance(@NonNull Context context, long maxBytes) {
+    if (instance == null) {
+      File directory = new File(context.getCacheDir(), CACHE_DIRECTORY);
+      instance =
+          new MediaCache(
+              new SimpleCache(
+                  directory,
+                  new LeastRecentlyUsedCacheEvictor(maxBytes),
+                  getDatabaseProvider(context)),
+              maxBytes);
+    } else if (instance.maxBytes != maxBytes) {
+      Log.w(
+          TAG,
+          "The media cache was already created with a size of "
+              + instance.maxBytes
+              + " bytes, ignoring the new size of "
+              + maxBytes
+              + " bytes.");
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the process-wide database that the indices of the media cache and of downloads are
+   * stored in.
+   *
+   * @param context application context.
+   * @return the shared database.
+   */
+  @NonNull
+  static synchronized DatabaseProvider getDatabaseProvider(@NonNull Context context) {
+    if (databaseProvider == null) {
+      databaseProvider = new StandaloneDatabaseProvider(context);
+    }
+    return databaseProvider;
+  }
+
+  @VisibleForTesting
+  MediaCache(@NonNull Cache cache, long maxBytes) {
+    this.cache = cache;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns a factory for data sources that read from the cache, and fall back to {@code
+   * upstreamFactory} and write to the cache for media that is not cached yet.
+   *
+   * @param upstreamFactory factory for data sources that read uncached media.
+   * @param statistics counts the bytes read from the cache.
+   * @return the caching factory.
+   */
+  @NonNull
+  DataSource.Factory createDataSourceFactory(
+      @NonNull DataSource.Factory upstreamFactory, @NonNull Statistics statistics) {
+    return new CacheDataSource.Factory()
+        .setCache(cache)
+        .setUpstreamDataSourceFactory(upstreamFactory)
+        .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+        .setEventListener(statistics);
+  }
+
+  /**
+   * Returns a writer that fills the cache with up to {@code maxBytes} bytes from the start of
+   * {@code uri}, reading from {@code upstreamFactory} for bytes that are not cached yet.
+   *
+   * <p>{@link CacheWriter#cache()} blocks until the bytes are cached, so it must not be called on
+   * the main thread.
+   *
+   * @param upstreamFactory factory for data sources that read uncached media.
+   * @param uri the media to cache.
+   * @param maxBytes the maximum number of bytes to cache.
+   * @return the writer.
+   */
+  @NonNull
+  CacheWriter createCacheWriter(
+      @NonNull DataSource.Factory upstreamFactory, @NonNull Uri uri, long maxBytes) {
+    CacheDataSource dataSource =
+        new CacheDataSource.Factory()
+            .setCache(cache)
+            .setUpstreamDataSourceFactory(upstreamFactory)
+            .createDataSourceForDownloading();
+    DataSpec dataSpec = new DataSpec.Builder().setUri(uri).setLength(maxBytes).build();
+    return new CacheWriter(dataSource, dataSpec, null, null);
+  }
+
+  /**
+   * Counts the bytes of a single player's media that were read from the cache, and the bytes that
+   * had to be read from the network.
+   */
+  static final class Statistics implements CacheDataSource.EventListener, TransferListener {
+    private final AtomicLong hitBytes = new AtomicLong();
+    private final AtomicLong missBytes = new AtomicLong();
+
+    @Override
+    public void onCachedBytesRead(long cacheSizeBytes, long cachedBytesRead) {
+      hitBytes.addAndGet(cachedBytesRead);
+    }
+
+    @Override
+    public void onCacheIgnored(int reason) {}
+
+    @Override
+    public void onTransferInitializing(
+        @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+
+    @Override
+    public void onTransferStart(
+        @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+
+    @Override
+    public void onBytesTransferred(
+        @NonNull DataSource source,
+        @NonNull DataSpec dataSpec,
+        boolean isNetwork,
+        int bytesTransferred) {
+      if (isNetwork) {
+        missBytes.addAndGet(bytesTransferred);
+      }
+    }
+
+    @Override
+    public void onTransferEnd(
+        @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+
+    /**
+     * Returns the bytes read from the cache and from the network so far, keyed by {@code hitBytes}
+     * and {@code missBytes}.
+     */
+    @NonNull
+    Map<String, Long> toMap() {
+      Map<String, Long> statistics = new HashMap<>();
+      statistics.put("hitBytes", hitBytes.get());
+      statistics.put("missBytes", missBytes.get());
+      return statistics;
+    }
+  }
+}
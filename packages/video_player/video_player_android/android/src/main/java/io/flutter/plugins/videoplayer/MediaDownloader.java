@@ -0,0 +1,439 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.database.DatabaseProvider;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.exoplayer.DefaultRenderersFactory;
+import androidx.media3.exoplayer.offline.DefaultDownloadIndex;
+import androidx.media3.exoplayer.offline.DefaultDownloaderFactory;
+import androidx.media3.exoplayer.offline.Download;
+import androidx.media3.exoplayer.offline.DownloadCursor;
+import androidx.media3.exoplayer.offline.DownloadHelper;
+import androidx.media3.exoplayer.offline.DownloadManager;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.media3.exoplayer.offline.Downloader;
+import androidx.media3.exoplayer.offline.DownloaderFactory;
+import io.flutter.Log;
+import io.flutter.plugins.videoplayer.Messages.DownloadProgressMessage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Downloads remote videos, including HLS, DASH and Smooth Streaming videos, for playback without
+ * network access.
+ *
+ * <p>Downloads are stored in the app's files directory and are never evicted. Their index is
+ * persisted, so that downloads survive restarts of the app and incomplete downloads continue once
+ * the downloader is created again. At most {@link #MAX_PARALLEL_DOWNLOADS} videos are downloaded at
+ * once on background threads, and further downloads wait in order. Downloads are identified by
+ * their URL, and a player created for the URL of a completed download plays it from the store. The
+ * completed downloads are read from the index once, and then kept up to date from the download
+ * manager's events, so that creating a player does not query the index.
+ *
+ * <p>All calls must be made on the main thread.
+ */
+// TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+@OptIn(markerClass = UnstableApi.class)
+final class MediaDownloader {
+  private static final String TAG = "MediaDownloader";
+  private static final String DOWNLOAD_DIRECTORY = "video_player_downloads";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /** The maximum number of videos downloaded at the same time. */
+  @VisibleForTesting static final int MAX_PARALLEL_DOWNLOADS = 2;
+
+  /** The stop reason of downloads paused with {@link #pause(String)}. */
+  @VisibleForTesting static final int STOP_REASON_PAUSED = 1;
+
+  @Nullable private static MediaDownloader instance;
+
+  @NonNull private final Context context;
+  @NonNull private final Cache cache;
+  @NonNull private final DownloadManager downloadManager;
+  @NonNull private final DataSource.Factory httpDataSourceFactory;
+  private final Map<String, DownloadHelper> preparingDownloads = new HashMap<>();
+  // The requests of the completed downloads by URL, or null until read from the index.
+  @Nullable private Map<String, DownloadRequest> completedDownloads;
+
+  /**
+   * Returns whether videos were ever downloaded by this app, so that players can check for
+   * downloads without creating the downloader.
+   */
+  static synchronized boolean hasDownloads(@NonNull Context context) {
+    return instance != null || getDownloadDirectory(context).exists();
+  }
+
+  /**
+   * Returns the process-wide downloader, creating it if needed.
+   *
+   * @param context application context.
+   * @param httpDataSourceFactory factory for the HTTP data sources to download with, see {@link
+   *     HttpVideoAsset#unstableCreateSharedHttpDataSourceFactory()}.
+   * @return the shared downloader.
+   */
+  @NonNull
+  static synchronized MediaDownloader getInstance(
+      @NonNull Context context, @NonNull DataSource.Factory httpDataSourceFactory) {
+    if (instance == null) {
+      DatabaseProvider databaseProvider = MediaCache.getDatabaseProvider(context);
+      Cache cache =
+          new SimpleCache(getDownloadDirectory(context), new NoOpCacheEvictor(), databaseProvider);
+      DownloadManager downloadManager =
+          new DownloadManager(
+              context,
+              new DefaultDownloadIndex(databaseProvider),
+              new HeaderDownloaderFactory(context, cache, httpDataSourceFactory));
+      downloadManager.setMaxParallelDownloads(MAX_PARALLEL_DOWNLOADS);
+      // The download manager starts paused, and continues incomplete downloads once resumed.
+      downloadManager.resumeDownloads();
+      instance = new MediaDownloader(context, cache, downloadManager, httpDataSourceFactory);
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  static synchronized void clearInstance() {
+    instance = null;
+  }
+
+  @NonNull
+  private static File getDownloadDirectory(@NonNull Context context) {
+    return new File(context.getFilesDir(), DOWNLOAD_DIRECTORY);
+  }
+
+  @VisibleForTesting
+  MediaDownloader(
+      @NonNull Context context,
+      @NonNull Cache cache,
+      @NonNull DownloadManager downloadManager,
+      @NonNull DataSource.Factory httpDataSourceFactory) {
+    this.context = context;
+    this.cache = cache;
+    this.downloadManager = downloadManager;
+    this.httpDataSourceFactory = httpDataSourceFactory;
+    downloadManager.addListener(
+        new DownloadManager.Listener() {
+          @Override
+          public void onDownloadChanged(
+              @NonNull DownloadManager downloadManager,
+              @NonNull Download download,
+              @Nullable Exception finalException) {
+            if (completedDownloads == null) {
+              return;
+            }
+            if (download.state == Download.STATE_COMPLETED) {
+              completedDownloads.put(download.request.id, download.request);
+            } else {
+              completedDownloads.remove(download.request.id);
+            }
+          }
+
+          @Override
+          public void onDownloadRemoved(
+              @NonNull DownloadManager downloadManager, @NonNull Download download) {
+            if (completedDownloads != null) {
+              completedDownloads.remove(download.request.id);
+            }
+          }
+        });
+  }
+
+  /**
+   * Starts downloading {@code url}.
+   *
+   * <p>For HLS, DASH and Smooth Streaming videos the manifest is loaded first to select the tracks
+   * to download, which are the tracks a player would select by default. Downloading a video again
+   * continues or updates the existing download.
+   *
+   * @param url remote video, i.e. typically beginning with {@code https://} or similar.
+   * @param streamingFormat which streaming format, provided as a hint if able.
+   * @param httpHeaders HTTP headers to set for the requests, which are stored with the download.
+   */
+  void download(
+      @NonNull String url,
+      @NonNull VideoAsset.StreamingFormat streamingFormat,
+      @NonNull Map<String, String> httpHeaders) {
+    if (preparingDownloads.containsKey(url)) {
+      return;
+    }
+    HttpVideoAsset asset =
+        new HttpVideoAsset(url, streamingFormat, httpHeaders, null, httpDataSourceFactory);
+    DownloadHelper helper =
+        DownloadHelper.forMediaItem(
+            context,
+            asset.getMediaItem(),
+            new DefaultRenderersFactory(context),
+            asset.getUpstreamDataSourceFactory(context));
+    preparingDownloads.put(url, helper);
+    helper.prepare(
+        new DownloadHelper.Callback() {
+          @Override
+          public void onPrepared(@NonNull DownloadHelper helper) {
+            // The download was not removed while it was prepared.
+            if (preparingDownloads.get(url) == helper) {
+              preparingDownloads.remove(url);
+              downloadManager.addDownload(
+                  helper.getDownloadRequest(url, encodeHeaders(httpHeaders)));
+            }
+            helper.release();
+          }
+
+          @Override
+          public void onPrepareError(@NonNull DownloadHelper helper, @NonNull IOException e) {
+            if (preparingDownloads.get(url) == helper) {
+              preparingDownloads.remove(url);
+            }
+            Log.w(TAG, "Failed to prepare the download of " + url, e);
+            helper.release();
+          }
+        });
+  }
+
+  /**
+   * Pauses downloading {@code url}, keeping the bytes that were already downloaded.
+   *
+   * @param url a video passed to {@link #download(String, VideoAsset.StreamingFormat, Map)}.
+   */
+  void pause(@NonNull String url) {
+    downloadManager.setStopReason(url, STOP_REASON_PAUSED);
+  }
+
+  /**
+   * Resumes downloading {@code url} after {@link #pause(String)}.
+   *
+   * @param url a video passed to {@link #download(String, VideoAsset.StreamingFormat, Map)}.
+   */
+  void resume(@NonNull String url) {
+    downloadManager.setStopReason(url, Download.STOP_REASON_NONE);
+  }
+
+  /**
+   * Stops downloading {@code url} and deletes its downloaded bytes.
+   *
+   * @param url a video passed to {@link #download(String, VideoAsset.StreamingFormat, Map)}.
+   */
+  void remove(@NonNull String url) {
+    DownloadHelper helper = preparingDownloads.remove(url);
+    if (helper != null) {
+      helper.release();
+    }
+    downloadManager.removeDownload(url);
+  }
+
+  /**
+   * Returns the state and progress of downloading {@code url}.
+   *
+   * <p>The state is one of {@code preparing}, {@code queued}, {@code downloading}, {@code paused},
+   * {@code completed}, {@code failed}, {@code removing} or {@code restarting}. Once the download
+   * was prepared, the progress also holds the bytes downloaded, and the content length and
+   * percentage downloaded once known.
+   *
+   * @param url a video passed to {@link #download(String, VideoAsset.StreamingFormat, Map)}.
+   * @return the progress, or {@code null} if {@code url} is not downloaded.
+   * @throws IOException if the download index could not be read.
+   */
+  @Nullable
+  DownloadProgressMessage getProgress(@NonNull String url) throws IOException {
+    if (preparingDownloads.containsKey(url)) {
+      return preparingProgress(url);
+    }
+    Download download = getDownload(url);
+    return download == null ? null : progressOf(download);
+  }
+
+  /**
+   * Returns the progress of all downloads, see {@link #getProgress(String)}.
+   *
+   * @return the progress of each download.
+   * @throws IOException if the download index could not be read.
+   */
+  @NonNull
+  List<DownloadProgressMessage> getAllProgress() throws IOException {
+    List<DownloadProgressMessage> progress = new ArrayList<>();
+    for (String url : preparingDownloads.keySet()) {
+      progress.add(preparingProgress(url));
+    }
+    Map<String, Download> currentDownloads = new HashMap<>();
+    for (Download download : downloadManager.getCurrentDownloads()) {
+      currentDownloads.put(download.request.id, download);
+    }
+    try (DownloadCursor cursor = downloadManager.getDownloadIndex().getDownloads()) {
+      while (cursor.moveToNext()) {
+        Download download = cursor.getDownload();
+        Download currentDownload = currentDownloads.get(download.request.id);
+        progress.add(progressOf(currentDownload != null ? currentDownload : download));
+      }
+    }
+    return progress;
+  }
+
+  /**
+   * Returns an asset playing the completed download of {@code url} without network access.
+   *
+   * @param url remote video.
+   * @return the asset, or {@code null} if {@code url} is not completely downloaded.
+   * @throws IOException if the download index could not be read.
+   */
+  @Nullable
+  VideoAsset getDownloadedAsset(@NonNull String url) throws IOException {
+    if (completedDownloads == null) {
+      completedDownloads = readCompletedDownloads();
+    }
+    DownloadRequest request = completedDownloads.get(url);
+    return request == null ? null : VideoAsset.fromDownload(request, cache);
+  }
+
+  @NonNull
+  private Map<String, DownloadRequest> readCompletedDownloads() throws IOException {
+    Map<String, DownloadRequest> downloads = new HashMap<>();
+    try (DownloadCursor cursor =
+        downloadManager.getDownloadIndex().getDownloads(Download.STATE_COMPLETED)) {
+      while (cursor.moveToNext()) {
+        DownloadRequest request = cursor.getDownload().request;
+        downloads.put(request.id, request);
+      }
+    }
+    return downloads;
+  }
+
+  @Nullable
+  private Download getDownload(@NonNull String url) throws IOException {
+    // Only the current downloads hold the latest progress, which is not persisted continuously.
+    for (Download download : downloadManager.getCurrentDownloads()) {
+      if (download.request.id.equals(url)) {
+        return download;
+      }
+    }
+    return downloadManager.getDownloadIndex().getDownload(url);
+  }
+
+  @NonNull
+  private static DownloadProgressMessage preparingProgress(@NonNull String url) {
+    return new DownloadProgressMessage.Builder().setUrl(url).setState("preparing").build();
+  }
+
+  @NonNull
+  private static DownloadProgressMessage progressOf(@NonNull Download download) {
+    DownloadProgressMessage.Builder progress =
+        new DownloadProgressMessage.Builder()
+            .setUrl(download.request.id)
+            .setState(stateOf(download.state))
+            .setBytesDownloaded(download.getBytesDownloaded());
+    if (download.contentLength != C.LENGTH_UNSET) {
+      progress.setContentLength(download.contentLength);
+    }
+    float percentDownloaded = download.getPercentDownloaded();
+    if (percentDownloaded != C.PERCENTAGE_UNSET) {
+      progress.setPercentDownloaded((double) percentDownloaded);
+    }
+    return progress.build();
+  }
+
+  @NonNull
+  private static String stateOf(int state) {
+    switch (state) {
+      case Download.STATE_QUEUED:
+        return "queued";
+      case Download.STATE_STOPPED:
+        // Downloads are only stopped by pausing them.
+        return "paused";
+      case Download.STATE_DOWNLOADING:
+        return "downloading";
+      case Download.STATE_COMPLETED:
+        return "completed";
+      case Download.STATE_FAILED:
+        return "failed";
+      case Download.STATE_REMOVING:
+        return "removing";
+      case Download.STATE_RESTARTING:
+        return "restarting";
+      default:
+        throw new IllegalStateException("Unknown download state " + state);
+    }
+  }
+
+  @VisibleForTesting
+  @NonNull
+  static byte[] encodeHeaders(@NonNull Map<String, String> httpHeaders) {
+    return new JSONObject(httpHeaders).toString().getBytes(UTF_8);
+  }
+
+  @VisibleForTesting
+  @NonNull
+  static Map<String, String> decodeHeaders(@Nullable byte[] data) {
+    Map<String, String> httpHeaders = new HashMap<>();
+    if (data == null || data.length == 0) {
+      return httpHeaders;
+    }
+    try {
+      JSONObject json = new JSONObject(new String(data, UTF_8));
+      for (Iterator<String> keys = json.keys(); keys.hasNext(); ) {
+        String key = keys.next();
+        httpHeaders.put(key, json.getString(key));
+      }
+    } catch (JSONException e) {
+      Log.w(TAG, "Failed to read the HTTP headers of a download.", e);
+    }
+    return httpHeaders;
+  }
+
+  /**
+   * Creates downloaders that send the HTTP headers stored with each download, which the download
+   * manager does not know about.
+   */
+  private static final class HeaderDownloaderFactory implements DownloaderFactory {
+    @NonNull private final Context context;
+    @NonNull private final Cache cache;
+    @NonNull private final DataSource.Factory httpDataSourceFactory;
+
+    HeaderDownloaderFactory(
+        @NonNull Context context,
+        @NonNull Cache cache,
+        @NonNull DataSource.Factory httpDataSourceFactory) {
+      this.context = context;
+      this.cache = cache;
+      this.httpDataSourceFactory = httpDataSourceFactory;
+    }
+
+    @NonNull
+    @Override
+    public Downloader createDownloader(@NonNull DownloadRequest request) {
+      HttpVideoAsset asset =
+          new HttpVideoAsset(
+              request.uri.toString(),
+              VideoAsset.StreamingFormat.UNKNOWN,
+              decodeHeaders(request.data),
+              null,
+              httpDataSourceFactory);
+      CacheDataSource.Factory dataSourceFactory =
+          new CacheDataSource.Factory()
+              .setCache(cache)
+              .setUpstreamDataSourceFactory(asset.getUpstreamDataSourceFactory(context));
+      // Segments are downloaded one at a time on the download manager's thread for the download.
+      return new DefaultDownloaderFactory(dataSourceFactory, Runnable::run)
+          .createDownloader(request);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.cache.CacheWriter;
+import io.flutter.Log;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Downloads the start of remote videos into the {@link MediaCache} in the background, so that a
+ * player created for one of them later shows its first frame from local data.
+ *
+ * <p>Downloading also opens a connection to the server, which is kept alive and reused by the
+ * player. At most {@link #MAX_CONCURRENT_PRELOADS} videos are downloaded at once, and further
+ * requests wait in order.
+ *
+ * <p>Only progressive videos can be preloaded. The start of an HLS, DASH or Smooth Streaming video
+ * is spread over its manifest and first segments, which a range of bytes of its URL doesn't cover.
+ */
+// TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+@OptIn(markerClass = UnstableApi.class)
+final class MediaPreloader {
+  private static final String TAG = "MediaPreloader";
+
+  /** The maximum number of videos downloaded at the same time. */
+  @VisibleForTesting static final int MAX_CONCURRENT_PRELOADS = 2;
+
+  @NonNull private final Context context;
+  @NonNull private final MediaCache mediaCache;
+  @NonNull private final DataSource.Factory httpDataSourceFactory;
+  @NonNull private final ExecutorService executor;
+  private final Map<String, Preload> preloads = new HashMap<>();
+
+  /**
+   * Creates a preloader downloading over {@code httpDataSourceFactory}.
+   *
+   * @param context application context.
+   * @param mediaCache the cache to download into.
+   * @param httpDataSourceFactory the HTTP data source factory shared with the players, so that they
+   *     reuse the connections opened by preloading.
+   */
+  MediaPreloader(
+      @NonNull Context context,
+      @NonNull MediaCache mediaCache,
+      @NonNull DataSource.Factory httpDataSourceFactory) {
+    this(
+        context,
+        mediaCache,
+        httpDataSourceFactory,
+        Executors.newFixedThreadPool(MAX_CONCURRENT_PRELOADS));
+  }
+
+  @VisibleForTesting
+  MediaPreloader(
+      @NonNull Context context,
+      @NonNull MediaCache mediaCache,
+      @NonNull DataSource.Factory httpDataSourceFactory,
+      @NonNull ExecutorService executor) {
+    this.context = context;
+    this.mediaCache = mediaCache;
+    this.httpDataSourceFactory = httpDataSourceFactory;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts downloading up to {@code maxBytes} bytes from the start of {@code url}.
+   *
+   * <p>Does nothing if {@code url} is already being preloaded.
+   *
+   * @param url remote video, i.e. typically beginning with {@code https://} or similar.
+   * @param streamingFormat the streaming format hint of the video.
+   * @param httpHeaders HTTP headers to set for the request, which should match the headers the
+   *     video will be played with.
+   * @param maxBytes the maximum number of bytes to download.
+   * @throws IllegalArgumentException if the video is an HLS, DASH or Smooth Streaming video.
+   */
+  synchronized void preload(
+      @NonNull String url,
+      @NonNull VideoAsset.StreamingFormat streamingFormat,
+      @NonNull Map<String, String> httpHeaders,
+      long maxBytes) {
+    if (streamingFormat != VideoAsset.StreamingFormat.UNKNOWN
+        || Util.inferContentType(Uri.parse(url)) != C.CONTENT_TYPE_OTHER) {
+      throw new IllegalArgumentException(
+          "Only progressive videos can be preloaded, " + url + " is an adaptive stream.");
+    }
+    if (preloads.containsKey(url)) {
+      return;
+    }
+    HttpVideoAsset asset =
+        new HttpVideoAsset(
+            url,
+            VideoAsset.StreamingFormat.UNKNOWN,
+            httpHeaders,
+            mediaCache,
+            httpDataSourceFactory);
+    CacheWriter writer =
+        mediaCache.createCacheWriter(
+            asset.getUpstreamDataSourceFactory(context), Uri.parse(url), maxBytes);
+    Preload preload = new Preload(url, writer);
+    preloads.put(url, preload);
+    preload.future = executor.submit(preload);
+  }
+
+  /**
+   * Stops preloading {@code url}. Bytes that were already downloaded stay in the cache.
+   *
+   * @param url a video passed to {@link #preload(String, VideoAsset.StreamingFormat, Map, long)}.
+   */
+  synchronized void cancel(@NonNull String url) {
+    Preload preload = preloads.remove(url);
+    if (preload != null) {
+      preload.cancel();
+    }
+  }
+
+  /** Returns whether {@code url} is still being preloaded. */
+  synchronized boolean isPreloading(@NonNull String url) {
+    return preloads.containsKey(url);
+  }
+
+  /** Stops all preloads and the threads they run on. */
+  void release() {
+    ArrayList<Preload> cancelled;
+    synchronized (this) {
+      cancelled = new ArrayList<>(preloads.values());
+      preloads.clear();
+    }
+    for (Preload preload : cancelled) {
+      preload.cancel();
+    }
+    executor.shutdown();
+  }
+
+  private synchronized void onPreloadFinished(@NonNull Preload preload) {
+    if (preloads.get(preload.url) == preload) {
+      preloads.remove(preload.url);
+    }
+  }
+
+  private final class Preload implements Runnable {
+    @NonNull final String url;
+    @NonNull final CacheWriter writer;
+    @Nullable Future<?> future;
+
+    Preload(@NonNull String url, @NonNull CacheWriter writer) {
+      this.url = url;
+      this.writer = writer;
+    }
+
+    @Override
+    public void run() {
+      try {
+        writer.cache();
+      } catch (InterruptedIOException e) {
+        // The preload was cancelled.
+      } catch (IOException e) {
+        Log.w(TAG, "Failed to preload " + url, e);
+      } finally {
+        onPreloadFinished(this);
+      }
+    }
+
+    void cancel() {
+      writer.cancel();
+      if (future != null) {
+        future.cancel(false);
+      }
+    }
+  }
+}
@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -726,6 +727,168 @@ public class Messages {
     }
   }
 
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static final class DownloadProgressMessage {
+    private @NonNull String url;
+
+    public @NonNull String getUrl() {
+      return url;
+    }
+
+    public void setUrl(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"url\" is null.");
+      }
+      this.url = setterArg;
+    }
+
+    private @NonNull String state;
+
+    public @NonNull String getState() {
+      return state;
+    }
+
+    public void setState(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"state\" is null.");
+      }
+      this.state = setterArg;
+    }
+
+    private @Nullable Long bytesDownloaded;
+
+    public @Nullable Long getBytesDownloaded() {
+      return bytesDownloaded;
+    }
+
+    public void setBytesDownloaded(@Nullable Long setterArg) {
+      this.bytesDownloaded = setterArg;
+    }
+
+    private @Nullable Long contentLength;
+
+    public @Nullable Long getContentLength() {
+      return contentLength;
+    }
+
+    public void setContentLength(@Nullable Long setterArg) {
+      this.contentLength = setterArg;
+    }
+
+    private @Nullable Double percentDownloaded;
+
+    public @Nullable Double getPercentDownloaded() {
+      return percentDownloaded;
+    }
+
+    public void setPercentDownloaded(@Nullable Double setterArg) {
+      this.percentDownloaded = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    DownloadProgressMessage() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DownloadProgressMessage that = (DownloadProgressMessage) o;
+      return url.equals(that.url)
+          && state.equals(that.state)
+          && Objects.equals(bytesDownloaded, that.bytesDownloaded)
+          && Objects.equals(contentLength, that.contentLength)
+          && Objects.equals(percentDownloaded, that.percentDownloaded);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(url, state, bytesDownloaded, contentLength, percentDownloaded);
+    }
+
+    public static final class Builder {
+
+      private @Nullable String url;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setUrl(@NonNull String setterArg) {
+        this.url = setterArg;
+        return this;
+      }
+
+      private @Nullable String state;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setState(@NonNull String setterArg) {
+        this.state = setterArg;
+        return this;
+      }
+
+      private @Nullable Long bytesDownloaded;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBytesDownloaded(@Nullable Long setterArg) {
+        this.bytesDownloaded = setterArg;
+        return this;
+      }
+
+      private @Nullable Long contentLength;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setContentLength(@Nullable Long setterArg) {
+        this.contentLength = setterArg;
+        return this;
+      }
+
+      private @Nullable Double percentDownloaded;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setPercentDownloaded(@Nullable Double setterArg) {
+        this.percentDownloaded = setterArg;
+        return this;
+      }
+
+      public @NonNull DownloadProgressMessage build() {
+        DownloadProgressMessage pigeonReturn = new DownloadProgressMessage();
+        pigeonReturn.setUrl(url);
+        pigeonReturn.setState(state);
+        pigeonReturn.setBytesDownloaded(bytesDownloaded);
+        pigeonReturn.setContentLength(contentLength);
+        pigeonReturn.setPercentDownloaded(percentDownloaded);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(5);
+      toListResult.add(url);
+      toListResult.add(state);
+      toListResult.add(bytesDownloaded);
+      toListResult.add(contentLength);
+      toListResult.add(percentDownloaded);
+      return toListResult;
+    }
+
+    static @NonNull DownloadProgressMessage fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      DownloadProgressMessage pigeonResult = new DownloadProgressMessage();
+      Object url = pigeonVar_list.get(0);
+      pigeonResult.setUrl((String) url);
+      Object state = pigeonVar_list.get(1);
+      pigeonResult.setState((String) state);
+      Object bytesDownloaded = pigeonVar_list.get(2);
+      pigeonResult.setBytesDownloaded((Long) bytesDownloaded);
+      Object contentLength = pigeonVar_list.get(3);
+      pigeonResult.setContentLength((Long) contentLength);
+      Object percentDownloaded = pigeonVar_list.get(4);
+      pigeonResult.setPercentDownloaded((Double) percentDownloaded);
+      return pigeonResult;
+    }
+  }
+
   private static class PigeonCodec extends StandardMessageCodec {
     public static final PigeonCodec INSTANCE = new PigeonCodec();
 
@@ -748,6 +911,8 @@ public class Messages {
           return CreateMessage.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 135:
           return MixWithOthersMessage.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 136:
+          return DownloadProgressMessage.fromList((ArrayList<Object>) readValue(buffer));
         default:
           return super.readValueOfType(type, buffer);
       }
@@ -776,6 +941,9 @@ public class Messages {
       } else if (value instanceof MixWithOthersMessage) {
         stream.write(135);
         writeValue(stream, ((MixWithOthersMessage) value).toList());
+      } else if (value instanceof DownloadProgressMessage) {
+        stream.write(136);
+        writeValue(stream, ((DownloadProgressMessage) value).toList());
       } else {
         super.writeValue(stream, value);
       }
@@ -809,6 +977,104 @@ public class Messages {
 
     void setMixWithOthers(@NonNull MixWithOthersMessage msg);
 
+    /**
+     * Enables a size-bounded LRU cache of media streamed over HTTP, shared by all players created
+     * afterwards, or disables it with 0.
+     */
+    void setMediaCacheSize(@NonNull Long maxBytes);
+
+    /**
+     * Starts downloading the first [maxBytes] bytes of a progressive remote video into the media
+     * cache in the background.
+     */
+    void preload(
+        @NonNull String url,
+        @Nullable String formatHint,
+        @NonNull Map<String, String> httpHeaders,
+        @NonNull Long maxBytes);
+
+    /** Stops preloading a video started with [preload]. */
+    void cancelPreload(@NonNull String url);
+
+    /**
+     * Sets how often the position, buffered range and playback speed of all players are sent as a
+     * single batched event, or stops sending them if [intervalMs] is 0.
+     */
+    void setPlaybackUpdateInterval(@NonNull Long intervalMs);
+
+    /** Sets how much media players created afterwards buffer. 0 selects the default of a value. */
+    void setLoadControl(
+        @NonNull Long minBufferMs,
+        @NonNull Long maxBufferMs,
+        @NonNull Long bufferForPlaybackMs,
+        @NonNull Long bufferForPlaybackAfterRebufferMs,
+        @NonNull Long backBufferDurationMs,
+        @NonNull Long targetBufferBytes);
+
+    /**
+     * Sets the bandwidth players created afterwards assume before they loaded any media, or
+     * restores the default if [bitsPerSecond] is 0.
+     */
+    void setInitialBitrateEstimate(@NonNull Long bitsPerSecond);
+
+    /**
+     * Limits the video tracks adaptive streaming may select for a player, or for players created
+     * afterwards if [textureId] is null. 0 means no limit.
+     */
+    void setVideoTrackConstraints(
+        @Nullable Long textureId,
+        @NonNull Long maxWidth,
+        @NonNull Long maxHeight,
+        @NonNull Long maxBitrate);
+
+    /**
+     * Sets how much memory players may keep while their surface is destroyed, or 0 to always
+     * release them.
+     */
+    void setDetachedPlayerMemoryBudget(@NonNull Long maxBytes);
+
+    /**
+     * Starts downloading a remote video in the background for playback without network access, or
+     * continues downloading it.
+     */
+    void download(
+        @NonNull String url, @Nullable String formatHint, @NonNull Map<String, String> httpHeaders);
+
+    /** Pauses a download started with [download]. */
+    void pauseDownload(@NonNull String url);
+
+    /** Resumes a download paused with [pauseDownload]. */
+    void resumeDownload(@NonNull String url);
+
+    /** Stops a download started with [download] and deletes the downloaded media. */
+    void removeDownload(@NonNull String url);
+
+    /** Returns the state and progress of downloading [url], or null if it is not downloaded. */
+    @Nullable
+    DownloadProgressMessage getDownloadProgress(@NonNull String url);
+
+    /** Returns the state and progress of all downloads. */
+    @NonNull
+    List<DownloadProgressMessage> getAllDownloadProgress();
+
+    /** Sets whether quality of experience metrics are collected for players created afterwards. */
+    void setQualityMetricsEnabled(@NonNull Boolean enabled);
+
+    /**
+     * Returns the quality of experience metrics of a player created while they were enabled with
+     * [setQualityMetricsEnabled].
+     */
+    @NonNull
+    Map<String, Object> getQualityMetrics(@NonNull Long textureId);
+
+    /** Returns a player's bandwidth estimate, bytes loaded and selected tracks. */
+    @NonNull
+    Map<String, Object> getPlaybackStatistics(@NonNull Long textureId);
+
+    /** Returns the bytes of a player's media read from the media cache and from the network. */
+    @NonNull
+    Map<String, Long> getMediaCacheStatistics(@NonNull Long textureId);
+
     /** The codec used by AndroidVideoPlayerApi. */
     static @NonNull MessageCodec<Object> getCodec() {
       return PigeonCodec.INSTANCE;
@@ -1100,6 +1366,474 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMediaCacheSize"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long maxBytesArg = (Long) args.get(0);
+                try {
+                  api.setMediaCacheSize(maxBytesArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                String formatHintArg = (String) args.get(1);
+                Map<String, String> httpHeadersArg = (Map<String, String>) args.get(2);
+                Long maxBytesArg = (Long) args.get(3);
+                try {
+                  api.preload(urlArg, formatHintArg, httpHeadersArg, maxBytesArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelPreload"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                try {
+                  api.cancelPreload(urlArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlaybackUpdateInterval"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long intervalMsArg = (Long) args.get(0);
+                try {
+                  api.setPlaybackUpdateInterval(intervalMsArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long minBufferMsArg = (Long) args.get(0);
+                Long maxBufferMsArg = (Long) args.get(1);
+                Long bufferForPlaybackMsArg = (Long) args.get(2);
+                Long bufferForPlaybackAfterRebufferMsArg = (Long) args.get(3);
+                Long backBufferDurationMsArg = (Long) args.get(4);
+                Long targetBufferBytesArg = (Long) args.get(5);
+                try {
+                  api.setLoadControl(
+                      minBufferMsArg,
+                      maxBufferMsArg,
+                      bufferForPlaybackMsArg,
+                      bufferForPlaybackAfterRebufferMsArg,
+                      backBufferDurationMsArg,
+                      targetBufferBytesArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setInitialBitrateEstimate"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long bitsPerSecondArg = (Long) args.get(0);
+                try {
+                  api.setInitialBitrateEstimate(bitsPerSecondArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVideoTrackConstraints"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long textureIdArg = (Long) args.get(0);
+                Long maxWidthArg = (Long) args.get(1);
+                Long maxHeightArg = (Long) args.get(2);
+                Long maxBitrateArg = (Long) args.get(3);
+                try {
+                  api.setVideoTrackConstraints(
+                      textureIdArg, maxWidthArg, maxHeightArg, maxBitrateArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDetachedPlayerMemoryBudget"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long maxBytesArg = (Long) args.get(0);
+                try {
+                  api.setDetachedPlayerMemoryBudget(maxBytesArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.download"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                String formatHintArg = (String) args.get(1);
+                Map<String, String> httpHeadersArg = (Map<String, String>) args.get(2);
+                try {
+                  api.download(urlArg, formatHintArg, httpHeadersArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.pauseDownload"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                try {
+                  api.pauseDownload(urlArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.resumeDownload"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                try {
+                  api.resumeDownload(urlArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                try {
+                  api.removeDownload(urlArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgress"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                try {
+                  DownloadProgressMessage output = api.getDownloadProgress(urlArg);
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getAllDownloadProgress"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  List<DownloadProgressMessage> output = api.getAllDownloadProgress();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setQualityMetricsEnabled"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean enabledArg = (Boolean) args.get(0);
+                try {
+                  api.setQualityMetricsEnabled(enabledArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getQualityMetrics"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long textureIdArg = (Long) args.get(0);
+                try {
+                  Map<String, Object> output = api.getQualityMetrics(textureIdArg);
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStatistics"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long textureIdArg = (Long) args.get(0);
+                try {
+                  Map<String, Object> output = api.getPlaybackStatistics(textureIdArg);
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMediaCacheStatistics"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long textureIdArg = (Long) args.get(0);
+                try {
+                  Map<String, Long> output = api.getMediaCacheStatistics(textureIdArg);
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
 }
@@ -0,0 +1,177 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DecoderReuseEvaluation;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.analytics.AnalyticsListener;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregates quality of experience metrics of a single {@link VideoPlayer}: the time to the first
+ * rendered frame, rebuffers, dropped frames, decoder initialization times and video bitrate
+ * switches.
+ *
+ * <p>A rebuffer is a transition to {@link Player#STATE_BUFFERING} after playback was ready, other
+ * than for a seek. Like {@link PlaybackStatistics}, the metrics outlive the {@link ExoPlayer}
+ * instances of the video player. All calls must be done on the main thread, and times are based on
+ * {@link android.os.SystemClock#elapsedRealtime()}.
+ */
+// TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+@OptIn(markerClass = UnstableApi.class)
+final class PlaybackQualityMetrics implements AnalyticsListener {
+  private final long startRealtimeMs;
+  private long timeToFirstFrameMs = C.TIME_UNSET;
+  private boolean hasBeenReady;
+  private boolean isSeeking;
+  private long rebufferStartRealtimeMs = C.TIME_UNSET;
+  private int rebufferCount;
+  private long rebufferDurationMs;
+  private long droppedFrames;
+  private long videoDecoderInitializationMs = C.TIME_UNSET;
+  private long audioDecoderInitializationMs = C.TIME_UNSET;
+  @Nullable private Format lastVideoFormat;
+  private int videoBitrateSwitchCount;
+
+  /**
+   * Creates metrics for a video player that starts loading media at {@code startRealtimeMs}.
+   *
+   * @param startRealtimeMs the time the first frame is awaited from.
+   */
+  PlaybackQualityMetrics(long startRealtimeMs) {
+    this.startRealtimeMs = startRealtimeMs;
+  }
+
+  /** Starts collecting metrics from {@code exoPlayer}. */
+  void attach(@NonNull ExoPlayer exoPlayer) {
+    exoPlayer.addAnalyticsListener(this);
+  }
+
+  /** Stops collecting metrics from {@code exoPlayer}, ending a rebuffer in progress. */
+  void detach(@NonNull ExoPlayer exoPlayer, long nowRealtimeMs) {
+    exoPlayer.removeAnalyticsListener(this);
+    endRebuffer(nowRealtimeMs);
+    // The next player starts loading from scratch.
+    hasBeenReady = false;
+    isSeeking = false;
+  }
+
+  @Override
+  public void onPositionDiscontinuity(
+      @NonNull EventTime eventTime,
+      @NonNull Player.PositionInfo oldPosition,
+      @NonNull Player.PositionInfo newPosition,
+      int reason) {
+    if (reason == Player.DISCONTINUITY_REASON_SEEK) {
+      isSeeking = true;
+    }
+  }
+
+  @Override
+  public void onPlaybackStateChanged(@NonNull EventTime eventTime, int state) {
+    if (state == Player.STATE_BUFFERING) {
+      if (hasBeenReady && !isSeeking && rebufferStartRealtimeMs == C.TIME_UNSET) {
+        rebufferCount++;
+        rebufferStartRealtimeMs = eventTime.realtimeMs;
+      }
+      return;
+    }
+    endRebuffer(eventTime.realtimeMs);
+    if (state == Player.STATE_READY) {
+      hasBeenReady = true;
+      isSeeking = false;
+    }
+  }
+
+  @Override
+  public void onRenderedFirstFrame(
+      @NonNull EventTime eventTime, @NonNull Object output, long renderTimeMs) {
+    if (timeToFirstFrameMs == C.TIME_UNSET) {
+      timeToFirstFrameMs = eventTime.realtimeMs - startRealtimeMs;
+    }
+  }
+
+  @Override
+  public void onDroppedVideoFrames(
+      @NonNull EventTime eventTime, int droppedFrames, long elapsedMs) {
+    this.droppedFrames += droppedFrames;
+  }
+
+  @Override
+  public void onVideoDecoderInitialized(
+      @NonNull EventTime eventTime,
+      @NonNull String decoderName,
+      long initializedTimestampMs,
+      long initializationDurationMs) {
+    videoDecoderInitializationMs = initializationDurationMs;
+  }
+
+  @Override
+  public void onAudioDecoderInitialized(
+      @NonNull EventTime eventTime,
+      @NonNull String decoderName,
+      long initializedTimestampMs,
+      long initializationDurationMs) {
+    audioDecoderInitializationMs = initializationDurationMs;
+  }
+
+  @Override
+  public void onVideoInputFormatChanged(
+      @NonNull EventTime eventTime,
+      @NonNull Format format,
+      @Nullable DecoderReuseEvaluation decoderReuseEvaluation) {
+    if (lastVideoFormat != null && lastVideoFormat.bitrate != format.bitrate) {
+      videoBitrateSwitchCount++;
+    }
+    lastVideoFormat = format;
+  }
+
+  private void endRebuffer(long nowRealtimeMs) {
+    if (rebufferStartRealtimeMs != C.TIME_UNSET) {
+      rebufferDurationMs += nowRealtimeMs - rebufferStartRealtimeMs;
+      rebufferStartRealtimeMs = C.TIME_UNSET;
+    }
+  }
+
+  /**
+   * Returns a snapshot of the metrics.
+   *
+   * <p>The map holds {@code rebufferCount}, {@code rebufferDurationMs} including a rebuffer in
+   * progress, {@code droppedFrames} and {@code videoBitrateSwitchCount}. Once known, it also holds
+   * {@code timeToFirstFrameMs}, and the {@code videoDecoderInitializationMs} and {@code
+   * audioDecoderInitializationMs} of the most recently initialized decoders.
+   *
+   * @param nowRealtimeMs the current time.
+   * @return the metrics.
+   */
+  @NonNull
+  Map<String, Object> toMap(long nowRealtimeMs) {
+    Map<String, Object> metrics = new HashMap<>();
+    if (timeToFirstFrameMs != C.TIME_UNSET) {
+      metrics.put("timeToFirstFrameMs", timeToFirstFrameMs);
+    }
+    metrics.put("rebufferCount", rebufferCount);
+    long ongoingRebufferMs =
+        rebufferStartRealtimeMs == C.TIME_UNSET ? 0 : nowRealtimeMs - rebufferStartRealtimeMs;
+    metrics.put("rebufferDurationMs", rebufferDurationMs + ongoingRebufferMs);
+    metrics.put("droppedFrames", droppedFrames);
+    if (videoDecoderInitializationMs != C.TIME_UNSET) {
+      metrics.put("videoDecoderInitializationMs", videoDecoderInitializationMs);
+    }
+    if (audioDecoderInitializationMs != C.TIME_UNSET) {
+      metrics.put("audioDecoderInitializationMs", audioDecoderInitializationMs);
+    }
+    metrics.put("videoBitrateSwitchCount", videoBitrateSwitchCount);
+    return metrics;
+  }
+}
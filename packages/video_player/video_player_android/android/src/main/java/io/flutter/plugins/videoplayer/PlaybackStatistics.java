@@ -0,0 +1,91 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.Format;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.analytics.AnalyticsListener;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the bandwidth estimate of a single {@link VideoPlayer}, and reports it along with the
+ * video and audio tracks currently selected by adaptive streaming.
+ *
+ * <p>The statistics outlive the {@link ExoPlayer} instances of the video player, which may change
+ * when its surface is recreated. All calls must be done on the main thread.
+ */
+// TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+@OptIn(markerClass = UnstableApi.class)
+final class PlaybackStatistics implements AnalyticsListener {
+  private long bitrateEstimate;
+  private long totalBytesLoaded;
+
+  /** Starts collecting statistics from {@code exoPlayer}. */
+  void attach(@NonNull ExoPlayer exoPlayer) {
+    exoPlayer.addAnalyticsListener(this);
+  }
+
+  /** Stops collecting statistics from {@code exoPlayer}. */
+  void detach(@NonNull ExoPlayer exoPlayer) {
+    exoPlayer.removeAnalyticsListener(this);
+  }
+
+  @Override
+  public void onBandwidthEstimate(
+      @NonNull EventTime eventTime,
+      int totalLoadTimeMs,
+      long totalBytesLoaded,
+      long bitrateEstimate) {
+    this.bitrateEstimate = bitrateEstimate;
+    this.totalBytesLoaded += totalBytesLoaded;
+  }
+
+  /**
+   * Returns the statistics collected so far.
+   *
+   * <p>The map holds the latest bandwidth estimate in bits per second under {@code
+   * bandwidthEstimate}, and the bytes loaded so far under {@code totalBytesLoaded}. If a video
+   * track is selected, it also holds its {@code videoWidth}, {@code videoHeight}, {@code
+   * videoBitrate} and {@code videoCodecs}, and if an audio track is selected, its {@code
+   * audioBitrate}. Values that are unknown are omitted.
+   *
+   * @param exoPlayer the player to read the selected tracks from, or null if it is not available.
+   * @return the statistics.
+   */
+  @NonNull
+  Map<String, Object> toMap(@Nullable ExoPlayer exoPlayer) {
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("bandwidthEstimate", bitrateEstimate);
+    statistics.put("totalBytesLoaded", totalBytesLoaded);
+    if (exoPlayer == null) {
+      return statistics;
+    }
+    Format videoFormat = exoPlayer.getVideoFormat();
+    if (videoFormat != null) {
+      putIfKnown(statistics, "videoWidth", videoFormat.width);
+      putIfKnown(statistics, "videoHeight", videoFormat.height);
+      putIfKnown(statistics, "videoBitrate", videoFormat.bitrate);
+      if (videoFormat.codecs != null) {
+        statistics.put("videoCodecs", videoFormat.codecs);
+      }
+    }
+    Format audioFormat = exoPlayer.getAudioFormat();
+    if (audioFormat != null) {
+      putIfKnown(statistics, "audioBitrate", audioFormat.bitrate);
+    }
+    return statistics;
+  }
+
+  private static void putIfKnown(@NonNull Map<String, Object> statistics, String key, int value) {
+    if (value != Format.NO_VALUE) {
+      statistics.put(key, value);
+    }
+  }
+}
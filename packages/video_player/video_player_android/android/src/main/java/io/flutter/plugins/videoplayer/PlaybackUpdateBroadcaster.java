@@ -0,0 +1,207 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LongSparseArray;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugin.common.EventChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically sends the position, buffered range and playback speed of all players as a single
+ * batched event, so that Dart does not have to poll each player for its position.
+ *
+ * <p>Each tick also has every player send a {@code bufferingUpdate} event on its own channel when
+ * its buffered position changed, which polling the position used to trigger.
+ *
+ * <p>For players collecting quality of experience metrics, each update also holds a snapshot of the
+ * metrics under {@code qualityMetrics}.
+ *
+ * <p>Each tick sends one {@code playbackUpdates} event, holding an update for every player whose
+ * values changed since the previous tick. No event is sent when nothing changed or when nobody
+ * listens. Updates are not queued while nobody listens, as they are outdated by the next tick.
+ *
+ * <p>This class is not thread-safe. All calls must be done on the main thread.
+ */
+final class PlaybackUpdateBroadcaster {
+  @NonNull private final LongSparseArray<VideoPlayer> videoPlayers;
+  @NonNull private final Handler handler;
+  private final LongSparseArray<PlaybackUpdate> lastUpdates = new LongSparseArray<>();
+  private final Runnable tick = this::tick;
+  @Nullable private EventChannel.EventSink eventSink;
+  private long intervalMs;
+
+  /**
+   * Creates a broadcaster sending updates for {@code videoPlayers} to the listener of {@code
+   * eventChannel}.
+   *
+   * @param eventChannel channel to send batched updates on.
+   * @param videoPlayers the active players by texture ID, which may change between ticks.
+   * @return the broadcaster, which is disabled until an interval is set.
+   */
+  @NonNull
+  static PlaybackUpdateBroadcaster bindTo(
+      @NonNull EventChannel eventChannel, @NonNull LongSparseArray<VideoPlayer> videoPlayers) {
+    PlaybackUpdateBroadcaster broadcaster =
+        new PlaybackUpdateBroadcaster(videoPlayers, new Handler(Looper.getMainLooper()));
+    eventChannel.setStreamHandler(
+        new EventChannel.StreamHandler() {
+          @Override
+          public void onListen(Object arguments, EventChannel.EventSink events) {
+            broadcaster.setEventSink(events);
+          }
+
+          @Override
+          public void onCancel(Object arguments) {
+            broadcaster.setEventSink(null);
+          }
+        });
+    return broadcaster;
+  }
+
+  @VisibleForTesting
+  PlaybackUpdateBroadcaster(
+      @NonNull LongSparseArray<VideoPlayer> videoPlayers, @NonNull Handler handler) {
+    this.videoPlayers = videoPlayers;
+    this.handler = handler;
+  }
+
+  @VisibleForTesting
+  void setEventSink(@Nullable EventChannel.EventSink eventSink) {
+    this.eventSink = eventSink;
+    // A new listener has not seen any values yet.
+    lastUpdates.clear();
+  }
+
+  /**
+   * Sets how often updates are sent.
+   *
+   * @param intervalMs the time between two batched events in milliseconds, or 0 to stop sending
+   *     updates.
+   */
+  void setInterval(long intervalMs) {
+    if (intervalMs < 0) {
+      throw new IllegalArgumentException("The update interval must not be negative.");
+    }
+    this.intervalMs = intervalMs;
+    handler.removeCallbacks(tick);
+    if (intervalMs > 0) {
+      handler.postDelayed(tick, intervalMs);
+    }
+  }
+
+  /** Stops sending updates. */
+  void release() {
+    setInterval(0);
+    eventSink = null;
+  }
+
+  @VisibleForTesting
+  void tick() {
+    if (eventSink != null) {
+      sendUpdates(eventSink);
+    }
+    if (intervalMs > 0) {
+      handler.postDelayed(tick, intervalMs);
+    }
+  }
+
+  private void sendUpdates(@NonNull EventChannel.EventSink eventSink) {
+    // Forget players that were disposed since the previous tick.
+    for (int i = lastUpdates.size() - 1; i >= 0; i--) {
+      if (videoPlayers.get(lastUpdates.keyAt(i)) == null) {
+        lastUpdates.removeAt(i);
+      }
+    }
+
+    List<Map<String, Object>> updates = new ArrayList<>();
+    for (int i = 0; i < videoPlayers.size(); i++) {
+      long textureId = videoPlayers.keyAt(i);
+      VideoPlayer videoPlayer = videoPlayers.valueAt(i);
+      videoPlayer.sendBufferingUpdate();
+      PlaybackUpdate update =
+          new PlaybackUpdate(
+              videoPlayer.getPosition(),
+              videoPlayer.getBufferedPosition(),
+              videoPlayer.getPlaybackSpeed(),
+              videoPlayer.getQualityMetrics());
+      if (update.equals(lastUpdates.get(textureId))) {
+        continue;
+      }
+      lastUpdates.put(textureId, update);
+      updates.add(update.toMap(textureId));
+    }
+    if (updates.isEmpty()) {
+      return;
+    }
+
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "playbackUpdates");
+    event.put("updates", updates);
+    eventSink.success(event);
+  }
+
+  private static final class PlaybackUpdate {
+    final long position;
+    final long bufferedPosition;
+    final float playbackSpeed;
+    @Nullable final Map<String, Object> qualityMetrics;
+
+    PlaybackUpdate(
+        long position,
+        long bufferedPosition,
+        float playbackSpeed,
+        @Nullable Map<String, Object> qualityMetrics) {
+      this.position = position;
+      this.bufferedPosition = bufferedPosition;
+      this.playbackSpeed = playbackSpeed;
+      this.qualityMetrics = qualityMetrics;
+    }
+
+    @NonNull
+    Map<String, Object> toMap(long textureId) {
+      Map<String, Object> update = new HashMap<>();
+      update.put("textureId", textureId);
+      update.put("position", position);
+      // Like bufferingUpdate, send the buffered range as a list with a single range.
+      List<? extends Number> range = Arrays.asList(0, bufferedPosition);
+      update.put("buffered", Collections.singletonList(range));
+      update.put("playbackSpeed", (double) playbackSpeed);
+      if (qualityMetrics != null) {
+        update.put("qualityMetrics", qualityMetrics);
+      }
+      return update;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof PlaybackUpdate)) {
+        return false;
+      }
+      PlaybackUpdate other = (PlaybackUpdate) o;
+      return position == other.position
+          && bufferedPosition == other.bufferedPosition
+          && playbackSpeed == other.playbackSpeed
+          && (qualityMetrics == null
+              ? other.qualityMetrics == null
+              : qualityMetrics.equals(other.qualityMetrics));
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(
+          new Object[] {position, bufferedPosition, playbackSpeed, qualityMetrics});
+    }
+  }
+}
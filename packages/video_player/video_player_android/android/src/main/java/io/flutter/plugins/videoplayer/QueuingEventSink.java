@@ -6,6 +6,10 @@ package io.flutter.plugins.videoplayer;
 
 import io.flutter.plugin.common.EventChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * And implementation of {@link EventChannel.EventSink} which can wrap an underlying sink.
@@ -13,10 +17,18 @@ import java.util.ArrayList;
  * <p>It delivers messages immediately when downstream is available, but it queues messages before
  * the delegate event sink is set with setDelegate.
  *
+ * <p>Events reporting the current value of a state, such as {@code bufferingUpdate}, are coalesced
+ * while queued: a new event replaces a queued event of the same kind, so that only the latest value
+ * is delivered.
+ *
  * <p>This class is not thread-safe. All calls must be done on the same thread or synchronized
  * externally.
  */
 final class QueuingEventSink implements EventChannel.EventSink {
+  /** Names of events that are outdated by the next event with the same name. */
+  private static final Set<String> COALESCED_EVENTS =
+      new HashSet<>(Arrays.asList("bufferingUpdate", "isPlayingStateUpdate"));
+
   private EventChannel.EventSink delegate;
   private final ArrayList<Object> eventQueue = new ArrayList<>();
   private boolean done = false;
@@ -49,9 +61,30 @@ final class QueuingEventSink implements EventChannel.EventSink {
     if (done) {
       return;
     }
+    String coalescedEvent = getCoalescedEventName(event);
+    if (coalescedEvent != null) {
+      for (int i = 0; i < eventQueue.size(); i++) {
+        if (coalescedEvent.equals(getCoalescedEventName(eventQueue.get(i)))) {
+          eventQueue.remove(i);
+          break;
+        }
+      }
+    }
     eventQueue.add(event);
   }
 
+  private static String getCoalescedEventName(Object event) {
+    // Buffering updates are sent as a bare range, see VideoPlayerEventCallbacks.
+    if (event instanceof long[]) {
+      return "bufferingUpdate";
+    }
+    if (!(event instanceof Map)) {
+      return null;
+    }
+    Object name = ((Map<?, ?>) event).get("event");
+    return COALESCED_EVENTS.contains(name) ? (String) name : null;
+  }
+
   private void maybeFlush() {
     if (delegate == null) {
       return;
@@ -8,8 +8,10 @@ import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.media3.common.MediaItem;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.exoplayer.offline.DownloadRequest;
 import androidx.media3.exoplayer.source.MediaSource;
-import java.util.HashMap;
 import java.util.Map;
 
 /** A video to be played by {@link VideoPlayer}. */
@@ -41,7 +43,66 @@ abstract class VideoAsset {
       @Nullable String remoteUrl,
       @NonNull StreamingFormat streamingFormat,
       @NonNull Map<String, String> httpHeaders) {
-    return new HttpVideoAsset(remoteUrl, streamingFormat, new HashMap<>(httpHeaders));
+    return fromRemoteUrl(remoteUrl, streamingFormat, httpHeaders, null);
+  }
+
+  /**
+   * Returns an asset from a remote URL, read through a media cache.
+   *
+   * @param remoteUrl remote asset, i.e. typically beginning with {@code https://} or similar.
+   * @param streamingFormat which streaming format, provided as a hint if able.
+   * @param httpHeaders HTTP headers to set for a request.
+   * @param mediaCache cache to read the asset through, or {@code null} to not cache it.
+   * @return the asset.
+   */
+  @NonNull
+  static VideoAsset fromRemoteUrl(
+      @Nullable String remoteUrl,
+      @NonNull StreamingFormat streamingFormat,
+      @NonNull Map<String, String> httpHeaders,
+      @Nullable MediaCache mediaCache) {
+    return fromRemoteUrl(
+        remoteUrl,
+        streamingFormat,
+        httpHeaders,
+        mediaCache,
+        HttpVideoAsset.unstableCreateSharedHttpDataSourceFactory());
+  }
+
+  /**
+   * Returns an asset from a remote URL, read through a media cache and an HTTP data source factory
+   * shared with other assets.
+   *
+   * @param remoteUrl remote asset, i.e. typically beginning with {@code https://} or similar.
+   * @param streamingFormat which streaming format, provided as a hint if able.
+   * @param httpHeaders HTTP headers to set for a request.
+   * @param mediaCache cache to read the asset through, or {@code null} to not cache it.
+   * @param httpDataSourceFactory factory for the HTTP data sources the asset is read with, see
+   *     {@link HttpVideoAsset#unstableCreateSharedHttpDataSourceFactory()}.
+   * @return the asset.
+   */
+  @NonNull
+  static VideoAsset fromRemoteUrl(
+      @Nullable String remoteUrl,
+      @NonNull StreamingFormat streamingFormat,
+      @NonNull Map<String, String> httpHeaders,
+      @Nullable MediaCache mediaCache,
+      @NonNull DataSource.Factory httpDataSourceFactory) {
+    return new HttpVideoAsset(
+        remoteUrl, streamingFormat, httpHeaders, mediaCache, httpDataSourceFactory);
+  }
+
+  /**
+   * Returns an asset playing a completed download without network access.
+   *
+   * @param downloadRequest the request the video was downloaded with.
+   * @param downloadCache the cache the video was downloaded into.
+   * @return the asset.
+   */
+  @NonNull
+  static VideoAsset fromDownload(
+      @NonNull DownloadRequest downloadRequest, @NonNull Cache downloadCache) {
+    return new DownloadedVideoAsset(downloadRequest, downloadCache);
   }
 
   /**
@@ -8,64 +8,164 @@ import static androidx.media3.common.Player.REPEAT_MODE_ALL;
 import static androidx.media3.common.Player.REPEAT_MODE_OFF;
 
 import android.content.Context;
+import android.os.SystemClock;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
 import androidx.annotation.RestrictTo;
 import androidx.annotation.VisibleForTesting;
 import androidx.media3.common.AudioAttributes;
 import androidx.media3.common.C;
+import androidx.media3.common.Format;
 import androidx.media3.common.MediaItem;
 import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
 import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.LoadControl;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.upstream.BandwidthMeter;
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
 import io.flutter.view.TextureRegistry;
+import java.util.Map;
 
 final class VideoPlayer implements TextureRegistry.SurfaceProducer.Callback {
   @NonNull private final ExoPlayerProvider exoPlayerProvider;
   @NonNull private final MediaItem mediaItem;
+  @Nullable private final MediaSource.Factory mediaSourceFactory;
   @NonNull private final TextureRegistry.SurfaceProducer surfaceProducer;
   @NonNull private final VideoPlayerCallbacks videoPlayerEvents;
   @NonNull private final VideoPlayerOptions options;
+  @NonNull private final PlaybackStatistics playbackStatistics = new PlaybackStatistics();
+  @Nullable private final PlaybackQualityMetrics qualityMetrics;
+  @Nullable private final DetachedPlayerBudget detachedPlayerBudget;
   @NonNull private ExoPlayer exoPlayer;
+  @NonNull private ExoPlayerEventListener exoPlayerEventListener;
+
+  /**
+   * State of {@link #exoPlayer} when the surface was destroyed, or null while the surface exists.
+   *
+   * <p>While set, {@link #exoPlayer} has been returned to {@link #exoPlayerProvider} and may be
+   * leased by another video player, so it must not be used.
+   */
   @Nullable private ExoPlayerState savedStateDuring;
 
   /**
-   * Creates a video player.
+   * Bytes reserved from {@link #detachedPlayerBudget} while {@link #exoPlayer} is kept without a
+   * surface, or {@link C#LENGTH_UNSET} while the surface exists or the player was released.
+   */
+  private long detachedBytes = C.LENGTH_UNSET;
+
+  /**
+   * Creates a video player that leases its {@link ExoPlayer} from {@code recycler}, and returns it
+   * when disposed or when its surface is destroyed.
+   *
+   * <p>If {@code options} change the load control or the initial bandwidth estimate, which are
+   * fixed when an {@link ExoPlayer} is built, the video player builds its own instances instead.
    *
    * @param context application context.
+   * @param recycler idle players to reuse.
+   * @param detachedPlayerBudget budget for keeping the player while the surface is destroyed.
    * @param events event callbacks.
    * @param surfaceProducer produces a texture to render to.
    * @param asset asset to play.
-   * @param options options for playback.
+   * @param options options for playback, owned by the video player.
    * @return a video player instance.
    */
   @NonNull
   static VideoPlayer create(
       @NonNull Context context,
+      @NonNull ExoPlayerRecycler recycler,
+      @NonNull DetachedPlayerBudget detachedPlayerBudget,
       @NonNull VideoPlayerCallbacks events,
       @NonNull TextureRegistry.SurfaceProducer surfaceProducer,
       @NonNull VideoAsset asset,
       @NonNull VideoPlayerOptions options) {
+    ExoPlayerProvider exoPlayerProvider =
+        options.hasDefaultLoadControl() ? recycler : () -> unstableBuildExoPlayer(context, options);
     return new VideoPlayer(
-        () -> {
-          ExoPlayer.Builder builder =
-              new ExoPlayer.Builder(context)
-                  .setMediaSourceFactory(asset.getMediaSourceFactory(context));
-          return builder.build();
-        },
+        exoPlayerProvider,
         events,
         surfaceProducer,
         asset.getMediaItem(),
-        options);
+        asset.getMediaSourceFactory(context),
+        options,
+        detachedPlayerBudget);
+  }
+
+  // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+  @OptIn(markerClass = UnstableApi.class)
+  @NonNull
+  private static ExoPlayer unstableBuildExoPlayer(
+      @NonNull Context context, @NonNull VideoPlayerOptions options) {
+    BandwidthMeter bandwidthMeter;
+    if (options.initialBitrateEstimate > 0) {
+      bandwidthMeter =
+          new DefaultBandwidthMeter.Builder(context)
+              .setInitialBitrateEstimate(options.initialBitrateEstimate)
+              .build();
+    } else {
+      // Keep sharing the estimate of the players built with the default bandwidth meter.
+      bandwidthMeter = DefaultBandwidthMeter.getSingletonInstance(context);
+    }
+    return new ExoPlayer.Builder(context)
+        .setLoadControl(unstableCreateLoadControl(options))
+        .setBandwidthMeter(bandwidthMeter)
+        .build();
+  }
+
+  /**
+   * Returns a load control buffering media as configured by {@code options}.
+   *
+   * @param options options for playback.
+   * @return the load control.
+   * @throws IllegalArgumentException if the buffer durations are inconsistent, e.g. the minimum
+   *     buffer duration exceeds the maximum buffer duration.
+   */
+  // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+  @OptIn(markerClass = UnstableApi.class)
+  @NonNull
+  static LoadControl unstableCreateLoadControl(@NonNull VideoPlayerOptions options) {
+    DefaultLoadControl.Builder builder =
+        new DefaultLoadControl.Builder()
+            .setBufferDurationsMs(
+                orDefault(options.minBufferMs, DefaultLoadControl.DEFAULT_MIN_BUFFER_MS),
+                orDefault(options.maxBufferMs, DefaultLoadControl.DEFAULT_MAX_BUFFER_MS),
+                orDefault(
+                    options.bufferForPlaybackMs, DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS),
+                orDefault(
+                    options.bufferForPlaybackAfterRebufferMs,
+                    DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS))
+            .setBackBuffer(options.backBufferDurationMs, /*retainBackBufferFromKeyframe=*/ false);
+    if (options.targetBufferBytes > 0) {
+      builder.setTargetBufferBytes(options.targetBufferBytes);
+    }
+    return builder.build();
+  }
+
+  private static int orDefault(int value, int defaultValue) {
+    return value > 0 ? value : defaultValue;
   }
 
   /** A closure-compatible signature since {@link java.util.function.Supplier} is API level 24. */
   interface ExoPlayerProvider {
     /**
-     * Returns a new {@link ExoPlayer}.
+     * Returns an {@link ExoPlayer} without media, surface or listeners.
      *
-     * @return new instance.
+     * @return new or reused instance.
      */
     ExoPlayer get();
+
+    /**
+     * Disposes of a player returned by {@link #get()} that is no longer used.
+     *
+     * <p>By default the player is released.
+     *
+     * @param exoPlayer the player to dispose of.
+     */
+    default void recycle(@NonNull ExoPlayer exoPlayer) {
+      exoPlayer.release();
+    }
   }
 
   @VisibleForTesting
@@ -75,11 +175,53 @@ final class VideoPlayer implements TextureRegistry.SurfaceProducer.Callback {
       @NonNull TextureRegistry.SurfaceProducer surfaceProducer,
       @NonNull MediaItem mediaItem,
       @NonNull VideoPlayerOptions options) {
+    this(exoPlayerProvider, events, surfaceProducer, mediaItem, null, options);
+  }
+
+  @VisibleForTesting
+  VideoPlayer(
+      @NonNull ExoPlayerProvider exoPlayerProvider,
+      @NonNull VideoPlayerCallbacks events,
+      @NonNull TextureRegistry.SurfaceProducer surfaceProducer,
+      @NonNull MediaItem mediaItem,
+      @Nullable MediaSource.Factory mediaSourceFactory,
+      @NonNull VideoPlayerOptions options) {
+    this(exoPlayerProvider, events, surfaceProducer, mediaItem, mediaSourceFactory, options, null);
+  }
+
+  /**
+   * Creates a video player.
+   *
+   * @param exoPlayerProvider provides and disposes of the underlying player.
+   * @param events event callbacks.
+   * @param surfaceProducer produces a texture to render to.
+   * @param mediaItem media to play.
+   * @param mediaSourceFactory factory for the media source of {@code mediaItem}, or null to use the
+   *     media source factory the player was built with.
+   * @param options options for playback.
+   * @param detachedPlayerBudget budget for keeping the player while the surface is destroyed, or
+   *     null to always release it.
+   */
+  @VisibleForTesting
+  VideoPlayer(
+      @NonNull ExoPlayerProvider exoPlayerProvider,
+      @NonNull VideoPlayerCallbacks events,
+      @NonNull TextureRegistry.SurfaceProducer surfaceProducer,
+      @NonNull MediaItem mediaItem,
+      @Nullable MediaSource.Factory mediaSourceFactory,
+      @NonNull VideoPlayerOptions options,
+      @Nullable DetachedPlayerBudget detachedPlayerBudget) {
     this.exoPlayerProvider = exoPlayerProvider;
     this.videoPlayerEvents = events;
     this.surfaceProducer = surfaceProducer;
     this.mediaItem = mediaItem;
+    this.mediaSourceFactory = mediaSourceFactory;
     this.options = options;
+    this.detachedPlayerBudget = detachedPlayerBudget;
+    this.qualityMetrics =
+        options.qualityMetricsEnabled
+            ? new PlaybackQualityMetrics(SystemClock.elapsedRealtime())
+            : null;
     this.exoPlayer = createVideoPlayer();
     surfaceProducer.setCallback(this);
   }
@@ -88,7 +230,11 @@ final class VideoPlayer implements TextureRegistry.SurfaceProducer.Callback {
   // TODO(matanlurey): https://github.com/flutter/flutter/issues/155131.
   @SuppressWarnings({"deprecation", "removal"})
   public void onSurfaceCreated() {
-    if (savedStateDuring != null) {
+    if (detachedBytes != C.LENGTH_UNSET) {
+      // The player kept its media and decoders, so it continues from the buffered data.
+      exoPlayer.setVideoSurface(surfaceProducer.getSurface());
+      releaseDetachedBytes();
+    } else if (savedStateDuring != null) {
       exoPlayer = createVideoPlayer();
       savedStateDuring.restore(exoPlayer);
       savedStateDuring = null;
@@ -99,25 +245,114 @@ final class VideoPlayer implements TextureRegistry.SurfaceProducer.Callback {
   public void onSurfaceDestroyed() {
     // Intentionally do not call pause/stop here, because the surface has already been released
     // at this point (see https://github.com/flutter/flutter/issues/156451).
+    if (detachedPlayerBudget != null) {
+      long bytes = unstableEstimateBufferBytes();
+      if (detachedPlayerBudget.tryAcquire(bytes)) {
+        exoPlayer.clearVideoSurface();
+        detachedBytes = bytes;
+        return;
+      }
+    }
     savedStateDuring = ExoPlayerState.save(exoPlayer);
-    exoPlayer.release();
+    recyclePlayer();
+  }
+
+  /**
+   * Returns an upper bound of the memory the buffers of {@link #exoPlayer} hold once fully loaded,
+   * based on the bitrates of the selected tracks.
+   *
+   * @return the bytes, or {@link Long#MAX_VALUE} if the bitrates are unknown and the buffer size is
+   *     not limited by {@link VideoPlayerOptions#targetBufferBytes}.
+   */
+  // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
+  @OptIn(markerClass = UnstableApi.class)
+  private long unstableEstimateBufferBytes() {
+    long bitrate = 0;
+    for (Format format : new Format[] {exoPlayer.getVideoFormat(), exoPlayer.getAudioFormat()}) {
+      if (format == null) {
+        continue;
+      }
+      if (format.bitrate == Format.NO_VALUE) {
+        bitrate = Format.NO_VALUE;
+        break;
+      }
+      bitrate += format.bitrate;
+    }
+    long bytes = Long.MAX_VALUE;
+    // Without a known bitrate, e.g. while the media is still being prepared, the size is unknown.
+    if (bitrate > 0) {
+      // The player keeps loading up to the maximum buffer duration while it has no surface.
+      long maxBufferMs = orDefault(options.maxBufferMs, DefaultLoadControl.DEFAULT_MAX_BUFFER_MS);
+      bytes = bitrate * maxBufferMs / 8 / 1000;
+    }
+    if (options.targetBufferBytes > 0) {
+      bytes = Math.min(bytes, options.targetBufferBytes);
+    }
+    return bytes;
+  }
+
+  private void releaseDetachedBytes() {
+    if (detachedPlayerBudget != null && detachedBytes != C.LENGTH_UNSET) {
+      detachedPlayerBudget.release(detachedBytes);
+    }
+    detachedBytes = C.LENGTH_UNSET;
   }
 
   private ExoPlayer createVideoPlayer() {
     ExoPlayer exoPlayer = exoPlayerProvider.get();
-    exoPlayer.setMediaItem(mediaItem);
+    if (mediaSourceFactory != null) {
+      exoPlayer.setMediaSource(mediaSourceFactory.createMediaSource(mediaItem));
+    } else {
+      exoPlayer.setMediaItem(mediaItem);
+    }
     exoPlayer.prepare();
 
     exoPlayer.setVideoSurface(surfaceProducer.getSurface());
 
     boolean wasInitialized = savedStateDuring != null;
-    exoPlayer.addListener(new ExoPlayerEventListener(exoPlayer, videoPlayerEvents, wasInitialized));
+    exoPlayerEventListener =
+        new ExoPlayerEventListener(exoPlayer, videoPlayerEvents, wasInitialized);
+    exoPlayer.addListener(exoPlayerEventListener);
+    playbackStatistics.attach(exoPlayer);
+    if (qualityMetrics != null) {
+      qualityMetrics.attach(exoPlayer);
+    }
     setAudioAttributes(exoPlayer, options.mixWithOthers);
+    if (options.hasVideoTrackConstraints()) {
+      applyVideoTrackConstraints(exoPlayer);
+    }
 
     return exoPlayer;
   }
 
+  private void recyclePlayer() {
+    exoPlayer.removeListener(exoPlayerEventListener);
+    playbackStatistics.detach(exoPlayer);
+    if (qualityMetrics != null) {
+      qualityMetrics.detach(exoPlayer, SystemClock.elapsedRealtime());
+    }
+    exoPlayerProvider.recycle(exoPlayer);
+  }
+
+  private void applyVideoTrackConstraints(ExoPlayer exoPlayer) {
+    exoPlayer.setTrackSelectionParameters(
+        exoPlayer
+            .getTrackSelectionParameters()
+            .buildUpon()
+            .setMaxVideoSize(
+                orUnlimited(options.maxVideoWidth), orUnlimited(options.maxVideoHeight))
+            .setMaxVideoBitrate(orUnlimited(options.maxVideoBitrate))
+            .build());
+  }
+
+  private static int orUnlimited(int value) {
+    return value > 0 ? value : Integer.MAX_VALUE;
+  }
+
   void sendBufferingUpdate() {
+    if (savedStateDuring != null) {
+      return;
+    }
     videoPlayerEvents.onBufferingUpdate(exoPlayer.getBufferedPosition());
   }
 
@@ -128,23 +363,38 @@ final class VideoPlayer implements TextureRegistry.SurfaceProducer.Callback {
   }
 
   void play() {
+    if (savedStateDuring != null) {
+      return;
+    }
     exoPlayer.play();
   }
 
   void pause() {
+    if (savedStateDuring != null) {
+      return;
+    }
     exoPlayer.pause();
   }
 
   void setLooping(boolean value) {
+    if (savedStateDuring != null) {
+      return;
+    }
     exoPlayer.setRepeatMode(value ? REPEAT_MODE_ALL : REPEAT_MODE_OFF);
   }
 
   void setVolume(double value) {
+    if (savedStateDuring != null) {
+      return;
+    }
     float bracketedValue = (float) Math.max(0.0, Math.min(1.0, value));
     exoPlayer.setVolume(bracketedValue);
   }
 
   void setPlaybackSpeed(double value) {
+    if (savedStateDuring != null) {
+      return;
+    }
     // We do not need to consider pitch and skipSilence for now as we do not handle them and
     // therefore never diverge from the default values.
     final PlaybackParameters playbackParameters = new PlaybackParameters(((float) value));
@@ -153,15 +403,75 @@ final class VideoPlayer implements TextureRegistry.SurfaceProducer.Callback {
   }
 
   void seekTo(int location) {
+    if (savedStateDuring != null) {
+      return;
+    }
     exoPlayer.seekTo(location);
   }
 
   long getPosition() {
+    if (savedStateDuring != null) {
+      return savedStateDuring.getPosition();
+    }
     return exoPlayer.getCurrentPosition();
   }
 
+  long getBufferedPosition() {
+    if (savedStateDuring != null) {
+      return savedStateDuring.getPosition();
+    }
+    return exoPlayer.getBufferedPosition();
+  }
+
+  float getPlaybackSpeed() {
+    if (savedStateDuring != null) {
+      return savedStateDuring.getPlaybackSpeed();
+    }
+    return exoPlayer.getPlaybackParameters().speed;
+  }
+
+  /**
+   * Limits the video tracks adaptive streaming may select.
+   *
+   * @param maxWidth the maximum width in pixels, or 0 for no limit.
+   * @param maxHeight the maximum height in pixels, or 0 for no limit.
+   * @param maxBitrate the maximum bitrate in bits per second, or 0 for no limit.
+   */
+  void setVideoTrackConstraints(int maxWidth, int maxHeight, int maxBitrate) {
+    options.maxVideoWidth = maxWidth;
+    options.maxVideoHeight = maxHeight;
+    options.maxVideoBitrate = maxBitrate;
+    // Otherwise the constraints are applied when the surface is recreated.
+    if (savedStateDuring == null) {
+      applyVideoTrackConstraints(exoPlayer);
+    }
+  }
+
+  /**
+   * Returns the bandwidth estimate and the selected tracks, see {@link
+   * PlaybackStatistics#toMap(ExoPlayer)}.
+   */
+  @NonNull
+  Map<String, Object> getPlaybackStatistics() {
+    return playbackStatistics.toMap(savedStateDuring == null ? exoPlayer : null);
+  }
+
+  /**
+   * Returns a snapshot of the quality of experience metrics, see {@link
+   * PlaybackQualityMetrics#toMap(long)}.
+   *
+   * @return the metrics, or null if they are not collected for this player.
+   */
+  @Nullable
+  Map<String, Object> getQualityMetrics() {
+    return qualityMetrics == null ? null : qualityMetrics.toMap(SystemClock.elapsedRealtime());
+  }
+
   void dispose() {
-    exoPlayer.release();
+    releaseDetachedBytes();
+    if (savedStateDuring == null) {
+      recyclePlayer();
+    }
     surfaceProducer.release();
 
     // TODO(matanlurey): Remove when embedder no longer calls-back once released.
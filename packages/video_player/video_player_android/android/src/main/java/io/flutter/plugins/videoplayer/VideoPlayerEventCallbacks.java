@@ -8,22 +8,41 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugin.common.EventChannel;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
+  // Events without values are immutable and shared, so sending them allocates nothing.
+  private static final Map<String, Object> BUFFERING_START_EVENT = eventOf("bufferingStart");
+  private static final Map<String, Object> BUFFERING_END_EVENT = eventOf("bufferingEnd");
+  private static final Map<String, Object> COMPLETED_EVENT = eventOf("completed");
+  private static final Map<String, Object> IS_PLAYING_EVENT = isPlayingEventOf(true);
+  private static final Map<String, Object> IS_NOT_PLAYING_EVENT = isPlayingEventOf(false);
+
   private final EventChannel.EventSink eventSink;
+  private long lastBufferedPosition = -1;
+
+  private static Map<String, Object> eventOf(String name) {
+    return Collections.singletonMap("event", name);
+  }
+
+  private static Map<String, Object> isPlayingEventOf(boolean isPlaying) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "isPlayingStateUpdate");
+    event.put("isPlaying", isPlaying);
+    return Collections.unmodifiableMap(event);
+  }
 
   static VideoPlayerEventCallbacks bindTo(EventChannel eventChannel) {
     QueuingEventSink eventSink = new QueuingEventSink();
+    VideoPlayerEventCallbacks callbacks = VideoPlayerEventCallbacks.withSink(eventSink);
     eventChannel.setStreamHandler(
         new EventChannel.StreamHandler() {
           @Override
           public void onListen(Object arguments, EventChannel.EventSink events) {
             eventSink.setDelegate(events);
+            callbacks.onListen();
           }
 
           @Override
@@ -31,7 +50,7 @@ final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
             eventSink.setDelegate(null);
           }
         });
-    return VideoPlayerEventCallbacks.withSink(eventSink);
+    return callbacks;
   }
 
   @VisibleForTesting
@@ -43,6 +62,12 @@ final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
     this.eventSink = eventSink;
   }
 
+  /** Lets a new listener receive the buffered position even if it did not change. */
+  @VisibleForTesting
+  void onListen() {
+    lastBufferedPosition = -1;
+  }
+
   @Override
   public void onInitialized(
       int width, int height, long durationInMs, int rotationCorrectionInDegrees) {
@@ -59,34 +84,32 @@ final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
 
   @Override
   public void onBufferingStart() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingStart");
-    eventSink.success(event);
+    eventSink.success(BUFFERING_START_EVENT);
   }
 
   @Override
   public void onBufferingUpdate(long bufferedPosition) {
-    // iOS supports a list of buffered ranges, so we send as a list with a single range.
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingUpdate");
+    // The buffered position is sent on each playback update tick, which mostly repeats the previous
+    // update.
+    if (bufferedPosition == lastBufferedPosition) {
+      return;
+    }
+    lastBufferedPosition = bufferedPosition;
 
-    List<? extends Number> range = Arrays.asList(0, bufferedPosition);
-    event.put("values", Collections.singletonList(range));
-    eventSink.success(event);
+    // Sent as the start and end of the single buffered range instead of a map, which Dart decodes
+    // as
+    // a bufferingUpdate event.
+    eventSink.success(new long[] {0, bufferedPosition});
   }
 
   @Override
   public void onBufferingEnd() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingEnd");
-    eventSink.success(event);
+    eventSink.success(BUFFERING_END_EVENT);
   }
 
   @Override
   public void onCompleted() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "completed");
-    eventSink.success(event);
+    eventSink.success(COMPLETED_EVENT);
   }
 
   @Override
@@ -96,9 +119,6 @@ final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
 
   @Override
   public void onIsPlayingStateUpdate(boolean isPlaying) {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "isPlayingStateUpdate");
-    event.put("isPlaying", isPlaying);
-    eventSink.success(event);
+    eventSink.success(isPlaying ? IS_PLAYING_EVENT : IS_NOT_PLAYING_EVENT);
   }
 }
@@ -4,6 +4,88 @@
 
 package io.flutter.plugins.videoplayer;
 
+import androidx.annotation.NonNull;
+
 class VideoPlayerOptions {
   public boolean mixWithOthers;
+
+  /** The size in bytes of the media cache shared by all players, or 0 to not cache media. */
+  public long mediaCacheMaxBytes;
+
+  /** The minimum duration of media to buffer in milliseconds, or 0 for the default. */
+  public int minBufferMs;
+
+  /** The maximum duration of media to buffer in milliseconds, or 0 for the default. */
+  public int maxBufferMs;
+
+  /**
+   * The duration of media to buffer before starting playback in milliseconds, or 0 for the default.
+   */
+  public int bufferForPlaybackMs;
+
+  /**
+   * The duration of media to buffer before resuming playback after a rebuffer in milliseconds, or 0
+   * for the default.
+   */
+  public int bufferForPlaybackAfterRebufferMs;
+
+  /** The duration of already played media to keep buffered in milliseconds, or 0 to keep none. */
+  public int backBufferDurationMs;
+
+  /** The maximum size of the buffer in bytes, or 0 to compute it from the selected tracks. */
+  public int targetBufferBytes;
+
+  /** The bandwidth in bits per second assumed before any media is loaded, or 0 for the default. */
+  public long initialBitrateEstimate;
+
+  /** The maximum width of the selected video track in pixels, or 0 for no limit. */
+  public int maxVideoWidth;
+
+  /** The maximum height of the selected video track in pixels, or 0 for no limit. */
+  public int maxVideoHeight;
+
+  /** The maximum bitrate of the selected video track in bits per second, or 0 for no limit. */
+  public int maxVideoBitrate;
+
+  /** Whether quality of experience metrics are collected for the player. */
+  public boolean qualityMetricsEnabled;
+
+  /**
+   * Returns whether the buffering and bandwidth estimate options are all defaults, so that the
+   * player can be built with the default load control and bandwidth meter.
+   */
+  boolean hasDefaultLoadControl() {
+    return minBufferMs == 0
+        && maxBufferMs == 0
+        && bufferForPlaybackMs == 0
+        && bufferForPlaybackAfterRebufferMs == 0
+        && backBufferDurationMs == 0
+        && targetBufferBytes == 0
+        && initialBitrateEstimate == 0;
+  }
+
+  /** Returns whether any of the video track constraints is set. */
+  boolean hasVideoTrackConstraints() {
+    return maxVideoWidth != 0 || maxVideoHeight != 0 || maxVideoBitrate != 0;
+  }
+
+  /** Returns a copy of these options, so that a player keeps the options it was created with. */
+  @NonNull
+  VideoPlayerOptions copy() {
+    VideoPlayerOptions copy = new VideoPlayerOptions();
+    copy.mixWithOthers = mixWithOthers;
+    copy.mediaCacheMaxBytes = mediaCacheMaxBytes;
+    copy.minBufferMs = minBufferMs;
+    copy.maxBufferMs = maxBufferMs;
+    copy.bufferForPlaybackMs = bufferForPlaybackMs;
+    copy.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+    copy.backBufferDurationMs = backBufferDurationMs;
+    copy.targetBufferBytes = targetBufferBytes;
+    copy.initialBitrateEstimate = initialBitrateEstimate;
+    copy.maxVideoWidth = maxVideoWidth;
+    copy.maxVideoHeight = maxVideoHeight;
+    copy.maxVideoBitrate = maxVideoBitrate;
+    copy.qualityMetricsEnabled = qualityMetricsEnabled;
+    return copy;
+  }
 }
@@ -8,6 +8,8 @@ import android.content.Context;
 import android.os.Build;
 import android.util.LongSparseArray;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.media3.datasource.DataSource;
 import io.flutter.FlutterInjector;
 import io.flutter.Log;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
@@ -15,6 +17,7 @@ import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.videoplayer.Messages.AndroidVideoPlayerApi;
 import io.flutter.plugins.videoplayer.Messages.CreateMessage;
+import io.flutter.plugins.videoplayer.Messages.DownloadProgressMessage;
 import io.flutter.plugins.videoplayer.Messages.LoopingMessage;
 import io.flutter.plugins.videoplayer.Messages.MixWithOthersMessage;
 import io.flutter.plugins.videoplayer.Messages.PlaybackSpeedMessage;
@@ -22,15 +25,28 @@ import io.flutter.plugins.videoplayer.Messages.PositionMessage;
 import io.flutter.plugins.videoplayer.Messages.TextureMessage;
 import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
 import io.flutter.view.TextureRegistry;
+import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import javax.net.ssl.HttpsURLConnection;
 
 /** Android platform implementation of the VideoPlayerPlugin. */
 public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
   private static final String TAG = "VideoPlayerPlugin";
   private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
+  private final LongSparseArray<MediaCache.Statistics> mediaCacheStatistics =
+      new LongSparseArray<>();
   private FlutterState flutterState;
+  // Shared by all remote videos and preloads, so that they reuse pooled HTTP connections.
+  private final DataSource.Factory httpDataSourceFactory =
+      HttpVideoAsset.unstableCreateSharedHttpDataSourceFactory();
+  @Nullable private MediaPreloader mediaPreloader;
+  @Nullable private ExoPlayerRecycler exoPlayerRecycler;
+  private final DetachedPlayerBudget detachedPlayerBudget = new DetachedPlayerBudget();
+  @Nullable private PlaybackUpdateBroadcaster playbackUpdateBroadcaster;
   private final VideoPlayerOptions options = new VideoPlayerOptions();
 
   /** Register this with the v2 embedding for the plugin to respond to lifecycle callbacks. */
@@ -60,6 +76,10 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
             injector.flutterLoader()::getLookupKeyForAsset,
             binding.getTextureRegistry());
     flutterState.startListening(this, binding.getBinaryMessenger());
+    playbackUpdateBroadcaster =
+        PlaybackUpdateBroadcaster.bindTo(
+            new EventChannel(binding.getBinaryMessenger(), "flutter.io/videoPlayer/videoEvents"),
+            videoPlayers);
   }
 
   @Override
@@ -69,6 +89,10 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     }
     flutterState.stopListening(binding.getBinaryMessenger());
     flutterState = null;
+    if (playbackUpdateBroadcaster != null) {
+      playbackUpdateBroadcaster.release();
+      playbackUpdateBroadcaster = null;
+    }
     onDestroy();
   }
 
@@ -77,6 +101,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
       videoPlayers.valueAt(i).dispose();
     }
     videoPlayers.clear();
+    mediaCacheStatistics.clear();
   }
 
   public void onDestroy() {
@@ -86,6 +111,15 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     // be replaced with just asserting that videoPlayers.isEmpty().
     // https://github.com/flutter/flutter/issues/20989 tracks this.
     disposeAllPlayers();
+    if (mediaPreloader != null) {
+      mediaPreloader.release();
+      mediaPreloader = null;
+    }
+    // Release the recycler after the players, which return their ExoPlayer instances to it.
+    if (exoPlayerRecycler != null) {
+      exoPlayerRecycler.release();
+      exoPlayerRecycler = null;
+    }
   }
 
   public void initialize() {
@@ -99,6 +133,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
             flutterState.binaryMessenger, "flutter.io/videoPlayer/videoEvents" + handle.id());
 
     final VideoAsset videoAsset;
+    VideoAsset downloadedAsset = arg.getAsset() == null ? getDownloadedAsset(arg.getUri()) : null;
     if (arg.getAsset() != null) {
       String assetLookupKey;
       if (arg.getPackageName() != null) {
@@ -108,34 +143,40 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
         assetLookupKey = flutterState.keyForAsset.get(arg.getAsset());
       }
       videoAsset = VideoAsset.fromAssetUrl("asset:///" + assetLookupKey);
+    } else if (downloadedAsset != null) {
+      videoAsset = downloadedAsset;
     } else if (arg.getUri().startsWith("rtsp://")) {
       videoAsset = VideoAsset.fromRtspUrl(arg.getUri());
     } else {
-      VideoAsset.StreamingFormat streamingFormat = VideoAsset.StreamingFormat.UNKNOWN;
-      String formatHint = arg.getFormatHint();
-      if (formatHint != null) {
-        switch (formatHint) {
-          case "ss":
-            streamingFormat = VideoAsset.StreamingFormat.SMOOTH;
-            break;
-          case "dash":
-            streamingFormat = VideoAsset.StreamingFormat.DYNAMIC_ADAPTIVE;
-            break;
-          case "hls":
-            streamingFormat = VideoAsset.StreamingFormat.HTTP_LIVE;
-            break;
-        }
-      }
-      videoAsset = VideoAsset.fromRemoteUrl(arg.getUri(), streamingFormat, arg.getHttpHeaders());
+      VideoAsset.StreamingFormat streamingFormat = streamingFormatOf(arg.getFormatHint());
+      MediaCache mediaCache =
+          options.mediaCacheMaxBytes > 0
+              ? MediaCache.getInstance(flutterState.applicationContext, options.mediaCacheMaxBytes)
+              : null;
+      HttpVideoAsset httpVideoAsset =
+          (HttpVideoAsset)
+              VideoAsset.fromRemoteUrl(
+                  arg.getUri(),
+                  streamingFormat,
+                  arg.getHttpHeaders(),
+                  mediaCache,
+                  httpDataSourceFactory);
+      mediaCacheStatistics.put(handle.id(), httpVideoAsset.getMediaCacheStatistics());
+      videoAsset = httpVideoAsset;
+    }
+    if (exoPlayerRecycler == null) {
+      exoPlayerRecycler = new ExoPlayerRecycler(flutterState.applicationContext);
     }
     videoPlayers.put(
         handle.id(),
         VideoPlayer.create(
             flutterState.applicationContext,
+            exoPlayerRecycler,
+            detachedPlayerBudget,
             VideoPlayerEventCallbacks.bindTo(eventChannel),
             handle,
             videoAsset,
-            options));
+            options.copy()));
 
     return new TextureMessage.Builder().setTextureId(handle.id()).build();
   }
@@ -156,10 +197,40 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     return player;
   }
 
+  @NonNull
+  private static VideoAsset.StreamingFormat streamingFormatOf(@Nullable String formatHint) {
+    if (formatHint != null) {
+      switch (formatHint) {
+        case "ss":
+          return VideoAsset.StreamingFormat.SMOOTH;
+        case "dash":
+          return VideoAsset.StreamingFormat.DYNAMIC_ADAPTIVE;
+        case "hls":
+          return VideoAsset.StreamingFormat.HTTP_LIVE;
+      }
+    }
+    return VideoAsset.StreamingFormat.UNKNOWN;
+  }
+
+  @Nullable
+  private VideoAsset getDownloadedAsset(@NonNull String url) {
+    // Avoid creating the downloader, and resuming its downloads, for apps that never download.
+    if (!MediaDownloader.hasDownloads(flutterState.applicationContext)) {
+      return null;
+    }
+    try {
+      return getMediaDownloader().getDownloadedAsset(url);
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to read the downloads, streaming " + url + " instead.", e);
+      return null;
+    }
+  }
+
   public void dispose(@NonNull TextureMessage arg) {
     VideoPlayer player = getPlayer(arg.getTextureId());
     player.dispose();
     videoPlayers.remove(arg.getTextureId());
+    mediaCacheStatistics.remove(arg.getTextureId());
   }
 
   public void setLooping(@NonNull LoopingMessage arg) {
@@ -208,6 +279,356 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     options.mixWithOthers = arg.getMixWithOthers();
   }
 
+  /**
+   * Enables a size-bounded LRU cache of media streamed over HTTP, shared by all players that are
+   * created afterwards, so that replaying or seeking back in a video reads it from disk.
+   *
+   * <p>The cache is created once per process, so this should be called before the first player is
+   * created, typically right after the plugin is attached to the engine.
+   *
+   * @param maxBytes the maximum size of the cache in bytes, or 0 to not cache media.
+   */
+  @Override
+  public void setMediaCacheSize(@NonNull Long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("maxBytes must not be negative");
+    }
+    options.mediaCacheMaxBytes = maxBytes;
+  }
+
+  /**
+   * Sets how much memory players may keep while their surface is destroyed, e.g. while the app is
+   * in the background.
+   *
+   * <p>Within the budget, a player keeps its media, buffers and decoders when its surface is
+   * destroyed, and continues from the buffered data once the surface is recreated. The memory of a
+   * player is estimated from the bitrate of its tracks and its maximum buffer duration. Players
+   * that do not fit into the remaining budget, or whose bitrate is unknown, are released and
+   * prepare their media again.
+   *
+   * @param maxBytes the budget in bytes, or 0 to always release players.
+   */
+  @Override
+  public void setDetachedPlayerMemoryBudget(@NonNull Long maxBytes) {
+    detachedPlayerBudget.setMaxBytes(maxBytes);
+  }
+
+  /**
+   * Sets how much media players created afterwards buffer.
+   *
+   * <p>Players with custom buffering are built for the video they play, instead of reusing players
+   * of previously disposed videos.
+   *
+   * @param minBufferMs the minimum duration of media to buffer in milliseconds, or 0 for the
+   *     default.
+   * @param maxBufferMs the maximum duration of media to buffer in milliseconds, or 0 for the
+   *     default.
+   * @param bufferForPlaybackMs the duration of media to buffer before starting playback in
+   *     milliseconds, or 0 for the default.
+   * @param bufferForPlaybackAfterRebufferMs the duration of media to buffer before resuming
+   *     playback after a rebuffer in milliseconds, or 0 for the default.
+   * @param backBufferDurationMs the duration of already played media to keep buffered in
+   *     milliseconds, or 0 to keep none.
+   * @param targetBufferBytes the maximum size of the buffer in bytes, or 0 to compute it from the
+   *     selected tracks.
+   * @throws IllegalArgumentException if a value is negative, or the durations are inconsistent,
+   *     e.g. the minimum buffer duration exceeds the maximum buffer duration.
+   */
+  @Override
+  public void setLoadControl(
+      @NonNull Long minBufferMs,
+      @NonNull Long maxBufferMs,
+      @NonNull Long bufferForPlaybackMs,
+      @NonNull Long bufferForPlaybackAfterRebufferMs,
+      @NonNull Long backBufferDurationMs,
+      @NonNull Long targetBufferBytes) {
+    if (minBufferMs < 0
+        || maxBufferMs < 0
+        || bufferForPlaybackMs < 0
+        || bufferForPlaybackAfterRebufferMs < 0
+        || backBufferDurationMs < 0
+        || targetBufferBytes < 0) {
+      throw new IllegalArgumentException("Load control values must not be negative");
+    }
+    VideoPlayerOptions newOptions = options.copy();
+    newOptions.minBufferMs = minBufferMs.intValue();
+    newOptions.maxBufferMs = maxBufferMs.intValue();
+    newOptions.bufferForPlaybackMs = bufferForPlaybackMs.intValue();
+    newOptions.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs.intValue();
+    newOptions.backBufferDurationMs = backBufferDurationMs.intValue();
+    newOptions.targetBufferBytes = targetBufferBytes.intValue();
+    // Fail here rather than when the next player is created.
+    VideoPlayer.unstableCreateLoadControl(newOptions);
+
+    options.minBufferMs = minBufferMs.intValue();
+    options.maxBufferMs = maxBufferMs.intValue();
+    options.bufferForPlaybackMs = bufferForPlaybackMs.intValue();
+    options.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs.intValue();
+    options.backBufferDurationMs = backBufferDurationMs.intValue();
+    options.targetBufferBytes = targetBufferBytes.intValue();
+  }
+
+  /**
+   * Sets the bandwidth that players created afterwards assume before they loaded any media, which
+   * determines the quality adaptive streaming starts with.
+   *
+   * @param bitsPerSecond the initial bandwidth estimate in bits per second, or 0 for the default.
+   */
+  @Override
+  public void setInitialBitrateEstimate(@NonNull Long bitsPerSecond) {
+    if (bitsPerSecond < 0) {
+      throw new IllegalArgumentException("bitsPerSecond must not be negative");
+    }
+    options.initialBitrateEstimate = bitsPerSecond;
+  }
+
+  /**
+   * Limits the video tracks adaptive streaming may select.
+   *
+   * @param textureId the player to limit, or null to limit players created afterwards.
+   * @param maxWidth the maximum width in pixels, or 0 for no limit.
+   * @param maxHeight the maximum height in pixels, or 0 for no limit.
+   * @param maxBitrate the maximum bitrate in bits per second, or 0 for no limit.
+   */
+  @Override
+  public void setVideoTrackConstraints(
+      @Nullable Long textureId,
+      @NonNull Long maxWidth,
+      @NonNull Long maxHeight,
+      @NonNull Long maxBitrate) {
+    if (maxWidth < 0 || maxHeight < 0 || maxBitrate < 0) {
+      throw new IllegalArgumentException("Video track constraints must not be negative");
+    }
+    if (textureId != null) {
+      getPlayer(textureId)
+          .setVideoTrackConstraints(
+              maxWidth.intValue(), maxHeight.intValue(), maxBitrate.intValue());
+      return;
+    }
+    options.maxVideoWidth = maxWidth.intValue();
+    options.maxVideoHeight = maxHeight.intValue();
+    options.maxVideoBitrate = maxBitrate.intValue();
+  }
+
+  /**
+   * Returns a player's current bandwidth estimate in bits per second and the tracks it selected.
+   *
+   * <p>The map holds {@code bandwidthEstimate} and {@code totalBytesLoaded}, and, when known, the
+   * {@code videoWidth}, {@code videoHeight}, {@code videoBitrate} and {@code videoCodecs} of the
+   * selected video track and the {@code audioBitrate} of the selected audio track.
+   *
+   * @param textureId the player to return statistics for.
+   * @return the statistics.
+   */
+  @Override
+  @NonNull
+  public Map<String, Object> getPlaybackStatistics(@NonNull Long textureId) {
+    return getPlayer(textureId).getPlaybackStatistics();
+  }
+
+  /**
+   * Sets whether quality of experience metrics are collected for players created afterwards.
+   *
+   * <p>The metrics are returned by {@link #getQualityMetrics(Long)}, and also included in the
+   * periodic updates enabled with {@link #setPlaybackUpdateInterval(Long)}.
+   *
+   * @param enabled whether to collect the metrics.
+   */
+  @Override
+  public void setQualityMetricsEnabled(@NonNull Boolean enabled) {
+    options.qualityMetricsEnabled = enabled;
+  }
+
+  /**
+   * Returns a player's quality of experience metrics.
+   *
+   * <p>The map holds {@code rebufferCount}, {@code rebufferDurationMs}, {@code droppedFrames} and
+   * {@code videoBitrateSwitchCount}, and, once known, {@code timeToFirstFrameMs}, {@code
+   * videoDecoderInitializationMs} and {@code audioDecoderInitializationMs}.
+   *
+   * @param textureId the player to return metrics for.
+   * @return the metrics.
+   * @throws IllegalStateException if the player was created while metrics were disabled.
+   */
+  @Override
+  @NonNull
+  public Map<String, Object> getQualityMetrics(@NonNull Long textureId) {
+    Map<String, Object> metrics = getPlayer(textureId).getQualityMetrics();
+    if (metrics == null) {
+      throw new IllegalStateException(
+          "Quality metrics are not collected for the player with textureId <" + textureId + ">");
+    }
+    return metrics;
+  }
+
+  /**
+   * Returns the number of bytes of a player's media read from the media cache and from the network,
+   * keyed by {@code hitBytes} and {@code missBytes}.
+   *
+   * @param textureId the player to return statistics for.
+   * @return the statistics, or an empty map if the player does not play a remote URL.
+   */
+  @Override
+  @NonNull
+  public Map<String, Long> getMediaCacheStatistics(@NonNull Long textureId) {
+    getPlayer(textureId);
+    MediaCache.Statistics statistics = mediaCacheStatistics.get(textureId);
+    return statistics == null ? Collections.emptyMap() : statistics.toMap();
+  }
+
+  /**
+   * Starts downloading the first {@code maxBytes} bytes of a remote video into the media cache in
+   * the background, so that a player created for it later shows its first frame from local data.
+   *
+   * <p>Requires the media cache to be enabled with {@link #setMediaCacheSize(Long)}. HLS, DASH and
+   * Smooth Streaming videos can't be preloaded.
+   *
+   * @param url remote video, i.e. typically beginning with {@code https://} or similar.
+   * @param formatHint the streaming format of the video, as in {@link
+   *     CreateMessage#getFormatHint()}.
+   * @param httpHeaders HTTP headers to set for the request, which should match the headers the
+   *     video will be played with.
+   * @param maxBytes the maximum number of bytes to download.
+   * @throws IllegalArgumentException if the video is an HLS, DASH or Smooth Streaming video.
+   */
+  @Override
+  public void preload(
+      @NonNull String url,
+      @Nullable String formatHint,
+      @NonNull Map<String, String> httpHeaders,
+      @NonNull Long maxBytes) {
+    if (options.mediaCacheMaxBytes <= 0) {
+      throw new IllegalStateException("Preloading requires the media cache to be enabled.");
+    }
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive");
+    }
+    if (mediaPreloader == null) {
+      mediaPreloader =
+          new MediaPreloader(
+              flutterState.applicationContext,
+              MediaCache.getInstance(flutterState.applicationContext, options.mediaCacheMaxBytes),
+              httpDataSourceFactory);
+    }
+    mediaPreloader.preload(url, streamingFormatOf(formatHint), httpHeaders, maxBytes);
+  }
+
+  /**
+   * Stops preloading a video started with {@link #preload(String, String, Map, Long)}. Bytes that
+   * were already downloaded stay in the media cache.
+   *
+   * @param url the remote video.
+   */
+  @Override
+  public void cancelPreload(@NonNull String url) {
+    if (mediaPreloader != null) {
+      mediaPreloader.cancel(url);
+    }
+  }
+
+  /**
+   * Starts downloading a remote video in the background for playback without network access.
+   *
+   * <p>Once the download is completed, players created for {@code url} play the downloaded video.
+   * Downloads are kept until they are removed with {@link #removeDownload(String)}, and incomplete
+   * downloads continue after the app is restarted once the plugin accesses them again.
+   *
+   * @param url remote video, i.e. typically beginning with {@code https://} or similar.
+   * @param formatHint the streaming format of the video, as in {@link
+   *     CreateMessage#getFormatHint()}.
+   * @param httpHeaders HTTP headers to set for the requests.
+   */
+  @Override
+  public void download(
+      @NonNull String url, @Nullable String formatHint, @NonNull Map<String, String> httpHeaders) {
+    getMediaDownloader().download(url, streamingFormatOf(formatHint), httpHeaders);
+  }
+
+  /**
+   * Pauses a download started with {@link #download(String, String, Map)}.
+   *
+   * @param url the remote video.
+   */
+  @Override
+  public void pauseDownload(@NonNull String url) {
+    getMediaDownloader().pause(url);
+  }
+
+  /**
+   * Resumes a download paused with {@link #pauseDownload(String)}.
+   *
+   * @param url the remote video.
+   */
+  @Override
+  public void resumeDownload(@NonNull String url) {
+    getMediaDownloader().resume(url);
+  }
+
+  /**
+   * Stops a download started with {@link #download(String, String, Map)} and deletes the downloaded
+   * video.
+   *
+   * @param url the remote video.
+   */
+  @Override
+  public void removeDownload(@NonNull String url) {
+    getMediaDownloader().remove(url);
+  }
+
+  /**
+   * Returns the state and progress of a download, see {@link MediaDownloader#getProgress(String)}.
+   *
+   * @param url the remote video.
+   * @return the progress, or {@code null} if {@code url} is not downloaded.
+   */
+  @Override
+  @Nullable
+  public DownloadProgressMessage getDownloadProgress(@NonNull String url) {
+    try {
+      return getMediaDownloader().getProgress(url);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read the downloads.", e);
+    }
+  }
+
+  /**
+   * Returns the state and progress of all downloads, see {@link #getDownloadProgress(String)}.
+   *
+   * @return the progress of each download.
+   */
+  @Override
+  @NonNull
+  public List<DownloadProgressMessage> getAllDownloadProgress() {
+    try {
+      return getMediaDownloader().getAllProgress();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read the downloads.", e);
+    }
+  }
+
+  @NonNull
+  private MediaDownloader getMediaDownloader() {
+    return MediaDownloader.getInstance(flutterState.applicationContext, httpDataSourceFactory);
+  }
+
+  /**
+   * Sets how often the position, buffered range and playback speed of all players are sent.
+   *
+   * <p>Updates are sent on the {@code flutter.io/videoPlayer/videoEvents} channel as a single
+   * {@code playbackUpdates} event per interval, holding an update for each player whose values
+   * changed since the previous event. This replaces polling {@link #position(TextureMessage)} for
+   * each player.
+   *
+   * @param intervalMs the time between two events in milliseconds, or 0 to stop sending updates.
+   */
+  @Override
+  public void setPlaybackUpdateInterval(@NonNull Long intervalMs) {
+    if (playbackUpdateBroadcaster == null) {
+      throw new IllegalStateException("The plugin is not attached to an engine.");
+    }
+    playbackUpdateBroadcaster.setInterval(intervalMs);
+  }
+
   private interface KeyForAssetFn {
     String get(String asset);
   }
@@ -0,0 +1,107 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.Player;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.test.core.app.ApplicationProvider;
+import java.util.ArrayDeque;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class ExoPlayerRecyclerTest {
+  private final ArrayDeque<ExoPlayer> builtPlayers = new ArrayDeque<>();
+  private final TrackSelectionParameters defaultTrackSelectionParameters =
+      new TrackSelectionParameters.Builder(ApplicationProvider.getApplicationContext()).build();
+  private ExoPlayerRecycler recycler;
+
+  @Before
+  public void setUp() {
+    recycler =
+        new ExoPlayerRecycler(
+            () -> {
+              ExoPlayer exoPlayer = mock(ExoPlayer.class);
+              builtPlayers.add(exoPlayer);
+              return exoPlayer;
+            },
+            1,
+            defaultTrackSelectionParameters);
+  }
+
+  @Test
+  public void getBuildsPlayerWhenNoneIsIdle() {
+    ExoPlayer first = recycler.get();
+    ExoPlayer second = recycler.get();
+
+    assertEquals(2, builtPlayers.size());
+    assertSame(builtPlayers.getFirst(), first);
+    assertSame(builtPlayers.getLast(), second);
+  }
+
+  @Test
+  public void recycledPlayerIsResetAndReused() {
+    ExoPlayer exoPlayer = recycler.get();
+
+    recycler.recycle(exoPlayer);
+
+    InOrder inOrder = inOrder(exoPlayer);
+    inOrder.verify(exoPlayer).clearVideoSurface();
+    inOrder.verify(exoPlayer).stop();
+    inOrder.verify(exoPlayer).clearMediaItems();
+    verify(exoPlayer).setPlayWhenReady(false);
+    verify(exoPlayer).seekTo(0);
+    verify(exoPlayer).setRepeatMode(Player.REPEAT_MODE_OFF);
+    verify(exoPlayer).setVolume(1.0f);
+    verify(exoPlayer).setPlaybackParameters(PlaybackParameters.DEFAULT);
+    verify(exoPlayer).setTrackSelectionParameters(defaultTrackSelectionParameters);
+    verify(exoPlayer, never()).release();
+    assertEquals(1, recycler.getIdlePlayerCount());
+
+    assertSame(exoPlayer, recycler.get());
+    assertEquals(1, builtPlayers.size());
+    assertEquals(0, recycler.getIdlePlayerCount());
+  }
+
+  @Test
+  public void recycleReleasesPlayerWhenRecyclerIsFull() {
+    ExoPlayer first = recycler.get();
+    ExoPlayer second = recycler.get();
+
+    recycler.recycle(first);
+    recycler.recycle(second);
+
+    verify(first, never()).release();
+    verify(second).release();
+    assertEquals(1, recycler.getIdlePlayerCount());
+  }
+
+  @Test
+  public void releaseReleasesIdlePlayersAndLaterRecycledPlayers() {
+    ExoPlayer idle = recycler.get();
+    ExoPlayer leased = recycler.get();
+    recycler.recycle(idle);
+
+    recycler.release();
+    verify(idle).release();
+    assertEquals(0, recycler.getIdlePlayerCount());
+
+    recycler.recycle(leased);
+    verify(leased).release();
+    assertEquals(0, recycler.getIdlePlayerCount());
+  }
+}
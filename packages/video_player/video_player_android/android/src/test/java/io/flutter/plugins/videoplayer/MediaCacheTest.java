@@ -0,0 +1,40 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import java.util.Map;
+import org.junit.Test;
+
+public final class MediaCacheTest {
+  @Test
+  public void statisticsStartAtZero() {
+    Map<String, Long> statistics = new MediaCache.Statistics().toMap();
+
+    assertEquals(Long.valueOf(0), statistics.get("hitBytes"));
+    assertEquals(Long.valueOf(0), statistics.get("missBytes"));
+  }
+
+  @Test
+  public void statisticsCountCachedAndNetworkBytes() {
+    MediaCache.Statistics statistics = new MediaCache.Statistics();
+    DataSource source = mock(DataSource.class);
+    DataSpec dataSpec = mock(DataSpec.class);
+
+    statistics.onCachedBytesRead(4096, 1000);
+    statistics.onCachedBytesRead(4096, 24);
+    statistics.onBytesTransferred(source, dataSpec, true, 500);
+    // Bytes read from local files, e.g. the cache itself, are not misses.
+    statistics.onBytesTransferred(source, dataSpec, false, 300);
+
+    Map<String, Long> result = statistics.toMap();
+    assertEquals(Long.valueOf(1024), result.get("hitBytes"));
+    assertEquals(Long.valueOf(500), result.get("missBytes"));
+  }
+}
@@ -0,0 +1,212 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import androidx.annotation.Nullable;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.exoplayer.offline.Download;
+import androidx.media3.exoplayer.offline.DownloadCursor;
+import androidx.media3.exoplayer.offline.DownloadHelper;
+import androidx.media3.exoplayer.offline.DownloadIndex;
+import androidx.media3.exoplayer.offline.DownloadManager;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.test.core.app.ApplicationProvider;
+import io.flutter.plugins.videoplayer.Messages.DownloadProgressMessage;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class MediaDownloaderTest {
+  private static final String URL = "https://flutter.dev/video.m3u8";
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  @Mock private Cache mockCache;
+  @Mock private DownloadManager mockDownloadManager;
+  @Mock private DownloadIndex mockDownloadIndex;
+  @Mock private DataSource.Factory mockHttpDataSourceFactory;
+  @Mock private DownloadHelper mockDownloadHelper;
+
+  private MediaDownloader downloader;
+
+  @Before
+  public void setUp() {
+    when(mockDownloadManager.getDownloadIndex()).thenReturn(mockDownloadIndex);
+    downloader =
+        new MediaDownloader(
+            ApplicationProvider.getApplicationContext(),
+            mockCache,
+            mockDownloadManager,
+            mockHttpDataSourceFactory);
+  }
+
+  private static Download download(int state, int stopReason) {
+    DownloadRequest request = new DownloadRequest.Builder(URL, Uri.parse(URL)).build();
+    return new Download(request, state, 0, 0, 2048, stopReason, Download.FAILURE_REASON_NONE);
+  }
+
+  // Starts downloading URL, and returns the callback the download is prepared with.
+  private DownloadHelper.Callback startDownload(Map<String, String> httpHeaders) {
+    try (MockedStatic<DownloadHelper> mockedStatic = mockStatic(DownloadHelper.class)) {
+      mockedStatic
+          .when(() -> DownloadHelper.forMediaItem(any(), any(), any(), any()))
+          .thenReturn(mockDownloadHelper);
+      downloader.download(URL, VideoAsset.StreamingFormat.HTTP_LIVE, httpHeaders);
+    }
+    ArgumentCaptor<DownloadHelper.Callback> callbackCaptor =
+        ArgumentCaptor.forClass(DownloadHelper.Callback.class);
+    verify(mockDownloadHelper).prepare(callbackCaptor.capture());
+    return callbackCaptor.getValue();
+  }
+
+  @Test
+  public void downloadAddsRequestWithHeadersOncePrepared() throws Exception {
+    Map<String, String> httpHeaders = Collections.singletonMap("Authorization", "token");
+    DownloadRequest request = new DownloadRequest.Builder(URL, Uri.parse(URL)).build();
+    when(mockDownloadHelper.getDownloadRequest(eq(URL), any())).thenReturn(request);
+
+    DownloadHelper.Callback callback = startDownload(httpHeaders);
+    assertEquals("preparing", downloader.getProgress(URL).getState());
+    callback.onPrepared(mockDownloadHelper);
+
+    ArgumentCaptor<byte[]> dataCaptor = ArgumentCaptor.forClass(byte[].class);
+    verify(mockDownloadHelper).getDownloadRequest(eq(URL), dataCaptor.capture());
+    assertEquals(httpHeaders, MediaDownloader.decodeHeaders(dataCaptor.getValue()));
+    verify(mockDownloadManager).addDownload(request);
+    verify(mockDownloadHelper).release();
+  }
+
+  @Test
+  public void removeWhilePreparingDoesNotAddDownload() throws Exception {
+    DownloadHelper.Callback callback = startDownload(new HashMap<>());
+
+    downloader.remove(URL);
+    callback.onPrepared(mockDownloadHelper);
+
+    verify(mockDownloadManager).removeDownload(URL);
+    verify(mockDownloadManager, never()).addDownload(any());
+  }
+
+  @Test
+  public void pauseAndResumeSetStopReason() {
+    downloader.pause(URL);
+    verify(mockDownloadManager).setStopReason(URL, MediaDownloader.STOP_REASON_PAUSED);
+
+    downloader.resume(URL);
+    verify(mockDownloadManager).setStopReason(URL, Download.STOP_REASON_NONE);
+  }
+
+  @Test
+  public void getProgressPrefersCurrentDownloads() throws Exception {
+    when(mockDownloadManager.getCurrentDownloads())
+        .thenReturn(
+            Collections.singletonList(
+                download(Download.STATE_STOPPED, MediaDownloader.STOP_REASON_PAUSED)));
+    when(mockDownloadIndex.getDownload(URL)).thenReturn(download(Download.STATE_QUEUED, 0));
+
+    DownloadProgressMessage progress = downloader.getProgress(URL);
+
+    assertEquals(URL, progress.getUrl());
+    assertEquals("paused", progress.getState());
+    assertEquals((Long) 2048L, progress.getContentLength());
+  }
+
+  @Test
+  public void getProgressReturnsNullForUnknownUrl() throws Exception {
+    assertNull(downloader.getProgress(URL));
+  }
+
+  // Returns a cursor over a single download, or over no downloads if download is null.
+  private static DownloadCursor cursorOf(@Nullable Download download) {
+    DownloadCursor cursor = mock(DownloadCursor.class);
+    when(cursor.moveToNext()).thenReturn(download != null, false);
+    if (download != null) {
+      when(cursor.getDownload()).thenReturn(download);
+    }
+    return cursor;
+  }
+
+  @Test
+  public void getDownloadedAssetOnlyPlaysCompletedDownloads() throws Exception {
+    DownloadCursor cursor = cursorOf(null);
+    when(mockDownloadIndex.getDownloads(Download.STATE_COMPLETED)).thenReturn(cursor);
+    assertNull(downloader.getDownloadedAsset(URL));
+  }
+
+  @Test
+  public void getDownloadedAssetReadsTheIndexOnceAndFollowsDownloadChanges() throws Exception {
+    DownloadCursor cursor = cursorOf(download(Download.STATE_COMPLETED, 0));
+    when(mockDownloadIndex.getDownloads(Download.STATE_COMPLETED)).thenReturn(cursor);
+    ArgumentCaptor<DownloadManager.Listener> listenerCaptor =
+        ArgumentCaptor.forClass(DownloadManager.Listener.class);
+    verify(mockDownloadManager).addListener(listenerCaptor.capture());
+    DownloadManager.Listener listener = listenerCaptor.getValue();
+
+    assertTrue(downloader.getDownloadedAsset(URL) instanceof DownloadedVideoAsset);
+
+    listener.onDownloadChanged(mockDownloadManager, download(Download.STATE_RESTARTING, 0), null);
+    assertNull(downloader.getDownloadedAsset(URL));
+
+    listener.onDownloadChanged(mockDownloadManager, download(Download.STATE_COMPLETED, 0), null);
+    assertTrue(downloader.getDownloadedAsset(URL) instanceof DownloadedVideoAsset);
+
+    listener.onDownloadRemoved(mockDownloadManager, download(Download.STATE_REMOVING, 0));
+    assertNull(downloader.getDownloadedAsset(URL));
+
+    verify(mockDownloadIndex, times(1)).getDownloads(Download.STATE_COMPLETED);
+    verify(mockDownloadIndex, never()).getDownload(any());
+  }
+
+  @Test
+  public void getInstanceResumesDownloads() {
+    try (MockedConstruction<SimpleCache> mockedCaches = mockConstruction(SimpleCache.class);
+        MockedConstruction<DownloadManager> mockedDownloadManagers =
+            mockConstruction(DownloadManager.class)) {
+      MediaDownloader instance =
+          MediaDownloader.getInstance(
+              ApplicationProvider.getApplicationContext(), mockHttpDataSourceFactory);
+
+      assertSame(
+          instance,
+          MediaDownloader.getInstance(
+              ApplicationProvider.getApplicationContext(), mockHttpDataSourceFactory));
+      assertEquals(1, mockedDownloadManagers.constructed().size());
+      DownloadManager downloadManager = mockedDownloadManagers.constructed().get(0);
+      verify(downloadManager).setMaxParallelDownloads(MediaDownloader.MAX_PARALLEL_DOWNLOADS);
+      verify(downloadManager).resumeDownloads();
+    } finally {
+      MediaDownloader.clearInstance();
+    }
+  }
+}
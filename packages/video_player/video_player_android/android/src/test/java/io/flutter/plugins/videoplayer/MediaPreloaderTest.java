@@ -0,0 +1,138 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.cache.CacheWriter;
+import androidx.test.core.app.ApplicationProvider;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class MediaPreloaderTest {
+  private static final String URL = "https://flutter.dev/video.mp4";
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  @Mock private MediaCache mockMediaCache;
+  @Mock private DataSource.Factory mockHttpDataSourceFactory;
+  @Mock private CacheWriter mockCacheWriter;
+  @Mock private ExecutorService mockExecutor;
+  @Mock private Future<?> mockFuture;
+
+  private MediaPreloader preloader;
+
+  @Before
+  public void setUp() {
+    when(mockMediaCache.createCacheWriter(any(), any(), anyLong())).thenReturn(mockCacheWriter);
+    doReturn(mockFuture).when(mockExecutor).submit(any(Runnable.class));
+    preloader =
+        new MediaPreloader(
+            ApplicationProvider.getApplicationContext(),
+            mockMediaCache,
+            mockHttpDataSourceFactory,
+            mockExecutor);
+  }
+
+  @Test
+  public void preloadCachesUpToMaxBytesInBackground() throws Exception {
+    preloader.preload(URL, VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>(), 1024);
+
+    verify(mockMediaCache).createCacheWriter(any(), any(), eq(1024L));
+    ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockExecutor).submit(runnableCaptor.capture());
+    assertTrue(preloader.isPreloading(URL));
+
+    runnableCaptor.getValue().run();
+
+    verify(mockCacheWriter).cache();
+    assertFalse(preloader.isPreloading(URL));
+  }
+
+  @Test
+  public void preloadIgnoresUrlThatIsAlreadyPreloading() {
+    preloader.preload(URL, VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>(), 1024);
+    preloader.preload(URL, VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>(), 2048);
+
+    verify(mockExecutor, times(1)).submit(any(Runnable.class));
+  }
+
+  @Test
+  public void preloadRejectsAdaptiveStreams() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            preloader.preload(
+                "https://flutter.dev/video",
+                VideoAsset.StreamingFormat.HTTP_LIVE,
+                new HashMap<>(),
+                1024));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            preloader.preload(
+                "https://flutter.dev/video.mpd",
+                VideoAsset.StreamingFormat.UNKNOWN,
+                new HashMap<>(),
+                1024));
+
+    verify(mockExecutor, never()).submit(any(Runnable.class));
+  }
+
+  @Test
+  public void cancelStopsWriterAndQueuedPreload() throws Exception {
+    doThrow(new InterruptedIOException()).when(mockCacheWriter).cache();
+    preloader.preload(URL, VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>(), 1024);
+    ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockExecutor).submit(runnableCaptor.capture());
+
+    preloader.cancel(URL);
+
+    verify(mockCacheWriter).cancel();
+    verify(mockFuture).cancel(false);
+    assertFalse(preloader.isPreloading(URL));
+
+    // A cancelled writer that was already running finishes quietly.
+    runnableCaptor.getValue().run();
+    assertFalse(preloader.isPreloading(URL));
+  }
+
+  @Test
+  public void releaseCancelsAllPreloadsAndStopsThreads() {
+    preloader.preload(URL, VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>(), 1024);
+    preloader.preload(
+        "https://flutter.dev/other.mp4", VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>(), 1024);
+
+    preloader.release();
+
+    verify(mockCacheWriter, times(2)).cancel();
+    verify(mockExecutor).shutdown();
+    assertFalse(preloader.isPreloading(URL));
+  }
+}
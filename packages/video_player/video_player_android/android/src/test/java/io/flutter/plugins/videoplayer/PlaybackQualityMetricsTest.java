@@ -0,0 +1,136 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import androidx.media3.common.Format;
+import androidx.media3.common.Player;
+import androidx.media3.common.Timeline;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.analytics.AnalyticsListener.EventTime;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class PlaybackQualityMetricsTest {
+  private static final long START_MS = 1000;
+
+  private final PlaybackQualityMetrics metrics = new PlaybackQualityMetrics(START_MS);
+
+  private static EventTime at(long realtimeMs) {
+    return new EventTime(realtimeMs, Timeline.EMPTY, 0, null, 0, Timeline.EMPTY, 0, null, 0, 0);
+  }
+
+  private static Player.PositionInfo position() {
+    return mock(Player.PositionInfo.class);
+  }
+
+  @Test
+  public void attachAndDetachRegisterAnalyticsListener() {
+    ExoPlayer mockExoPlayer = mock(ExoPlayer.class);
+
+    metrics.attach(mockExoPlayer);
+    metrics.detach(mockExoPlayer, START_MS);
+
+    verify(mockExoPlayer).addAnalyticsListener(metrics);
+    verify(mockExoPlayer).removeAnalyticsListener(metrics);
+  }
+
+  @Test
+  public void initialSnapshotOmitsUnknownValues() {
+    Map<String, Object> snapshot = metrics.toMap(START_MS);
+
+    assertFalse(snapshot.containsKey("timeToFirstFrameMs"));
+    assertFalse(snapshot.containsKey("videoDecoderInitializationMs"));
+    assertFalse(snapshot.containsKey("audioDecoderInitializationMs"));
+    assertEquals(0, snapshot.get("rebufferCount"));
+    assertEquals(0L, snapshot.get("rebufferDurationMs"));
+    assertEquals(0L, snapshot.get("droppedFrames"));
+    assertEquals(0, snapshot.get("videoBitrateSwitchCount"));
+  }
+
+  @Test
+  public void timeToFirstFrameIsOnlyMeasuredOnce() {
+    metrics.onRenderedFirstFrame(at(START_MS + 300), new Object(), 0);
+    metrics.onRenderedFirstFrame(at(START_MS + 900), new Object(), 0);
+
+    assertEquals(300L, metrics.toMap(START_MS + 1000).get("timeToFirstFrameMs"));
+  }
+
+  @Test
+  public void countsRebuffersAfterPlaybackWasReady() {
+    // Initial buffering is not a rebuffer.
+    metrics.onPlaybackStateChanged(at(START_MS), Player.STATE_BUFFERING);
+    metrics.onPlaybackStateChanged(at(START_MS + 100), Player.STATE_READY);
+
+    metrics.onPlaybackStateChanged(at(START_MS + 1000), Player.STATE_BUFFERING);
+    metrics.onPlaybackStateChanged(at(START_MS + 1250), Player.STATE_READY);
+    metrics.onPlaybackStateChanged(at(START_MS + 2000), Player.STATE_BUFFERING);
+
+    Map<String, Object> snapshot = metrics.toMap(START_MS + 2100);
+    assertEquals(2, snapshot.get("rebufferCount"));
+    // The second rebuffer is still in progress.
+    assertEquals(350L, snapshot.get("rebufferDurationMs"));
+  }
+
+  @Test
+  public void doesNotCountBufferingForSeeks() {
+    metrics.onPlaybackStateChanged(at(START_MS), Player.STATE_READY);
+
+    metrics.onPositionDiscontinuity(
+        at(START_MS + 500), position(), position(), Player.DISCONTINUITY_REASON_SEEK);
+    metrics.onPlaybackStateChanged(at(START_MS + 500), Player.STATE_BUFFERING);
+    metrics.onPlaybackStateChanged(at(START_MS + 800), Player.STATE_READY);
+
+    Map<String, Object> snapshot = metrics.toMap(START_MS + 1000);
+    assertEquals(0, snapshot.get("rebufferCount"));
+    assertEquals(0L, snapshot.get("rebufferDurationMs"));
+  }
+
+  @Test
+  public void detachEndsRebufferInProgress() {
+    ExoPlayer mockExoPlayer = mock(ExoPlayer.class);
+    metrics.onPlaybackStateChanged(at(START_MS), Player.STATE_READY);
+    metrics.onPlaybackStateChanged(at(START_MS + 100), Player.STATE_BUFFERING);
+
+    metrics.detach(mockExoPlayer, START_MS + 400);
+
+    Map<String, Object> snapshot = metrics.toMap(START_MS + 5000);
+    assertEquals(1, snapshot.get("rebufferCount"));
+    assertEquals(300L, snapshot.get("rebufferDurationMs"));
+  }
+
+  @Test
+  public void sumsDroppedFramesAndKeepsLatestDecoderInitializationTimes() {
+    metrics.onDroppedVideoFrames(at(START_MS), 3, 1000);
+    metrics.onDroppedVideoFrames(at(START_MS), 4, 1000);
+    metrics.onVideoDecoderInitialized(at(START_MS), "video", START_MS, 40);
+    metrics.onVideoDecoderInitialized(at(START_MS), "video", START_MS, 25);
+    metrics.onAudioDecoderInitialized(at(START_MS), "audio", START_MS, 10);
+
+    Map<String, Object> snapshot = metrics.toMap(START_MS);
+    assertEquals(7L, snapshot.get("droppedFrames"));
+    assertEquals(25L, snapshot.get("videoDecoderInitializationMs"));
+    assertEquals(10L, snapshot.get("audioDecoderInitializationMs"));
+  }
+
+  @Test
+  public void countsVideoBitrateSwitches() {
+    metrics.onVideoInputFormatChanged(
+        at(START_MS), new Format.Builder().setAverageBitrate(1_000_000).build(), null);
+    metrics.onVideoInputFormatChanged(
+        at(START_MS), new Format.Builder().setAverageBitrate(1_000_000).build(), null);
+    metrics.onVideoInputFormatChanged(
+        at(START_MS), new Format.Builder().setAverageBitrate(3_000_000).build(), null);
+
+    assertEquals(1, metrics.toMap(START_MS).get("videoBitrateSwitchCount"));
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.media3.common.Format;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.analytics.AnalyticsListener;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class PlaybackStatisticsTest {
+  private final PlaybackStatistics statistics = new PlaybackStatistics();
+
+  @Test
+  public void attachAndDetachRegisterAnalyticsListener() {
+    ExoPlayer mockExoPlayer = mock(ExoPlayer.class);
+
+    statistics.attach(mockExoPlayer);
+    statistics.detach(mockExoPlayer);
+
+    verify(mockExoPlayer).addAnalyticsListener(statistics);
+    verify(mockExoPlayer).removeAnalyticsListener(statistics);
+  }
+
+  @Test
+  public void reportsLatestBandwidthEstimateAndTotalBytes() {
+    AnalyticsListener.EventTime eventTime = mock(AnalyticsListener.EventTime.class);
+    statistics.onBandwidthEstimate(eventTime, 100, 1000L, 800_000L);
+    statistics.onBandwidthEstimate(eventTime, 100, 3000L, 1_200_000L);
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("bandwidthEstimate", 1_200_000L);
+    expected.put("totalBytesLoaded", 4000L);
+    assertEquals(expected, statistics.toMap(null));
+  }
+
+  @Test
+  public void reportsSelectedTracks() {
+    ExoPlayer mockExoPlayer = mock(ExoPlayer.class);
+    when(mockExoPlayer.getVideoFormat())
+        .thenReturn(
+            new Format.Builder()
+                .setWidth(1280)
+                .setHeight(720)
+                .setAverageBitrate(2_000_000)
+                .setCodecs("avc1.64001F")
+                .build());
+    when(mockExoPlayer.getAudioFormat())
+        .thenReturn(new Format.Builder().setAverageBitrate(128_000).build());
+
+    Map<String, Object> actual = statistics.toMap(mockExoPlayer);
+
+    assertEquals(1280, actual.get("videoWidth"));
+    assertEquals(720, actual.get("videoHeight"));
+    assertEquals(2_000_000, actual.get("videoBitrate"));
+    assertEquals("avc1.64001F", actual.get("videoCodecs"));
+    assertEquals(128_000, actual.get("audioBitrate"));
+  }
+
+  @Test
+  public void omitsUnknownValues() {
+    ExoPlayer mockExoPlayer = mock(ExoPlayer.class);
+    when(mockExoPlayer.getVideoFormat()).thenReturn(new Format.Builder().setWidth(640).build());
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("bandwidthEstimate", 0L);
+    expected.put("totalBytesLoaded", 0L);
+    expected.put("videoWidth", 640);
+    assertEquals(expected, statistics.toMap(mockExoPlayer));
+  }
+}
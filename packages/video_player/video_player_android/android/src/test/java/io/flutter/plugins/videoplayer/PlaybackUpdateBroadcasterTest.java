@@ -0,0 +1,174 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Handler;
+import android.util.LongSparseArray;
+import io.flutter.plugin.common.EventChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class PlaybackUpdateBroadcasterTest {
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  @Mock private Handler mockHandler;
+  @Mock private EventChannel.EventSink mockEventSink;
+  @Captor private ArgumentCaptor<Map<String, Object>> eventCaptor;
+
+  private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
+  private PlaybackUpdateBroadcaster broadcaster;
+
+  @Before
+  public void setUp() {
+    broadcaster = new PlaybackUpdateBroadcaster(videoPlayers, mockHandler);
+    broadcaster.setEventSink(mockEventSink);
+  }
+
+  private static VideoPlayer mockPlayer(long position, long bufferedPosition, float speed) {
+    VideoPlayer videoPlayer = mock(VideoPlayer.class);
+    when(videoPlayer.getPosition()).thenReturn(position);
+    when(videoPlayer.getBufferedPosition()).thenReturn(bufferedPosition);
+    when(videoPlayer.getPlaybackSpeed()).thenReturn(speed);
+    when(videoPlayer.getQualityMetrics()).thenReturn(null);
+    return videoPlayer;
+  }
+
+  private static Map<String, Object> expectedUpdate(
+      long textureId, long position, long bufferedPosition, double speed) {
+    Map<String, Object> update = new HashMap<>();
+    update.put("textureId", textureId);
+    update.put("position", position);
+    update.put("buffered", Collections.singletonList(Arrays.asList(0, bufferedPosition)));
+    update.put("playbackSpeed", speed);
+    return update;
+  }
+
+  @Test
+  public void setIntervalSchedulesAndCancelsTicks() {
+    broadcaster.setInterval(250);
+    verify(mockHandler).postDelayed(any(Runnable.class), any(Long.class));
+
+    broadcaster.setInterval(0);
+    verify(mockHandler, times(2)).removeCallbacks(any(Runnable.class));
+    verify(mockHandler, times(1)).postDelayed(any(Runnable.class), any(Long.class));
+  }
+
+  @Test
+  public void setIntervalRejectsNegativeInterval() {
+    assertThrows(IllegalArgumentException.class, () -> broadcaster.setInterval(-1));
+  }
+
+  @Test
+  public void tickSendsAllPlayersInOneEvent() {
+    videoPlayers.put(1, mockPlayer(10, 100, 1.0f));
+    videoPlayers.put(2, mockPlayer(20, 200, 2.0f));
+
+    broadcaster.tick();
+
+    verify(mockEventSink).success(eventCaptor.capture());
+    Map<String, Object> event = eventCaptor.getValue();
+    assertEquals("playbackUpdates", event.get("event"));
+    assertEquals(
+        Arrays.asList(expectedUpdate(1, 10, 100, 1.0), expectedUpdate(2, 20, 200, 2.0)),
+        event.get("updates"));
+  }
+
+  @Test
+  public void tickOnlySendsPlayersThatChanged() {
+    videoPlayers.put(1, mockPlayer(10, 100, 1.0f));
+    videoPlayers.put(2, mockPlayer(20, 200, 1.0f));
+    broadcaster.tick();
+
+    videoPlayers.put(2, mockPlayer(30, 200, 1.0f));
+    broadcaster.tick();
+
+    verify(mockEventSink, times(2)).success(eventCaptor.capture());
+    @SuppressWarnings("unchecked")
+    List<Map<String, Object>> updates =
+        (List<Map<String, Object>>) eventCaptor.getValue().get("updates");
+    assertEquals(Collections.singletonList(expectedUpdate(2, 30, 200, 1.0)), updates);
+  }
+
+  @Test
+  public void tickIncludesQualityMetricsOfPlayersCollectingThem() {
+    VideoPlayer videoPlayer = mockPlayer(10, 100, 1.0f);
+    Map<String, Object> qualityMetrics = Collections.singletonMap("rebufferCount", 1);
+    when(videoPlayer.getQualityMetrics()).thenReturn(qualityMetrics);
+    videoPlayers.put(1, videoPlayer);
+
+    broadcaster.tick();
+
+    verify(mockEventSink).success(eventCaptor.capture());
+    Map<String, Object> expected = expectedUpdate(1, 10, 100, 1.0);
+    expected.put("qualityMetrics", qualityMetrics);
+    assertEquals(Collections.singletonList(expected), eventCaptor.getValue().get("updates"));
+  }
+
+  @Test
+  public void tickSendsBufferingUpdatesOfEachPlayer() {
+    VideoPlayer first = mockPlayer(10, 100, 1.0f);
+    VideoPlayer second = mockPlayer(20, 200, 1.0f);
+    videoPlayers.put(1, first);
+    videoPlayers.put(2, second);
+
+    broadcaster.tick();
+
+    verify(first).sendBufferingUpdate();
+    verify(second).sendBufferingUpdate();
+  }
+
+  @Test
+  public void tickSendsNothingWhenNothingChanged() {
+    videoPlayers.put(1, mockPlayer(10, 100, 1.0f));
+    broadcaster.tick();
+    broadcaster.tick();
+
+    verify(mockEventSink, times(1)).success(any());
+  }
+
+  @Test
+  public void tickSendsNothingWithoutListener() {
+    videoPlayers.put(1, mockPlayer(10, 100, 1.0f));
+    broadcaster.setEventSink(null);
+
+    broadcaster.tick();
+
+    verify(mockEventSink, never()).success(any());
+  }
+
+  @Test
+  public void tickReschedulesWhileEnabled() {
+    broadcaster.setInterval(250);
+    broadcaster.tick();
+    verify(mockHandler, times(2)).postDelayed(any(Runnable.class), any(Long.class));
+
+    broadcaster.release();
+    broadcaster.tick();
+    verify(mockHandler, times(2)).postDelayed(any(Runnable.class), any(Long.class));
+  }
+}
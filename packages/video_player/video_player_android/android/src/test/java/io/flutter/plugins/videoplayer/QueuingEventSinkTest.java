@@ -0,0 +1,110 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugin.common.EventChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class QueuingEventSinkTest {
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  @Mock private EventChannel.EventSink mockDelegate;
+
+  private QueuingEventSink eventSink;
+
+  @Before
+  public void setUp() {
+    eventSink = new QueuingEventSink();
+  }
+
+  private static Map<String, Object> event(String name, String key, Object value) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", name);
+    event.put(key, value);
+    return event;
+  }
+
+  @Test
+  public void deliversQueuedEventsInOrderOnceDelegateIsSet() {
+    Map<String, Object> initialized = event("initialized", "duration", 10L);
+    Map<String, Object> completed = Collections.singletonMap("event", "completed");
+    eventSink.success(initialized);
+    eventSink.error("code", "message", null);
+    eventSink.success(completed);
+
+    eventSink.setDelegate(mockDelegate);
+
+    InOrder inOrder = inOrder(mockDelegate);
+    inOrder.verify(mockDelegate).success(initialized);
+    inOrder.verify(mockDelegate).error("code", "message", null);
+    inOrder.verify(mockDelegate).success(completed);
+  }
+
+  @Test
+  public void queuedStateUpdatesAreCoalescedToTheLatest() {
+    Map<String, Object> firstUpdate = event("bufferingUpdate", "values", 10L);
+    Map<String, Object> bufferingStart = Collections.singletonMap("event", "bufferingStart");
+    Map<String, Object> playing = event("isPlayingStateUpdate", "isPlaying", true);
+    Map<String, Object> lastUpdate = event("bufferingUpdate", "values", 20L);
+    Map<String, Object> paused = event("isPlayingStateUpdate", "isPlaying", false);
+    eventSink.success(firstUpdate);
+    eventSink.success(bufferingStart);
+    eventSink.success(playing);
+    eventSink.success(lastUpdate);
+    eventSink.success(paused);
+
+    eventSink.setDelegate(mockDelegate);
+
+    InOrder inOrder = inOrder(mockDelegate);
+    inOrder.verify(mockDelegate).success(bufferingStart);
+    inOrder.verify(mockDelegate).success(lastUpdate);
+    inOrder.verify(mockDelegate).success(paused);
+    verify(mockDelegate, never()).success(firstUpdate);
+    verify(mockDelegate, never()).success(playing);
+  }
+
+  @Test
+  public void queuedBufferingRangesAreCoalescedToTheLatest() {
+    long[] firstRange = {0, 10L};
+    long[] lastRange = {0, 20L};
+    eventSink.success(firstRange);
+    eventSink.success(lastRange);
+
+    eventSink.setDelegate(mockDelegate);
+
+    verify(mockDelegate).success(lastRange);
+    verify(mockDelegate, never()).success(firstRange);
+  }
+
+  @Test
+  public void deliversEveryEventWhileDelegateIsSet() {
+    Map<String, Object> firstUpdate = event("bufferingUpdate", "values", 10L);
+    Map<String, Object> lastUpdate = event("bufferingUpdate", "values", 20L);
+    eventSink.setDelegate(mockDelegate);
+
+    eventSink.success(firstUpdate);
+    eventSink.success(lastUpdate);
+
+    InOrder inOrder = inOrder(mockDelegate);
+    inOrder.verify(mockDelegate).success(firstUpdate);
+    inOrder.verify(mockDelegate).success(lastUpdate);
+  }
+}
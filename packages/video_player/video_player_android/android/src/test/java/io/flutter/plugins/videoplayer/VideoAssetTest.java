@@ -6,24 +6,32 @@ package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
-import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.anyMap;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.net.Uri;
+import androidx.annotation.Nullable;
 import androidx.media3.common.MediaItem;
+import androidx.media3.common.MimeTypes;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
 import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.exoplayer.offline.DownloadRequest;
 import androidx.media3.exoplayer.source.MediaSource;
 import androidx.test.core.app.ApplicationProvider;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedConstruction;
 import org.robolectric.RobolectricTestRunner;
 
 /**
@@ -53,49 +61,52 @@ public final class VideoAssetTest {
     assertEquals(mediaItem.localConfiguration.uri, Uri.parse("asset:///asset-key"));
   }
 
-  private static DefaultHttpDataSource.Factory mockHttpFactory() {
-    DefaultHttpDataSource.Factory httpFactory = mock(DefaultHttpDataSource.Factory.class);
-    when(httpFactory.setUserAgent(anyString())).thenReturn(httpFactory);
-    when(httpFactory.setAllowCrossProtocolRedirects(anyBoolean())).thenReturn(httpFactory);
-    when(httpFactory.setDefaultRequestProperties(anyMap())).thenReturn(httpFactory);
-    return httpFactory;
+  private static HttpVideoAsset remoteVideo(
+      Map<String, String> headers,
+      @Nullable MediaCache mediaCache,
+      DataSource.Factory httpDataSourceFactory) {
+    return (HttpVideoAsset)
+        VideoAsset.fromRemoteUrl(
+            "https://flutter.dev/video.mp4",
+            VideoAsset.StreamingFormat.UNKNOWN,
+            headers,
+            mediaCache,
+            httpDataSourceFactory);
   }
 
-  @Test
-  public void remoteVideoByDefaultSetsUserAgentAndCrossProtocolRedirects() {
-    VideoAsset asset =
-        VideoAsset.fromRemoteUrl(
-            "https://flutter.dev/video.mp4", VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>());
+  // Opens a data source of the asset, and returns the data spec it requested from the shared HTTP
+  // data source.
+  private static DataSpec openHttpDataSource(HttpVideoAsset asset, DataSource mockHttpDataSource)
+      throws Exception {
+    asset
+        .unstableGetHttpDataSourceFactory()
+        .createDataSource()
+        .open(new DataSpec(Uri.parse("https://flutter.dev/video.mp4")));
+    ArgumentCaptor<DataSpec> dataSpecCaptor = ArgumentCaptor.forClass(DataSpec.class);
+    verify(mockHttpDataSource).open(dataSpecCaptor.capture());
+    return dataSpecCaptor.getValue();
+  }
 
-    DefaultHttpDataSource.Factory mockFactory = mockHttpFactory();
+  @Test
+  public void remoteVideoByDefaultSetsUserAgent() throws Exception {
+    DataSource mockHttpDataSource = mock(DataSource.class);
+    HttpVideoAsset asset = remoteVideo(new HashMap<>(), null, () -> mockHttpDataSource);
 
-    // Cast to HttpVideoAsset to call a testing-only method to intercept calls.
-    ((HttpVideoAsset) asset)
-        .getMediaSourceFactory(ApplicationProvider.getApplicationContext(), mockFactory);
+    DataSpec dataSpec = openHttpDataSource(asset, mockHttpDataSource);
 
-    verify(mockFactory).setUserAgent("ExoPlayer");
-    verify(mockFactory).setAllowCrossProtocolRedirects(true);
-    verify(mockFactory, never()).setDefaultRequestProperties(anyMap());
+    assertEquals(Collections.singletonMap("User-Agent", "ExoPlayer"), dataSpec.httpRequestHeaders);
   }
 
   @Test
-  public void remoteVideoOverridesUserAgentIfProvided() {
+  public void remoteVideoOverridesUserAgentIfProvided() throws Exception {
     Map<String, String> headers = new HashMap<>();
     headers.put("User-Agent", "FantasticalVideoBot");
+    DataSource mockHttpDataSource = mock(DataSource.class);
+    HttpVideoAsset asset = remoteVideo(headers, null, () -> mockHttpDataSource);
 
-    VideoAsset asset =
-        VideoAsset.fromRemoteUrl(
-            "https://flutter.dev/video.mp4", VideoAsset.StreamingFormat.UNKNOWN, headers);
+    DataSpec dataSpec = openHttpDataSource(asset, mockHttpDataSource);
 
-    DefaultHttpDataSource.Factory mockFactory = mockHttpFactory();
-
-    // Cast to HttpVideoAsset to call a testing-only method to intercept calls.
-    ((HttpVideoAsset) asset)
-        .getMediaSourceFactory(ApplicationProvider.getApplicationContext(), mockFactory);
-
-    verify(mockFactory).setUserAgent("FantasticalVideoBot");
-    verify(mockFactory).setAllowCrossProtocolRedirects(true);
-    verify(mockFactory).setDefaultRequestProperties(headers);
+    assertEquals(headers, dataSpec.httpRequestHeaders);
   }
 
   // This tests that without using the overrides we get a working, non-mocked object.
@@ -117,23 +128,83 @@ public final class VideoAssetTest {
   }
 
   @Test
-  public void remoteVideoSetsAdditionalHttpHeadersIfProvided() {
+  public void remoteVideoSetsAdditionalHttpHeadersIfProvided() throws Exception {
     Map<String, String> headers = new HashMap<>();
     headers.put("X-Cache-Forever", "true");
+    DataSource mockHttpDataSource = mock(DataSource.class);
+    HttpVideoAsset asset = remoteVideo(headers, null, () -> mockHttpDataSource);
 
-    VideoAsset asset =
-        VideoAsset.fromRemoteUrl(
-            "https://flutter.dev/video.mp4", VideoAsset.StreamingFormat.UNKNOWN, headers);
+    DataSpec dataSpec = openHttpDataSource(asset, mockHttpDataSource);
 
-    DefaultHttpDataSource.Factory mockFactory = mockHttpFactory();
+    assertEquals("true", dataSpec.httpRequestHeaders.get("X-Cache-Forever"));
+    assertEquals("ExoPlayer", dataSpec.httpRequestHeaders.get("User-Agent"));
+  }
 
-    // Cast to HttpVideoAsset to call a testing-only method to intercept calls.
-    ((HttpVideoAsset) asset)
-        .getMediaSourceFactory(ApplicationProvider.getApplicationContext(), mockFactory);
+  @Test
+  public void sharedHttpDataSourceFactoryAllowsCrossProtocolRedirects() {
+    try (MockedConstruction<DefaultHttpDataSource.Factory> mockedFactories =
+        mockConstruction(DefaultHttpDataSource.Factory.class)) {
+      HttpVideoAsset.unstableCreateSharedHttpDataSourceFactory();
+
+      assertEquals(1, mockedFactories.constructed().size());
+      verify(mockedFactories.constructed().get(0)).setAllowCrossProtocolRedirects(true);
+    }
+  }
 
-    verify(mockFactory).setUserAgent("ExoPlayer");
-    verify(mockFactory).setAllowCrossProtocolRedirects(true);
-    verify(mockFactory).setDefaultRequestProperties(headers);
+  @Test
+  public void remoteVideosShareHttpDataSourceFactoryWithTheirOwnHeaders() throws Exception {
+    DataSource firstHttpDataSource = mock(DataSource.class);
+    DataSource secondHttpDataSource = mock(DataSource.class);
+    DataSource.Factory sharedFactory = mock(DataSource.Factory.class);
+    when(sharedFactory.createDataSource())
+        .thenReturn(firstHttpDataSource)
+        .thenReturn(secondHttpDataSource);
+    HttpVideoAsset first =
+        remoteVideo(Collections.singletonMap("Authorization", "first"), null, sharedFactory);
+    HttpVideoAsset second =
+        remoteVideo(Collections.singletonMap("Authorization", "second"), null, sharedFactory);
+
+    DataSpec firstDataSpec = openHttpDataSource(first, firstHttpDataSource);
+    DataSpec secondDataSpec = openHttpDataSource(second, secondHttpDataSource);
+
+    assertEquals("first", firstDataSpec.httpRequestHeaders.get("Authorization"));
+    assertEquals("second", secondDataSpec.httpRequestHeaders.get("Authorization"));
+  }
+
+  @Test
+  public void remoteVideoWithMediaCacheCountsNetworkBytes() {
+    MediaCache mediaCache = new MediaCache(mock(Cache.class), 1024);
+    DataSource mockHttpDataSource = mock(DataSource.class);
+    HttpVideoAsset asset = remoteVideo(new HashMap<>(), mediaCache, () -> mockHttpDataSource);
+
+    asset.unstableGetHttpDataSourceFactory().createDataSource();
+
+    verify(mockHttpDataSource).addTransferListener(asset.getMediaCacheStatistics());
+  }
+
+  @Test
+  public void remoteVideoWithoutMediaCacheDoesNotCountNetworkBytes() {
+    DataSource mockHttpDataSource = mock(DataSource.class);
+    HttpVideoAsset asset = remoteVideo(new HashMap<>(), null, () -> mockHttpDataSource);
+
+    asset.unstableGetHttpDataSourceFactory().createDataSource();
+
+    verify(mockHttpDataSource, never()).addTransferListener(any());
+  }
+
+  @Test
+  public void downloadedVideoCreatesMediaItemFromDownloadRequest() {
+    DownloadRequest request =
+        new DownloadRequest.Builder(
+                "https://flutter.dev/video.m3u8", Uri.parse("https://flutter.dev/video.m3u8"))
+            .setMimeType(MimeTypes.APPLICATION_M3U8)
+            .build();
+    VideoAsset asset = VideoAsset.fromDownload(request, mock(Cache.class));
+    MediaItem mediaItem = asset.getMediaItem();
+
+    assert mediaItem.localConfiguration != null;
+    assertEquals(Uri.parse("https://flutter.dev/video.m3u8"), mediaItem.localConfiguration.uri);
+    assertEquals(MimeTypes.APPLICATION_M3U8, mediaItem.localConfiguration.mimeType);
   }
 
   @Test
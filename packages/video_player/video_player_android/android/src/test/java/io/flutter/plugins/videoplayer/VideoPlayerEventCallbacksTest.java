@@ -5,11 +5,12 @@
 package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Before;
@@ -27,8 +28,8 @@ import org.robolectric.RobolectricTestRunner;
  * Unit tests {@link VideoPlayerEventCallbacks}.
  *
  * <p>This test suite <em>narrowly verifies</em> that calling the provided event callbacks, such as
- * {@link VideoPlayerEventCallbacks#onBufferingUpdate(long)}, produces the expected data as an
- * encoded {@link Map}.
+ * {@link VideoPlayerEventCallbacks#onInitialized(int, int, long, int)}, produces the expected data
+ * as an encoded {@link Map}, or as a compact {@code long[]} for buffering updates.
  *
  * <p>In other words, this tests that "the Java-side of the event channel works as expected".
  */
@@ -93,16 +94,29 @@ public final class VideoPlayerEventCallbacksTest {
   }
 
   @Test
-  public void onBufferingUpdateProvidesAListWithASingleRange() {
+  public void onBufferingUpdateProvidesASingleRange() {
     eventCallbacks.onBufferingUpdate(10L);
 
-    verify(mockEventSink).success(eventCaptor.capture());
+    verify(mockEventSink).success(aryEq(new long[] {0, 10L}));
+  }
 
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "bufferingUpdate");
-    expected.put("values", Collections.singletonList(Arrays.asList(0, 10L)));
-    assertEquals(expected, actual);
+  @Test
+  public void onBufferingUpdateSkipsUnchangedBufferedPosition() {
+    eventCallbacks.onBufferingUpdate(10L);
+    eventCallbacks.onBufferingUpdate(10L);
+    eventCallbacks.onBufferingUpdate(20L);
+
+    verify(mockEventSink, times(2)).success(any());
+    verify(mockEventSink).success(aryEq(new long[] {0, 20L}));
+  }
+
+  @Test
+  public void onBufferingUpdateResendsUnchangedBufferedPositionToNewListener() {
+    eventCallbacks.onBufferingUpdate(10L);
+    eventCallbacks.onListen();
+    eventCallbacks.onBufferingUpdate(10L);
+
+    verify(mockEventSink, times(2)).success(any());
   }
 
   @Test
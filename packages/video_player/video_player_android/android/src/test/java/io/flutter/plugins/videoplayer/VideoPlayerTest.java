@@ -11,10 +11,15 @@ import static org.mockito.Mockito.*;
 import android.view.Surface;
 import androidx.media3.common.AudioAttributes;
 import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.MediaItem;
 import androidx.media3.common.PlaybackParameters;
 import androidx.media3.common.Player;
+import androidx.media3.common.TrackSelectionParameters;
 import androidx.media3.common.VideoSize;
 import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.test.core.app.ApplicationProvider;
 import io.flutter.view.TextureRegistry;
 import org.junit.Before;
 import org.junit.Rule;
@@ -51,6 +56,7 @@ public final class VideoPlayerTest {
   @Captor private ArgumentCaptor<AudioAttributes> attributesCaptor;
   @Captor private ArgumentCaptor<TextureRegistry.SurfaceProducer.Callback> callbackCaptor;
   @Captor private ArgumentCaptor<Player.Listener> listenerCaptor;
+  @Captor private ArgumentCaptor<TrackSelectionParameters> trackSelectionCaptor;
 
   @Rule public MockitoRule initRule = MockitoJUnit.rule();
 
@@ -289,6 +295,199 @@ public final class VideoPlayerTest {
     videoPlayer.dispose();
   }
 
+  @Test
+  public void usesMediaSourceFactoryWhenProvided() {
+    MediaSource.Factory mockMediaSourceFactory = mock(MediaSource.Factory.class);
+    MediaSource mockMediaSource = mock(MediaSource.class);
+    MediaItem mediaItem = fakeVideoAsset.getMediaItem();
+    when(mockMediaSourceFactory.createMediaSource(mediaItem)).thenReturn(mockMediaSource);
+
+    VideoPlayer videoPlayer =
+        new VideoPlayer(
+            () -> mockExoPlayer,
+            mockEvents,
+            mockProducer,
+            mediaItem,
+            mockMediaSourceFactory,
+            new VideoPlayerOptions());
+
+    verify(mockExoPlayer).setMediaSource(mockMediaSource);
+    verify(mockExoPlayer, never()).setMediaItem(any());
+    verify(mockExoPlayer).prepare();
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void returnsExoPlayerToProviderOnSurfaceDestroyedAndDisposeOnlyOnce() {
+    VideoPlayer.ExoPlayerProvider mockProvider = mock(VideoPlayer.ExoPlayerProvider.class);
+    when(mockProvider.get()).thenReturn(mockExoPlayer);
+    VideoPlayer videoPlayer =
+        new VideoPlayer(
+            mockProvider,
+            mockEvents,
+            mockProducer,
+            fakeVideoAsset.getMediaItem(),
+            new VideoPlayerOptions());
+    verify(mockExoPlayer).addListener(listenerCaptor.capture());
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+    when(mockExoPlayer.getCurrentPosition()).thenReturn(10L);
+
+    callbackCaptor.getValue().onSurfaceDestroyed();
+
+    InOrder inOrder = inOrder(mockExoPlayer, mockProvider);
+    inOrder.verify(mockExoPlayer).removeListener(listenerCaptor.getValue());
+    inOrder.verify(mockProvider).recycle(mockExoPlayer);
+
+    // The player may now be leased by another video player, so it is left alone.
+    videoPlayer.play();
+    videoPlayer.seekTo(20);
+    assertEquals(10L, videoPlayer.getPosition());
+    verify(mockExoPlayer, never()).play();
+    verify(mockExoPlayer, never()).seekTo(20);
+
+    videoPlayer.dispose();
+    verify(mockProvider).recycle(mockExoPlayer);
+  }
+
+  private VideoPlayer createVideoPlayer(DetachedPlayerBudget budget) {
+    return new VideoPlayer(
+        () -> mockExoPlayer,
+        mockEvents,
+        mockProducer,
+        fakeVideoAsset.getMediaItem(),
+        null,
+        new VideoPlayerOptions(),
+        budget);
+  }
+
+  private static DetachedPlayerBudget budget(long maxBytes) {
+    DetachedPlayerBudget budget = new DetachedPlayerBudget();
+    budget.setMaxBytes(maxBytes);
+    return budget;
+  }
+
+  @Test
+  public void keepsPlayerAndDetachesSurfaceWhenBuffersFitIntoBudget() {
+    // 1.6 Mbps for the default maximum buffer duration of 50 seconds are 10 MB.
+    when(mockExoPlayer.getVideoFormat())
+        .thenReturn(new Format.Builder().setAverageBitrate(1_600_000).build());
+    DetachedPlayerBudget budget = budget(16_000_000);
+    VideoPlayer videoPlayer = createVideoPlayer(budget);
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+
+    callbackCaptor.getValue().onSurfaceDestroyed();
+
+    verify(mockExoPlayer).clearVideoSurface();
+    verify(mockExoPlayer, never()).release();
+    assertEquals(10_000_000L, budget.getUsedBytes());
+    videoPlayer.seekTo(20);
+    verify(mockExoPlayer).seekTo(20);
+
+    callbackCaptor.getValue().onSurfaceCreated();
+
+    verify(mockExoPlayer, times(2)).setVideoSurface(any());
+    verify(mockExoPlayer).prepare();
+    assertEquals(0L, budget.getUsedBytes());
+
+    videoPlayer.dispose();
+    verify(mockExoPlayer).release();
+  }
+
+  @Test
+  public void releasesPlayerWhenBuffersExceedBudget() {
+    when(mockExoPlayer.getVideoFormat())
+        .thenReturn(new Format.Builder().setAverageBitrate(1_600_000).build());
+    DetachedPlayerBudget budget = budget(5_000_000);
+    VideoPlayer videoPlayer = createVideoPlayer(budget);
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+
+    callbackCaptor.getValue().onSurfaceDestroyed();
+
+    verify(mockExoPlayer, never()).clearVideoSurface();
+    verify(mockExoPlayer).release();
+    assertEquals(0L, budget.getUsedBytes());
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void releasesPlayerWithUnknownBitrateDespiteBudget() {
+    DetachedPlayerBudget budget = budget(Long.MAX_VALUE / 2);
+    VideoPlayer videoPlayer = createVideoPlayer(budget);
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+
+    callbackCaptor.getValue().onSurfaceDestroyed();
+
+    verify(mockExoPlayer).release();
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void disposeReturnsBytesOfDetachedPlayerToBudget() {
+    when(mockExoPlayer.getVideoFormat())
+        .thenReturn(new Format.Builder().setAverageBitrate(1_600_000).build());
+    DetachedPlayerBudget budget = budget(16_000_000);
+    VideoPlayer videoPlayer = createVideoPlayer(budget);
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+    callbackCaptor.getValue().onSurfaceDestroyed();
+
+    videoPlayer.dispose();
+
+    assertEquals(0L, budget.getUsedBytes());
+    verify(mockExoPlayer).release();
+  }
+
+  @Test
+  public void appliesVideoTrackConstraintsFromOptions() {
+    when(mockExoPlayer.getTrackSelectionParameters())
+        .thenReturn(
+            new TrackSelectionParameters.Builder(ApplicationProvider.getApplicationContext())
+                .build());
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.maxVideoWidth = 1280;
+    options.maxVideoHeight = 720;
+
+    VideoPlayer videoPlayer = createVideoPlayer(options);
+
+    verify(mockExoPlayer).setTrackSelectionParameters(trackSelectionCaptor.capture());
+    TrackSelectionParameters parameters = trackSelectionCaptor.getValue();
+    assertEquals(1280, parameters.maxVideoWidth);
+    assertEquals(720, parameters.maxVideoHeight);
+    assertEquals(Integer.MAX_VALUE, parameters.maxVideoBitrate);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void doesNotChangeTrackSelectionWithoutConstraints() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    verify(mockExoPlayer, never()).setTrackSelectionParameters(any());
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void setVideoTrackConstraintsUpdatesPlayer() {
+    when(mockExoPlayer.getTrackSelectionParameters())
+        .thenReturn(
+            new TrackSelectionParameters.Builder(ApplicationProvider.getApplicationContext())
+                .build());
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    videoPlayer.setVideoTrackConstraints(0, 0, 1_000_000);
+
+    verify(mockExoPlayer).setTrackSelectionParameters(trackSelectionCaptor.capture());
+    TrackSelectionParameters parameters = trackSelectionCaptor.getValue();
+    assertEquals(Integer.MAX_VALUE, parameters.maxVideoWidth);
+    assertEquals(Integer.MAX_VALUE, parameters.maxVideoHeight);
+    assertEquals(1_000_000, parameters.maxVideoBitrate);
+
+    videoPlayer.dispose();
+  }
+
   @Test
   public void disposeReleasesExoPlayerBeforeTexture() {
     VideoPlayer videoPlayer = createVideoPlayer();
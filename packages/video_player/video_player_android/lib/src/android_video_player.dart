@@ -3,6 +3,7 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:typed_data';
 
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
@@ -13,8 +14,29 @@ import 'messages.g.dart';
 /// An Android implementation of [VideoPlayerPlatform] that uses the
 /// Pigeon-generated [VideoPlayerApi].
 class AndroidVideoPlayer extends VideoPlayerPlatform {
+  /// Creates an [AndroidVideoPlayer] whose players send their positions every
+  /// [playbackUpdateInterval].
+  AndroidVideoPlayer({
+    this.playbackUpdateInterval = const Duration(milliseconds: 250),
+  }) : assert(!playbackUpdateInterval.isNegative);
+
   final AndroidVideoPlayerApi _api = AndroidVideoPlayerApi();
 
+  /// How often the platform sends the positions of all players, which
+  /// [getPosition] returns instead of querying each player.
+  ///
+  /// With [Duration.zero], [getPosition] queries the player each time.
+  final Duration playbackUpdateInterval;
+
+  static const EventChannel _playbackUpdatesChannel =
+      EventChannel('flutter.io/videoPlayer/videoEvents');
+
+  // The players that were created and not disposed yet.
+  final Set<int> _textureIds = <int>{};
+  // The positions of the players, from the latest batched playback updates.
+  final Map<int, Duration> _positions = <int, Duration>{};
+  StreamSubscription<dynamic>? _playbackUpdatesSubscription;
+
   /// Registers this class as the default instance of [PathProviderPlatform].
   static void registerWith() {
     VideoPlayerPlatform.instance = AndroidVideoPlayer();
@@ -22,11 +44,16 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Future<void> init() {
+    _textureIds.clear();
+    _positions.clear();
     return _api.initialize();
   }
 
   @override
   Future<void> dispose(int textureId) {
+    // Playback updates sent before the player was disposed are ignored.
+    _textureIds.remove(textureId);
+    _positions.remove(textureId);
     return _api.dispose(TextureMessage(textureId: textureId));
   }
 
@@ -59,10 +86,39 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
       formatHint: formatHint,
     );
 
+    await _startPlaybackUpdates();
     final TextureMessage response = await _api.create(message);
+    _textureIds.add(response.textureId);
     return response.textureId;
   }
 
+  Future<void> _startPlaybackUpdates() async {
+    if (_playbackUpdatesSubscription != null ||
+        playbackUpdateInterval == Duration.zero) {
+      return;
+    }
+    _playbackUpdatesSubscription = _playbackUpdatesChannel
+        .receiveBroadcastStream()
+        .listen(_onPlaybackUpdates);
+    await _api
+        .setPlaybackUpdateInterval(playbackUpdateInterval.inMilliseconds);
+  }
+
+  void _onPlaybackUpdates(dynamic event) {
+    final Map<dynamic, dynamic> map = event as Map<dynamic, dynamic>;
+    if (map['event'] != 'playbackUpdates') {
+      return;
+    }
+    for (final dynamic update in map['updates'] as List<dynamic>) {
+      final Map<dynamic, dynamic> values = update as Map<dynamic, dynamic>;
+      final int textureId = values['textureId'] as int;
+      if (_textureIds.contains(textureId)) {
+        _positions[textureId] =
+            Duration(milliseconds: values['position'] as int);
+      }
+    }
+  }
+
   @override
   Future<void> setLooping(int textureId, bool looping) {
     return _api.setLooping(LoopingMessage(
@@ -101,6 +157,8 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Future<void> seekTo(int textureId, Duration position) {
+    // The position is queried again until the next playback update.
+    _positions.remove(textureId);
     return _api.seekTo(PositionMessage(
       textureId: textureId,
       position: position.inMilliseconds,
@@ -109,6 +167,22 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Future<Duration> getPosition(int textureId) async {
+    final Duration? position = _positions[textureId];
+    if (position != null) {
+      return position;
+    }
+    final Duration livePosition = await getLivePosition(textureId);
+    // Playback updates are only sent when the position changes.
+    if (playbackUpdateInterval == Duration.zero ||
+        !_textureIds.contains(textureId)) {
+      return livePosition;
+    }
+    return _positions[textureId] ??= livePosition;
+  }
+
+  /// Returns the current position of the player of [textureId], queried from
+  /// the player instead of the latest playback update like [getPosition].
+  Future<Duration> getLivePosition(int textureId) async {
     final PositionMessage response =
         await _api.position(TextureMessage(textureId: textureId));
     return Duration(milliseconds: response.position);
@@ -119,6 +193,13 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     return _eventChannelFor(textureId)
         .receiveBroadcastStream()
         .map((dynamic event) {
+      if (event is Int64List) {
+        // Buffering updates are sent as the start and end of a single range.
+        return VideoEvent(
+          buffered: <DurationRange>[_toDurationRange(event)],
+          eventType: VideoEventType.bufferingUpdate,
+        );
+      }
       final Map<dynamic, dynamic> map = event as Map<dynamic, dynamic>;
       switch (map['event']) {
         case 'initialized':
@@ -166,6 +247,196 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
         .setMixWithOthers(MixWithOthersMessage(mixWithOthers: mixWithOthers));
   }
 
+  /// Enables a size-bounded LRU cache of media streamed over HTTP, shared by
+  /// all players created afterwards, so that replaying or seeking back in a
+  /// video reads it from disk.
+  ///
+  /// [maxBytes] is the maximum size of the cache in bytes, or 0 to not cache
+  /// media. The cache is created once per process, so this should be called
+  /// before the first player is created.
+  Future<void> setMediaCacheSize(int maxBytes) {
+    return _api.setMediaCacheSize(maxBytes);
+  }
+
+  /// Starts downloading the first [maxBytes] bytes of the network video
+  /// [dataSource] into the media cache in the background, so that a player
+  /// created for it later shows its first frame from local data.
+  ///
+  /// Requires the media cache to be enabled with [setMediaCacheSize]. Only
+  /// progressive videos can be preloaded, not HLS, DASH or Smooth Streaming
+  /// videos.
+  Future<void> preload(DataSource dataSource, {required int maxBytes}) {
+    if (dataSource.sourceType != DataSourceType.network) {
+      throw ArgumentError.value(dataSource.sourceType, 'dataSource.sourceType',
+          'Only network videos can be preloaded');
+    }
+    return _api.preload(
+      dataSource.uri!,
+      _videoFormatStringMap[dataSource.formatHint],
+      dataSource.httpHeaders,
+      maxBytes,
+    );
+  }
+
+  /// Stops preloading the video at [uri] started with [preload].
+  ///
+  /// The bytes that were already downloaded stay in the media cache.
+  Future<void> cancelPreload(String uri) {
+    return _api.cancelPreload(uri);
+  }
+
+  /// Sets how much media players created afterwards buffer.
+  ///
+  /// [minBuffer] and [maxBuffer] bound the duration of media buffered ahead
+  /// of the playback position. [bufferForPlayback] and
+  /// [bufferForPlaybackAfterRebuffer] are the durations buffered before
+  /// playback starts or resumes after a rebuffer. [backBuffer] is the
+  /// duration of already played media kept buffered, and [targetBufferBytes]
+  /// the maximum size of the buffer. A zero value selects the default.
+  ///
+  /// Players with custom buffering are built for the video they play, instead
+  /// of reusing players of previously disposed videos.
+  Future<void> setLoadControl({
+    Duration minBuffer = Duration.zero,
+    Duration maxBuffer = Duration.zero,
+    Duration bufferForPlayback = Duration.zero,
+    Duration bufferForPlaybackAfterRebuffer = Duration.zero,
+    Duration backBuffer = Duration.zero,
+    int targetBufferBytes = 0,
+  }) {
+    return _api.setLoadControl(
+      minBuffer.inMilliseconds,
+      maxBuffer.inMilliseconds,
+      bufferForPlayback.inMilliseconds,
+      bufferForPlaybackAfterRebuffer.inMilliseconds,
+      backBuffer.inMilliseconds,
+      targetBufferBytes,
+    );
+  }
+
+  /// Sets the bandwidth in bits per second that players created afterwards
+  /// assume before they loaded any media, which determines the quality
+  /// adaptive streaming starts with.
+  ///
+  /// A [bitsPerSecond] of 0 restores the default estimate.
+  Future<void> setInitialBitrateEstimate(int bitsPerSecond) {
+    return _api.setInitialBitrateEstimate(bitsPerSecond);
+  }
+
+  /// Limits the size and bitrate of the video tracks adaptive streaming may
+  /// select for the player of [textureId], or for players created afterwards
+  /// if [textureId] is null.
+  ///
+  /// A limit of 0 means no limit.
+  Future<void> setVideoTrackConstraints({
+    int? textureId,
+    int maxWidth = 0,
+    int maxHeight = 0,
+    int maxBitrate = 0,
+  }) {
+    return _api.setVideoTrackConstraints(
+        textureId, maxWidth, maxHeight, maxBitrate);
+  }
+
+  /// Sets how much memory players may keep while their surface is destroyed,
+  /// e.g. while the app is in the background.
+  ///
+  /// Within the budget of [maxBytes] bytes, a player keeps its buffers and
+  /// decoders, and continues from the buffered data once its surface is
+  /// recreated instead of preparing its media again. A [maxBytes] of 0 always
+  /// releases players.
+  Future<void> setDetachedPlayerMemoryBudget(int maxBytes) {
+    return _api.setDetachedPlayerMemoryBudget(maxBytes);
+  }
+
+  /// Sets whether quality of experience metrics are collected for players
+  /// created afterwards, which [getQualityMetrics] returns.
+  Future<void> setQualityMetricsEnabled(bool enabled) {
+    return _api.setQualityMetricsEnabled(enabled);
+  }
+
+  /// Returns the quality of experience metrics of the player of [textureId].
+  ///
+  /// Throws a [PlatformException] if the player was created while metrics
+  /// were disabled with [setQualityMetricsEnabled].
+  Future<PlaybackQualityMetrics> getQualityMetrics(int textureId) async {
+    return PlaybackQualityMetrics._fromMap(
+        await _api.getQualityMetrics(textureId));
+  }
+
+  /// Returns the bandwidth estimate, the bytes loaded and the selected tracks
+  /// of the player of [textureId].
+  Future<PlaybackStatistics> getPlaybackStatistics(int textureId) async {
+    return PlaybackStatistics._fromMap(
+        await _api.getPlaybackStatistics(textureId));
+  }
+
+  /// Returns how much of the media of the player of [textureId] was read from
+  /// the media cache enabled with [setMediaCacheSize], or null if the player
+  /// does not play a network video.
+  Future<MediaCacheStatistics?> getMediaCacheStatistics(int textureId) async {
+    final Map<String, int> statistics =
+        await _api.getMediaCacheStatistics(textureId);
+    if (statistics.isEmpty) {
+      return null;
+    }
+    return MediaCacheStatistics(
+      hitBytes: statistics['hitBytes']!,
+      missBytes: statistics['missBytes']!,
+    );
+  }
+
+  /// Starts downloading the network video [dataSource] in the background for
+  /// playback without network access, including HLS, DASH and Smooth
+  /// Streaming videos.
+  ///
+  /// Once the download is completed, players created for the same URI play
+  /// the downloaded video. Downloads are kept until they are removed with
+  /// [removeDownload], and incomplete downloads continue after the app is
+  /// restarted once the plugin accesses them again.
+  Future<void> download(DataSource dataSource) {
+    if (dataSource.sourceType != DataSourceType.network) {
+      throw ArgumentError.value(dataSource.sourceType, 'dataSource.sourceType',
+          'Only network videos can be downloaded');
+    }
+    return _api.download(
+      dataSource.uri!,
+      _videoFormatStringMap[dataSource.formatHint],
+      dataSource.httpHeaders,
+    );
+  }
+
+  /// Pauses the download of the video at [uri] started with [download].
+  Future<void> pauseDownload(String uri) {
+    return _api.pauseDownload(uri);
+  }
+
+  /// Resumes the download of the video at [uri] paused with [pauseDownload].
+  Future<void> resumeDownload(String uri) {
+    return _api.resumeDownload(uri);
+  }
+
+  /// Stops the download of the video at [uri] started with [download] and
+  /// deletes the downloaded media.
+  Future<void> removeDownload(String uri) {
+    return _api.removeDownload(uri);
+  }
+
+  /// Returns the progress of the download of the video at [uri], or null if
+  /// it is not downloaded.
+  Future<DownloadProgress?> getDownloadProgress(String uri) async {
+    final DownloadProgressMessage? message =
+        await _api.getDownloadProgress(uri);
+    return message == null ? null : DownloadProgress._fromMessage(message);
+  }
+
+  /// Returns the progress of all downloads.
+  Future<List<DownloadProgress>> getAllDownloadProgress() async {
+    final List<DownloadProgressMessage> messages =
+        await _api.getAllDownloadProgress();
+    return messages.map(DownloadProgress._fromMessage).toList();
+  }
+
   EventChannel _eventChannelFor(int textureId) {
     return EventChannel('flutter.io/videoPlayer/videoEvents$textureId');
   }
@@ -186,3 +457,193 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     );
   }
 }
+
+/// Quality of experience metrics of a player, returned by
+/// [AndroidVideoPlayer.getQualityMetrics].
+@immutable
+class PlaybackQualityMetrics {
+  /// Creates a new set of quality of experience metrics.
+  const PlaybackQualityMetrics({
+    this.timeToFirstFrame,
+    required this.rebufferCount,
+    required this.rebufferDuration,
+    required this.droppedFrames,
+    this.videoDecoderInitialization,
+    this.audioDecoderInitialization,
+    required this.videoBitrateSwitchCount,
+  });
+
+  PlaybackQualityMetrics._fromMap(Map<String, Object> metrics)
+      : this(
+          timeToFirstFrame: _durationOrNull(metrics['timeToFirstFrameMs']),
+          rebufferCount: metrics['rebufferCount']! as int,
+          rebufferDuration:
+              Duration(milliseconds: metrics['rebufferDurationMs']! as int),
+          droppedFrames: metrics['droppedFrames']! as int,
+          videoDecoderInitialization:
+              _durationOrNull(metrics['videoDecoderInitializationMs']),
+          audioDecoderInitialization:
+              _durationOrNull(metrics['audioDecoderInitializationMs']),
+          videoBitrateSwitchCount: metrics['videoBitrateSwitchCount']! as int,
+        );
+
+  /// The time from starting to load the media to rendering the first frame,
+  /// or null if no frame was rendered yet.
+  final Duration? timeToFirstFrame;
+
+  /// The number of times playback stalled to buffer after it started.
+  final int rebufferCount;
+
+  /// The total time playback stalled to buffer, including an ongoing stall.
+  final Duration rebufferDuration;
+
+  /// The number of video frames dropped.
+  final int droppedFrames;
+
+  /// The time the most recent video decoder took to initialize, or null if
+  /// none was initialized yet.
+  final Duration? videoDecoderInitialization;
+
+  /// The time the most recent audio decoder took to initialize, or null if
+  /// none was initialized yet.
+  final Duration? audioDecoderInitialization;
+
+  /// The number of times adaptive streaming switched the video bitrate.
+  final int videoBitrateSwitchCount;
+
+  static Duration? _durationOrNull(Object? milliseconds) {
+    return milliseconds == null
+        ? null
+        : Duration(milliseconds: milliseconds as int);
+  }
+}
+
+/// The bandwidth estimate, the bytes loaded and the selected tracks of a
+/// player, returned by [AndroidVideoPlayer.getPlaybackStatistics].
+@immutable
+class PlaybackStatistics {
+  /// Creates a new set of playback statistics.
+  const PlaybackStatistics({
+    required this.bandwidthEstimate,
+    required this.totalBytesLoaded,
+    this.videoWidth,
+    this.videoHeight,
+    this.videoBitrate,
+    this.videoCodecs,
+    this.audioBitrate,
+  });
+
+  PlaybackStatistics._fromMap(Map<String, Object> statistics)
+      : this(
+          bandwidthEstimate: statistics['bandwidthEstimate']! as int,
+          totalBytesLoaded: statistics['totalBytesLoaded']! as int,
+          videoWidth: statistics['videoWidth'] as int?,
+          videoHeight: statistics['videoHeight'] as int?,
+          videoBitrate: statistics['videoBitrate'] as int?,
+          videoCodecs: statistics['videoCodecs'] as String?,
+          audioBitrate: statistics['audioBitrate'] as int?,
+        );
+
+  /// The estimated bandwidth in bits per second.
+  final int bandwidthEstimate;
+
+  /// The number of bytes of media loaded.
+  final int totalBytesLoaded;
+
+  /// The width of the selected video track, or null if not known.
+  final int? videoWidth;
+
+  /// The height of the selected video track, or null if not known.
+  final int? videoHeight;
+
+  /// The bitrate of the selected video track, or null if not known.
+  final int? videoBitrate;
+
+  /// The codecs of the selected video track, or null if not known.
+  final String? videoCodecs;
+
+  /// The bitrate of the selected audio track, or null if not known.
+  final int? audioBitrate;
+}
+
+/// The bytes of a player's media read from the media cache and from the
+/// network, returned by [AndroidVideoPlayer.getMediaCacheStatistics].
+@immutable
+class MediaCacheStatistics {
+  /// Creates a new set of media cache statistics.
+  const MediaCacheStatistics({
+    required this.hitBytes,
+    required this.missBytes,
+  });
+
+  /// The number of bytes read from the media cache.
+  final int hitBytes;
+
+  /// The number of bytes read from the network.
+  final int missBytes;
+}
+
+/// The state of a download started with [AndroidVideoPlayer.download].
+enum DownloadState {
+  /// The tracks to download are being determined.
+  preparing,
+
+  /// The download waits for other downloads to complete.
+  queued,
+
+  /// The video is being downloaded.
+  downloading,
+
+  /// The download was paused with [AndroidVideoPlayer.pauseDownload].
+  paused,
+
+  /// The video was downloaded completely.
+  completed,
+
+  /// The download failed.
+  failed,
+
+  /// The downloaded media is being deleted.
+  removing,
+
+  /// The download is restarted after its media was deleted.
+  restarting,
+}
+
+/// The progress of a download started with [AndroidVideoPlayer.download].
+@immutable
+class DownloadProgress {
+  /// Creates a new download progress.
+  const DownloadProgress({
+    required this.uri,
+    required this.state,
+    this.bytesDownloaded,
+    this.contentLength,
+    this.percentDownloaded,
+  });
+
+  DownloadProgress._fromMessage(DownloadProgressMessage message)
+      : this(
+          uri: message.url,
+          state: DownloadState.values.byName(message.state),
+          bytesDownloaded: message.bytesDownloaded,
+          contentLength: message.contentLength,
+          percentDownloaded: message.percentDownloaded,
+        );
+
+  /// The URI of the downloaded video.
+  final String uri;
+
+  /// The state of the download.
+  final DownloadState state;
+
+  /// The number of bytes downloaded, or null while [state] is
+  /// [DownloadState.preparing].
+  final int? bytesDownloaded;
+
+  /// The total number of bytes to download, or null if not known yet.
+  final int? contentLength;
+
+  /// The percentage downloaded between 0 and 100, or null if not known yet.
+  final double? percentDownloaded;
+}
@@ -56,6 +56,15 @@ class MixWithOthersMessage {
   bool mixWithOthers;
 }
 
+class DownloadProgressMessage {
+  DownloadProgressMessage(this.url, this.state);
+  String url;
+  String state;
+  int? bytesDownloaded;
+  int? contentLength;
+  double? percentDownloaded;
+}
+
 @HostApi(dartHostTestHandler: 'TestHostVideoPlayerApi')
 abstract class AndroidVideoPlayerApi {
   void initialize();
@@ -69,4 +78,71 @@ abstract class AndroidVideoPlayerApi {
   void seekTo(PositionMessage msg);
   void pause(TextureMessage msg);
   void setMixWithOthers(MixWithOthersMessage msg);
+
+  /// Enables a size-bounded LRU cache of media streamed over HTTP, shared by
+  /// all players created afterwards, or disables it with 0.
+  void setMediaCacheSize(int maxBytes);
+
+  /// Starts downloading the first [maxBytes] bytes of a progressive remote
+  /// video into the media cache in the background.
+  void preload(String url, String? formatHint, Map<String, String> httpHeaders, int maxBytes);
+
+  /// Stops preloading a video started with [preload].
+  void cancelPreload(String url);
+
+  /// Sets how often the position, buffered range and playback speed of all
+  /// players are sent as a single batched event, or stops sending them if
+  /// [intervalMs] is 0.
+  void setPlaybackUpdateInterval(int intervalMs);
+
+  /// Sets how much media players created afterwards buffer. 0 selects the
+  /// default of a value.
+  void setLoadControl(int minBufferMs, int maxBufferMs, int bufferForPlaybackMs, int bufferForPlaybackAfterRebufferMs, int backBufferDurationMs, int targetBufferBytes);
+
+  /// Sets the bandwidth players created afterwards assume before they loaded
+  /// any media, or restores the default if [bitsPerSecond] is 0.
+  void setInitialBitrateEstimate(int bitsPerSecond);
+
+  /// Limits the video tracks adaptive streaming may select for a player, or for
+  /// players created afterwards if [textureId] is null. 0 means no limit.
+  void setVideoTrackConstraints(int? textureId, int maxWidth, int maxHeight, int maxBitrate);
+
+  /// Sets how much memory players may keep while their surface is destroyed,
+  /// or 0 to always release them.
+  void setDetachedPlayerMemoryBudget(int maxBytes);
+
+  /// Starts downloading a remote video in the background for playback without
+  /// network access, or continues downloading it.
+  void download(String url, String? formatHint, Map<String, String> httpHeaders);
+
+  /// Pauses a download started with [download].
+  void pauseDownload(String url);
+
+  /// Resumes a download paused with [pauseDownload].
+  void resumeDownload(String url);
+
+  /// Stops a download started with [download] and deletes the downloaded media.
+  void removeDownload(String url);
+
+  /// Returns the state and progress of downloading [url], or null if it is not
+  /// downloaded.
+  DownloadProgressMessage? getDownloadProgress(String url);
+
+  /// Returns the state and progress of all downloads.
+  List<DownloadProgressMessage> getAllDownloadProgress();
+
+  /// Sets whether quality of experience metrics are collected for players
+  /// created afterwards.
+  void setQualityMetricsEnabled(bool enabled);
+
+  /// Returns the quality of experience metrics of a player created while they
+  /// were enabled with [setQualityMetricsEnabled].
+  Map<String, Object> getQualityMetrics(int textureId);
+
+  /// Returns a player's bandwidth estimate, bytes loaded and selected tracks.
+  Map<String, Object> getPlaybackStatistics(int textureId);
+
+  /// Returns the bytes of a player's media read from the media cache and from
+  /// the network.
+  Map<String, int> getMediaCacheStatistics(int textureId);
 }
@@ -2,6 +2,8 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:typed_data';
+
 import 'package:flutter/services.dart';
 import 'package:flutter_test/flutter_test.dart';
 import 'package:video_player_android/src/messages.g.dart';
@@ -19,6 +21,17 @@ class _ApiLogger implements TestHostVideoPlayerApi {
   VolumeMessage? volumeMessage;
   PlaybackSpeedMessage? playbackSpeedMessage;
   MixWithOthersMessage? mixWithOthersMessage;
+  int? mediaCacheSize;
+  List<Object?>? preloadArgs;
+  String? cancelledPreloadUrl;
+  int? playbackUpdateIntervalMs;
+  List<int>? loadControl;
+  int? initialBitrateEstimate;
+  List<int?>? videoTrackConstraints;
+  int? detachedPlayerMemoryBudget;
+  List<Object?>? downloadArgs;
+  String? downloadUrl;
+  bool? qualityMetricsEnabled;
 
   @override
   TextureMessage create(CreateMessage arg) {
@@ -56,6 +69,29 @@ class _ApiLogger implements TestHostVideoPlayerApi {
     mixWithOthersMessage = arg;
   }
 
+  @override
+  void setMediaCacheSize(int maxBytes) {
+    log.add('setMediaCacheSize');
+    mediaCacheSize = maxBytes;
+  }
+
+  @override
+  void preload(
+    String url,
+    String? formatHint,
+    Map<String, String> httpHeaders,
+    int maxBytes,
+  ) {
+    log.add('preload');
+    preloadArgs = <Object?>[url, formatHint, httpHeaders, maxBytes];
+  }
+
+  @override
+  void cancelPreload(String url) {
+    log.add('cancelPreload');
+    cancelledPreloadUrl = url;
+  }
+
   @override
   PositionMessage position(TextureMessage arg) {
     log.add('position');
@@ -86,6 +122,183 @@ class _ApiLogger implements TestHostVideoPlayerApi {
     log.add('setPlaybackSpeed');
     playbackSpeedMessage = arg;
   }
+
+  @override
+  void setPlaybackUpdateInterval(int intervalMs) {
+    log.add('setPlaybackUpdateInterval');
+    playbackUpdateIntervalMs = intervalMs;
+  }
+
+  @override
+  void setLoadControl(
+    int minBufferMs,
+    int maxBufferMs,
+    int bufferForPlaybackMs,
+    int bufferForPlaybackAfterRebufferMs,
+    int backBufferDurationMs,
+    int targetBufferBytes,
+  ) {
+    log.add('setLoadControl');
+    loadControl = <int>[
+      minBufferMs,
+      maxBufferMs,
+      bufferForPlaybackMs,
+      bufferForPlaybackAfterRebufferMs,
+      backBufferDurationMs,
+      targetBufferBytes,
+    ];
+  }
+
+  @override
+  void setInitialBitrateEstimate(int bitsPerSecond) {
+    log.add('setInitialBitrateEstimate');
+    initialBitrateEstimate = bitsPerSecond;
+  }
+
+  @override
+  void setVideoTrackConstraints(
+    int? textureId,
+    int maxWidth,
+    int maxHeight,
+    int maxBitrate,
+  ) {
+    log.add('setVideoTrackConstraints');
+    videoTrackConstraints = <int?>[textureId, maxWidth, maxHeight, maxBitrate];
+  }
+
+  @override
+  void setDetachedPlayerMemoryBudget(int maxBytes) {
+    log.add('setDetachedPlayerMemoryBudget');
+    detachedPlayerMemoryBudget = maxBytes;
+  }
+
+  @override
+  void download(
+    String url,
+    String? formatHint,
+    Map<String, String> httpHeaders,
+  ) {
+    log.add('download');
+    downloadArgs = <Object?>[url, formatHint, httpHeaders];
+  }
+
+  @override
+  void pauseDownload(String url) {
+    log.add('pauseDownload');
+    downloadUrl = url;
+  }
+
+  @override
+  void resumeDownload(String url) {
+    log.add('resumeDownload');
+    downloadUrl = url;
+  }
+
+  @override
+  void removeDownload(String url) {
+    log.add('removeDownload');
+    downloadUrl = url;
+  }
+
+  @override
+  DownloadProgressMessage? getDownloadProgress(String url) {
+    log.add('getDownloadProgress');
+    downloadUrl = url;
+    return url == 'someUri'
+        ? DownloadProgressMessage(
+            url: url,
+            state: 'downloading',
+            bytesDownloaded: 512,
+            contentLength: 2048,
+            percentDownloaded: 25.0,
+          )
+        : null;
+  }
+
+  @override
+  List<DownloadProgressMessage> getAllDownloadProgress() {
+    log.add('getAllDownloadProgress');
+    return <DownloadProgressMessage>[
+      DownloadProgressMessage(url: 'someUri', state: 'preparing'),
+      DownloadProgressMessage(
+        url: 'otherUri',
+        state: 'completed',
+        bytesDownloaded: 2048,
+        contentLength: 2048,
+        percentDownloaded: 100.0,
+      ),
+    ];
+  }
+
+  @override
+  void setQualityMetricsEnabled(bool enabled) {
+    log.add('setQualityMetricsEnabled');
+    qualityMetricsEnabled = enabled;
+  }
+
+  @override
+  Map<String, Object> getQualityMetrics(int textureId) {
+    log.add('getQualityMetrics');
+    return <String, Object>{
+      'timeToFirstFrameMs': 420,
+      'rebufferCount': 2,
+      'rebufferDurationMs': 1500,
+      'droppedFrames': 7,
+      'videoDecoderInitializationMs': 30,
+      'videoBitrateSwitchCount': 3,
+    };
+  }
+
+  @override
+  Map<String, Object> getPlaybackStatistics(int textureId) {
+    log.add('getPlaybackStatistics');
+    return <String, Object>{
+      'bandwidthEstimate': 5000000,
+      'totalBytesLoaded': 1024,
+      'videoWidth': 1280,
+      'videoHeight': 720,
+      'videoCodecs': 'avc1.64001f',
+    };
+  }
+
+  @override
+  Map<String, int> getMediaCacheStatistics(int textureId) {
+    log.add('getMediaCacheStatistics');
+    return textureId == 1
+        ? <String, int>{'hitBytes': 2048, 'missBytes': 512}
+        : <String, int>{};
+  }
+}
+
+const String _playbackUpdatesChannel = 'flutter.io/videoPlayer/videoEvents';
+
+/// Answers listening to the batched playback updates, sending [updates] once
+/// listened to.
+void _mockPlaybackUpdates(List<Map<String, dynamic>> updates) {
+  TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+      .setMockMessageHandler(
+    _playbackUpdatesChannel,
+    (ByteData? message) async {
+      final MethodCall methodCall =
+          const StandardMethodCodec().decodeMethodCall(message);
+      if (methodCall.method == 'listen' && updates.isNotEmpty) {
+        await _sendPlaybackUpdates(updates);
+      }
+      return const StandardMethodCodec().encodeSuccessEnvelope(null);
+    },
+  );
+}
+
+/// Sends [updates] as a batched playback update.
+Future<void> _sendPlaybackUpdates(List<Map<String, dynamic>> updates) {
+  return TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+      .handlePlatformMessage(
+          _playbackUpdatesChannel,
+          const StandardMethodCodec().encodeSuccessEnvelope(<String, dynamic>{
+            'event': 'playbackUpdates',
+            'updates': updates,
+          }),
+          (ByteData? data) {});
 }
 
 void main() {
@@ -103,6 +316,7 @@ void main() {
     setUp(() {
       log = _ApiLogger();
       TestHostVideoPlayerApi.setUp(log);
+      _mockPlaybackUpdates(<Map<String, dynamic>>[]);
     });
 
     test('init', () async {
@@ -213,6 +427,195 @@ void main() {
       expect(log.mixWithOthersMessage?.mixWithOthers, false);
     });
 
+    test('setMediaCacheSize', () async {
+      await player.setMediaCacheSize(1024 * 1024);
+      expect(log.log.last, 'setMediaCacheSize');
+      expect(log.mediaCacheSize, 1024 * 1024);
+    });
+
+    test('preload', () async {
+      await player.preload(
+        DataSource(
+          sourceType: DataSourceType.network,
+          uri: 'someUri',
+          formatHint: VideoFormat.other,
+          httpHeaders: <String, String>{'Authorization': 'Bearer token'},
+        ),
+        maxBytes: 1024,
+      );
+      expect(log.log.last, 'preload');
+      expect(log.preloadArgs, <Object?>[
+        'someUri',
+        'other',
+        <String, String>{'Authorization': 'Bearer token'},
+        1024,
+      ]);
+    });
+
+    test('preload rejects non-network videos', () async {
+      expect(
+        () => player.preload(
+          DataSource(sourceType: DataSourceType.file, uri: 'someUri'),
+          maxBytes: 1024,
+        ),
+        throwsArgumentError,
+      );
+      expect(log.log, isEmpty);
+    });
+
+    test('cancelPreload', () async {
+      await player.cancelPreload('someUri');
+      expect(log.log.last, 'cancelPreload');
+      expect(log.cancelledPreloadUrl, 'someUri');
+    });
+
+    test('setLoadControl', () async {
+      await player.setLoadControl(
+        minBuffer: const Duration(seconds: 10),
+        maxBuffer: const Duration(seconds: 30),
+        bufferForPlayback: const Duration(seconds: 1),
+        targetBufferBytes: 1000000,
+      );
+      expect(log.log.last, 'setLoadControl');
+      expect(log.loadControl, <int>[10000, 30000, 1000, 0, 0, 1000000]);
+    });
+
+    test('setInitialBitrateEstimate', () async {
+      await player.setInitialBitrateEstimate(2000000);
+      expect(log.log.last, 'setInitialBitrateEstimate');
+      expect(log.initialBitrateEstimate, 2000000);
+    });
+
+    test('setVideoTrackConstraints', () async {
+      await player.setVideoTrackConstraints(maxHeight: 720);
+      expect(log.log.last, 'setVideoTrackConstraints');
+      expect(log.videoTrackConstraints, <int?>[null, 0, 720, 0]);
+
+      await player.setVideoTrackConstraints(textureId: 1, maxBitrate: 800000);
+      expect(log.videoTrackConstraints, <int?>[1, 0, 0, 800000]);
+    });
+
+    test('setDetachedPlayerMemoryBudget', () async {
+      await player.setDetachedPlayerMemoryBudget(64 * 1024 * 1024);
+      expect(log.log.last, 'setDetachedPlayerMemoryBudget');
+      expect(log.detachedPlayerMemoryBudget, 64 * 1024 * 1024);
+    });
+
+    test('download', () async {
+      await player.download(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+        formatHint: VideoFormat.hls,
+        httpHeaders: <String, String>{'Authorization': 'Bearer token'},
+      ));
+      expect(log.log.last, 'download');
+      expect(log.downloadArgs, <Object?>[
+        'someUri',
+        'hls',
+        <String, String>{'Authorization': 'Bearer token'},
+      ]);
+    });
+
+    test('download rejects non-network videos', () async {
+      expect(
+        () => player.download(
+          DataSource(sourceType: DataSourceType.asset, asset: 'someAsset'),
+        ),
+        throwsArgumentError,
+      );
+      expect(log.log, isEmpty);
+    });
+
+    test('pauseDownload', () async {
+      await player.pauseDownload('someUri');
+      expect(log.log.last, 'pauseDownload');
+      expect(log.downloadUrl, 'someUri');
+    });
+
+    test('resumeDownload', () async {
+      await player.resumeDownload('someUri');
+      expect(log.log.last, 'resumeDownload');
+      expect(log.downloadUrl, 'someUri');
+    });
+
+    test('removeDownload', () async {
+      await player.removeDownload('someUri');
+      expect(log.log.last, 'removeDownload');
+      expect(log.downloadUrl, 'someUri');
+    });
+
+    test('getDownloadProgress', () async {
+      final DownloadProgress? progress =
+          await player.getDownloadProgress('someUri');
+      expect(log.log.last, 'getDownloadProgress');
+      expect(progress?.uri, 'someUri');
+      expect(progress?.state, DownloadState.downloading);
+      expect(progress?.bytesDownloaded, 512);
+      expect(progress?.contentLength, 2048);
+      expect(progress?.percentDownloaded, 25.0);
+    });
+
+    test('getDownloadProgress returns null for unknown videos', () async {
+      expect(await player.getDownloadProgress('unknownUri'), isNull);
+    });
+
+    test('getAllDownloadProgress', () async {
+      final List<DownloadProgress> progress =
+          await player.getAllDownloadProgress();
+      expect(log.log.last, 'getAllDownloadProgress');
+      expect(progress.map((DownloadProgress p) => p.uri),
+          <String>['someUri', 'otherUri']);
+      expect(progress.map((DownloadProgress p) => p.state),
+          <DownloadState>[DownloadState.preparing, DownloadState.completed]);
+      expect(progress.first.bytesDownloaded, isNull);
+      expect(progress.last.percentDownloaded, 100.0);
+    });
+
+    test('setQualityMetricsEnabled', () async {
+      await player.setQualityMetricsEnabled(true);
+      expect(log.log.last, 'setQualityMetricsEnabled');
+      expect(log.qualityMetricsEnabled, true);
+    });
+
+    test('getQualityMetrics', () async {
+      final PlaybackQualityMetrics metrics = await player.getQualityMetrics(1);
+      expect(log.log.last, 'getQualityMetrics');
+      expect(metrics.timeToFirstFrame, const Duration(milliseconds: 420));
+      expect(metrics.rebufferCount, 2);
+      expect(metrics.rebufferDuration, const Duration(milliseconds: 1500));
+      expect(metrics.droppedFrames, 7);
+      expect(metrics.videoDecoderInitialization,
+          const Duration(milliseconds: 30));
+      expect(metrics.audioDecoderInitialization, isNull);
+      expect(metrics.videoBitrateSwitchCount, 3);
+    });
+
+    test('getPlaybackStatistics', () async {
+      final PlaybackStatistics statistics =
+          await player.getPlaybackStatistics(1);
+      expect(log.log.last, 'getPlaybackStatistics');
+      expect(statistics.bandwidthEstimate, 5000000);
+      expect(statistics.totalBytesLoaded, 1024);
+      expect(statistics.videoWidth, 1280);
+      expect(statistics.videoHeight, 720);
+      expect(statistics.videoBitrate, isNull);
+      expect(statistics.videoCodecs, 'avc1.64001f');
+      expect(statistics.audioBitrate, isNull);
+    });
+
+    test('getMediaCacheStatistics', () async {
+      final MediaCacheStatistics? statistics =
+          await player.getMediaCacheStatistics(1);
+      expect(log.log.last, 'getMediaCacheStatistics');
+      expect(statistics?.hitBytes, 2048);
+      expect(statistics?.missBytes, 512);
+    });
+
+    test('getMediaCacheStatistics returns null for non-network videos',
+        () async {
+      expect(await player.getMediaCacheStatistics(2), isNull);
+    });
+
     test('setVolume', () async {
       await player.setVolume(1, 0.7);
       expect(log.log.last, 'setVolume');
@@ -241,6 +644,92 @@ void main() {
       expect(position, const Duration(milliseconds: 234));
     });
 
+    test('getPosition returns the position of the playback updates', () async {
+      _mockPlaybackUpdates(<Map<String, dynamic>>[
+        <String, dynamic>{
+          'textureId': 3,
+          'position': 5000,
+          'buffered': <List<int>>[
+            <int>[0, 8000],
+          ],
+          'playbackSpeed': 1.0,
+        },
+      ]);
+      final AndroidVideoPlayer player = AndroidVideoPlayer();
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      expect(log.log, <String>['setPlaybackUpdateInterval', 'create']);
+      expect(log.playbackUpdateIntervalMs, 250);
+      // Lets the update be delivered.
+      await Future<void>.delayed(Duration.zero);
+
+      expect(await player.getPosition(3), const Duration(milliseconds: 5000));
+      expect(log.log, isNot(contains('position')));
+
+      await player.seekTo(3, const Duration(seconds: 1));
+      expect(await player.getPosition(3), const Duration(milliseconds: 234));
+      expect(log.log.last, 'position');
+    });
+
+    test('getPosition ignores playback updates of disposed players', () async {
+      final AndroidVideoPlayer player = AndroidVideoPlayer();
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      await player.dispose(3);
+      await _sendPlaybackUpdates(<Map<String, dynamic>>[
+        <String, dynamic>{'textureId': 3, 'position': 5000},
+      ]);
+      await Future<void>.delayed(Duration.zero);
+
+      expect(await player.getPosition(3), const Duration(milliseconds: 234));
+      expect(log.log.last, 'position');
+    });
+
+    test('getLivePosition queries the player', () async {
+      _mockPlaybackUpdates(<Map<String, dynamic>>[
+        <String, dynamic>{'textureId': 3, 'position': 5000},
+      ]);
+      final AndroidVideoPlayer player = AndroidVideoPlayer();
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      await Future<void>.delayed(Duration.zero);
+
+      expect(
+          await player.getLivePosition(3), const Duration(milliseconds: 234));
+      expect(log.log.last, 'position');
+      expect(log.textureMessage?.textureId, 3);
+    });
+
+    test('playbackUpdateInterval', () async {
+      final AndroidVideoPlayer player = AndroidVideoPlayer(
+          playbackUpdateInterval: const Duration(seconds: 1));
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      expect(log.playbackUpdateIntervalMs, 1000);
+    });
+
+    test('getPosition queries the player without playback updates', () async {
+      final AndroidVideoPlayer player =
+          AndroidVideoPlayer(playbackUpdateInterval: Duration.zero);
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      expect(log.log, <String>['create']);
+
+      await player.getPosition(3);
+      await player.getPosition(3);
+      expect(log.log, <String>['create', 'position', 'position']);
+    });
+
     test('videoEventsFor', () async {
       const String mockChannel = 'flutter.io/videoPlayer/videoEvents123';
       TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
@@ -301,6 +790,14 @@ void main() {
                     }),
                     (ByteData? data) {});
 
+            await TestDefaultBinaryMessengerBinding
+                .instance.defaultBinaryMessenger
+                .handlePlatformMessage(
+                    mockChannel,
+                    const StandardMethodCodec().encodeSuccessEnvelope(
+                        Int64List.fromList(<int>[0, 5678])),
+                    (ByteData? data) {});
+
             await TestDefaultBinaryMessengerBinding
                 .instance.defaultBinaryMessenger
                 .handlePlatformMessage(
@@ -379,6 +876,14 @@ void main() {
                     const Duration(milliseconds: 4000),
                   ),
                 ]),
+            VideoEvent(
+                eventType: VideoEventType.bufferingUpdate,
+                buffered: <DurationRange>[
+                  DurationRange(
+                    Duration.zero,
+                    const Duration(milliseconds: 5678),
+                  ),
+                ]),
             VideoEvent(eventType: VideoEventType.bufferingStart),
             VideoEvent(eventType: VideoEventType.bufferingEnd),
             VideoEvent(
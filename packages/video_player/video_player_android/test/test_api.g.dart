@@ -41,6 +41,9 @@ class _PigeonCodec extends StandardMessageCodec {
     } else if (value is MixWithOthersMessage) {
       buffer.putUint8(135);
       writeValue(buffer, value.encode());
+    } else if (value is DownloadProgressMessage) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
     }
@@ -63,6 +66,8 @@ class _PigeonCodec extends StandardMessageCodec {
         return CreateMessage.decode(readValue(buffer)!);
       case 135:
         return MixWithOthersMessage.decode(readValue(buffer)!);
+      case 136:
+        return DownloadProgressMessage.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -96,6 +101,73 @@ abstract class TestHostVideoPlayerApi {
 
   void setMixWithOthers(MixWithOthersMessage msg);
 
+  /// Enables a size-bounded LRU cache of media streamed over HTTP, shared by
+  /// all players created afterwards, or disables it with 0.
+  void setMediaCacheSize(int maxBytes);
+
+  /// Starts downloading the first [maxBytes] bytes of a progressive remote
+  /// video into the media cache in the background.
+  void preload(String url, String? formatHint, Map<String, String> httpHeaders, int maxBytes);
+
+  /// Stops preloading a video started with [preload].
+  void cancelPreload(String url);
+
+  /// Sets how often the position, buffered range and playback speed of all
+  /// players are sent as a single batched event, or stops sending them if
+  /// [intervalMs] is 0.
+  void setPlaybackUpdateInterval(int intervalMs);
+
+  /// Sets how much media players created afterwards buffer. 0 selects the
+  /// default of a value.
+  void setLoadControl(int minBufferMs, int maxBufferMs, int bufferForPlaybackMs, int bufferForPlaybackAfterRebufferMs, int backBufferDurationMs, int targetBufferBytes);
+
+  /// Sets the bandwidth players created afterwards assume before they loaded
+  /// any media, or restores the default if [bitsPerSecond] is 0.
+  void setInitialBitrateEstimate(int bitsPerSecond);
+
+  /// Limits the video tracks adaptive streaming may select for a player, or for
+  /// players created afterwards if [textureId] is null. 0 means no limit.
+  void setVideoTrackConstraints(int? textureId, int maxWidth, int maxHeight, int maxBitrate);
+
+  /// Sets how much memory players may keep while their surface is destroyed,
+  /// or 0 to always release them.
+  void setDetachedPlayerMemoryBudget(int maxBytes);
+
+  /// Starts downloading a remote video in the background for playback without
+  /// network access, or continues downloading it.
+  void download(String url, String? formatHint, Map<String, String> httpHeaders);
+
+  /// Pauses a download started with [download].
+  void pauseDownload(String url);
+
+  /// Resumes a download paused with [pauseDownload].
+  void resumeDownload(String url);
+
+  /// Stops a download started with [download] and deletes the downloaded media.
+  void removeDownload(String url);
+
+  /// Returns the state and progress of downloading [url], or null if it is not
+  /// downloaded.
+  DownloadProgressMessage? getDownloadProgress(String url);
+
+  /// Returns the state and progress of all downloads.
+  List<DownloadProgressMessage> getAllDownloadProgress();
+
+  /// Sets whether quality of experience metrics are collected for players
+  /// created afterwards.
+  void setQualityMetricsEnabled(bool enabled);
+
+  /// Returns the quality of experience metrics of a player created while they
+  /// were enabled with [setQualityMetricsEnabled].
+  Map<String, Object> getQualityMetrics(int textureId);
+
+  /// Returns a player's bandwidth estimate, bytes loaded and selected tracks.
+  Map<String, Object> getPlaybackStatistics(int textureId);
+
+  /// Returns the bytes of a player's media read from the media cache and from
+  /// the network.
+  Map<String, int> getMediaCacheStatistics(int textureId);
+
   static void setUp(
     TestHostVideoPlayerApi? api, {
     BinaryMessenger? binaryMessenger,
@@ -451,5 +523,623 @@ abstract class TestHostVideoPlayerApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMediaCacheSize$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMediaCacheSize was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_maxBytes = (args[0] as int?);
+          assert(arg_maxBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMediaCacheSize was null, expected non-null int.');
+          try {
+            api.setMediaCacheSize(arg_maxBytes!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null, expected non-null String.');
+          final String? arg_formatHint = (args[1] as String?);
+          final Map<String, String>? arg_httpHeaders =
+              (args[2] as Map<Object?, Object?>?)?.cast<String, String>();
+          assert(arg_httpHeaders != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null, expected non-null Map<String, String>.');
+          final int? arg_maxBytes = (args[3] as int?);
+          assert(arg_maxBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null, expected non-null int.');
+          try {
+            api.preload(
+                arg_url!, arg_formatHint, arg_httpHeaders!, arg_maxBytes!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelPreload$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelPreload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelPreload was null, expected non-null String.');
+          try {
+            api.cancelPreload(arg_url!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlaybackUpdateInterval$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlaybackUpdateInterval was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_intervalMs = (args[0] as int?);
+          assert(arg_intervalMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlaybackUpdateInterval was null, expected non-null int.');
+          try {
+            api.setPlaybackUpdateInterval(arg_intervalMs!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_minBufferMs = (args[0] as int?);
+          assert(arg_minBufferMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl was null, expected non-null int.');
+          final int? arg_maxBufferMs = (args[1] as int?);
+          assert(arg_maxBufferMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl was null, expected non-null int.');
+          final int? arg_bufferForPlaybackMs = (args[2] as int?);
+          assert(arg_bufferForPlaybackMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl was null, expected non-null int.');
+          final int? arg_bufferForPlaybackAfterRebufferMs = (args[3] as int?);
+          assert(arg_bufferForPlaybackAfterRebufferMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl was null, expected non-null int.');
+          final int? arg_backBufferDurationMs = (args[4] as int?);
+          assert(arg_backBufferDurationMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl was null, expected non-null int.');
+          final int? arg_targetBufferBytes = (args[5] as int?);
+          assert(arg_targetBufferBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLoadControl was null, expected non-null int.');
+          try {
+            api.setLoadControl(
+                arg_minBufferMs!,
+                arg_maxBufferMs!,
+                arg_bufferForPlaybackMs!,
+                arg_bufferForPlaybackAfterRebufferMs!,
+                arg_backBufferDurationMs!,
+                arg_targetBufferBytes!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setInitialBitrateEstimate$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setInitialBitrateEstimate was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_bitsPerSecond = (args[0] as int?);
+          assert(arg_bitsPerSecond != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setInitialBitrateEstimate was null, expected non-null int.');
+          try {
+            api.setInitialBitrateEstimate(arg_bitsPerSecond!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVideoTrackConstraints$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVideoTrackConstraints was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_textureId = (args[0] as int?);
+          final int? arg_maxWidth = (args[1] as int?);
+          assert(arg_maxWidth != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVideoTrackConstraints was null, expected non-null int.');
+          final int? arg_maxHeight = (args[2] as int?);
+          assert(arg_maxHeight != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVideoTrackConstraints was null, expected non-null int.');
+          final int? arg_maxBitrate = (args[3] as int?);
+          assert(arg_maxBitrate != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVideoTrackConstraints was null, expected non-null int.');
+          try {
+            api.setVideoTrackConstraints(
+                arg_textureId, arg_maxWidth!, arg_maxHeight!, arg_maxBitrate!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDetachedPlayerMemoryBudget$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDetachedPlayerMemoryBudget was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_maxBytes = (args[0] as int?);
+          assert(arg_maxBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDetachedPlayerMemoryBudget was null, expected non-null int.');
+          try {
+            api.setDetachedPlayerMemoryBudget(arg_maxBytes!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.download$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.download was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.download was null, expected non-null String.');
+          final String? arg_formatHint = (args[1] as String?);
+          final Map<String, String>? arg_httpHeaders =
+              (args[2] as Map<Object?, Object?>?)?.cast<String, String>();
+          assert(arg_httpHeaders != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.download was null, expected non-null Map<String, String>.');
+          try {
+            api.download(arg_url!, arg_formatHint, arg_httpHeaders!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.pauseDownload$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.pauseDownload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.pauseDownload was null, expected non-null String.');
+          try {
+            api.pauseDownload(arg_url!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.resumeDownload$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.resumeDownload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.resumeDownload was null, expected non-null String.');
+          try {
+            api.resumeDownload(arg_url!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload was null, expected non-null String.');
+          try {
+            api.removeDownload(arg_url!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgress$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgress was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgress was null, expected non-null String.');
+          try {
+            final DownloadProgressMessage? output =
+                api.getDownloadProgress(arg_url!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getAllDownloadProgress$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          try {
+            final List<DownloadProgressMessage> output =
+                api.getAllDownloadProgress();
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setQualityMetricsEnabled$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setQualityMetricsEnabled was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final bool? arg_enabled = (args[0] as bool?);
+          assert(arg_enabled != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setQualityMetricsEnabled was null, expected non-null bool.');
+          try {
+            api.setQualityMetricsEnabled(arg_enabled!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getQualityMetrics$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getQualityMetrics was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_textureId = (args[0] as int?);
+          assert(arg_textureId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getQualityMetrics was null, expected non-null int.');
+          try {
+            final Map<String, Object> output =
+                api.getQualityMetrics(arg_textureId!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStatistics$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStatistics was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_textureId = (args[0] as int?);
+          assert(arg_textureId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStatistics was null, expected non-null int.');
+          try {
+            final Map<String, Object> output =
+                api.getPlaybackStatistics(arg_textureId!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<
+          Object?> pigeonVar_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMediaCacheStatistics$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(pigeonVar_channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMediaCacheStatistics was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_textureId = (args[0] as int?);
+          assert(arg_textureId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMediaCacheStatistics was null, expected non-null int.');
+          try {
+            final Map<String, int> output =
+                api.getMediaCacheStatistics(arg_textureId!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
   }
 }